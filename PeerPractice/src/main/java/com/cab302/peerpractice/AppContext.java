@@ -60,6 +60,10 @@ public class AppContext {
                 testDataInitializer.initializeTestData();
             }
 
+            // Start reminders once any test data is in place
+            managerFactory.getReminderScheduler().start();
+            managerFactory.getStorageReconciler().start(StorageReconciler.DEFAULT_INTERVAL);
+
         } catch (Exception e) {
             throw new IllegalStateException("Failed to initialize AppContext", e);
         }
@@ -200,6 +204,15 @@ public class AppContext {
         return managerFactory.getGroupMessageManager();
     }
 
+    /**
+     * Gets the friend message manager.
+     *
+     * @return the FriendMessageManager
+     */
+    public FriendMessageManager getFriendMessageManager() {
+        return managerFactory.getFriendMessageManager();
+    }
+
     /**
      * Gets the group file manager.
      *
@@ -209,6 +222,15 @@ public class AppContext {
         return managerFactory.getGroupFileManager();
     }
 
+    /**
+     * Gets the service that generates and caches group file previews.
+     *
+     * @return the FilePreviewService
+     */
+    public FilePreviewService getFilePreviewService() {
+        return managerFactory.getFilePreviewService();
+    }
+
     /**
      * Gets the password hasher utility.
      *
@@ -227,6 +249,16 @@ public class AppContext {
         return managerFactory.getNotifier();
     }
 
+    /**
+     * Gets the reminder scheduler, which sends session and task reminders
+     * through the notifier.
+     *
+     * @return the ReminderScheduler
+     */
+    public ReminderScheduler getReminderScheduler() {
+        return managerFactory.getReminderScheduler();
+    }
+
     /**
      * Gets the mail service.
      *
@@ -316,7 +348,7 @@ public class AppContext {
     }
 
     /**
-     * @deprecated Use appropriate manager instead.
+     * @deprecated Use {@link #getFriendMessageManager()} instead.
      * Direct DAO access violates the service layer pattern.
      */
     @Deprecated
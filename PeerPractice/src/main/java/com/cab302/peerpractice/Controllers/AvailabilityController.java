@@ -2,6 +2,8 @@ package com.cab302.peerpractice.Controllers;
 
 import com.cab302.peerpractice.AppContext;
 import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.AvailabilityHeatmap;
+import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Managers.AvailabilityManager;
 import com.cab302.peerpractice.Navigation;
@@ -21,12 +23,14 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 /**
  * <hr>
  * Controller for managing user availability calendar functionality.
@@ -56,6 +60,13 @@ public class AvailabilityController extends SidebarController {
     @FXML private Button prevButton;
     /** <hr> Button for navigating to the next month. */
     @FXML private Button nextButton;
+    /** <hr> Picks a group whose member availability is shaded behind the calendar. */
+    @FXML private ComboBox<Group> heatmapGroupCombo;
+
+    /** <hr> Slot length for the group availability heatmap. */
+    private static final Duration HEATMAP_SLOT = Duration.ofMinutes(30);
+    /** <hr> Clashes listed when asking whether to save an overlapping slot anyway. */
+    private static final int MAX_LISTED_OVERLAPS = 8;
 
     /** <hr> The currently displayed month and year. */
     private YearMonth currentYearMonth;
@@ -63,6 +74,21 @@ public class AvailabilityController extends SidebarController {
     /** <hr> Manager for handling availability data operations. */
     private final AvailabilityManager availabilityManager;
 
+    /** <hr> The signed-in user's availability for the displayed month, keyed by day. */
+    private Map<LocalDate, List<Availability>> availabilitiesByDay = Map.of();
+
+    /**
+     * <hr>
+     * Member availability of the selected group for the displayed month.
+     * Kept between renders: the manager updates it as the signed-in user
+     * adds or removes availability, so it is only rebuilt when the month or
+     * group changes.
+     */
+    private AvailabilityHeatmap heatmap;
+    /** <hr> The group and month the heatmap was built for. */
+    private Group heatmapGroup;
+    private YearMonth heatmapMonth;
+
     /**
      * <hr>
      * Constructs a new AvailabilityController with the specified context and navigation.
@@ -87,6 +113,38 @@ public class AvailabilityController extends SidebarController {
     public void initialize() {
         super.initialize();
         currentYearMonth = YearMonth.now();
+        setupHeatmapGroups();
+        updateCalendarView();
+    }
+
+    /**
+     * <hr>
+     * Fills the heatmap group picker with the signed-in user's groups.
+     */
+    private void setupHeatmapGroups() {
+        if (heatmapGroupCombo == null) return;
+        User currentUser = ctx.getUserSession().getCurrentUser();
+        heatmapGroupCombo.getItems().clear();
+        heatmapGroupCombo.getItems().add(null);
+        if (currentUser != null) {
+            heatmapGroupCombo.getItems().addAll(ctx.getGroupDAO().searchByUser(currentUser));
+        }
+        heatmapGroupCombo.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Group group, boolean empty) {
+                super.updateItem(group, empty);
+                setText(empty ? null : group == null ? "No group" : group.getName());
+            }
+        });
+        heatmapGroupCombo.setButtonCell(heatmapGroupCombo.getCellFactory().call(null));
+    }
+
+    /**
+     * <hr>
+     * Redraws the calendar when a different group is picked for the heatmap.
+     */
+    @FXML
+    private void onHeatmapGroupChanged() {
         updateCalendarView();
     }
 
@@ -180,6 +238,22 @@ public class AvailabilityController extends SidebarController {
         int row = 1;
         int col = dayOfWeek;
 
+        // Only current-month cells show availability, so load just this month once
+        User currentUser = ctx.getUserSession().getCurrentUser();
+        availabilitiesByDay = currentUser == null ? Map.of()
+                : availabilityManager.getAvailabilitiesByDayForUser(currentUser, firstDayOfMonth,
+                        currentYearMonth.atEndOfMonth());
+
+        Group group = heatmapGroupCombo == null ? null : heatmapGroupCombo.getValue();
+        if (group == null) {
+            heatmap = null;
+        } else if (heatmap == null || group != heatmapGroup || !currentYearMonth.equals(heatmapMonth)) {
+            heatmap = availabilityManager.buildGroupHeatmap(group, firstDayOfMonth,
+                    currentYearMonth.atEndOfMonth(), HEATMAP_SLOT);
+        }
+        heatmapGroup = group;
+        heatmapMonth = currentYearMonth;
+
         // Fill in days from previous month
         LocalDate prevMonthStart = firstDayOfMonth.minusDays(dayOfWeek);
         for (int i = 0; i < dayOfWeek; i++) {
@@ -242,15 +316,8 @@ public class AvailabilityController extends SidebarController {
         dayLabel.getStyleClass().add("calendar-day-number");
 
         // Check if there are availabilities
-        boolean hasAvailability = false;
-        User currentUser = ctx.getUserSession().getCurrentUser();
-        if (currentUser != null && !isOtherMonth) {
-            List<Availability> availabilities = availabilityManager.getAvailabilitiesForDate(date);
-            availabilities = availabilities.stream()
-                    .filter(avail -> avail.getUser().equals(currentUser))
-                    .toList();
-            hasAvailability = !availabilities.isEmpty();
-        }
+        List<Availability> availabilities = isOtherMonth ? List.of() : availabilitiesForDay(date);
+        boolean hasAvailability = !availabilities.isEmpty();
 
         // Apply special styling for today or days with availability
         if (date.equals(LocalDate.now())) {
@@ -262,18 +329,16 @@ public class AvailabilityController extends SidebarController {
         dayCell.getChildren().add(dayLabel);
 
         // Add availability indicators
-        if (currentUser != null && !isOtherMonth) {
-            List<Availability> availabilities = availabilityManager.getAvailabilitiesForDate(date);
-            availabilities = availabilities.stream()
-                    .filter(avail -> avail.getUser().equals(currentUser))
-                    .toList();
-
-            if (!availabilities.isEmpty()) {
-                // Show availability count badge instead of listing all
-                Label availBadge = new Label(availabilities.size() + " slot" + (availabilities.size() > 1 ? "s" : ""));
-                availBadge.getStyleClass().add("calendar-session-badge");
-                dayCell.getChildren().add(availBadge);
-            }
+        if (hasAvailability) {
+            // Show availability count badge instead of listing all
+            Label availBadge = new Label(availabilities.size() + " slot" + (availabilities.size() > 1 ? "s" : ""));
+            availBadge.getStyleClass().add("calendar-session-badge");
+            dayCell.getChildren().add(availBadge);
+        }
+
+        if (heatmap != null && !isOtherMonth) {
+            HeatmapOverlay.shade(dayCell, heatmap, date);
+            dayCell.getChildren().add(HeatmapOverlay.hourlyStrip(heatmap, date));
         }
 
         dayCell.setOnMouseClicked(e -> {
@@ -309,6 +374,17 @@ public class AvailabilityController extends SidebarController {
         };
     }
 
+    /**
+     * <hr>
+     * Returns the signed-in user's availability loaded for a day of this month.
+     *
+     * @param date the day to look up
+     * @return the day's availabilities in start-time order, or an empty list
+     */
+    private List<Availability> availabilitiesForDay(LocalDate date) {
+        return availabilitiesByDay.getOrDefault(date, List.of());
+    }
+
     /**
      * <hr>
      * Shows the appropriate dialog when a day cell is clicked.
@@ -321,10 +397,7 @@ public class AvailabilityController extends SidebarController {
     private void showItemDialog(LocalDate date) {
         User currentUser = ctx.getUserSession().getCurrentUser();
         if (currentUser != null) {
-            List<Availability> availabilities = availabilityManager.getAvailabilitiesForDate(date)
-                    .stream()
-                    .filter(avail -> avail.getUser().equals(currentUser))
-                    .toList();
+            List<Availability> availabilities = availabilitiesForDay(date);
 
             if (availabilities.isEmpty()) {
                 showAddAvailabilityDialog(date);
@@ -373,6 +446,13 @@ public class AvailabilityController extends SidebarController {
         colorCombo.getItems().addAll("GREEN", "BLUE", "ORANGE", "PURPLE", "RED");
         colorCombo.setValue("GREEN");
 
+        ComboBox<String> repeatCombo = new ComboBox<>();
+        repeatCombo.getItems().addAll("NONE", "DAILY", "WEEKLY", "FORTNIGHTLY", "MONTHLY", "YEARLY");
+        repeatCombo.setValue("NONE");
+        DatePicker untilPicker = new DatePicker();
+        untilPicker.setPromptText("No end date");
+        untilPicker.disableProperty().bind(repeatCombo.valueProperty().isEqualTo("NONE"));
+
         grid.add(new Label("Title:"), 0, 0);
         grid.add(titleField, 1, 0);
         grid.add(new Label("Description:"), 0, 1);
@@ -383,6 +463,8 @@ public class AvailabilityController extends SidebarController {
         grid.add(new HBox(5, new VBox(5, new Label("Hour"), endHour), new VBox(5, new Label("Minute"), endMinute)), 1, 3);
         grid.add(new Label("Color:"), 0, 4);
         grid.add(colorCombo, 1, 4);
+        grid.add(new Label("Repeat:"), 0, 5);
+        grid.add(new HBox(5, repeatCombo, new Label("until"), untilPicker), 1, 5);
 
         dialog.getDialogPane().setContent(grid);
 
@@ -396,6 +478,11 @@ public class AvailabilityController extends SidebarController {
                     if (endTime.isAfter(startTime)) {
                         Availability availability = new Availability(title, currentUser, startTime, endTime, colorCombo.getValue());
                         availability.setDescription(descriptionField.getText());
+                        availability.setRecurringPattern(repeatCombo.getValue());
+                        LocalDate until = untilPicker.getValue();
+                        if (availability.isRecurring() && until != null && !until.isBefore(date)) {
+                            availability.setRecurrenceEnd(until);
+                        }
                         return availability;
                     }
                 }
@@ -404,18 +491,68 @@ public class AvailabilityController extends SidebarController {
         });
 
         dialog.showAndWait().ifPresent(availability -> {
-
-            availabilityManager.createAvailability(
-                    availability.getTitle(),
-                    availability.getUser(),
-                    availability.getStartTime(),
-                    availability.getEndTime(),
-                    availability.getColorLabel()
-            );
+            // every occurrence of a recurring slot is checked, not just the first
+            List<Availability> overlapping = availabilityManager.findOverlappingAvailabilities(availability);
+            if (!overlapping.isEmpty() && !confirmOverlap(availability, overlapping)) return;
+
+            if (availability.isRecurring()) {
+                availabilityManager.createRecurringAvailability(
+                        availability.getTitle(),
+                        availability.getUser(),
+                        availability.getStartTime(),
+                        availability.getEndTime(),
+                        availability.getColorLabel(),
+                        availability.getRecurringPattern(),
+                        availability.getRecurrenceEnd()
+                );
+            } else {
+                availabilityManager.createAvailability(
+                        availability.getTitle(),
+                        availability.getUser(),
+                        availability.getStartTime(),
+                        availability.getEndTime(),
+                        availability.getColorLabel()
+                );
+            }
             updateCalendarView();
         });
     }
 
+    /**
+     * <hr>
+     * Asks whether to keep a new availability slot that overlaps existing ones.
+     *
+     * @param availability the slot about to be saved
+     * @param overlapping the user's existing slots that overlap it
+     * @return true if the user chose to save anyway
+     */
+    private boolean confirmOverlap(Availability availability, List<Availability> overlapping) {
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("h:mm a");
+        DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern("EEE d MMM, h:mm a");
+        StringBuilder details = new StringBuilder();
+        // a recurring slot can clash on many dates; list the first few
+        for (Availability existing : overlapping.subList(0, Math.min(MAX_LISTED_OVERLAPS, overlapping.size()))) {
+            boolean sameDay = existing.getStartTime().toLocalDate().equals(availability.getStartTime().toLocalDate());
+            details.append("• ").append(existing.getTitle()).append(" (")
+                    .append(existing.getStartTime().format(sameDay ? timeFormat : dateTimeFormat)).append(" - ")
+                    .append(existing.getEndTime().format(timeFormat)).append(")\n");
+        }
+        if (overlapping.size() > MAX_LISTED_OVERLAPS) {
+            details.append("…and ").append(overlapping.size() - MAX_LISTED_OVERLAPS).append(" more\n");
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Overlapping Availability");
+        alert.setHeaderText("\"" + availability.getTitle() + "\" overlaps availability you already added");
+        alert.setContentText(details.toString().trim());
+
+        ButtonType saveButton = new ButtonType("Save Anyway", ButtonBar.ButtonData.OK_DONE);
+        ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+        alert.getButtonTypes().setAll(saveButton, cancelButton);
+
+        return alert.showAndWait().filter(response -> response == saveButton).isPresent();
+    }
+
     /**
      * <hr>
      * Displays a dialog listing all availability entries for a specific date.
@@ -482,9 +619,16 @@ public class AvailabilityController extends SidebarController {
      * <hr>
      * Displays a confirmation dialog for deleting an availability entry.
      *
+     * <p>For an occurrence of a recurring series, offers to skip just that
+     * date or to delete the whole series.
+     *
      * @param availability the availability entry to be deleted
      */
     private void showDeleteAvailabilityDialog(Availability availability) {
+        if (availability.isOccurrence()) {
+            showDeleteOccurrenceDialog(availability);
+            return;
+        }
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Delete Availability");
         alert.setHeaderText("Are you sure you want to delete \"" + availability.getTitle() + "\"?");
@@ -502,4 +646,35 @@ public class AvailabilityController extends SidebarController {
             }
         });
     }
+
+    /**
+     * <hr>
+     * Asks whether to delete one occurrence of a recurring availability or
+     * the whole series.
+     *
+     * @param occurrence the occurrence the user chose to delete
+     */
+    private void showDeleteOccurrenceDialog(Availability occurrence) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Delete Recurring Availability");
+        alert.setHeaderText("\"" + occurrence.getTitle() + "\" repeats " +
+                occurrence.getRecurringPattern().toLowerCase() + ".");
+        alert.setContentText("Delete only this occurrence, or every occurrence in the series?");
+
+        ButtonType occurrenceButton = new ButtonType("This Occurrence", ButtonBar.ButtonData.OK_DONE);
+        ButtonType seriesButton = new ButtonType("Whole Series", ButtonBar.ButtonData.OTHER);
+        ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+
+        alert.getButtonTypes().setAll(occurrenceButton, seriesButton, cancelButton);
+
+        alert.showAndWait().ifPresent(response -> {
+            if (response == occurrenceButton) {
+                availabilityManager.removeOccurrence(occurrence);
+                updateCalendarView();
+            } else if (response == seriesButton) {
+                availabilityManager.removeAvailability(occurrence);
+                updateCalendarView();
+            }
+        });
+    }
 }
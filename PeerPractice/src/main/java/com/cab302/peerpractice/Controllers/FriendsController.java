@@ -1,13 +1,19 @@
 package com.cab302.peerpractice.Controllers;
 
 import com.cab302.peerpractice.Exceptions.DuplicateFriendException;
+import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Managers.FriendMessageManager;
+import com.cab302.peerpractice.Model.Managers.OutgoingMessage;
 import com.cab302.peerpractice.Model.Managers.Notifier;
 import com.cab302.peerpractice.AppContext;
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.Friend;
 import com.cab302.peerpractice.Model.DAOs.IFriendDAO;
 import com.cab302.peerpractice.Model.DAOs.IUserDAO;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Entities.FriendRequestNotification;
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+import com.cab302.peerpractice.Model.ValueObjects.DeliveryState;
 import com.cab302.peerpractice.Navigation;
 import javafx.animation.FadeTransition;
 import javafx.beans.property.SimpleStringProperty;
@@ -23,8 +29,14 @@ import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
 import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * <hr>
@@ -93,6 +105,17 @@ public class FriendsController extends SidebarController{
      * Notifier manager for handling friend request notifications
      */
     Notifier notifier = ctx.getNotifier();
+    /**
+     * <hr>
+     * Manager for direct messages and the conversation inbox
+     */
+    FriendMessageManager friendMessageManager = ctx.getFriendMessageManager();
+
+    /**
+     * <hr>
+     * Latest inbox summaries keyed by the other participant's username.
+     */
+    private Map<String, ConversationSummary> inboxByFriend = new HashMap<>();
 
     /**
      * <hr>
@@ -497,14 +520,16 @@ public class FriendsController extends SidebarController{
      * <hr>
      * Refreshes the friends list display.
      *
-     * <p>Retrieves the current user's friends list from the database and updates
-     * the table view. Clears any existing selection after refresh.
+     * <p>Retrieves the current user's friends list and message inbox from the
+     * database and updates the table view, with the most recently active
+     * conversations first. Clears any existing selection after refresh.
      *
      * @throws SQLException if database access errors occur during data retrieval
      */
     private void refreshFriendsList() throws SQLException {
         User currentUser = ctx.getUserSession().getCurrentUser();
         List<Friend> friendsList = ctx.getFriendDAO().getFriends(currentUser);
+        refreshInbox(currentUser);
         buildTableView(friendsList);
 
         // select last row
@@ -525,7 +550,15 @@ public class FriendsController extends SidebarController{
      * @param friendsList the list of friends to display in the table
      */
     private void buildTableView(List<Friend> friendsList) {
-        friendsTable.setItems(FXCollections.observableArrayList(friendsList));
+        // most recent conversation first; friends without messages keep their order at the end
+        List<Friend> ordered = friendsList.stream()
+                .sorted(Comparator.comparing(
+                        (Friend f) -> Optional.ofNullable(inboxByFriend.get(f.getUser2().getUsername()))
+                                .map(ConversationSummary::getLastTimestamp)
+                                .orElse(null),
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+        friendsTable.setItems(FXCollections.observableArrayList(ordered));
 
         // setup table columns
         TableColumn<Friend,String> friendUsernameCol = new TableColumn<Friend,String>("Username");
@@ -536,11 +569,58 @@ public class FriendsController extends SidebarController{
         friendLastnameCol.setCellValueFactory(cellValue -> new SimpleStringProperty(cellValue.getValue().getUser2().getLastName()));
         TableColumn<Friend,String> friendStatusCol = new TableColumn<Friend,String>("Status");
         friendStatusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
+        TableColumn<Friend,String> lastMessageCol = new TableColumn<Friend,String>("Last message");
+        lastMessageCol.setCellValueFactory(cellValue -> new SimpleStringProperty(
+                Optional.ofNullable(inboxByFriend.get(cellValue.getValue().getUser2().getUsername()))
+                        .map(this::describeLastMessage)
+                        .orElse("")));
+        TableColumn<Friend,String> unreadCol = new TableColumn<Friend,String>("Unread");
+        unreadCol.setCellValueFactory(cellValue -> new SimpleStringProperty(
+                Optional.ofNullable(inboxByFriend.get(cellValue.getValue().getUser2().getUsername()))
+                        .filter(c -> c.getUnreadCount() > 0)
+                        .map(c -> String.valueOf(c.getUnreadCount()))
+                        .orElse("")));
         //TODO Add column to display friend's online/offline status
 
         // setup placeholder and fill values
         friendsTable.setPlaceholder(new Label("No friends to display"));
-        friendsTable.getColumns().setAll(friendUsernameCol, friendFirstnameCol, friendLastnameCol, friendStatusCol);
+        friendsTable.getColumns().setAll(friendUsernameCol, friendFirstnameCol, friendLastnameCol, friendStatusCol,
+                lastMessageCol, unreadCol);
+    }
+
+    /**
+     * <hr>
+     * Reloads the inbox summaries for the current user in a single query.
+     *
+     * @param currentUser the user whose inbox to load
+     */
+    private void refreshInbox(User currentUser) {
+        Map<String, ConversationSummary> inbox = new HashMap<>();
+        try {
+            for (ConversationSummary summary : friendMessageManager.getInbox(currentUser.getUsername())) {
+                inbox.put(summary.getOtherUserId(), summary);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading inbox: " + e.getMessage());
+        }
+        inboxByFriend = inbox;
+    }
+
+    /**
+     * <hr>
+     * Formats a conversation's latest message for the friends table.
+     *
+     * @param summary the conversation summary
+     * @return a short preview with the time it was sent
+     */
+    private String describeLastMessage(ConversationSummary summary) {
+        String content = summary.getLastMessage().getContent().replace('\n', ' ');
+        if (content.length() > 40) {
+            content = content.substring(0, 40) + "…";
+        }
+        String prefix = summary.getLastMessage().getSenderId().equals(currentUser.getUsername()) ? "You: " : "";
+        String time = summary.getLastTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("MMM dd, HH:mm"));
+        return prefix + content + " (" + time + ")";
     }
 
     /**
@@ -592,14 +672,23 @@ public class FriendsController extends SidebarController{
         scrollPane.setPrefHeight(400);
         scrollPane.setStyle("-fx-background: white; -fx-background-color: white;");
 
+        // Messages sent from this dialog that may not be stored yet, in send order
+        Map<String, OutgoingMessage<FriendMessage>> pendingSends = new LinkedHashMap<>();
+
         // Method to load and display messages
         Runnable loadMessages = () -> {
             messageContainer.getChildren().clear();
             try {
                 List<com.cab302.peerpractice.Model.Entities.FriendMessage> messages =
-                    ctx.getFriendMessageDAO().getMessagesBetween(currentUser.getUsername(), friend.getUsername());
+                    friendMessageManager.getConversation(currentUser.getUsername(), friend.getUsername());
+                friendMessageManager.markConversationRead(currentUser.getUsername(), friend.getUsername());
 
-                if (messages.isEmpty()) {
+                Set<String> stored = new HashSet<>();
+                messages.forEach(m -> stored.add(m.getMessageId()));
+                pendingSends.values().removeIf(o ->
+                        o.getState() == DeliveryState.SENT && stored.contains(o.getMessage().getMessageId()));
+
+                if (messages.isEmpty() && pendingSends.isEmpty()) {
                     Label noMessages = new Label("No messages yet. Start the conversation!");
                     noMessages.setStyle("-fx-text-fill: #757575; -fx-font-style: italic; -fx-padding: 20;");
                     messageContainer.getChildren().add(noMessages);
@@ -628,6 +717,13 @@ public class FriendsController extends SidebarController{
                     }
                 }
 
+                // Sends still being written, or that failed, follow the stored history
+                for (OutgoingMessage<FriendMessage> pending : pendingSends.values()) {
+                    if (!stored.contains(pending.getMessage().getMessageId())) {
+                        messageContainer.getChildren().add(buildPendingMessageBox(pending));
+                    }
+                }
+
                 // Auto-scroll to bottom
                 javafx.application.Platform.runLater(() -> {
                     scrollPane.layout();
@@ -678,27 +774,33 @@ public class FriendsController extends SidebarController{
             }
 
             try {
-                // Create and send message
-                com.cab302.peerpractice.Model.Entities.FriendMessage newMessage =
-                    new com.cab302.peerpractice.Model.Entities.FriendMessage(
-                        java.util.UUID.randomUUID().toString(),
+                // Create the message and hand it to the background writer
+                FriendMessage newMessage = new FriendMessage(
+                        TimeOrderedId.next(),
                         currentUser.getUsername(),
                         content,
                         java.time.LocalDateTime.now(),
                         friend.getUsername()
                     );
 
-                boolean success = ctx.getFriendMessageDAO().addMessage(newMessage);
-
-                if (success) {
-                    // Clear input first
-                    messageInput.clear();
-                    // Immediately load messages to show the new one
-                    loadMessages.run();
-                } else {
-                    feedbackMsg.setText("Failed to send message");
-                    ft.playFromStart();
-                }
+                OutgoingMessage<FriendMessage> pending = friendMessageManager.sendMessageAsync(newMessage,
+                        o -> javafx.application.Platform.runLater(() -> {
+                            if (o.getState() == DeliveryState.FAILED) {
+                                feedbackMsg.setText("Failed to send message");
+                                ft.playFromStart();
+                            }
+                            loadMessages.run();
+                        }));
+                pendingSends.put(newMessage.getMessageId(), pending);
+
+                // Show it straight away as sending, without waiting on the database
+                messageInput.clear();
+                messageContainer.getChildren().removeIf(n -> n instanceof Label);
+                messageContainer.getChildren().add(buildPendingMessageBox(pending));
+                javafx.application.Platform.runLater(() -> {
+                    scrollPane.layout();
+                    scrollPane.setVvalue(1.0);
+                });
 
             } catch (Exception ex) {
                 feedbackMsg.setText("Error sending message: " + ex.getMessage());
@@ -726,6 +828,51 @@ public class FriendsController extends SidebarController{
         dialog.getDialogPane().setStyle("-fx-background-color: white;");
 
         dialog.showAndWait();
+
+        // unread counts changed while the conversation was open
+        try {
+            refreshFriendsList();
+        } catch (SQLException e) {
+            System.err.println("Error refreshing friends list: " + e.getMessage());
+        }
+    }
+
+    /**
+     * <hr>
+     * Builds the chat entry for a message that is still sending or failed to send.
+     *
+     * @param pending the outgoing message
+     * @return the message box, with a retry link if the send failed
+     */
+    private VBox buildPendingMessageBox(OutgoingMessage<FriendMessage> pending) {
+        DeliveryState state = pending.getState();
+        String timestamp = pending.getMessage().getTimestamp()
+                .format(java.time.format.DateTimeFormatter.ofPattern("MMM dd, HH:mm"));
+
+        Label headerLabel = new Label("You • " + timestamp);
+        headerLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #757575;");
+
+        Label contentLabel = new Label(pending.getMessage().getContent());
+        contentLabel.setWrapText(true);
+        contentLabel.setMaxWidth(Double.MAX_VALUE);
+        contentLabel.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-padding: 10; -fx-background-radius: 10; -fx-font-size: 14px;");
+
+        Label statusLabel = new Label(state.getDisplayName());
+        statusLabel.setStyle(state == DeliveryState.FAILED
+                ? "-fx-font-size: 11px; -fx-text-fill: #f44336;"
+                : "-fx-font-size: 11px; -fx-text-fill: #757575;");
+        HBox statusRow = new HBox(6, statusLabel);
+        if (state == DeliveryState.FAILED) {
+            Hyperlink retry = new Hyperlink("Retry");
+            retry.setStyle("-fx-font-size: 11px; -fx-padding: 0;");
+            retry.setOnAction(e -> friendMessageManager.retrySend(pending));
+            statusRow.getChildren().add(retry);
+        }
+
+        VBox msgBox = new VBox(5, headerLabel, contentLabel, statusRow);
+        msgBox.setStyle("-fx-padding: 5;");
+        msgBox.setOpacity(state.isPending() ? 0.7 : 1.0);
+        return msgBox;
     }
 
     /**
@@ -1,10 +1,14 @@
 package com.cab302.peerpractice.Controllers;
 
 import com.cab302.peerpractice.AppContext;
+import com.cab302.peerpractice.Model.Entities.AvailabilityHeatmap;
 import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.MeetingSlot;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Managers.AvailabilityManager;
 import com.cab302.peerpractice.Model.Managers.SessionCalendarManager;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
 import com.cab302.peerpractice.Navigation;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -20,12 +24,14 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -57,12 +63,22 @@ public class GroupCalendarController extends BaseController {
     @FXML private Button prevButton;
     /** <hr> Button for navigating to the next month. */
     @FXML private Button nextButton;
+    /** <hr> Toggles the member availability heatmap over the grid. */
+    @FXML private CheckBox heatmapToggle;
+
+    /** <hr> Slot length for the member availability heatmap. */
+    private static final Duration HEATMAP_SLOT = Duration.ofMinutes(30);
 
     /**
      * <hr>
      * Manager for handling session calendar data operations.
      */
     private final SessionCalendarManager sessionCalendarManager;
+    /**
+     * <hr>
+     * Manager used to suggest times when group members are free together.
+     */
+    private final AvailabilityManager availabilityManager;
     /**
      * <hr>
      * The currently displayed month and year.
@@ -73,6 +89,15 @@ public class GroupCalendarController extends BaseController {
      * The currently selected group for session management.
      */
     private Group currentGroup;
+    /**
+     * <hr>
+     * Sessions for every visible cell of the grid, keyed by day.
+     * Loaded once per render so each cell reads from memory.
+     */
+    private Map<LocalDate, List<Session>> sessionsByDay = Map.of();
+
+    /** <hr> How many members are free in each half hour of the visible grid, or null when hidden. */
+    private AvailabilityHeatmap heatmap;
 
     /**
      * <hr>
@@ -84,6 +109,7 @@ public class GroupCalendarController extends BaseController {
     public GroupCalendarController(AppContext ctx, Navigation nav) {
         super(ctx, nav);
         this.sessionCalendarManager = ctx.getSessionCalendarManager();
+        this.availabilityManager = ctx.getAvailabilityManager();
     }
 
     /**
@@ -136,6 +162,15 @@ public class GroupCalendarController extends BaseController {
         updateCalendarView();
     }
 
+    /**
+     * <hr>
+     * Shows or hides the member availability heatmap.
+     */
+    @FXML
+    private void onToggleHeatmap() {
+        updateCalendarView();
+    }
+
     /**
      * <hr>
      * Updates the calendar view with current month and session data.
@@ -197,8 +232,19 @@ public class GroupCalendarController extends BaseController {
         int row = 1;
         int col = dayOfWeek;
 
-        // Fill in days from previous month
+        // Load the whole visible grid, including leading and trailing days, in one query
         LocalDate prevMonthStart = firstDayOfMonth.minusDays(dayOfWeek);
+        int visibleCells = (dayOfWeek + daysInMonth + 6) / 7 * 7;
+        sessionsByDay = currentGroup == null ? Map.of()
+                : sessionCalendarManager.getSessionsByDayForGroup(currentGroup, prevMonthStart,
+                        prevMonthStart.plusDays(visibleCells - 1));
+        boolean showHeatmap = heatmapToggle != null && heatmapToggle.isSelected() && currentGroup != null;
+        heatmap = showHeatmap
+                ? availabilityManager.buildGroupHeatmap(currentGroup, prevMonthStart,
+                        prevMonthStart.plusDays(visibleCells - 1), HEATMAP_SLOT)
+                : null;
+
+        // Fill in days from previous month
         for (int i = 0; i < dayOfWeek; i++) {
             LocalDate date = prevMonthStart.plusDays(i);
             VBox dayCell = createDayCell(date, true);
@@ -259,11 +305,8 @@ public class GroupCalendarController extends BaseController {
         dayLabel.getStyleClass().add("calendar-day-number");
 
         // Check if there are sessions
-        boolean hasSessions = false;
-        if (currentGroup != null) {
-            List<Session> sessions = sessionCalendarManager.getSessionsForDateAndGroup(date, currentGroup);
-            hasSessions = !sessions.isEmpty();
-        }
+        List<Session> sessions = sessionsForDay(date);
+        boolean hasSessions = !sessions.isEmpty();
 
         // Apply special styling for today or days with sessions
         if (date.equals(LocalDate.now())) {
@@ -275,7 +318,6 @@ public class GroupCalendarController extends BaseController {
         dayCell.getChildren().add(dayLabel);
 
         if (currentGroup != null && !isOtherMonth) {
-            List<Session> sessions = sessionCalendarManager.getSessionsForDateAndGroup(date, currentGroup);
             if (!sessions.isEmpty()) {
                 VBox eventIndicators = new VBox(3);
                 eventIndicators.setAlignment(Pos.TOP_LEFT);
@@ -307,6 +349,11 @@ public class GroupCalendarController extends BaseController {
 
                 dayCell.getChildren().add(eventIndicators);
             }
+
+            if (heatmap != null) {
+                HeatmapOverlay.shade(dayCell, heatmap, date);
+                dayCell.getChildren().add(HeatmapOverlay.hourlyStrip(heatmap, date));
+            }
         }
 
         dayCell.setOnMouseClicked(e -> {
@@ -356,6 +403,17 @@ public class GroupCalendarController extends BaseController {
         };
     }
 
+    /**
+     * <hr>
+     * Returns the sessions loaded for a visible day.
+     *
+     * @param date the day to look up
+     * @return the day's sessions in start-time order, or an empty list
+     */
+    private List<Session> sessionsForDay(LocalDate date) {
+        return sessionsByDay.getOrDefault(date, List.of());
+    }
+
     /**
      * <hr>
      * Shows the appropriate dialog when a day cell is clicked.
@@ -367,7 +425,7 @@ public class GroupCalendarController extends BaseController {
      */
     private void showItemDialog(LocalDate date) {
         if (currentGroup == null) return;
-        List<Session> sessions = sessionCalendarManager.getSessionsForDateAndGroup(date, currentGroup);
+        List<Session> sessions = sessionsForDay(date);
         if (sessions.isEmpty()) {
             showAddSessionDialog(date);
         } else {
@@ -448,6 +506,41 @@ public class GroupCalendarController extends BaseController {
         Label colorLabel = new Label("Color:");
         colorLabel.getStyleClass().add("modern-label-body");
 
+        Label suggestLabel = new Label("Suggested:");
+        suggestLabel.getStyleClass().add("modern-label-body");
+
+        int memberCount = currentGroup.getMembers().size();
+        ComboBox<MeetingSlot> suggestionCombo = new ComboBox<>();
+        suggestionCombo.setPromptText("Find times members are free");
+        suggestionCombo.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(MeetingSlot slot, boolean empty) {
+                super.updateItem(slot, empty);
+                setText(empty || slot == null ? null : describeSlot(slot, memberCount));
+            }
+        });
+        suggestionCombo.setButtonCell(suggestionCombo.getCellFactory().call(null));
+
+        Button suggestButton = new Button("Suggest times");
+        suggestButton.getStyleClass().add("modern-button-secondary");
+        suggestButton.setOnAction(e -> {
+            Duration length = Duration.between(
+                    LocalTime.of(startHour.getValue(), startMinute.getValue()),
+                    LocalTime.of(endHour.getValue(), endMinute.getValue()));
+            if (length.isNegative() || length.isZero()) length = Duration.ofHours(1);
+            List<MeetingSlot> slots = availabilityManager.recommendMeetingSlots(
+                    currentGroup, date, date, length, Math.max(1, (memberCount + 1) / 2), 5);
+            suggestionCombo.getItems().setAll(slots);
+            suggestionCombo.setPromptText(slots.isEmpty() ? "No shared availability this day" : "Pick a suggested time");
+        });
+        suggestionCombo.valueProperty().addListener((obs, old, slot) -> {
+            if (slot == null) return;
+            startHour.getValueFactory().setValue(slot.getStart().getHour());
+            startMinute.getValueFactory().setValue(slot.getStart().getMinute());
+            endHour.getValueFactory().setValue(slot.getEnd().getHour());
+            endMinute.getValueFactory().setValue(slot.getEnd().getMinute());
+        });
+
         grid.add(titleLabel, 0, 0);
         grid.add(titleField, 1, 0);
         grid.add(descLabel, 0, 1);
@@ -462,6 +555,8 @@ public class GroupCalendarController extends BaseController {
         grid.add(subjectCombo, 1, 5);
         grid.add(colorLabel, 0, 6);
         grid.add(colorCombo, 1, 6);
+        grid.add(suggestLabel, 0, 7);
+        grid.add(new HBox(5, suggestButton, suggestionCombo), 1, 7);
 
         dialog.getDialogPane().setContent(grid);
 
@@ -485,11 +580,26 @@ public class GroupCalendarController extends BaseController {
         });
 
         dialog.showAndWait().ifPresent(session -> {
+            if (!confirmDoubleBooking(session, null)) return;
             sessionCalendarManager.addSession(session, currentGroup);
             updateCalendarView();
         });
     }
 
+    /**
+     * <hr>
+     * Formats a suggested meeting slot for the suggestions list.
+     *
+     * @param slot the suggestion
+     * @param memberCount the number of members in the group
+     * @return the time range and how many members can attend
+     */
+    private String describeSlot(MeetingSlot slot, int memberCount) {
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("h:mm a");
+        return slot.getStart().format(timeFormat) + " - " + slot.getEnd().format(timeFormat)
+                + "  ·  " + slot.getAttendeeCount() + "/" + memberCount + " free";
+    }
+
     /**
      * <hr>
      * Displays a dialog listing all session entries for a specific date.
@@ -558,9 +668,32 @@ public class GroupCalendarController extends BaseController {
                 sessionCard.getChildren().add(descriptionLabel);
             }
 
+            List<String> waitlist = sessionCalendarManager.getWaitlist(session);
+            Label seatsLabel = new Label("👥 " + session.getParticipantCount() + "/" + session.getMaxParticipants()
+                    + (waitlist.isEmpty() ? "" : " · " + waitlist.size() + " waiting"));
+            seatsLabel.setStyle("-fx-text-fill: #757575; -fx-font-size: 12px;");
+            sessionCard.getChildren().add(seatsLabel);
+
             HBox buttonBox = new HBox(8);
             buttonBox.setAlignment(Pos.CENTER_LEFT);
 
+            if (currentUser != null && !currentUser.equals(session.getOrganiser())) {
+                boolean seated = session.isParticipant(currentUser);
+                boolean waiting = waitlist.contains(currentUser.getUserId());
+                Button seatButton = new Button(seated ? "Leave" : waiting ? "Leave Waitlist" : "Join");
+                seatButton.getStyleClass().add(seated || waiting ? "modern-button-secondary" : "modern-button");
+                seatButton.setOnAction(e -> {
+                    dialog.close();
+                    if (seated || waiting) {
+                        sessionCalendarManager.leaveSession(session, currentUser);
+                    } else {
+                        showSeatReservation(session, sessionCalendarManager.joinSession(session, currentUser));
+                    }
+                    updateCalendarView();
+                });
+                buttonBox.getChildren().add(seatButton);
+            }
+
             boolean canEdit = canUserEditSession(currentUser, session);
             if (canEdit) {
                 Button editButton = new Button("Edit");
@@ -612,6 +745,40 @@ public class GroupCalendarController extends BaseController {
         dialog.showAndWait();
     }
 
+    /**
+     * <hr>
+     * Warns when a session overlaps others in the group or involving its
+     * participants, and lets the user decide whether to keep it.
+     *
+     * @param session the session about to be saved
+     * @param replacing the session being edited, or null for a new session
+     * @return true if there is no clash or the user chose to save anyway
+     */
+    private boolean confirmDoubleBooking(Session session, Session replacing) {
+        List<Session> conflicts = sessionCalendarManager.findConflictingSessions(session, replacing);
+        if (conflicts.isEmpty()) return true;
+
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("h:mm a");
+        StringBuilder details = new StringBuilder();
+        for (Session conflict : conflicts) {
+            details.append("• ").append(conflict.getTitle()).append(" (")
+                    .append(conflict.getStartTime().format(timeFormat)).append(" - ")
+                    .append(conflict.getEndTime().format(timeFormat)).append(")\n");
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Double Booking");
+        alert.setHeaderText("\"" + session.getTitle() + "\" overlaps " + conflicts.size()
+                + " other session" + (conflicts.size() > 1 ? "s" : ""));
+        alert.setContentText(details.toString().trim());
+
+        ButtonType saveButton = new ButtonType("Save Anyway", ButtonBar.ButtonData.OK_DONE);
+        ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+        alert.getButtonTypes().setAll(saveButton, cancelButton);
+
+        return alert.showAndWait().filter(response -> response == saveButton).isPresent();
+    }
+
     /**
      * <hr>
      * Displays a confirmation dialog for deleting a session entry.
@@ -637,6 +804,25 @@ public class GroupCalendarController extends BaseController {
         });
     }
 
+    /**
+     * <hr>
+     * Tells the user whether they got a seat or were put on the waitlist.
+     *
+     * @param session the session joined
+     * @param result the outcome of the reservation
+     */
+    private void showSeatReservation(Session session, SeatReservation result) {
+        Alert alert = new Alert(result == SeatReservation.NOT_FOUND ? Alert.AlertType.ERROR : Alert.AlertType.INFORMATION);
+        alert.setTitle("Join Session");
+        alert.setHeaderText(result.getDisplayName());
+        alert.setContentText(switch (result) {
+            case JOINED -> "You have a seat in \"" + session.getTitle() + "\".";
+            case WAITLISTED -> "\"" + session.getTitle() + "\" is full. You will get a seat when someone leaves.";
+            case NOT_FOUND -> "This session no longer exists.";
+        });
+        alert.showAndWait();
+    }
+
     /**
      * <hr>
      * Checks if a user has permission to edit a specific session.
@@ -755,6 +941,7 @@ public class GroupCalendarController extends BaseController {
         });
 
         dialog.showAndWait().ifPresent(editedSession -> {
+            if (!confirmDoubleBooking(editedSession, session)) return;
             sessionCalendarManager.updateSession(session, editedSession);
             updateCalendarView();
         });
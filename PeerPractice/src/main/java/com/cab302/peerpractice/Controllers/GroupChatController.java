@@ -1,26 +1,42 @@
 package com.cab302.peerpractice.Controllers;
 
 import com.cab302.peerpractice.AppContext;
+import com.cab302.peerpractice.Exceptions.InsufficientPermissionsException;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
 import com.cab302.peerpractice.Model.Managers.GroupMessageManager;
+import com.cab302.peerpractice.Model.Managers.OutgoingMessage;
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+import com.cab302.peerpractice.Model.ValueObjects.DeliveryState;
 import com.cab302.peerpractice.Navigation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.util.Duration;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for displaying and sending group chat messages.
@@ -42,9 +58,27 @@ public class GroupChatController extends BaseController {
     @FXML
     private Button sendButton;
 
+    @FXML
+    private TextField searchInput;
+
+    @FXML
+    private ListView<MessageSearchResult<GroupMessage>> searchResultsList;
+
+    @FXML
+    private Button latestButton;
+
     /** Timeline for periodic auto-refresh of group messages */
     private Timeline autoRefreshTimeline;
 
+    /** True while showing a page of history around a search hit instead of the live tail */
+    private boolean viewingHistory;
+
+    /** Messages sent from this view that may not be in the database yet, in send order (FX thread only) */
+    private final Map<String, OutgoingMessage<GroupMessage>> outgoing = new LinkedHashMap<>();
+
+    /** Bubbles currently showing an outgoing message, so state changes update them in place */
+    private final Map<String, VBox> outgoingBubbles = new LinkedHashMap<>();
+
     /**
      * Constructs a new GroupChatController.
      *
@@ -63,8 +97,42 @@ public class GroupChatController extends BaseController {
      */
     public void setGroup(Group group) {
         this.currentGroup = group;
-        loadMessages();
-        startAutoRefresh();
+        outgoing.clear();
+        outgoingBubbles.clear();
+        clearSearch();
+        showLatest();
+    }
+
+    /**
+     * Configures the search results list to render highlighted snippets and
+     * jump to the selected hit.
+     */
+    @FXML
+    public void initialize() {
+        searchResultsList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(MessageSearchResult<GroupMessage> result, boolean empty) {
+                super.updateItem(result, empty);
+                if (empty || result == null) {
+                    setGraphic(null);
+                    setText(null);
+                    return;
+                }
+                Text sender = new Text(result.getMessage().getSenderId() + ": ");
+                sender.getStyleClass().add("sender-text");
+                List<Text> parts = new ArrayList<>();
+                parts.add(sender);
+                parts.addAll(highlightedSnippet(result.getSnippet()));
+                setGraphic(new TextFlow(parts.toArray(new Text[0])));
+                setText(null);
+            }
+        });
+        searchResultsList.setOnMouseClicked(e -> {
+            MessageSearchResult<GroupMessage> selected = searchResultsList.getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                jumpToMessage(selected.getMessage());
+            }
+        });
     }
 
     /**
@@ -91,22 +159,180 @@ public class GroupChatController extends BaseController {
 
     /**
      * Loads all messages for the current group and displays them.
+     *
+     * <p>The query runs off the FX thread so a slow disk never stalls typing;
+     * the result is rendered only if the user is still on the live tail of
+     * the same group.
      */
     private void loadMessages() {
+        Group group = currentGroup;
+        if (group == null) return;
+
+        CompletableFuture.supplyAsync(() -> {
+            List<GroupMessage> messages = groupMessageManager.getMessages(group.getID());
+            markGroupRead(group);
+            return messages;
+        }).thenAccept(messages -> Platform.runLater(() -> {
+            if (group != currentGroup || viewingHistory) return;
+            renderMessages(messages);
+            scrollPane.layout();
+            scrollPane.setVvalue(1.0);
+        })).exceptionally(e -> {
+            System.err.println("Failed to load group messages: " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the message list with stored messages followed by any of this
+     * view's outgoing messages that have not reached the database yet.
+     */
+    private void renderMessages(List<GroupMessage> messages) {
+        messagesBox.getChildren().clear();
+        outgoingBubbles.clear();
+        Set<String> stored = new HashSet<>();
+        for (GroupMessage msg : messages) {
+            stored.add(msg.getMessageId());
+            messagesBox.getChildren().add(buildMessageBubble(msg));
+        }
+        outgoing.values().removeIf(o -> o.getState() == DeliveryState.SENT && stored.contains(o.getMessage().getMessageId()));
+        for (OutgoingMessage<GroupMessage> pending : outgoing.values()) {
+            if (!stored.contains(pending.getMessage().getMessageId())) {
+                messagesBox.getChildren().add(buildOutgoingBubble(pending));
+            }
+        }
+    }
+
+    /**
+     * Moves the user's read cursor to the newest message in a group.
+     */
+    private void markGroupRead(Group group) {
+        var user = ctx.getUserSession().getCurrentUser();
+        if (user == null) return;
+        try {
+            groupMessageManager.markGroupRead(user, group.getID());
+        } catch (InsufficientPermissionsException e) {
+            // Not a member (e.g. just left the group); nothing to mark
+        }
+    }
+
+    /**
+     * Runs a full-text search over the current group's history and lists the hits.
+     */
+    @FXML
+    private void onSearchMessages() {
         if (currentGroup == null) return;
+        String query = searchInput.getText() == null ? "" : searchInput.getText().trim();
+        if (query.isEmpty()) {
+            clearSearch();
+            return;
+        }
 
-        List<GroupMessage> messages = groupMessageManager.getMessages(currentGroup.getID());
+        List<MessageSearchResult<GroupMessage>> results;
+        try {
+            results = groupMessageManager.searchMessages(ctx.getUserSession().getCurrentUser(), currentGroup.getID(), query);
+        } catch (RuntimeException e) {
+            System.err.println("Message search failed: " + e.getMessage());
+            results = List.of();
+        }
+        searchResultsList.getItems().setAll(results);
+        searchResultsList.setPlaceholder(new Label("No messages match \"" + query + "\""));
+        setNodeShown(searchResultsList, true);
+    }
 
-        Platform.runLater(() -> {
-            messagesBox.getChildren().clear();
-            for (GroupMessage msg : messages) {
-                addMessageToView(msg);
+    /**
+     * Returns from a search hit to the live end of the conversation.
+     */
+    @FXML
+    private void onShowLatest() {
+        showLatest();
+    }
+
+    /**
+     * Replaces the message list with the page surrounding the given message
+     * and scrolls it into view. Auto-refresh is paused so the page is not
+     * replaced by the live tail while the user is reading it.
+     *
+     * @param target the message to centre on
+     */
+    private void jumpToMessage(GroupMessage target) {
+        List<GroupMessage> page = groupMessageManager.getMessagesAround(
+                ctx.getUserSession().getCurrentUser(), currentGroup.getID(), target.getMessageId());
+        if (page.isEmpty()) return;
+
+        stopAutoRefresh();
+        viewingHistory = true;
+        setNodeShown(latestButton, true);
+
+        messagesBox.getChildren().clear();
+        VBox focused = null;
+        for (GroupMessage msg : page) {
+            VBox bubble = buildMessageBubble(msg);
+            if (msg.getMessageId().equals(target.getMessageId())) {
+                bubble.getStyleClass().add("message-bubble-focused");
+                focused = bubble;
             }
+            messagesBox.getChildren().add(bubble);
+        }
+
+        VBox anchor = focused;
+        Platform.runLater(() -> {
             scrollPane.layout();
-            scrollPane.setVvalue(1.0);
+            double contentHeight = messagesBox.getHeight() - scrollPane.getViewportBounds().getHeight();
+            if (anchor != null && contentHeight > 0) {
+                scrollPane.setVvalue(Math.min(1.0, anchor.getBoundsInParent().getMinY() / contentHeight));
+            }
         });
     }
 
+    /**
+     * Shows the newest messages and resumes auto-refresh.
+     */
+    private void showLatest() {
+        viewingHistory = false;
+        setNodeShown(latestButton, false);
+        loadMessages();
+        startAutoRefresh();
+    }
+
+    private void clearSearch() {
+        searchInput.clear();
+        searchResultsList.getItems().clear();
+        setNodeShown(searchResultsList, false);
+    }
+
+    private static void setNodeShown(Node node, boolean shown) {
+        node.setVisible(shown);
+        node.setManaged(shown);
+    }
+
+    /**
+     * Splits a search snippet into text nodes, styling the matched terms.
+     *
+     * @param snippet the snippet with highlight markers
+     * @return the text nodes to display
+     */
+    private static List<Text> highlightedSnippet(String snippet) {
+        List<Text> parts = new ArrayList<>();
+        String[] segments = snippet.split(MessageSearchResult.HIGHLIGHT_START, -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            int end = i == 0 ? -1 : segment.indexOf(MessageSearchResult.HIGHLIGHT_END);
+            if (end >= 0) {
+                Text match = new Text(segment.substring(0, end));
+                match.getStyleClass().add("search-highlight-text");
+                parts.add(match);
+                segment = segment.substring(end + MessageSearchResult.HIGHLIGHT_END.length());
+            }
+            if (!segment.isEmpty()) {
+                Text plain = new Text(segment);
+                plain.getStyleClass().add("message-text");
+                parts.add(plain);
+            }
+        }
+        return parts;
+    }
+
     /**
      * Handles sending a new message when the Send button is pressed.
      */
@@ -114,26 +340,79 @@ public class GroupChatController extends BaseController {
     private void onSendMessage() {
         String content = messageInput.getText().trim();
         if (content.isEmpty() || currentGroup == null) return;
+        if (viewingHistory) {
+            showLatest();
+        }
 
         GroupMessage message = new GroupMessage(
-                UUID.randomUUID().toString(),
+                TimeOrderedId.next(),
                 ctx.getUserSession().getCurrentUser().getUsername(),
                 content,
                 LocalDateTime.now(),
                 currentGroup.getID()
         );
 
-        groupMessageManager.sendMessage(message);
-        addMessageToView(message);
+        OutgoingMessage<GroupMessage> pending = groupMessageManager.sendMessageAsync(
+                message, o -> Platform.runLater(() -> onDeliveryStateChanged(o)));
+        outgoing.put(message.getMessageId(), pending);
+        messagesBox.getChildren().add(buildOutgoingBubble(pending));
         messageInput.clear();
+        Platform.runLater(() -> {
+            scrollPane.layout();
+            scrollPane.setVvalue(1.0);
+        });
+    }
+
+    /**
+     * Updates the bubble of an outgoing message when its delivery state changes.
+     */
+    private void onDeliveryStateChanged(OutgoingMessage<GroupMessage> pending) {
+        VBox bubble = outgoingBubbles.get(pending.getMessage().getMessageId());
+        if (bubble != null) {
+            applyDeliveryState(bubble, pending);
+        }
+    }
+
+    /**
+     * Builds a bubble for a message sent from this view, including its delivery state.
+     */
+    private VBox buildOutgoingBubble(OutgoingMessage<GroupMessage> pending) {
+        VBox bubble = buildMessageBubble(pending.getMessage());
+        outgoingBubbles.put(pending.getMessage().getMessageId(), bubble);
+        applyDeliveryState(bubble, pending);
+        return bubble;
     }
 
     /**
-     * Adds a single message to the message box UI.
+     * Shows the delivery state under a bubble, with a retry link once it has failed.
+     */
+    private void applyDeliveryState(VBox bubble, OutgoingMessage<GroupMessage> pending) {
+        bubble.getChildren().removeIf(n -> n.getStyleClass().contains("message-status"));
+        bubble.getStyleClass().remove("message-bubble-pending");
+
+        DeliveryState state = pending.getState();
+        Label status = new Label(state.getDisplayName());
+        HBox statusRow = new HBox(6, status);
+        statusRow.getStyleClass().add("message-status");
+        if (state == DeliveryState.FAILED) {
+            status.getStyleClass().add("message-status-failed");
+            Hyperlink retry = new Hyperlink("Retry");
+            retry.setOnAction(e -> groupMessageManager.retrySend(pending));
+            statusRow.getChildren().add(retry);
+        }
+        if (state.isPending()) {
+            bubble.getStyleClass().add("message-bubble-pending");
+        }
+        bubble.getChildren().add(statusRow);
+    }
+
+    /**
+     * Builds the bubble node used to display a single message.
      *
      * @param message the message to display
+     * @return the message bubble
      */
-    private void addMessageToView(GroupMessage message) {
+    private VBox buildMessageBubble(GroupMessage message) {
         Text senderText = new Text(message.getSenderId());
         senderText.getStyleClass().add("sender-text");
 
@@ -153,10 +432,7 @@ public class GroupChatController extends BaseController {
         messageBubble.setMaxWidth(350);
         messageBubble.setSpacing(2);
         VBox.setMargin(messageBubble, new Insets(0, 0, 6, 0));
-
-        Platform.runLater(() -> {
-            messagesBox.getChildren().add(messageBubble);
-        });
+        return messageBubble;
     }
 
     /**
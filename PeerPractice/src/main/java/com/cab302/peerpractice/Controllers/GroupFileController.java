@@ -1,15 +1,27 @@
 package com.cab302.peerpractice.Controllers;
 
 import com.cab302.peerpractice.AppContext;
+import com.cab302.peerpractice.Exceptions.StorageQuotaExceededException;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.Managers.FileExport;
+import com.cab302.peerpractice.Model.Managers.FilePreviewService;
+import com.cab302.peerpractice.Model.Managers.FileUpload;
 import com.cab302.peerpractice.Model.Managers.GroupFileManager;
+import com.cab302.peerpractice.Model.Utils.LruCache;
+import com.cab302.peerpractice.Model.ValueObjects.ExportState;
+import com.cab302.peerpractice.Model.ValueObjects.StorageQuota;
+import com.cab302.peerpractice.Model.ValueObjects.StorageUsage;
+import com.cab302.peerpractice.Model.ValueObjects.UploadState;
 import com.cab302.peerpractice.Navigation;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.TransferMode;
@@ -20,18 +32,24 @@ import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Controller for displaying and managing group file sharing.
  */
 public class GroupFileController extends BaseController {
 
+    private static final int THUMBNAIL_IMAGES = 128;
+
     private final GroupFileManager groupFileManager;
+    private final FilePreviewService previewService;
+    /** Decoded thumbnails by path, so scrolling back does not reload them. */
+    private final LruCache<String, Image> thumbnails = new LruCache<>(THUMBNAIL_IMAGES);
     private Group currentGroup;
 
     @FXML
@@ -43,12 +61,21 @@ public class GroupFileController extends BaseController {
     @FXML
     private Label uploadStatusLabel;
 
+    @FXML
+    private VBox uploadsBox;
+
     @FXML
     private ListView<GroupFile> filesListView;
 
+    @FXML
+    private Label storageUsageLabel;
+
     @FXML
     private Button downloadButton;
 
+    @FXML
+    private Button downloadAllButton;
+
     @FXML
     private Button deleteButton;
 
@@ -64,6 +91,7 @@ public class GroupFileController extends BaseController {
     protected GroupFileController(AppContext ctx, Navigation nav) {
         super(ctx, nav);
         this.groupFileManager = ctx.getGroupFileManager();
+        this.previewService = ctx.getFilePreviewService();
     }
 
     /**
@@ -84,6 +112,7 @@ public class GroupFileController extends BaseController {
     public void setGroup(Group group) {
         this.currentGroup = group;
         loadFiles();
+        showInterruptedUploads();
     }
 
     /**
@@ -174,11 +203,45 @@ public class GroupFileController extends BaseController {
 
                     container.getChildren().addAll(iconLabel, detailsBox, spacer);
                     setGraphic(container);
+
+                    // only cells on screen are updated, so previews load as they scroll into view
+                    showPreview(this, file, iconLabel, detailsBox);
                 }
             }
         });
     }
 
+    /**
+     * Fills in a file's preview once the preview service has it: a
+     * thumbnail in place of the type icon, or the opening lines under the
+     * file details. Nothing changes if the cell has moved on to another file.
+     */
+    private void showPreview(ListCell<GroupFile> cell, GroupFile file, Label iconLabel, VBox detailsBox) {
+        previewService.getPreview(file).thenAccept(preview -> Platform.runLater(() -> {
+            if (cell.getItem() != file) return;
+            switch (preview.getKind()) {
+                case IMAGE -> {
+                    String url = preview.getThumbnailPath().toUri().toString();
+                    Image image = thumbnails.get(url, u -> new Image(u, true));
+                    ImageView view = new ImageView(image);
+                    view.setFitWidth(48);
+                    view.setFitHeight(48);
+                    view.setPreserveRatio(true);
+                    iconLabel.setText(null);
+                    iconLabel.setGraphic(view);
+                }
+                case TEXT -> {
+                    Label snippetLabel = new Label(preview.getSnippet());
+                    snippetLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #888888;");
+                    snippetLabel.setWrapText(true);
+                    snippetLabel.setMaxHeight(48);
+                    detailsBox.getChildren().add(snippetLabel);
+                }
+                case NONE -> { }
+            }
+        }));
+    }
+
     /**
      * Returns an emoji icon based on file MIME type.
      */
@@ -222,9 +285,37 @@ public class GroupFileController extends BaseController {
             List<GroupFile> files = groupFileManager.getFilesForGroup(currentGroup.getID());
             filesListView.getItems().clear();
             filesListView.getItems().addAll(files);
+            showStorageUsage();
         });
     }
 
+    /**
+     * Shows how much the group stores against its quota, with a breakdown
+     * by member and file type in the tooltip.
+     */
+    private void showStorageUsage() {
+        if (currentGroup == null) return;
+        StorageUsage usage = groupFileManager.getStorageUsage(currentGroup.getID());
+        StorageQuota quota = groupFileManager.getStorageQuota(currentGroup.getID());
+        String used = GroupFile.formatSize(usage.getTotalBytes());
+        storageUsageLabel.setText(quota.isGroupLimited()
+                ? used + " of " + GroupFile.formatSize(quota.getMaxGroupBytes()) + " used"
+                : used + " used");
+
+        StringBuilder breakdown = new StringBuilder("By member:");
+        for (Map.Entry<String, Long> entry : usage.getBytesByUploader().entrySet()) {
+            breakdown.append("\n  ").append(entry.getKey()).append(": ").append(GroupFile.formatSize(entry.getValue()));
+        }
+        breakdown.append("\nBy type:");
+        for (Map.Entry<String, Long> entry : usage.getBytesByMimeType().entrySet()) {
+            breakdown.append("\n  ").append(entry.getKey()).append(": ").append(GroupFile.formatSize(entry.getValue()));
+        }
+        if (quota.isUserLimited()) {
+            breakdown.append("\nEach member may upload up to ").append(GroupFile.formatSize(quota.getMaxUserBytes()));
+        }
+        storageUsageLabel.setTooltip(new Tooltip(breakdown.toString()));
+    }
+
     /**
      * Handles the browse files button click.
      */
@@ -252,7 +343,8 @@ public class GroupFileController extends BaseController {
     }
 
     /**
-     * Uploads a file to the group.
+     * Uploads a file to the group in the background, showing a progress row
+     * with a cancel button until it finishes.
      */
     private void uploadFile(File file) {
         if (currentGroup == null) {
@@ -260,10 +352,10 @@ public class GroupFileController extends BaseController {
             return;
         }
 
-        // Validate file size (50MB limit)
-        final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50 MB in bytes
+        // Validate file size (2GB limit)
+        final long MAX_FILE_SIZE = 2L * 1024 * 1024 * 1024; // 2 GB in bytes
         if (file.length() > MAX_FILE_SIZE) {
-            showError("File too large. Maximum file size is 50 MB.");
+            showError("File too large. Maximum file size is 2 GB.");
             return;
         }
 
@@ -274,41 +366,142 @@ public class GroupFileController extends BaseController {
         }
 
         String currentUser = ctx.getUserSession().getCurrentUser().getUsername();
-        uploadStatusLabel.setText("Uploading " + file.getName() + "...");
+        trackUpload(file.getName(), listener ->
+                groupFileManager.uploadFileAsync(currentGroup.getID(), currentUser, file, "", listener));
+    }
 
+    /**
+     * Adds a progress row with a cancel button and starts an upload that
+     * reports to it, until it finishes.
+     *
+     * @param filename the name shown in the row
+     * @param start starts the upload with the listener it should report to
+     */
+    private void trackUpload(String filename, Function<Consumer<FileUpload>, FileUpload> start) {
+        Label nameLabel = new Label(filename);
+        nameLabel.setStyle("-fx-font-size: 11px;");
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+        Label rateLabel = new Label(UploadState.QUEUED.getDisplayName());
+        rateLabel.setStyle("-fx-text-fill: #666666; -fx-font-size: 11px;");
+        rateLabel.setMinWidth(140);
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setStyle("-fx-font-size: 11px; -fx-cursor: hand;");
+        HBox row = new HBox(8, nameLabel, progressBar, rateLabel, cancelButton);
+        row.setAlignment(Pos.CENTER_LEFT);
+        uploadsBox.getChildren().add(row);
+
+        // Progress arrives from the upload thread; only the latest report is drawn
+        AtomicBoolean redrawQueued = new AtomicBoolean();
         try {
-            GroupFile uploadedFile = groupFileManager.uploadFile(
-                    currentGroup.getID(),
-                    currentUser,
-                    file,
-                    "" // No description for now
-            );
-
-            if (uploadedFile != null) {
-                uploadStatusLabel.setText("Successfully uploaded " + file.getName());
-                Platform.runLater(() -> {
-                    filesListView.getItems().add(0, uploadedFile); // Add to top of list
-
-                    // Clear status after 3 seconds
-                    new Thread(() -> {
-                        try {
-                            Thread.sleep(3000);
-                            Platform.runLater(() -> uploadStatusLabel.setText(""));
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }).start();
-                });
+            FileUpload upload = start.apply(u -> {
+                if (u.getState().isDone() || redrawQueued.compareAndSet(false, true)) {
+                    Platform.runLater(() -> {
+                        redrawQueued.set(false);
+                        showUploadProgress(u, row, progressBar, rateLabel, cancelButton);
+                    });
+                }
+            });
+            cancelButton.setOnAction(e -> upload.cancel());
+        } catch (StorageQuotaExceededException e) {
+            uploadsBox.getChildren().remove(row);
+            showError("Not enough group storage for " + filename + ". " + e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            uploadsBox.getChildren().remove(row);
+            showError("Error uploading file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Shows the current user's unfinished chunked uploads to this group,
+     * each with buttons to resume or discard it.
+     */
+    private void showInterruptedUploads() {
+        if (currentGroup == null) return;
+        String currentUser = ctx.getUserSession().getCurrentUser().getUsername();
+        for (UploadManifest manifest : groupFileManager.getInterruptedUploads(currentUser)) {
+            if (manifest.getGroupId() == currentGroup.getID()) {
+                showInterruptedUpload(manifest);
+            }
+        }
+    }
+
+    private void showInterruptedUpload(UploadManifest manifest) {
+        double landed = manifest.getSourceSize() == 0 ? 0 : (double) manifest.getLandedBytes() / manifest.getSourceSize();
+        Label nameLabel = new Label(manifest.getFilename());
+        nameLabel.setStyle("-fx-font-size: 11px;");
+        ProgressBar progressBar = new ProgressBar(landed);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+        Label stateLabel = new Label(String.format("Interrupted • %d%%", Math.round(landed * 100)));
+        stateLabel.setStyle("-fx-text-fill: #666666; -fx-font-size: 11px;");
+        stateLabel.setMinWidth(140);
+        Button resumeButton = new Button("Resume");
+        resumeButton.setStyle("-fx-font-size: 11px; -fx-cursor: hand;");
+        Button discardButton = new Button("Discard");
+        discardButton.setStyle("-fx-font-size: 11px; -fx-cursor: hand;");
+        HBox row = new HBox(8, nameLabel, progressBar, stateLabel, resumeButton, discardButton);
+        row.setAlignment(Pos.CENTER_LEFT);
+        uploadsBox.getChildren().add(row);
+
+        resumeButton.setOnAction(e -> {
+            uploadsBox.getChildren().remove(row);
+            trackUpload(manifest.getFilename(),
+                    listener -> groupFileManager.resumeUpload(manifest.getUploadId(), listener));
+        });
+        discardButton.setOnAction(e -> {
+            if (groupFileManager.discardUpload(manifest.getUploadId())) {
+                uploadsBox.getChildren().remove(row);
+                showSuccess("Discarded upload of " + manifest.getFilename());
             } else {
-                showError("Failed to upload " + file.getName());
+                showError("Could not discard upload of " + manifest.getFilename());
+            }
+        });
+    }
+
+    /**
+     * Draws an upload's progress, and once it finishes, reports the outcome
+     * and removes its row.
+     */
+    private void showUploadProgress(FileUpload upload, HBox row, ProgressBar progressBar,
+                                    Label rateLabel, Button cancelButton) {
+        switch (upload.getState()) {
+            case QUEUED -> rateLabel.setText(UploadState.QUEUED.getDisplayName());
+            case UPLOADING -> {
+                progressBar.setProgress(upload.getProgress());
+                rateLabel.setText(String.format("%d%% • %s/s", Math.round(upload.getProgress() * 100),
+                        GroupFile.formatSize((long) upload.getBytesPerSecond())));
+            }
+            case COMPLETED -> {
+                uploadsBox.getChildren().remove(row);
+                filesListView.getItems().add(0, upload.getResult()); // Add to top of list
+                showStorageUsage();
+                showSuccess("Successfully uploaded " + upload.getFilename());
+            }
+            case CANCELLED -> {
+                uploadsBox.getChildren().remove(row);
+                showSuccess("Cancelled upload of " + upload.getFilename());
+            }
+            case FAILED -> {
+                uploadsBox.getChildren().remove(row);
+                showError("Failed to upload " + upload.getFilename() + ": " + upload.getError());
+                // chunked uploads keep what landed and can carry on from there
+                if (upload.getUploadId() != null) {
+                    String currentUser = ctx.getUserSession().getCurrentUser().getUsername();
+                    groupFileManager.getInterruptedUploads(currentUser).stream()
+                            .filter(m -> m.getUploadId().equals(upload.getUploadId()))
+                            .findFirst()
+                            .ifPresent(this::showInterruptedUpload);
+                }
             }
-        } catch (IOException e) {
-            showError("Error uploading file: " + e.getMessage());
         }
+        cancelButton.setDisable(upload.getState().isDone());
     }
 
     /**
-     * Handles the download file button click.
+     * Handles the download file button click, saving the file in the
+     * background.
      */
     @FXML
     private void onDownloadFile() {
@@ -323,17 +516,113 @@ public class GroupFileController extends BaseController {
 
         if (destinationFile != null) {
             try {
-                File sourceFile = groupFileManager.getPhysicalFile(selectedFile.getFileId());
-                if (sourceFile != null && sourceFile.exists()) {
-                    Files.copy(sourceFile.toPath(), destinationFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    showSuccess("File downloaded successfully");
+                trackExport(destinationFile, selectedFile.getFilename(), null, listener ->
+                        groupFileManager.downloadFileAsync(selectedFile.getFileId(), destinationFile, listener));
+            } catch (IllegalArgumentException e) {
+                showError("File not found on server");
+            }
+        }
+    }
+
+    /**
+     * Handles the download all button click, exporting the group's files
+     * to one ZIP archive in the background.
+     */
+    @FXML
+    private void onDownloadAll() {
+        if (currentGroup == null) return;
+        if (filesListView.getItems().isEmpty()) {
+            showError("There are no files to download");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save All Files");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("ZIP archives", "*.zip"));
+        fileChooser.setInitialFileName(currentGroup.getName().replaceAll("[\\\\/:*?\"<>|]", "_") + ".zip");
+
+        File destinationFile = fileChooser.showSaveDialog(downloadAllButton.getScene().getWindow());
+        if (destinationFile != null) {
+            trackExport(destinationFile, "all files", downloadAllButton, listener ->
+                    groupFileManager.exportGroupAsync(currentGroup.getID(), destinationFile, listener));
+        }
+    }
+
+    /**
+     * Adds a progress row with a cancel button and starts an export or
+     * download that reports to it, until it finishes.
+     *
+     * @param destinationFile the file being written
+     * @param subject what is being saved, for messages
+     * @param trigger a button to disable until it finishes, or null
+     * @param start starts the export with the listener it should report to
+     */
+    private void trackExport(File destinationFile, String subject, Button trigger,
+                             Function<Consumer<FileExport>, FileExport> start) {
+        Label nameLabel = new Label(destinationFile.getName());
+        nameLabel.setStyle("-fx-font-size: 11px;");
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+        Label rateLabel = new Label(ExportState.QUEUED.getDisplayName());
+        rateLabel.setStyle("-fx-text-fill: #666666; -fx-font-size: 11px;");
+        rateLabel.setMinWidth(140);
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setStyle("-fx-font-size: 11px; -fx-cursor: hand;");
+        HBox row = new HBox(8, nameLabel, progressBar, rateLabel, cancelButton);
+        row.setAlignment(Pos.CENTER_LEFT);
+
+        // Progress arrives from the export thread; only the latest report is drawn
+        AtomicBoolean redrawQueued = new AtomicBoolean();
+        FileExport export = start.apply(x -> {
+            if (x.getState().isDone() || redrawQueued.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    redrawQueued.set(false);
+                    showExportProgress(x, subject, trigger, row, progressBar, rateLabel, cancelButton);
+                });
+            }
+        });
+        uploadsBox.getChildren().add(row);
+        if (trigger != null) trigger.setDisable(true);
+        cancelButton.setOnAction(e -> export.cancel());
+    }
+
+    /**
+     * Draws an export's progress, and once it finishes, reports the outcome
+     * and removes its row.
+     */
+    private void showExportProgress(FileExport export, String subject, Button trigger, HBox row,
+                                    ProgressBar progressBar, Label rateLabel, Button cancelButton) {
+        switch (export.getState()) {
+            case QUEUED -> rateLabel.setText(ExportState.QUEUED.getDisplayName());
+            case EXPORTING -> {
+                progressBar.setProgress(export.getProgress());
+                String done = export.getFileCount() == 1
+                        ? Math.round(export.getProgress() * 100) + "%"
+                        : export.getFilesDone() + "/" + export.getFileCount() + " files";
+                rateLabel.setText(done + " • " + GroupFile.formatSize((long) export.getBytesPerSecond()) + "/s");
+            }
+            case COMPLETED -> {
+                uploadsBox.getChildren().remove(row);
+                List<String> skipped = export.getSkippedFiles();
+                if (skipped.isEmpty()) {
+                    showSuccess("Saved " + subject + " to " + export.getDestination().getFileName());
                 } else {
-                    showError("File not found on server");
+                    showError("Saved to " + export.getDestination().getFileName() + " without "
+                            + String.join(", ", skipped) + " (not found on server)");
                 }
-            } catch (IOException e) {
-                showError("Error downloading file: " + e.getMessage());
+            }
+            case CANCELLED -> {
+                uploadsBox.getChildren().remove(row);
+                showSuccess("Cancelled download of " + subject);
+            }
+            case FAILED -> {
+                uploadsBox.getChildren().remove(row);
+                showError("Failed to download " + subject + ": " + export.getError());
             }
         }
+        cancelButton.setDisable(export.getState().isDone());
+        if (trigger != null) trigger.setDisable(!export.getState().isDone());
     }
 
     /**
@@ -354,8 +643,10 @@ public class GroupFileController extends BaseController {
             if (response == ButtonType.OK) {
                 boolean deleted = groupFileManager.deleteFile(selectedFile.getFileId());
                 if (deleted) {
+                    previewService.forget(selectedFile);
                     Platform.runLater(() -> {
                         filesListView.getItems().remove(selectedFile);
+                        showStorageUsage();
                         showSuccess("File deleted successfully");
                     });
                 } else {
@@ -0,0 +1,98 @@
+package com.cab302.peerpractice.Controllers;
+
+import com.cab302.peerpractice.Model.Entities.AvailabilityHeatmap;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * <hr>
+ * Draws an {@link AvailabilityHeatmap} over calendar day cells.
+ *
+ * <p>Shared by the personal and group calendars so both shade days the same
+ * way: a background tint for the busiest hour of the day and a strip of
+ * hourly bars across the waking hours.
+ */
+final class HeatmapOverlay {
+    /** <hr> First hour shown in the hourly strip. */
+    private static final int FIRST_HOUR = 7;
+    /** <hr> Hour after the last one shown in the hourly strip. */
+    private static final int LAST_HOUR = 22;
+
+    private HeatmapOverlay() { /* prevent instantiation */ }
+
+    /**
+     * <hr>
+     * Returns the background colour for a share of members being free.
+     *
+     * @param fraction the share of members free, from 0 to 1
+     * @return a CSS colour, transparent when nobody is free
+     */
+    static String tint(double fraction) {
+        if (fraction <= 0) return "transparent";
+        double alpha = 0.15 + 0.6 * Math.min(1.0, fraction);
+        return String.format("rgba(46, 125, 50, %.2f)", alpha);
+    }
+
+    /**
+     * <hr>
+     * Returns the share of members free in the best slot of a day.
+     *
+     * @param heatmap the group heatmap
+     * @param date the day to check
+     * @return the peak share, or 0 if the group has no members
+     */
+    static double dailyPeak(AvailabilityHeatmap heatmap, LocalDate date) {
+        if (heatmap == null || heatmap.getMemberCount() == 0) return 0;
+        return (double) heatmap.getPeak(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                / heatmap.getMemberCount();
+    }
+
+    /**
+     * <hr>
+     * Shades a day cell by the share of members free at the day's best time.
+     *
+     * @param cell the day cell to shade
+     * @param heatmap the group heatmap
+     * @param date the day the cell shows
+     */
+    static void shade(Region cell, AvailabilityHeatmap heatmap, LocalDate date) {
+        double peak = dailyPeak(heatmap, date);
+        if (peak > 0) {
+            cell.setStyle("-fx-background-color: " + tint(peak) + ";");
+        }
+    }
+
+    /**
+     * <hr>
+     * Builds a strip of hourly bars for one day, each shaded by the most
+     * members free in that hour.
+     *
+     * @param heatmap the group heatmap
+     * @param date the day to draw
+     * @return the strip, sized to fill the cell width
+     */
+    static HBox hourlyStrip(AvailabilityHeatmap heatmap, LocalDate date) {
+        HBox strip = new HBox(1);
+        strip.setMaxWidth(Double.MAX_VALUE);
+        int members = heatmap.getMemberCount();
+        for (int hour = FIRST_HOUR; hour < LAST_HOUR; hour++) {
+            LocalDateTime from = date.atTime(hour, 0);
+            int free = heatmap.getPeak(from, from.plusHours(1));
+
+            Region bar = new Region();
+            bar.setMinHeight(8);
+            bar.setPrefHeight(8);
+            bar.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(bar, Priority.ALWAYS);
+            bar.setStyle("-fx-background-color: " + (free == 0 ? "#eeeeee" : tint((double) free / members)) + ";");
+            Tooltip.install(bar, new Tooltip(String.format("%02d:00 - %d of %d free", hour, free, members)));
+            strip.getChildren().add(bar);
+        }
+        return strip;
+    }
+}
@@ -0,0 +1,165 @@
+package com.cab302.peerpractice.Controllers;
+
+import com.cab302.peerpractice.AppContext;
+import com.cab302.peerpractice.Model.Entities.TaskDashboardEntry;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.ValueObjects.DeadlineBucket;
+import com.cab302.peerpractice.Navigation;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <hr>
+ * Controller for the "my tasks" dashboard.
+ *
+ * <p>Lists the current user's open tasks across every session and group,
+ * grouped by how soon they are due. The whole list comes from one query,
+ * and rows are drawn by a {@link ListView}, which only builds cells for the
+ * rows on screen, so long task lists stay cheap to show and scroll.
+ *
+ * @see TaskDashboardEntry
+ * @see SessionTaskController
+ */
+public class MyTasksController extends SidebarController {
+
+    /** <hr> Formatter for task deadlines. */
+    private static final DateTimeFormatter DEADLINE = DateTimeFormatter.ofPattern("EEE d MMM, HH:mm");
+
+    /** <hr> Virtualised list of dashboard rows. */
+    @FXML private ListView<TaskDashboardEntry> taskList;
+    /** <hr> Count of overdue tasks. */
+    @FXML private Label overdueCountLabel;
+    /** <hr> Count of tasks due today. */
+    @FXML private Label todayCountLabel;
+    /** <hr> Count of tasks due later this week. */
+    @FXML private Label weekCountLabel;
+    /** <hr> Count of tasks due after this week. */
+    @FXML private Label laterCountLabel;
+    /** <hr> Shown instead of the list when nothing is open. */
+    @FXML private Label emptyLabel;
+    /** <hr> Button to reload the dashboard. */
+    @FXML private Button refreshButton;
+
+    /**
+     * <hr>
+     * Constructs a new MyTasksController with the specified context and navigation.
+     *
+     * @param ctx the application context providing access to user session and managers
+     * @param nav the navigation controller for screen transitions
+     */
+    public MyTasksController(AppContext ctx, Navigation nav) { super(ctx, nav); }
+
+    /**
+     * <hr>
+     * Initializes the controller after FXML loading is complete.
+     *
+     * <p>Sets up the row cells, opens a task's session on double click and
+     * loads the dashboard.
+     */
+    @FXML
+    public void initialize() {
+        super.initialize();
+        taskList.setCellFactory(list -> new DashboardCell());
+        taskList.setOnMouseClicked(e -> {
+            TaskDashboardEntry selected = taskList.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && selected != null) {
+                nav.openSessionTasks(selected.getTask().getSessionId());
+            }
+        });
+        refreshButton.setOnAction(e -> loadDashboard());
+        loadDashboard();
+    }
+
+    /**
+     * <hr>
+     * Reloads the current user's dashboard and updates the bucket counts.
+     */
+    private void loadDashboard() {
+        User user = ctx.getUserSession().getCurrentUser();
+        List<TaskDashboardEntry> entries = user == null
+                ? List.of()
+                : ctx.getSessionTaskManager().getTaskDashboard(user.getUserId());
+
+        Map<DeadlineBucket, Integer> counts = new EnumMap<>(DeadlineBucket.class);
+        for (TaskDashboardEntry entry : entries) counts.merge(entry.getBucket(), 1, Integer::sum);
+        overdueCountLabel.setText(describeCount(DeadlineBucket.OVERDUE, counts));
+        todayCountLabel.setText(describeCount(DeadlineBucket.TODAY, counts));
+        weekCountLabel.setText(describeCount(DeadlineBucket.THIS_WEEK, counts));
+        laterCountLabel.setText(describeCount(DeadlineBucket.LATER, counts));
+
+        taskList.getItems().setAll(entries);
+        emptyLabel.setVisible(entries.isEmpty());
+        emptyLabel.setManaged(entries.isEmpty());
+    }
+
+    private static String describeCount(DeadlineBucket bucket, Map<DeadlineBucket, Integer> counts) {
+        return bucket.getDisplayName() + ": " + counts.getOrDefault(bucket, 0);
+    }
+
+    private static String colourFor(DeadlineBucket bucket) {
+        return switch (bucket) {
+            case OVERDUE -> "#f44336";
+            case TODAY -> "#FF9800";
+            case THIS_WEEK -> "#2196F3";
+            case LATER -> "#9E9E9E";
+        };
+    }
+
+    /**
+     * <hr>
+     * One dashboard row. Cells are reused as the list scrolls, so the nodes
+     * are built once and only their text changes.
+     */
+    private static final class DashboardCell extends ListCell<TaskDashboardEntry> {
+        private final Label title = new Label();
+        private final Label context = new Label();
+        private final Label deadline = new Label();
+        private final Label badge = new Label();
+        private final Label progress = new Label();
+        private final HBox row;
+
+        DashboardCell() {
+            title.setStyle("-fx-font-weight: 600; -fx-font-size: 14px; -fx-text-fill: #212121;");
+            context.setStyle("-fx-text-fill: #757575; -fx-font-size: 12px;");
+            deadline.setStyle("-fx-text-fill: #424242; -fx-font-size: 12px;");
+            progress.setStyle("-fx-text-fill: #757575; -fx-font-size: 12px;");
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            VBox right = new VBox(4, deadline, progress);
+            right.setAlignment(Pos.CENTER_RIGHT);
+            row = new HBox(12, badge, new VBox(4, title, context), spacer, right);
+            row.setAlignment(Pos.CENTER_LEFT);
+        }
+
+        @Override
+        protected void updateItem(TaskDashboardEntry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setGraphic(null);
+                return;
+            }
+            title.setText(entry.getTask().getTitle());
+            String where = entry.getSessionTitle().isEmpty() ? "Session" : entry.getSessionTitle();
+            context.setText(entry.getGroupName() == null ? where : where + " · " + entry.getGroupName());
+            deadline.setText(entry.getTask().getDeadline().format(DEADLINE));
+            progress.setText(entry.getSessionCompletedCount() + "/" + entry.getSessionTaskCount() + " session tasks done");
+            badge.setText(entry.getBucket().getDisplayName().toUpperCase());
+            badge.setStyle("-fx-background-color: " + colourFor(entry.getBucket())
+                    + "; -fx-text-fill: white; -fx-padding: 2 8; -fx-background-radius: 4; -fx-font-size: 10px; -fx-font-weight: 600;");
+            setGraphic(row);
+        }
+    }
+}
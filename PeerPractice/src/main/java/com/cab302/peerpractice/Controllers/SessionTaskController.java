@@ -6,6 +6,7 @@ import com.cab302.peerpractice.Model.Entities.SessionTask;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Navigation;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.IntSupplier;
 
 /**
  * <hr>
@@ -70,6 +72,16 @@ public class SessionTaskController extends SidebarController {
     @FXML private Label errorLabel;
     /** <hr> Label for displaying session title. */
     @FXML private Label sessionTitleLabel;
+    /** <hr> Label showing how many tasks are selected. */
+    @FXML private Label selectionLabel;
+    /** <hr> Button to complete every selected task. */
+    @FXML private Button bulkCompleteButton;
+    /** <hr> Button to assign every selected task to the chosen assignee. */
+    @FXML private Button bulkReassignButton;
+    /** <hr> Button to move every selected task to the entered deadline. */
+    @FXML private Button bulkRescheduleButton;
+    /** <hr> Button to delete every selected task. */
+    @FXML private Button bulkDeleteButton;
 
     /** <hr> The current session ID being managed. */
     private String currentSessionId;
@@ -172,11 +184,19 @@ public class SessionTaskController extends SidebarController {
             }
         });
 
+        taskTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        taskTable.getSelectionModel().getSelectedItems().addListener(
+                (ListChangeListener<SessionTask>) change -> updateButtonStates());
+
         // button handlers
         createTaskButton.setOnAction(e -> createTask());
         updateTaskButton.setOnAction(e -> updateTask());
         deleteTaskButton.setOnAction(e -> deleteTask());
         markCompleteButton.setOnAction(e -> markTaskComplete());
+        bulkCompleteButton.setOnAction(e -> completeSelectedTasks());
+        bulkReassignButton.setOnAction(e -> reassignSelectedTasks());
+        bulkRescheduleButton.setOnAction(e -> rescheduleSelectedTasks());
+        bulkDeleteButton.setOnAction(e -> deleteSelectedTasks());
 
         // enable/disable buttons based on selection
         updateButtonStates();
@@ -592,6 +612,103 @@ public class SessionTaskController extends SidebarController {
         updateTaskButton.setDisable(!hasSelection);
         deleteTaskButton.setDisable(!hasSelection);
         markCompleteButton.setDisable(!hasSelection || (hasSelection && selectedTask.isCompleted()));
+
+        int selectedCount = taskTable.getSelectionModel().getSelectedItems().size();
+        selectionLabel.setText(selectedCount == 0
+                ? "Select tasks (Ctrl/Shift-click for several)"
+                : selectedCount + (selectedCount == 1 ? " task selected" : " tasks selected"));
+        bulkCompleteButton.setDisable(selectedCount == 0);
+        bulkReassignButton.setDisable(selectedCount == 0);
+        bulkRescheduleButton.setDisable(selectedCount == 0);
+        bulkDeleteButton.setDisable(selectedCount == 0);
+    }
+
+    /**
+     * <hr>
+     * Gets the IDs of every task selected in the table.
+     *
+     * @return the selected task IDs
+     */
+    private List<String> selectedTaskIds() {
+        return taskTable.getSelectionModel().getSelectedItems().stream()
+                .map(SessionTask::getTaskId)
+                .toList();
+    }
+
+    /**
+     * <hr>
+     * Marks every selected task as complete in one batch.
+     */
+    private void completeSelectedTasks() {
+        runBatch("complete", () -> ctx.getSessionTaskManager().completeTasks(selectedTaskIds(), getCurrentUserId()));
+    }
+
+    /**
+     * <hr>
+     * Assigns every selected task to the assignee chosen in the form.
+     */
+    private void reassignSelectedTasks() {
+        User assignee = assigneeComboBox.getValue();
+        if (assignee == null) {
+            showError("Please select an assignee");
+            return;
+        }
+        runBatch("reassign", () -> ctx.getSessionTaskManager()
+                .reassignTasks(selectedTaskIds(), assignee.getUserId(), getCurrentUserId()));
+    }
+
+    /**
+     * <hr>
+     * Moves every selected task to the deadline entered in the form.
+     */
+    private void rescheduleSelectedTasks() {
+        LocalDateTime deadline;
+        try {
+            deadline = LocalDateTime.parse(deadlineField.getText().trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+        } catch (DateTimeParseException e) {
+            showError("Invalid deadline format. Use: yyyy-MM-dd HH:mm");
+            return;
+        }
+        runBatch("reschedule", () -> ctx.getSessionTaskManager()
+                .rescheduleTasks(selectedTaskIds(), deadline, getCurrentUserId()));
+    }
+
+    /**
+     * <hr>
+     * Deletes every selected task after confirmation.
+     */
+    private void deleteSelectedTasks() {
+        int count = taskTable.getSelectionModel().getSelectedItems().size();
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Delete Tasks");
+        alert.setHeaderText("Delete " + count + (count == 1 ? " task" : " tasks"));
+        alert.setContentText("Are you sure you want to delete the selected tasks?");
+        alert.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                runBatch("delete", () -> ctx.getSessionTaskManager().deleteTasks(selectedTaskIds(), getCurrentUserId()));
+            }
+        });
+    }
+
+    /**
+     * <hr>
+     * Runs a batch operation and reloads the table. The batch is a single
+     * transaction, so on error nothing has changed and only a message is shown.
+     *
+     * @param verb the operation, for the error message
+     * @param batch the manager call to make
+     */
+    private void runBatch(String verb, IntSupplier batch) {
+        clearErrorMessage();
+        try {
+            batch.getAsInt();
+            loadSessionTasks();
+            clearFormFields();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            showError(e.getMessage());
+        } catch (Exception e) {
+            showError("Failed to " + verb + " tasks: " + e.getMessage());
+        }
     }
 
     /**
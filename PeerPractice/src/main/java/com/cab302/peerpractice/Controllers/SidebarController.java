@@ -114,10 +114,18 @@ public abstract class SidebarController extends BaseController {
             Button studyGroupBtn = (Button) menu.lookup("#studyGroupButton");
             Button availabilityBtn = (Button) menu.lookup("#availabilityButton");
             Button friendsBtn = (Button) menu.lookup("#friendsButton");
+            Button myTasksBtn = (Button) menu.lookup("#myTasksButton");
 
             if (studyGroupBtn != null) studyGroupBtn.setOnAction(e -> nav.DisplayMainMenuOrGroup());
             if (availabilityBtn != null) availabilityBtn.setOnAction(e -> nav.Display(View.Availability));
             if (friendsBtn != null) friendsBtn.setOnAction(e -> nav.Display(View.Friends));
+            if (myTasksBtn != null) myTasksBtn.setOnAction(e -> nav.Display(View.MyTasks));
+
+            // Unread totals, refreshed whenever the menu is opened
+            refreshUnreadBadges();
+            uiStateStore.menuOpenProperty().addListener((obs, oldValue, newValue) -> {
+                if (newValue) refreshUnreadBadges();
+            });
         }
 
         // Profile panel controls
@@ -172,6 +180,37 @@ public abstract class SidebarController extends BaseController {
         }
     }
 
+    /**
+     * <hr>
+     * Updates the menu buttons with the current user's unread message totals.
+     *
+     * <p>Each total is a single lookup on the stored per-user counters, so
+     * this is cheap enough to call whenever the menu is shown.
+     */
+    protected void refreshUnreadBadges() {
+        if (menu == null) return;
+        var currentUser = ctx.getUserSession().getCurrentUser();
+        Button studyGroupBtn = (Button) menu.lookup("#studyGroupButton");
+        Button friendsBtn = (Button) menu.lookup("#friendsButton");
+
+        int groupUnread = 0;
+        int directUnread = 0;
+        if (currentUser != null) {
+            try {
+                groupUnread = ctx.getGroupMessageManager().getTotalUnreadCount(currentUser);
+                directUnread = ctx.getFriendMessageManager().getTotalUnreadCount(currentUser.getUsername());
+            } catch (Exception e) {
+                System.err.println("Failed to load unread counts: " + e.getMessage());
+            }
+        }
+        if (studyGroupBtn != null) studyGroupBtn.setText(withUnread("📚 Study Groups", groupUnread));
+        if (friendsBtn != null) friendsBtn.setText(withUnread("👥 Friends", directUnread));
+    }
+
+    private static String withUnread(String label, int unread) {
+        return unread > 0 ? label + " (" + unread + ")" : label;
+    }
+
     /**
      * <hr>
      * Toggles the menu sidebar open/closed state.
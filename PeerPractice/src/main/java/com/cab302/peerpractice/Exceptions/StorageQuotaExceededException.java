@@ -0,0 +1,30 @@
+package com.cab302.peerpractice.Exceptions;
+
+/**
+ * <hr>
+ * Exception thrown when an upload would take a group past its storage quota.
+ *
+ * <p>This exception is thrown before any bytes are copied, when the file's
+ * size added to what is already stored would exceed a configured limit.
+ *
+ * <p> Typical scenarios include:
+ * <ul>
+ *   <li>Uploading to a group that has used its storage limit</li>
+ *   <li>A member uploading past their own limit within a group</li>
+ *   <li>Resuming an interrupted upload after others filled the group</li>
+ * </ul>
+ *
+ * @see RuntimeException
+ * @see InsufficientPermissionsException
+ */
+public class StorageQuotaExceededException extends RuntimeException {
+    /**
+     * <hr>
+     * Constructs a new StorageQuotaExceededException with the specified detail message.
+     *
+     * @param message the detail message explaining which limit would be exceeded
+     */
+    public StorageQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -2,13 +2,15 @@ package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.Availability;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.IsoTimestamps;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 
 import java.sql.*;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -60,6 +62,8 @@ public class AvailabilityDAO implements IAvailabilityDAO {
      *
      * <p>Defines the database schema for storing user availability slots with
      * appropriate fields for time ranges, descriptions, and color coding.
+     * Recurring slots keep their pattern and end date on the row, and the
+     * occurrences removed from a series in a separate exceptions table.
      *
      * @throws SQLException if table creation fails
      */
@@ -74,38 +78,80 @@ public class AvailabilityDAO implements IAvailabilityDAO {
                     "user_id TEXT NOT NULL, " +
                     "color_label TEXT DEFAULT 'GREEN'" +
                     ")");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_availabilities_user_start ON availabilities(user_id, start_time)");
+
+            // Recurrence rules: a series is one row plus the dates it skips
+            if (!hasColumn(st, "availabilities", "recurring_pattern")) {
+                st.execute("ALTER TABLE availabilities ADD COLUMN recurring_pattern TEXT NOT NULL DEFAULT 'NONE'");
+            }
+            if (!hasColumn(st, "availabilities", "recurrence_end")) {
+                st.execute("ALTER TABLE availabilities ADD COLUMN recurrence_end TEXT");
+            }
+            st.execute("CREATE INDEX IF NOT EXISTS idx_availabilities_recurring " +
+                    "ON availabilities(user_id, start_time) WHERE recurring_pattern <> 'NONE'");
+            st.execute("CREATE TABLE IF NOT EXISTS availability_exceptions (" +
+                    "availability_id TEXT NOT NULL REFERENCES availabilities(availability_id) ON DELETE CASCADE, " +
+                    "occurrence_date TEXT NOT NULL, " +
+                    "PRIMARY KEY(availability_id, occurrence_date))");
         }
     }
 
     /**
      * <hr>
-     * Maps a database ResultSet row to a fully populated Availability object.
+     * Binds an availability row mapper to a result set.
      *
-     * <p>Converts SQL result set data into a complete Availability entity,
-     * including resolving the associated User object and handling proper
-     * type conversions for date-time fields.
+     * <p>Owners are taken from the users the caller already holds, and any
+     * other user is looked up once per result set rather than once per row.
      *
-     * @param rs the ResultSet containing availability data from the database
-     * @return a fully populated Availability object with user reference
-     * @throws SQLException if data extraction or user resolution fails
+     * @param rs the ResultSet the mapper will read
+     * @param known users already loaded, keyed by user ID; filled on demand
+     * @return a mapper for the rows of {@code rs}
+     * @throws SQLException if the result set lacks a required column
+     */
+    private RowMapper<Availability> availabilityMapper(ResultSet rs, Map<String, User> known) throws SQLException {
+        return RowMappers.availability(rs, userId -> {
+            if (!known.containsKey(userId)) known.put(userId, userDao.findUserById(userId));
+            return known.get(userId);
+        });
+    }
+
+    /**
+     * <hr>
+     * Checks whether a table already has a column, for in-place migrations.
      */
-    private Availability mapRowToAvailability(ResultSet rs) throws SQLException {
-        String id = rs.getString("availability_id");
-        String title = rs.getString("title");
-        String description = rs.getString("description");
-        LocalDateTime start = LocalDateTime.parse(rs.getString("start_time"));
-        LocalDateTime end = LocalDateTime.parse(rs.getString("end_time"));
-        String color = rs.getString("color_label");
-        String userId = rs.getString("user_id");
-
-        User user = userDao.findUserById(userId);
-        if (user == null) {
-            user = new User(userId, "Unknown", "User", "unknown", "unknown@example.com", "", "");
+    private static boolean hasColumn(Statement st, String table, String column) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
         }
+        return false;
+    }
 
-        Availability availability = new Availability(id, title, user, start, end, color);
-        availability.setDescription(description);
-        return availability;
+    /**
+     * <hr>
+     * Replaces the stored exception dates of a series with its current set.
+     *
+     * @param tx the connection of the transaction storing the series
+     * @param availability the series whose exceptions to store
+     * @throws SQLException if the write fails
+     */
+    private void writeExceptions(Connection tx, Availability availability) throws SQLException {
+        try (PreparedStatement del = tx.prepareStatement(
+                "DELETE FROM availability_exceptions WHERE availability_id = ?")) {
+            del.setString(1, availability.getAvailabilityId());
+            del.executeUpdate();
+        }
+        if (!availability.isRecurring() || availability.getRecurrenceExceptions().isEmpty()) return;
+        try (PreparedStatement ins = tx.prepareStatement(
+                "INSERT OR IGNORE INTO availability_exceptions (availability_id, occurrence_date) VALUES (?, ?)")) {
+            for (LocalDate date : availability.getRecurrenceExceptions()) {
+                ins.setString(1, availability.getAvailabilityId());
+                ins.setString(2, date.toString());
+                ins.addBatch();
+            }
+            ins.executeBatch();
+        }
     }
 
     /**
@@ -124,19 +170,41 @@ public class AvailabilityDAO implements IAvailabilityDAO {
             return false;
         }
 
-        try (PreparedStatement ps = connection.prepareStatement(
-                "INSERT OR REPLACE INTO availabilities " +
-                        "(availability_id, title, description, start_time, end_time, user_id, color_label) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
-            ps.setString(1, availability.getAvailabilityId());
-            ps.setString(2, availability.getTitle());
-            ps.setString(3, availability.getDescription());
-            ps.setString(4, availability.getStartTime().toString());
-            ps.setString(5, availability.getEndTime().toString());
-            ps.setString(6, availability.getUser().getUserId());
-            ps.setString(7, availability.getColorLabel());
-            ps.executeUpdate();
-            return true;
+        // a series and its exception dates are stored together or not at all
+        return inTransaction(tx -> {
+            try (PreparedStatement ps = tx.prepareStatement(
+                    "INSERT OR REPLACE INTO availabilities " +
+                            "(availability_id, title, description, start_time, end_time, user_id, color_label, " +
+                            "recurring_pattern, recurrence_end) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                ps.setString(1, availability.getAvailabilityId());
+                ps.setString(2, availability.getTitle());
+                ps.setString(3, availability.getDescription());
+                ps.setString(4, availability.getStartTime().toString());
+                ps.setString(5, availability.getEndTime().toString());
+                ps.setString(6, availability.getUser().getUserId());
+                ps.setString(7, availability.getColorLabel());
+                ps.setString(8, availability.getRecurringPattern());
+                ps.setString(9, availability.isRecurring() && availability.getRecurrenceEnd() != null
+                        ? availability.getRecurrenceEnd().toString() : null);
+                ps.executeUpdate();
+                writeExceptions(tx, availability);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * <hr>
+     * Runs work in one transaction on a connection of its own, so writes
+     * other threads make meanwhile are neither taken in nor rolled back.
+     *
+     * @param work the statements to run
+     * @return true if the work succeeded and was committed
+     */
+    private boolean inTransaction(SQLiteConnection.TransactionWork work) {
+        try {
+            return SQLiteConnection.inTransaction(connection, work);
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -187,7 +255,7 @@ public class AvailabilityDAO implements IAvailabilityDAO {
         List<Availability> list = new ArrayList<>();
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery("SELECT * FROM availabilities")) {
-            while (rs.next()) list.add(mapRowToAvailability(rs));
+            RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>()), list);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -211,7 +279,7 @@ public class AvailabilityDAO implements IAvailabilityDAO {
                 "SELECT * FROM availabilities WHERE substr(start_time,1,10)=?")) {
             ps.setString(1, date.toString());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToAvailability(rs));
+                RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>()), list);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -236,7 +304,41 @@ public class AvailabilityDAO implements IAvailabilityDAO {
                 "SELECT * FROM availabilities WHERE user_id = ?")) {
             ps.setString(1, user.getUserId());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToAvailability(rs));
+                RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>()), list);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Retrieves a user's availability slots within a date range.
+     *
+     * <p>Uses the (user, start time) index with a half-open bound on the
+     * ISO start time. Every row belongs to the given user, so it is reused
+     * instead of being looked up again for each row.
+     *
+     * @param user the user whose availabilities are being retrieved
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the user's availabilities ordered by start time
+     */
+    @Override
+    public List<Availability> getAvailabilitiesForUserInRange(User user, LocalDate startDate, LocalDate endDate) {
+        List<Availability> list = new ArrayList<>();
+        if (user == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return list;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT * FROM availabilities WHERE user_id = ? AND start_time >= ? AND start_time < ? " +
+                        "ORDER BY start_time")) {
+            ps.setString(1, user.getUserId());
+            ps.setString(2, startDate.atStartOfDay().toString());
+            ps.setString(3, endDate.plusDays(1).atStartOfDay().toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>(Map.of(user.getUserId(), user))), list);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -263,7 +365,7 @@ public class AvailabilityDAO implements IAvailabilityDAO {
             ps.setString(1, startOfWeek.atStartOfDay().toString());
             ps.setString(2, endOfWeek.atTime(23, 59, 59).toString());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToAvailability(rs));
+                RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>()), list);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -304,7 +406,7 @@ public class AvailabilityDAO implements IAvailabilityDAO {
             ps.setString(users.size() + 2, endOfWeek.atTime(23, 59, 59).toString());
 
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToAvailability(rs));
+                RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>()), list);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -312,6 +414,136 @@ public class AvailabilityDAO implements IAvailabilityDAO {
         return list;
     }
 
+    /**
+     * <hr>
+     * Retrieves availability for several users within a date range.
+     *
+     * <p>Fetches a whole group's availability in one query. Rows are mapped
+     * onto the User objects passed in rather than looked up again.
+     *
+     * @param users the users to retrieve availabilities for
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the matching availabilities ordered by start time
+     */
+    @Override
+    public List<Availability> getAvailabilitiesForUsersInRange(List<User> users, LocalDate startDate, LocalDate endDate) {
+        List<Availability> list = new ArrayList<>();
+        if (users == null || users.isEmpty() || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return list;
+        }
+
+        Map<String, User> byId = new HashMap<>();
+        for (User user : users) byId.put(user.getUserId(), user);
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM availabilities WHERE user_id IN (");
+        for (int i = 0; i < byId.size(); i++) {
+            if (i > 0) sql.append(",");
+            sql.append("?");
+        }
+        sql.append(") AND start_time >= ? AND start_time < ? ORDER BY start_time");
+
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (String userId : byId.keySet()) ps.setString(i++, userId);
+            ps.setString(i++, startDate.atStartOfDay().toString());
+            ps.setString(i, endDate.plusDays(1).atStartOfDay().toString());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, availabilityMapper(rs, new HashMap<>(byId)), list);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Retrieves recurring availability series that may occur within a date range.
+     *
+     * <p>Returns each series once, as stored, with its exception dates
+     * loaded in the same query. Callers expand the series into occurrences,
+     * so no rows are materialised per occurrence.
+     *
+     * @param users the users whose series to load, or null for every user
+     * @param startDate the first day of the range (inclusive), or null for no lower bound
+     * @param endDate the last day of the range (inclusive), or null for no upper bound
+     * @return the recurring series ordered by first start time
+     */
+    @Override
+    public List<Availability> getRecurringAvailabilities(List<User> users, LocalDate startDate, LocalDate endDate) {
+        List<Availability> list = new ArrayList<>();
+        if (users != null && users.isEmpty()) return list;
+
+        Map<String, User> byId = new HashMap<>();
+        if (users != null) for (User user : users) byId.put(user.getUserId(), user);
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.*, GROUP_CONCAT(e.occurrence_date) AS exception_dates FROM availabilities a " +
+                "LEFT JOIN availability_exceptions e ON e.availability_id = a.availability_id " +
+                "WHERE a.recurring_pattern <> 'NONE'");
+        if (users != null) {
+            sql.append(" AND a.user_id IN (");
+            for (int i = 0; i < byId.size(); i++) sql.append(i > 0 ? ",?" : "?");
+            sql.append(")");
+        }
+        if (endDate != null) sql.append(" AND a.start_time < ?");
+        if (startDate != null) sql.append(" AND (a.recurrence_end IS NULL OR a.recurrence_end >= ?)");
+        sql.append(" GROUP BY a.availability_id ORDER BY a.start_time");
+
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (String userId : byId.keySet()) ps.setString(i++, userId);
+            if (endDate != null) ps.setString(i++, endDate.plusDays(1).atStartOfDay().toString());
+            if (startDate != null) ps.setString(i, startDate.toString());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<Availability> mapper = availabilityMapper(rs, byId);
+                int exceptionDates = rs.findColumn("exception_dates");
+                while (rs.next()) {
+                    Availability series = mapper.map(rs);
+                    if (series == null) continue;
+                    String exceptions = rs.getString(exceptionDates);
+                    if (exceptions != null) {
+                        for (String date : exceptions.split(",")) {
+                            series.addRecurrenceException(IsoTimestamps.parseDate(date));
+                        }
+                    }
+                    list.add(series);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Removes a single occurrence from a recurring series.
+     *
+     * @param series the stored recurring availability
+     * @param occurrenceDate the start date of the occurrence to skip
+     * @return true if the exception was recorded
+     */
+    @Override
+    public boolean addRecurrenceException(Availability series, LocalDate occurrenceDate) {
+        if (series == null || occurrenceDate == null || !series.isRecurring()) return false;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT OR IGNORE INTO availability_exceptions (availability_id, occurrence_date) " +
+                        "SELECT availability_id, ? FROM availabilities WHERE availability_id = ?")) {
+            ps.setString(1, occurrenceDate.toString());
+            ps.setString(2, series.getAvailabilityId());
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+        series.addRecurrenceException(occurrenceDate);
+        return true;
+    }
+
     /**
      * <hr>
      * Updates an existing availability slot with new information.
@@ -329,22 +561,43 @@ public class AvailabilityDAO implements IAvailabilityDAO {
             return false;
         }
 
-        try (PreparedStatement ps = connection.prepareStatement(
-                "UPDATE availabilities SET title = ?, description = ?, start_time = ?, end_time = ?, color_label = ? " +
-                        "WHERE availability_id = ?")) {
-            ps.setString(1, newAvailability.getTitle());
-            ps.setString(2, newAvailability.getDescription());
-            ps.setString(3, newAvailability.getStartTime().toString());
-            ps.setString(4, newAvailability.getEndTime().toString());
-            ps.setString(5, newAvailability.getColorLabel());
-            ps.setString(6, oldAvailability.getAvailabilityId()); // probably should use ID, not toString()
+        // the row and its exception dates change together or not at all
+        return inTransaction(tx -> {
+            try (PreparedStatement ps = tx.prepareStatement(
+                    "UPDATE availabilities SET title = ?, description = ?, start_time = ?, end_time = ?, color_label = ?, " +
+                            "recurring_pattern = ?, recurrence_end = ? WHERE availability_id = ?")) {
+                ps.setString(1, newAvailability.getTitle());
+                ps.setString(2, newAvailability.getDescription());
+                ps.setString(3, newAvailability.getStartTime().toString());
+                ps.setString(4, newAvailability.getEndTime().toString());
+                ps.setString(5, newAvailability.getColorLabel());
+                ps.setString(6, newAvailability.getRecurringPattern());
+                ps.setString(7, newAvailability.isRecurring() && newAvailability.getRecurrenceEnd() != null
+                        ? newAvailability.getRecurrenceEnd().toString() : null);
+                ps.setString(8, oldAvailability.getAvailabilityId()); // probably should use ID, not toString()
 
-            int rowsAffected = ps.executeUpdate();
-            return rowsAffected > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+                int rowsAffected = ps.executeUpdate();
+                if (rowsAffected > 0) {
+                    try (PreparedStatement del = tx.prepareStatement(
+                            "DELETE FROM availability_exceptions WHERE availability_id = ?")) {
+                        del.setString(1, oldAvailability.getAvailabilityId());
+                        del.executeUpdate();
+                    }
+                    if (newAvailability.isRecurring()) {
+                        try (PreparedStatement ins = tx.prepareStatement(
+                                "INSERT OR IGNORE INTO availability_exceptions (availability_id, occurrence_date) VALUES (?, ?)")) {
+                            for (LocalDate date : newAvailability.getRecurrenceExceptions()) {
+                                ins.setString(1, oldAvailability.getAvailabilityId());
+                                ins.setString(2, date.toString());
+                                ins.addBatch();
+                            }
+                            ins.executeBatch();
+                        }
+                    }
+                }
+                return rowsAffected > 0;
+            }
+        });
     }
 
     /**
@@ -356,6 +609,7 @@ public class AvailabilityDAO implements IAvailabilityDAO {
      */
     public void clearAllAvailabilities() {
         try (Statement st = connection.createStatement()) {
+            st.executeUpdate("DELETE FROM availability_exceptions");
             st.executeUpdate("DELETE FROM availabilities");
         } catch (SQLException e) {
             e.printStackTrace();
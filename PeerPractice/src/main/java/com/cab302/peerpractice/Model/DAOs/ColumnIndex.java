@@ -0,0 +1,69 @@
+package com.cab302.peerpractice.Model.DAOs;
+
+import com.cab302.peerpractice.Model.Utils.IsoTimestamps;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <hr>
+ * Column positions of one result set, looked up by name once.
+ *
+ * <p>{@link ResultSet#getString(String)} searches the columns on every call;
+ * row mappers resolve the positions they need here when they are bound and
+ * read by index afterwards. Optional columns resolve to 0 when the query
+ * did not select them, and the typed readers return null or a default for
+ * position 0, so one mapper serves queries with and without those columns.
+ */
+final class ColumnIndex {
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    private ColumnIndex(ResultSetMetaData meta) throws SQLException {
+        for (int i = meta.getColumnCount(); i >= 1; i--) {
+            // first occurrence wins, as with ResultSet lookups by name
+            positions.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    static ColumnIndex of(ResultSet rs) throws SQLException {
+        return new ColumnIndex(rs.getMetaData());
+    }
+
+    /**
+     * <hr>
+     * Returns the position of a column the mapper cannot work without.
+     *
+     * @throws SQLException if the result set has no such column
+     */
+    int require(String column) throws SQLException {
+        Integer position = positions.get(column.toLowerCase(Locale.ROOT));
+        if (position == null) throw new SQLException("Result set has no column " + column);
+        return position;
+    }
+
+    /**
+     * <hr>
+     * Returns the position of a column, or 0 if the query did not select it.
+     */
+    int optional(String column) {
+        return positions.getOrDefault(column.toLowerCase(Locale.ROOT), 0);
+    }
+
+    static String getString(ResultSet rs, int column) throws SQLException {
+        return column == 0 ? null : rs.getString(column);
+    }
+
+    static LocalDateTime getDateTime(ResultSet rs, int column) throws SQLException {
+        return column == 0 ? null : IsoTimestamps.parseDateTime(rs.getString(column));
+    }
+
+    static LocalDate getDate(ResultSet rs, int column) throws SQLException {
+        return column == 0 ? null : IsoTimestamps.parseDate(rs.getString(column));
+    }
+}
@@ -1,11 +1,14 @@
 package com.cab302.peerpractice.Model.DAOs;
 
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
+import com.cab302.peerpractice.Model.Utils.FullTextQueryUtils;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -22,6 +25,9 @@ import java.util.List;
  *   <li>Conversation history management between user pairs</li>
  *   <li>Message deletion and conversation clearing</li>
  *   <li>User-specific message querying</li>
+ *   <li>FTS5 full-text index kept in sync by triggers</li>
+ *   <li>Canonical conversation IDs and a single-query inbox</li>
+ *   <li>Read cursors with trigger-maintained unread counters</li>
  * </ul>
  *
  * @see FriendMessage
@@ -30,6 +36,22 @@ import java.util.List;
  */
 public class FriendMessageDAO implements IFriendMessageDAO {
 
+    /**
+     * <hr>
+     * Columns of the friend_messages table. {@code message_seq} aliases the
+     * rowid, so VACUUM keeps it and the search index can be keyed by it.
+     */
+    private static final String MESSAGE_COLUMNS =
+            "message_seq INTEGER PRIMARY KEY, " +
+            "message_id TEXT NOT NULL UNIQUE, " +
+            "sender_id TEXT NOT NULL, " +
+            "receiver_id TEXT NOT NULL, " +
+            "content TEXT NOT NULL, " +
+            "timestamp TEXT NOT NULL, " +
+            "conversation_id TEXT, " +
+            "FOREIGN KEY(sender_id) REFERENCES users(username) ON DELETE CASCADE, " +
+            "FOREIGN KEY(receiver_id) REFERENCES users(username) ON DELETE CASCADE";
+
     /** <hr> Database connection instance for SQLite operations. */
     private final Connection connection;
 
@@ -52,43 +74,153 @@ public class FriendMessageDAO implements IFriendMessageDAO {
      * Creates the friend_messages table if it doesn't exist.
      *
      * <p>Defines the database schema for storing private messages between
-     * users with appropriate foreign key constraints and indexes.
+     * users with appropriate foreign key constraints and indexes, plus the
+     * trigger-maintained FTS5 table used for search. The index is keyed by
+     * {@code message_seq}, an alias of the rowid that VACUUM keeps, and is
+     * only rebuilt from the messages when it is first created, which
+     * backfills history in an existing database. Tables from before
+     * {@code message_seq} existed are migrated first.
+     *
+     * <p>Every message carries a canonical {@code conversation_id} (the two
+     * usernames in sorted order) so a conversation is a single index range
+     * instead of an {@code (a,b) OR (b,a)} predicate. Databases created
+     * before the column existed are migrated and backfilled here.
+     *
+     * <p>{@code conversation_read_state} holds each reader's cursor and an
+     * unread counter. Triggers bump the receiver's counter on insert and
+     * take it back on delete, so reading a badge never counts messages.
      *
      * @throws SQLException if table creation fails
      */
     private void createTable() throws SQLException {
         try (Statement st = connection.createStatement()) {
-            st.execute("CREATE TABLE IF NOT EXISTS friend_messages (" +
-                    "message_id TEXT PRIMARY KEY, " +
-                    "sender_id TEXT NOT NULL, " +
-                    "receiver_id TEXT NOT NULL, " +
-                    "content TEXT NOT NULL, " +
-                    "timestamp TEXT NOT NULL, " +
-                    "FOREIGN KEY(sender_id) REFERENCES users(username) ON DELETE CASCADE, " +
-                    "FOREIGN KEY(receiver_id) REFERENCES users(username) ON DELETE CASCADE" +
+            st.execute("CREATE TABLE IF NOT EXISTS friend_messages (" + MESSAGE_COLUMNS + ")");
+            if (!hasColumn(st, "friend_messages", "conversation_id")) {
+                st.execute("ALTER TABLE friend_messages ADD COLUMN conversation_id TEXT");
+            }
+            if (!hasColumn(st, "friend_messages", "message_seq")) {
+                addMessageSeq();
+            }
+            st.execute("CREATE INDEX IF NOT EXISTS idx_friend_messages_conversation " +
+                    "ON friend_messages(conversation_id, timestamp, message_id)");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_friend_messages_sender ON friend_messages(sender_id)");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_friend_messages_receiver ON friend_messages(receiver_id)");
+            st.execute("UPDATE friend_messages SET conversation_id = CASE " +
+                    "WHEN sender_id <= receiver_id THEN sender_id || '|' || receiver_id " +
+                    "ELSE receiver_id || '|' || sender_id END " +
+                    "WHERE conversation_id IS NULL");
+
+            boolean countersExist = hasColumn(st, "conversation_read_state", "unread_count");
+            st.execute("CREATE TABLE IF NOT EXISTS conversation_read_state (" +
+                    "conversation_id TEXT NOT NULL, " +
+                    "user_id TEXT NOT NULL, " +
+                    "last_read_at TEXT NOT NULL, " +
+                    "unread_count INTEGER NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY(conversation_id, user_id), " +
+                    "FOREIGN KEY(user_id) REFERENCES users(username) ON DELETE CASCADE" +
                     ")");
+            if (!hasColumn(st, "conversation_read_state", "unread_count")) {
+                st.execute("ALTER TABLE conversation_read_state ADD COLUMN unread_count INTEGER NOT NULL DEFAULT 0");
+            }
+            st.execute("CREATE INDEX IF NOT EXISTS idx_conversation_read_state_user " +
+                    "ON conversation_read_state(user_id, unread_count)");
+            st.execute("CREATE TRIGGER IF NOT EXISTS friend_messages_unread_ai AFTER INSERT ON friend_messages BEGIN " +
+                    "INSERT INTO conversation_read_state (conversation_id, user_id, last_read_at, unread_count) " +
+                    "VALUES (new.conversation_id, new.receiver_id, '', 1) " +
+                    "ON CONFLICT(conversation_id, user_id) DO UPDATE SET unread_count = unread_count + " +
+                    "CASE WHEN new.timestamp > last_read_at THEN 1 ELSE 0 END; END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS friend_messages_unread_ad AFTER DELETE ON friend_messages BEGIN " +
+                    "UPDATE conversation_read_state SET unread_count = MAX(unread_count - 1, 0) " +
+                    "WHERE conversation_id = old.conversation_id AND user_id = old.receiver_id " +
+                    "AND old.timestamp > last_read_at; END");
+            if (!countersExist) {
+                // One-off backfill for messages stored before counters were maintained
+                st.execute("INSERT OR IGNORE INTO conversation_read_state (conversation_id, user_id, last_read_at) " +
+                        "SELECT DISTINCT conversation_id, receiver_id, '' FROM friend_messages");
+                st.execute("UPDATE conversation_read_state SET unread_count = (" +
+                        "SELECT COUNT(*) FROM friend_messages m " +
+                        "WHERE m.conversation_id = conversation_read_state.conversation_id " +
+                        "AND m.receiver_id = conversation_read_state.user_id " +
+                        "AND m.timestamp > conversation_read_state.last_read_at)");
+            }
+
+            boolean ftsExists = tableExists(st, "friend_messages_fts");
+            st.execute("CREATE VIRTUAL TABLE IF NOT EXISTS friend_messages_fts USING fts5(" +
+                    "content, content='friend_messages', content_rowid='message_seq', " +
+                    "tokenize='unicode61 remove_diacritics 2')");
+            st.execute("CREATE TRIGGER IF NOT EXISTS friend_messages_fts_ai AFTER INSERT ON friend_messages BEGIN " +
+                    "INSERT INTO friend_messages_fts(rowid, content) VALUES (new.message_seq, new.content); END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS friend_messages_fts_ad AFTER DELETE ON friend_messages BEGIN " +
+                    "INSERT INTO friend_messages_fts(friend_messages_fts, rowid, content) " +
+                    "VALUES ('delete', old.message_seq, old.content); END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS friend_messages_fts_au AFTER UPDATE OF content ON friend_messages BEGIN " +
+                    "INSERT INTO friend_messages_fts(friend_messages_fts, rowid, content) " +
+                    "VALUES ('delete', old.message_seq, old.content); " +
+                    "INSERT INTO friend_messages_fts(rowid, content) VALUES (new.message_seq, new.content); END");
+            if (!ftsExists) {
+                st.execute("INSERT INTO friend_messages_fts(friend_messages_fts) VALUES ('rebuild')");
+            }
         }
     }
 
     /**
      * <hr>
-     * Maps a database ResultSet row to a FriendMessage object.
+     * Moves messages stored before {@code message_seq} existed into a table
+     * that has it, numbered in their current rowid order. The old search
+     * index, its triggers and the table's indexes go with the old table and
+     * are created again afterwards; the search index is rebuilt once then.
+     *
+     * @throws SQLException if the migration fails; nothing is changed
+     */
+    private void addMessageSeq() throws SQLException {
+        SQLiteConnection.inTransaction(connection, tx -> {
+            try (Statement st = tx.createStatement()) {
+                st.execute("DROP TABLE IF EXISTS friend_messages_fts");
+                st.execute("CREATE TABLE friend_messages_migrated (" + MESSAGE_COLUMNS + ")");
+                st.execute("INSERT INTO friend_messages_migrated " +
+                        "(message_id, sender_id, receiver_id, content, timestamp, conversation_id) " +
+                        "SELECT message_id, sender_id, receiver_id, content, timestamp, conversation_id " +
+                        "FROM friend_messages ORDER BY rowid");
+                st.execute("DROP TABLE friend_messages");
+                st.execute("ALTER TABLE friend_messages_migrated RENAME TO friend_messages");
+                return true;
+            }
+        });
+    }
+
+    /**
+     * <hr>
+     * Checks whether a table exists in the current database.
      *
-     * <p>Converts SQL result set data into a structured FriendMessage entity
-     * with proper type conversions for timestamp fields and message attributes.
+     * @param st an open statement to query with
+     * @param table the table name
+     * @return true if the table exists
+     * @throws SQLException if the schema cannot be read
+     */
+    private static boolean tableExists(Statement st, String table) throws SQLException {
+        try (ResultSet rs = st.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + table + "'")) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * <hr>
+     * Checks whether a table already has the given column.
      *
-     * @param rs the ResultSet containing database row data
-     * @return a populated FriendMessage object
-     * @throws SQLException if data extraction fails
+     * @param st an open statement to query with
+     * @param table the table name
+     * @param column the column name
+     * @return true if the column exists
+     * @throws SQLException if the schema cannot be read
      */
-    private FriendMessage mapRow(ResultSet rs) throws SQLException {
-        return new FriendMessage(
-                rs.getString("message_id"),
-                rs.getString("sender_id"),
-                rs.getString("content"),
-                LocalDateTime.parse(rs.getString("timestamp")),
-                rs.getString("receiver_id")
-        );
+    private static boolean hasColumn(Statement st, String table, String column) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -104,13 +236,15 @@ public class FriendMessageDAO implements IFriendMessageDAO {
      */
     @Override
     public boolean addMessage(FriendMessage message) {
-        String sql = "INSERT INTO friend_messages (message_id, sender_id, receiver_id, content, timestamp) VALUES (?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO friend_messages (message_id, sender_id, receiver_id, content, timestamp, conversation_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, message.getMessageId());
             ps.setString(2, message.getSenderId());
             ps.setString(3, message.getReceiverId());
             ps.setString(4, message.getContent());
             ps.setString(5, message.getTimestamp().toString());
+            ps.setString(6, message.getConversationId());
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error adding friend message: " + e.getMessage());
@@ -158,7 +292,7 @@ public class FriendMessageDAO implements IFriendMessageDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, messageId);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapRow(rs);
+                if (rs.next()) return RowMappers.friendMessage(rs).map(rs);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching friend message: " + e.getMessage());
@@ -181,7 +315,7 @@ public class FriendMessageDAO implements IFriendMessageDAO {
         List<FriendMessage> list = new ArrayList<>();
         String sql = "SELECT * FROM friend_messages ORDER BY timestamp ASC";
         try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery(sql)) {
-            while (rs.next()) list.add(mapRow(rs));
+            RowMappers.mapAll(rs, RowMappers.friendMessage(rs), list);
         } catch (SQLException e) {
             System.err.println("Error fetching all friend messages: " + e.getMessage());
         }
@@ -204,17 +338,13 @@ public class FriendMessageDAO implements IFriendMessageDAO {
     @Override
     public List<FriendMessage> getMessagesBetween(String user1Id, String user2Id) {
         List<FriendMessage> list = new ArrayList<>();
-        String sql = "SELECT * FROM friend_messages " +
-                "WHERE (sender_id = ? AND receiver_id = ?) " +
-                "   OR (sender_id = ? AND receiver_id = ?) " +
-                "ORDER BY timestamp ASC";
+        if (user1Id == null || user2Id == null) return list;
+        String sql = "SELECT * FROM friend_messages WHERE conversation_id = ? " +
+                "ORDER BY timestamp ASC, message_id ASC";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, user1Id);
-            ps.setString(2, user2Id);
-            ps.setString(3, user2Id);
-            ps.setString(4, user1Id);
+            ps.setString(1, FriendMessage.conversationIdFor(user1Id, user2Id));
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                RowMappers.mapAll(rs, RowMappers.friendMessage(rs), list);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching messages between users: " + e.getMessage());
@@ -236,14 +366,10 @@ public class FriendMessageDAO implements IFriendMessageDAO {
      */
     @Override
     public boolean deleteMessagesBetween(String user1Id, String user2Id) {
-        String sql = "DELETE FROM friend_messages " +
-                "WHERE (sender_id = ? AND receiver_id = ?) " +
-                "   OR (sender_id = ? AND receiver_id = ?)";
+        if (user1Id == null || user2Id == null) return false;
+        String sql = "DELETE FROM friend_messages WHERE conversation_id = ?";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, user1Id);
-            ps.setString(2, user2Id);
-            ps.setString(3, user2Id);
-            ps.setString(4, user1Id);
+            ps.setString(1, FriendMessage.conversationIdFor(user1Id, user2Id));
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting messages between users: " + e.getMessage());
@@ -275,11 +401,254 @@ public class FriendMessageDAO implements IFriendMessageDAO {
             ps.setString(1, userId);
             ps.setString(2, userId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                RowMappers.mapAll(rs, RowMappers.friendMessage(rs), list);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching messages for user: " + e.getMessage());
         }
         return list;
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Searches the content of a user's direct messages.
+     *
+     * <p>Uses the FTS5 index with bm25 ranking; ties are broken by recency.
+     * Hits are restricted to messages the user took part in.
+     *
+     * @param userId the username of the searching user
+     * @param otherUserId the other participant to scope to, or null for all conversations
+     * @param query the raw search text entered by the user
+     * @param limit the maximum number of hits to return
+     * @return the matching messages, most relevant first
+     */
+    @Override
+    public List<MessageSearchResult<FriendMessage>> searchMessages(String userId, String otherUserId, String query, int limit) {
+        List<MessageSearchResult<FriendMessage>> results = new ArrayList<>();
+        String match = FullTextQueryUtils.toMatchExpression(query);
+        if (match == null || userId == null || userId.isBlank() || limit <= 0) return results;
+
+        boolean scoped = otherUserId != null && !otherUserId.isBlank();
+        String scope = scoped
+                ? "m.conversation_id = ?"
+                : "(m.sender_id = ? OR m.receiver_id = ?)";
+        String sql = "SELECT m.*, " +
+                "snippet(friend_messages_fts, 0, char(2), char(3), '…', 12) AS snippet, " +
+                "bm25(friend_messages_fts) AS score " +
+                "FROM friend_messages_fts JOIN friend_messages m ON m.message_seq = friend_messages_fts.rowid " +
+                "WHERE friend_messages_fts MATCH ? AND " + scope + " " +
+                "ORDER BY score ASC, m.timestamp DESC LIMIT ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int i = 1;
+            ps.setString(i++, match);
+            if (scoped) {
+                ps.setString(i++, FriendMessage.conversationIdFor(userId, otherUserId));
+            } else {
+                ps.setString(i++, userId);
+                ps.setString(i++, userId);
+            }
+            ps.setInt(i, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<FriendMessage> mapper = RowMappers.friendMessage(rs);
+                int snippet = rs.findColumn("snippet");
+                int score = rs.findColumn("score");
+                while (rs.next()) {
+                    results.add(new MessageSearchResult<>(mapper.map(rs), rs.getString(snippet), rs.getDouble(score)));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error searching friend messages: " + e.getMessage());
+        }
+        return results;
+    }
+
+    /**
+     * <hr>
+     * Retrieves a page of a conversation centred on a specific message.
+     *
+     * @param user1Id the username of the first participant
+     * @param user2Id the username of the second participant
+     * @param messageId the anchor message
+     * @param before the number of earlier messages to include
+     * @param after the number of later messages to include
+     * @return the page in chronological order, empty if the anchor is not in the conversation
+     */
+    @Override
+    public List<FriendMessage> getMessagesAround(String user1Id, String user2Id, String messageId, int before, int after) {
+        List<FriendMessage> page = new ArrayList<>();
+        FriendMessage anchor = getMessageById(messageId);
+        if (anchor == null || !isBetween(anchor, user1Id, user2Id)) return page;
+
+        String ts = anchor.getTimestamp().toString();
+        String beforeSql = "SELECT * FROM friend_messages WHERE conversation_id = ? " +
+                "AND (timestamp < ? OR (timestamp = ? AND message_id < ?)) " +
+                "ORDER BY timestamp DESC, message_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM friend_messages WHERE conversation_id = ? " +
+                "AND (timestamp > ? OR (timestamp = ? AND message_id > ?)) " +
+                "ORDER BY timestamp ASC, message_id ASC LIMIT ?";
+        try {
+            String conversationId = anchor.getConversationId();
+            List<FriendMessage> earlier = queryPage(beforeSql, conversationId, ts, messageId, Math.max(0, before));
+            Collections.reverse(earlier);
+            page.addAll(earlier);
+            page.add(anchor);
+            page.addAll(queryPage(afterSql, conversationId, ts, messageId, Math.max(0, after)));
+        } catch (SQLException e) {
+            System.err.println("Error fetching messages around anchor: " + e.getMessage());
+        }
+        return page;
+    }
+
+    /**
+     * <hr>
+     * Checks whether a message belongs to the conversation between two users.
+     */
+    private boolean isBetween(FriendMessage message, String user1Id, String user2Id) {
+        if (user1Id == null || user2Id == null) return false;
+        return FriendMessage.conversationIdFor(user1Id, user2Id).equals(message.getConversationId());
+    }
+
+    /**
+     * <hr>
+     * Runs one direction of a keyset page query relative to an anchor.
+     */
+    private List<FriendMessage> queryPage(String sql, String conversationId,
+                                          String ts, String messageId, int limit) throws SQLException {
+        List<FriendMessage> list = new ArrayList<>();
+        if (limit == 0) return list;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, conversationId);
+            ps.setString(2, ts);
+            ps.setString(3, ts);
+            ps.setString(4, messageId);
+            ps.setInt(5, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, RowMappers.friendMessage(rs), list);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Retrieves the user's inbox in a single grouped query.
+     *
+     * <p>Groups the user's messages by conversation; SQLite returns the bare
+     * message columns from the row holding {@code MAX(timestamp)}, so the
+     * latest message comes back alongside the stored unread counter without
+     * a second lookup per conversation.
+     *
+     * @param userId the username of the inbox owner
+     * @return the conversations, most recently active first
+     */
+    @Override
+    public List<ConversationSummary> getInbox(String userId) {
+        List<ConversationSummary> inbox = new ArrayList<>();
+        if (userId == null || userId.isBlank()) return inbox;
+
+        String sql = "SELECT m.*, MAX(m.timestamp) AS last_timestamp, " +
+                "COALESCE(r.unread_count, 0) AS unread " +
+                "FROM friend_messages m " +
+                "LEFT JOIN conversation_read_state r " +
+                "ON r.conversation_id = m.conversation_id AND r.user_id = ? " +
+                "WHERE m.sender_id = ? OR m.receiver_id = ? " +
+                "GROUP BY m.conversation_id " +
+                "ORDER BY last_timestamp DESC";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            ps.setString(2, userId);
+            ps.setString(3, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<FriendMessage> mapper = RowMappers.friendMessage(rs);
+                while (rs.next()) {
+                    FriendMessage last = mapper.map(rs);
+                    String other = userId.equals(last.getSenderId()) ? last.getReceiverId() : last.getSenderId();
+                    inbox.add(new ConversationSummary(rs.getString("conversation_id"), other, last, rs.getInt("unread")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching inbox: " + e.getMessage());
+        }
+        return inbox;
+    }
+
+    /**
+     * <hr>
+     * Marks everything currently in a conversation as read by the user.
+     *
+     * <p>Moves the user's read cursor to the newest message timestamp in the
+     * conversation and clears the unread counter. The cursor never moves
+     * backwards.
+     *
+     * @param userId the username of the reader
+     * @param otherUserId the other participant's username
+     * @return true if the read state was recorded, false otherwise
+     */
+    @Override
+    public boolean markConversationRead(String userId, String otherUserId) {
+        if (userId == null || otherUserId == null) return false;
+        String conversationId = FriendMessage.conversationIdFor(userId, otherUserId);
+        String sql = "INSERT INTO conversation_read_state (conversation_id, user_id, last_read_at, unread_count) " +
+                "SELECT ?, ?, COALESCE(MAX(timestamp), ''), 0 FROM friend_messages WHERE conversation_id = ? " +
+                "ON CONFLICT(conversation_id, user_id) DO UPDATE SET " +
+                "last_read_at = MAX(last_read_at, excluded.last_read_at), unread_count = 0";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, conversationId);
+            ps.setString(2, userId);
+            ps.setString(3, conversationId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error marking conversation read: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * <hr>
+     * Retrieves the unread counter for one conversation.
+     *
+     * @param userId the username of the reader
+     * @param otherUserId the other participant's username
+     * @return the number of unread messages, 0 if none or on error
+     */
+    @Override
+    public int getUnreadCount(String userId, String otherUserId) {
+        if (userId == null || otherUserId == null) return 0;
+        String sql = "SELECT unread_count FROM conversation_read_state WHERE conversation_id = ? AND user_id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, FriendMessage.conversationIdFor(userId, otherUserId));
+            ps.setString(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching unread count: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * <hr>
+     * Sums the user's unread counters across all conversations.
+     *
+     * <p>Reads only the user's rows of {@code conversation_read_state}
+     * through its {@code (user_id, unread_count)} index.
+     *
+     * @param userId the username of the reader
+     * @return the total number of unread direct messages
+     */
+    @Override
+    public int getTotalUnreadCount(String userId) {
+        if (userId == null || userId.isBlank()) return 0;
+        String sql = "SELECT COALESCE(SUM(unread_count), 0) FROM conversation_read_state WHERE user_id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching total unread count: " + e.getMessage());
+        }
+        return 0;
+    }
+}
@@ -4,12 +4,15 @@ import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.GroupJoinRequest;
 import com.cab302.peerpractice.Model.Entities.GroupMemberEntity;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.IsoTimestamps;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -180,7 +183,8 @@ public class GroupDAO implements IGroupDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapRowToGroup(rs);
+                List<Group> found = readGroups(rs);
+                if (!found.isEmpty()) return found.get(0);
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to search group by ID", e);
@@ -206,7 +210,7 @@ public class GroupDAO implements IGroupDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, user.getUserId());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) groups.add(mapRowToGroup(rs));
+                groups.addAll(readGroups(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to search groups by user", e);
@@ -238,7 +242,7 @@ public class GroupDAO implements IGroupDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
             for (int i = 0; i < users.size(); i++) ps.setString(i + 1, users.get(i).getUserId());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) groups.add(mapRowToGroup(rs));
+                groups.addAll(readGroups(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to search groups by members", e);
@@ -263,7 +267,7 @@ public class GroupDAO implements IGroupDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, "%" + name + "%");
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) groups.add(mapRowToGroup(rs));
+                groups.addAll(readGroups(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to search groups by name", e);
@@ -285,7 +289,7 @@ public class GroupDAO implements IGroupDAO {
         List<Group> groups = new ArrayList<>();
         String sql = "SELECT * FROM groups";
         try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery(sql)) {
-            while (rs.next()) groups.add(mapRowToGroup(rs));
+            groups.addAll(readGroups(rs));
         } catch (SQLException e) {
             throw new RuntimeException("Failed to get all groups", e);
         }
@@ -314,7 +318,7 @@ public class GroupDAO implements IGroupDAO {
                     member.setGroupId(rs.getInt("group_id"));
                     member.setUserId(rs.getString("user_id"));
                     member.setRole(rs.getString("role"));
-                    member.setJoinedAt(LocalDateTime.parse(rs.getString("joined_at")));
+                    member.setJoinedAt(IsoTimestamps.parseDateTime(rs.getString("joined_at")));
                     member.setUser(userDao.findUserById(rs.getString("user_id")));
                     members.add(member);
                 }
@@ -376,8 +380,8 @@ public class GroupDAO implements IGroupDAO {
                             rs.getInt("group_id"),
                             rs.getString("user_id"),
                             rs.getString("status"),
-                            LocalDateTime.parse(rs.getString("requested_at")),
-                            rs.getString("processed_at") != null ? LocalDateTime.parse(rs.getString("processed_at")) : null,
+                            IsoTimestamps.parseDateTime(rs.getString("requested_at")),
+                            IsoTimestamps.parseDateTime(rs.getString("processed_at")),
                             rs.getString("processed_by")
                     );
                     request.setUser(userDao.findUserById(rs.getString("user_id")));
@@ -455,8 +459,8 @@ public class GroupDAO implements IGroupDAO {
                             rs.getInt("group_id"),
                             rs.getString("user_id"),
                             rs.getString("status"),
-                            LocalDateTime.parse(rs.getString("requested_at")),
-                            rs.getString("processed_at") != null ? LocalDateTime.parse(rs.getString("processed_at")) : null,
+                            IsoTimestamps.parseDateTime(rs.getString("requested_at")),
+                            IsoTimestamps.parseDateTime(rs.getString("processed_at")),
                             rs.getString("processed_by")
                     );
                 }
@@ -809,29 +813,34 @@ public class GroupDAO implements IGroupDAO {
 
     /**
      * <hr>
-     * Maps a database ResultSet row to a fully populated Group object.
+     * Maps every row of a groups result set to a fully populated Group.
      *
-     * <p>Converts SQL result set data into a complete Group entity,
-     * including loading all members with their respective roles and
-     * resolving user entities from the user DAO.
+     * <p>Rows are mapped first, resolving each owner once however many of
+     * their groups the result holds, and members are then loaded per group.
      *
      * @param rs the ResultSet containing group data from the database
-     * @return a fully populated Group object with members and roles
+     * @return the groups with their members and roles
      * @throws SQLException if data extraction or member loading fails
      */
-    private Group mapRowToGroup(ResultSet rs) throws SQLException {
-        int groupId = rs.getInt("group_id");
-        String name = rs.getString("name");
-        String description = rs.getString("description");
-        boolean requireApproval = rs.getInt("require_approval") == 1;
-        String ownerName = rs.getString("owner");
-        LocalDateTime createdAt = LocalDateTime.parse(rs.getString("created_at"));
-
-        User owner = userDao.findUser("username", ownerName);
-
-        Group group = new Group(name, description, requireApproval, owner, createdAt);
-        group.setID(groupId);
+    private List<Group> readGroups(ResultSet rs) throws SQLException {
+        Map<String, User> owners = new HashMap<>();
+        List<Group> groups = RowMappers.mapAll(rs, RowMappers.group(rs, name -> {
+            if (!owners.containsKey(name)) owners.put(name, userDao.findUser("username", name));
+            return owners.get(name);
+        }), new ArrayList<>());
+        for (Group group : groups) loadMembers(group);
+        return groups;
+    }
 
+    /**
+     * <hr>
+     * Loads a group's members and syncs their roles into the group.
+     *
+     * @param group the group to populate
+     * @throws SQLException if member loading fails
+     */
+    private void loadMembers(Group group) throws SQLException {
+        int groupId = group.getID();
         // Load members and their roles
         List<User> members = new ArrayList<>();
         String sql = "SELECT user_id, role FROM group_members WHERE group_id = ?";
@@ -851,6 +860,5 @@ public class GroupDAO implements IGroupDAO {
             }
         }
         group.setMembers(members);
-        return group;
     }
 }
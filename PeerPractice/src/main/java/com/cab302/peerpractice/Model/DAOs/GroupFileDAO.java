@@ -1,12 +1,18 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.StorageQuota;
+import com.cab302.peerpractice.Model.ValueObjects.StorageStats;
+import com.cab302.peerpractice.Model.ValueObjects.StorageUsage;
+import com.cab302.peerpractice.Model.ValueObjects.StoredBlob;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -22,6 +28,10 @@ import java.util.List;
  *   <li>Group-specific file organization and retrieval</li>
  *   <li>Uploader tracking and file attribution</li>
  *   <li>File deletion and cleanup operations</li>
+ *   <li>Reference counts for deduplicated blobs, kept by triggers</li>
+ *   <li>Stored and logical sizes of files kept compressed</li>
+ *   <li>Manifests of chunked uploads, so interrupted uploads can resume</li>
+ *   <li>Per-group usage counters, kept by triggers, and storage quotas</li>
  * </ul>
  *
  * @see GroupFile
@@ -33,6 +43,9 @@ public class GroupFileDAO implements IGroupFileDAO {
     /** <hr> Database connection instance for SQLite operations. */
     private final Connection connection;
 
+    /** <hr> MIME type that usage is counted under for files recorded without one. */
+    private static final String UNKNOWN_MIME_TYPE = "application/octet-stream";
+
     /**
      * <hr>
      * Constructs a new GroupFileDAO with database connection.
@@ -69,36 +82,130 @@ public class GroupFileDAO implements IGroupFileDAO {
                     "mime_type TEXT, " +
                     "uploaded_at TEXT NOT NULL, " +
                     "description TEXT, " +
+                    "content_hash TEXT, " +
+                    "stored_size INTEGER, " +
+                    "compressed INTEGER NOT NULL DEFAULT 0, " +
+                    "FOREIGN KEY(uploader_id) REFERENCES users(username) ON DELETE CASCADE, " +
+                    "FOREIGN KEY(group_id) REFERENCES groups(group_id) ON DELETE CASCADE" +
+                    ")");
+            if (!hasColumn(st, "group_files", "content_hash")) {
+                st.execute("ALTER TABLE group_files ADD COLUMN content_hash TEXT");
+            }
+            // file_size is the size as uploaded; stored_size is what the file takes on disk
+            if (!hasColumn(st, "group_files", "stored_size")) {
+                st.execute("ALTER TABLE group_files ADD COLUMN stored_size INTEGER");
+                st.execute("ALTER TABLE group_files ADD COLUMN compressed INTEGER NOT NULL DEFAULT 0");
+                st.execute("UPDATE group_files SET stored_size = file_size");
+            }
+            st.execute("CREATE INDEX IF NOT EXISTS idx_group_files_content_hash ON group_files(content_hash)");
+            // files stored before deduplication, in path order for the storage reconciler
+            st.execute("CREATE INDEX IF NOT EXISTS idx_group_files_unhashed ON group_files(filepath) " +
+                    "WHERE content_hash IS NULL");
+
+            // one row per stored blob; the triggers keep ref_count equal to the records using it,
+            // including records removed by ON DELETE CASCADE
+            st.execute("CREATE TABLE IF NOT EXISTS file_blobs (" +
+                    "hash TEXT PRIMARY KEY, " +
+                    "size INTEGER NOT NULL, " +
+                    "stored_size INTEGER NOT NULL, " +
+                    "compressed INTEGER NOT NULL DEFAULT 0, " +
+                    "ref_count INTEGER NOT NULL" +
+                    ")");
+            if (!hasColumn(st, "file_blobs", "stored_size")) {
+                st.execute("ALTER TABLE file_blobs ADD COLUMN stored_size INTEGER NOT NULL DEFAULT 0");
+                st.execute("ALTER TABLE file_blobs ADD COLUMN compressed INTEGER NOT NULL DEFAULT 0");
+                st.execute("UPDATE file_blobs SET stored_size = size");
+                st.execute("DROP TRIGGER IF EXISTS group_files_blob_ai");
+            }
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_files_blob_ai AFTER INSERT ON group_files " +
+                    "WHEN NEW.content_hash IS NOT NULL BEGIN " +
+                    "INSERT INTO file_blobs (hash, size, stored_size, compressed, ref_count) " +
+                    "VALUES (NEW.content_hash, NEW.file_size, COALESCE(NEW.stored_size, NEW.file_size), NEW.compressed, 1) " +
+                    "ON CONFLICT(hash) DO UPDATE SET ref_count = ref_count + 1; " +
+                    "END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_files_blob_ad AFTER DELETE ON group_files " +
+                    "WHEN OLD.content_hash IS NOT NULL BEGIN " +
+                    "UPDATE file_blobs SET ref_count = ref_count - 1 WHERE hash = OLD.content_hash; " +
+                    "DELETE FROM file_blobs WHERE hash = OLD.content_hash AND ref_count <= 0; " +
+                    "END");
+
+            // chunked uploads in progress, and the chunks of each that are safely on disk
+            st.execute("CREATE TABLE IF NOT EXISTS upload_manifests (" +
+                    "upload_id TEXT PRIMARY KEY, " +
+                    "group_id INTEGER NOT NULL, " +
+                    "uploader_id TEXT NOT NULL, " +
+                    "filename TEXT NOT NULL, " +
+                    "source_path TEXT NOT NULL, " +
+                    "source_size INTEGER NOT NULL, " +
+                    "source_modified INTEGER NOT NULL, " +
+                    "chunk_bytes INTEGER NOT NULL, " +
+                    "description TEXT, " +
+                    "created_at TEXT NOT NULL, " +
                     "FOREIGN KEY(uploader_id) REFERENCES users(username) ON DELETE CASCADE, " +
                     "FOREIGN KEY(group_id) REFERENCES groups(group_id) ON DELETE CASCADE" +
                     ")");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_upload_manifests_uploader " +
+                    "ON upload_manifests(uploader_id, created_at)");
+            st.execute("CREATE TABLE IF NOT EXISTS upload_chunks (" +
+                    "upload_id TEXT NOT NULL, " +
+                    "chunk_index INTEGER NOT NULL, " +
+                    "sha256 TEXT NOT NULL, " +
+                    "PRIMARY KEY(upload_id, chunk_index), " +
+                    "FOREIGN KEY(upload_id) REFERENCES upload_manifests(upload_id) ON DELETE CASCADE" +
+                    ")");
+
+            // bytes and files per group, uploader and MIME type, kept by triggers in the same
+            // transaction as the insert or delete, so usage is read without scanning group_files
+            boolean usageExisted = hasTable(st, "group_storage_usage");
+            st.execute("CREATE TABLE IF NOT EXISTS group_storage_usage (" +
+                    "group_id INTEGER NOT NULL, " +
+                    "uploader_id TEXT NOT NULL, " +
+                    "mime_type TEXT NOT NULL, " +
+                    "file_count INTEGER NOT NULL, " +
+                    "total_bytes INTEGER NOT NULL, " +
+                    "PRIMARY KEY(group_id, uploader_id, mime_type)" +
+                    ")");
+            if (!usageExisted) {
+                st.execute("INSERT INTO group_storage_usage (group_id, uploader_id, mime_type, file_count, total_bytes) " +
+                        "SELECT group_id, uploader_id, COALESCE(mime_type, '" + UNKNOWN_MIME_TYPE + "'), " +
+                        "COUNT(*), SUM(file_size) FROM group_files GROUP BY 1, 2, 3");
+            }
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_files_usage_ai AFTER INSERT ON group_files BEGIN " +
+                    "INSERT INTO group_storage_usage (group_id, uploader_id, mime_type, file_count, total_bytes) " +
+                    "VALUES (NEW.group_id, NEW.uploader_id, COALESCE(NEW.mime_type, '" + UNKNOWN_MIME_TYPE + "'), 1, NEW.file_size) " +
+                    "ON CONFLICT(group_id, uploader_id, mime_type) DO UPDATE SET " +
+                    "file_count = file_count + 1, total_bytes = total_bytes + excluded.total_bytes; " +
+                    "END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_files_usage_ad AFTER DELETE ON group_files BEGIN " +
+                    "UPDATE group_storage_usage SET file_count = file_count - 1, total_bytes = total_bytes - OLD.file_size " +
+                    "WHERE group_id = OLD.group_id AND uploader_id = OLD.uploader_id " +
+                    "AND mime_type = COALESCE(OLD.mime_type, '" + UNKNOWN_MIME_TYPE + "'); " +
+                    "DELETE FROM group_storage_usage WHERE group_id = OLD.group_id AND file_count <= 0; " +
+                    "END");
+
+            st.execute("CREATE TABLE IF NOT EXISTS group_storage_quotas (" +
+                    "group_id INTEGER PRIMARY KEY, " +
+                    "max_group_bytes INTEGER NOT NULL, " +
+                    "max_user_bytes INTEGER NOT NULL, " +
+                    "FOREIGN KEY(group_id) REFERENCES groups(group_id) ON DELETE CASCADE" +
+                    ")");
         }
     }
 
-    /**
-     * <hr>
-     * Maps a database ResultSet row to a GroupFile object.
-     *
-     * <p>Converts SQL result set data into a structured GroupFile entity
-     * with proper type conversions for timestamp, file size, and other
-     * file attributes.
-     *
-     * @param rs the ResultSet containing database row data
-     * @return a populated GroupFile object
-     * @throws SQLException if data extraction fails
-     */
-    private GroupFile mapRow(ResultSet rs) throws SQLException {
-        return new GroupFile(
-                rs.getString("file_id"),
-                rs.getInt("group_id"),
-                rs.getString("uploader_id"),
-                rs.getString("filename"),
-                rs.getString("filepath"),
-                rs.getLong("file_size"),
-                rs.getString("mime_type"),
-                LocalDateTime.parse(rs.getString("uploaded_at")),
-                rs.getString("description")
-        );
+    private static boolean hasTable(Statement st, String table) throws SQLException {
+        try (ResultSet rs = st.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + table + "'")) {
+            return rs.next();
+        }
+    }
+
+    private static boolean hasColumn(Statement st, String table, String column) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -114,8 +221,8 @@ public class GroupFileDAO implements IGroupFileDAO {
      */
     @Override
     public boolean addFile(GroupFile file) {
-        String sql = "INSERT INTO group_files (file_id, group_id, uploader_id, filename, filepath, file_size, mime_type, uploaded_at, description) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO group_files (file_id, group_id, uploader_id, filename, filepath, file_size, mime_type, " +
+                "uploaded_at, description, content_hash, stored_size, compressed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, file.getFileId());
             ps.setInt(2, file.getGroupId());
@@ -126,6 +233,9 @@ public class GroupFileDAO implements IGroupFileDAO {
             ps.setString(7, file.getMimeType());
             ps.setString(8, file.getUploadedAt().toString());
             ps.setString(9, file.getDescription());
+            ps.setString(10, file.getContentHash());
+            ps.setLong(11, file.getStoredSize());
+            ps.setBoolean(12, file.isCompressed());
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error adding group file: " + e.getMessage());
@@ -172,7 +282,7 @@ public class GroupFileDAO implements IGroupFileDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, fileId);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapRow(rs);
+                if (rs.next()) return RowMappers.groupFile(rs).map(rs);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching group file: " + e.getMessage());
@@ -198,7 +308,7 @@ public class GroupFileDAO implements IGroupFileDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, groupId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                RowMappers.mapAll(rs, RowMappers.groupFile(rs), list);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching files for group: " + e.getMessage());
@@ -247,11 +357,386 @@ public class GroupFileDAO implements IGroupFileDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, userId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                RowMappers.mapAll(rs, RowMappers.groupFile(rs), list);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching files by uploader: " + e.getMessage());
         }
         return list;
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Gets how many file records share a stored blob.
+     *
+     * <p>Reads the count the insert and delete triggers maintain; blobs
+     * whose last record was deleted have no row and count as 0.
+     *
+     * @param contentHash the SHA-256 of the content in hex
+     * @return the number of records referencing the blob
+     */
+    @Override
+    public int getBlobReferenceCount(String contentHash) {
+        String sql = "SELECT ref_count FROM file_blobs WHERE hash = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, contentHash);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching blob reference count: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * <hr>
+     * Finds a file record that references a blob.
+     *
+     * @param contentHash the SHA-256 of the content in hex
+     * @return any one of the records, or null if none reference the blob
+     */
+    @Override
+    public GroupFile getFileByContentHash(String contentHash) {
+        String sql = "SELECT * FROM group_files WHERE content_hash = ? LIMIT 1";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, contentHash);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return RowMappers.groupFile(rs).map(rs);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching group file by content hash: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * <hr>
+     * Summarises the space taken by group files.
+     *
+     * <p>Records stored before deduplication have no hash and count as
+     * their own copy; every blob counts once however many records use it,
+     * at the size it takes on disk.
+     *
+     * @return the storage statistics, all zero if they could not be read
+     */
+    @Override
+    public StorageStats getStorageStats() {
+        String sql = "SELECT " +
+                "(SELECT COUNT(*) FROM group_files) AS file_count, " +
+                "(SELECT COALESCE(SUM(file_size), 0) FROM group_files) AS logical_bytes, " +
+                "(SELECT COUNT(*) FROM file_blobs) + " +
+                "(SELECT COUNT(*) FROM group_files WHERE content_hash IS NULL) AS stored_count, " +
+                "(SELECT COALESCE(SUM(stored_size), 0) FROM file_blobs) + " +
+                "(SELECT COALESCE(SUM(stored_size), 0) FROM group_files WHERE content_hash IS NULL) AS stored_bytes";
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            if (rs.next()) {
+                return new StorageStats(rs.getInt("file_count"), rs.getInt("stored_count"),
+                        rs.getLong("logical_bytes"), rs.getLong("stored_bytes"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching storage stats: " + e.getMessage());
+        }
+        return new StorageStats(0, 0, 0, 0);
+    }
+
+    /**
+     * <hr>
+     * Reads one page of stored blobs in hash order, using the primary key
+     * so each page costs the same however far into the table it is.
+     *
+     * @param afterHash the last hash of the previous page, or null for the first page
+     * @param limit the most blobs to return
+     * @return the blobs, in hash order
+     */
+    @Override
+    public List<StoredBlob> getBlobsAfter(String afterHash, int limit) {
+        List<StoredBlob> page = new ArrayList<>();
+        String sql = "SELECT hash, size, stored_size, compressed FROM file_blobs WHERE hash > ? ORDER BY hash LIMIT ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, afterHash == null ? "" : afterHash);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    page.add(new StoredBlob(rs.getString("hash"), rs.getLong("size"),
+                            rs.getLong("stored_size"), rs.getBoolean("compressed")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching stored blobs: " + e.getMessage());
+            page.clear();
+        }
+        return page;
+    }
+
+    /**
+     * <hr>
+     * Reads one page of the files stored before deduplication, in path order.
+     *
+     * <p>Each of these files has its own path, so the path of the last file
+     * read is enough to continue from.
+     *
+     * @param afterPath the last path of the previous page, or null for the first page
+     * @param limit the most files to return
+     * @return the files without a content hash, in path order
+     */
+    @Override
+    public List<GroupFile> getUnhashedFilesAfter(String afterPath, int limit) {
+        List<GroupFile> list = new ArrayList<>();
+        String sql = "SELECT * FROM group_files WHERE content_hash IS NULL AND filepath > ? ORDER BY filepath LIMIT ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, afterPath == null ? "" : afterPath);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, RowMappers.groupFile(rs), list);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching unhashed files: " + e.getMessage());
+            list.clear();
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Deletes every file record that references a blob.
+     *
+     * @param contentHash the SHA-256 of the content in hex
+     * @return the number of records deleted, 0 if none were or the delete failed
+     */
+    @Override
+    public int deleteFilesByContentHash(String contentHash) {
+        String sql = "DELETE FROM group_files WHERE content_hash = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, contentHash);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error deleting files by content hash: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * <hr>
+     * Records the start of a chunked upload.
+     *
+     * @param manifest the manifest to store; its chunks are not stored
+     * @return true if the manifest was stored, false otherwise
+     */
+    @Override
+    public boolean addUploadManifest(UploadManifest manifest) {
+        String sql = "INSERT INTO upload_manifests (upload_id, group_id, uploader_id, filename, source_path, " +
+                "source_size, source_modified, chunk_bytes, description, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, manifest.getUploadId());
+            ps.setInt(2, manifest.getGroupId());
+            ps.setString(3, manifest.getUploaderId());
+            ps.setString(4, manifest.getFilename());
+            ps.setString(5, manifest.getSourcePath());
+            ps.setLong(6, manifest.getSourceSize());
+            ps.setLong(7, manifest.getSourceModified());
+            ps.setInt(8, manifest.getChunkBytes());
+            ps.setString(9, manifest.getDescription());
+            ps.setString(10, manifest.getCreatedAt().toString());
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error adding upload manifest: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * <hr>
+     * Retrieves a chunked upload with every chunk recorded so far.
+     *
+     * @param uploadId the unique identifier of the upload
+     * @return the manifest if found, null otherwise
+     */
+    @Override
+    public UploadManifest getUploadManifest(String uploadId) {
+        List<UploadManifest> found = new ArrayList<>();
+        String sql = "SELECT * FROM upload_manifests WHERE upload_id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, uploadId);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, RowMappers.uploadManifest(rs), found);
+            }
+            loadChunks(found, "upload_id = ?", uploadId);
+        } catch (SQLException e) {
+            System.err.println("Error fetching upload manifest: " + e.getMessage());
+            return null;
+        }
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * <hr>
+     * Retrieves the chunked uploads a user has not finished, oldest first.
+     *
+     * <p>Chunks for every manifest are read with one further query.
+     *
+     * @param uploaderId the username of the uploader
+     * @return the user's manifests with their recorded chunks
+     */
+    @Override
+    public List<UploadManifest> getUploadManifestsForUser(String uploaderId) {
+        List<UploadManifest> list = new ArrayList<>();
+        String sql = "SELECT * FROM upload_manifests WHERE uploader_id = ? ORDER BY created_at";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, uploaderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, RowMappers.uploadManifest(rs), list);
+            }
+            loadChunks(list, "upload_id IN (SELECT upload_id FROM upload_manifests WHERE uploader_id = ?)", uploaderId);
+        } catch (SQLException e) {
+            System.err.println("Error fetching upload manifests: " + e.getMessage());
+            return new ArrayList<>();
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Attaches recorded chunks to the manifests they belong to.
+     *
+     * @param manifests the manifests to fill
+     * @param where the condition selecting their chunks, with one string parameter
+     * @param key the parameter value
+     */
+    private void loadChunks(List<UploadManifest> manifests, String where, String key) throws SQLException {
+        if (manifests.isEmpty()) return;
+        Map<String, UploadManifest> byId = new HashMap<>();
+        for (UploadManifest manifest : manifests) byId.put(manifest.getUploadId(), manifest);
+        String sql = "SELECT upload_id, chunk_index, sha256 FROM upload_chunks WHERE " + where;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    UploadManifest manifest = byId.get(rs.getString("upload_id"));
+                    if (manifest != null) manifest.recordChunk(rs.getInt("chunk_index"), rs.getString("sha256"));
+                }
+            }
+        }
+    }
+
+    /**
+     * <hr>
+     * Records that a chunk has been written to disk, replacing any earlier checksum for it.
+     *
+     * @param uploadId the unique identifier of the upload
+     * @param chunkIndex the index of the chunk, from 0
+     * @param sha256 the chunk's SHA-256 in hex
+     * @return true if the chunk was recorded, false otherwise
+     */
+    @Override
+    public boolean recordUploadChunk(String uploadId, int chunkIndex, String sha256) {
+        String sql = "INSERT OR REPLACE INTO upload_chunks (upload_id, chunk_index, sha256) VALUES (?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, uploadId);
+            ps.setInt(2, chunkIndex);
+            ps.setString(3, sha256);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error recording upload chunk: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * <hr>
+     * Forgets a chunked upload and its chunks.
+     *
+     * @param uploadId the unique identifier of the upload
+     * @return true if the upload was removed, false otherwise
+     */
+    @Override
+    public boolean deleteUploadManifest(String uploadId) {
+        try (PreparedStatement chunks = connection.prepareStatement("DELETE FROM upload_chunks WHERE upload_id = ?");
+             PreparedStatement manifest = connection.prepareStatement("DELETE FROM upload_manifests WHERE upload_id = ?")) {
+            chunks.setString(1, uploadId);
+            chunks.executeUpdate();
+            manifest.setString(1, uploadId);
+            return manifest.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error deleting upload manifest: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * <hr>
+     * Gets how much a group's files take up, by uploader and MIME type.
+     *
+     * <p>Reads the counters the insert and delete triggers maintain, one row
+     * per uploader and type, instead of summing the group's file records.
+     *
+     * @param groupId the unique identifier of the group
+     * @return the group's usage, empty if it has no files or could not be read
+     */
+    @Override
+    public StorageUsage getStorageUsage(int groupId) {
+        List<StorageUsage.Entry> entries = new ArrayList<>();
+        String sql = "SELECT uploader_id, mime_type, file_count, total_bytes FROM group_storage_usage WHERE group_id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, groupId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(new StorageUsage.Entry(rs.getString("uploader_id"), rs.getString("mime_type"),
+                            rs.getInt("file_count"), rs.getLong("total_bytes")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching storage usage: " + e.getMessage());
+            entries.clear();
+        }
+        return new StorageUsage(groupId, entries);
+    }
+
+    /**
+     * <hr>
+     * Gets the storage limits set for a group.
+     *
+     * @param groupId the unique identifier of the group
+     * @return the group's quota, unlimited if none is set or it could not be read
+     */
+    @Override
+    public StorageQuota getStorageQuota(int groupId) {
+        String sql = "SELECT max_group_bytes, max_user_bytes FROM group_storage_quotas WHERE group_id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, groupId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new StorageQuota(groupId, rs.getLong("max_group_bytes"), rs.getLong("max_user_bytes"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching storage quota: " + e.getMessage());
+        }
+        return StorageQuota.unlimited(groupId);
+    }
+
+    /**
+     * <hr>
+     * Sets a group's storage limits, replacing any set before.
+     *
+     * @param quota the limits and the group they apply to
+     * @return true if the quota was saved, false otherwise
+     */
+    @Override
+    public boolean setStorageQuota(StorageQuota quota) {
+        String sql = "INSERT INTO group_storage_quotas (group_id, max_group_bytes, max_user_bytes) VALUES (?, ?, ?) " +
+                "ON CONFLICT(group_id) DO UPDATE SET max_group_bytes = excluded.max_group_bytes, " +
+                "max_user_bytes = excluded.max_user_bytes";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, quota.getGroupId());
+            ps.setLong(2, quota.getMaxGroupBytes());
+            ps.setLong(3, quota.getMaxUserBytes());
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error saving storage quota: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.cab302.peerpractice.Model.DAOs;
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
+import com.cab302.peerpractice.Model.Utils.FullTextQueryUtils;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -20,6 +24,8 @@ import java.util.List;
  *   <li>Message management by group ID</li>
  *   <li>Automatic table creation on initialization</li>
  *   <li>Chronological message ordering</li>
+ *   <li>FTS5 full-text index kept in sync by triggers</li>
+ *   <li>Per-member read cursors with trigger-maintained unread counters</li>
  * </ul>
  *
  * @see GroupMessage
@@ -28,6 +34,21 @@ import java.util.List;
  */
 public class GroupMessageDAO implements IGroupMessageDAO {
 
+    /**
+     * <hr>
+     * Columns of the group_messages table. {@code message_seq} aliases the
+     * rowid, so VACUUM keeps it and the search index can be keyed by it.
+     */
+    private static final String MESSAGE_COLUMNS =
+            "message_seq INTEGER PRIMARY KEY, " +
+            "message_id TEXT NOT NULL UNIQUE, " +
+            "sender_id TEXT NOT NULL, " +
+            "group_id INTEGER NOT NULL, " +
+            "content TEXT NOT NULL, " +
+            "timestamp TEXT NOT NULL, " +
+            "FOREIGN KEY(sender_id) REFERENCES users(username) ON DELETE CASCADE, " +
+            "FOREIGN KEY(group_id) REFERENCES groups(group_id) ON DELETE CASCADE";
+
     /** <hr> Database connection instance for SQLite operations. */
     private final Connection connection;
 
@@ -50,43 +71,141 @@ public class GroupMessageDAO implements IGroupMessageDAO {
      * Creates the group_messages table if it doesn't exist.
      *
      * <p>Defines the database schema for storing group messages with
-     * appropriate foreign key constraints and indexes.
+     * appropriate foreign key constraints and indexes, plus the
+     * external-content FTS5 table used for search. The FTS index is keyed by
+     * {@code message_seq} and maintained by triggers, so every write path
+     * (including cascading deletes) keeps it in sync. The index is only
+     * rebuilt from the messages when it is first created, which backfills
+     * history in an existing database. Tables from before
+     * {@code message_seq} existed are migrated first, since their implicit
+     * rowid could be renumbered by VACUUM.
+     *
+     * <p>{@code group_read_state} holds each member's read cursor and unread
+     * counter per group. Triggers bump every other member's counter when a
+     * message is posted, take it back when one is deleted, and drop the row
+     * when a member leaves, so unread badges are read rather than counted.
      *
      * @throws SQLException if table creation fails
      */
     private void createTable() throws SQLException {
         try (Statement st = connection.createStatement()) {
-            st.execute("CREATE TABLE IF NOT EXISTS group_messages (" +
-                    "message_id TEXT PRIMARY KEY, " +
-                    "sender_id TEXT NOT NULL, " +
+            st.execute("CREATE TABLE IF NOT EXISTS group_messages (" + MESSAGE_COLUMNS + ")");
+            if (!hasColumn(st, "group_messages", "message_seq")) {
+                addMessageSeq();
+            }
+            st.execute("CREATE INDEX IF NOT EXISTS idx_group_messages_group_time " +
+                    "ON group_messages(group_id, timestamp, message_id)");
+
+            boolean ftsExists = tableExists(st, "group_messages_fts");
+            st.execute("CREATE VIRTUAL TABLE IF NOT EXISTS group_messages_fts USING fts5(" +
+                    "content, content='group_messages', content_rowid='message_seq', " +
+                    "tokenize='unicode61 remove_diacritics 2')");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_messages_fts_ai AFTER INSERT ON group_messages BEGIN " +
+                    "INSERT INTO group_messages_fts(rowid, content) VALUES (new.message_seq, new.content); END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_messages_fts_ad AFTER DELETE ON group_messages BEGIN " +
+                    "INSERT INTO group_messages_fts(group_messages_fts, rowid, content) " +
+                    "VALUES ('delete', old.message_seq, old.content); END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_messages_fts_au AFTER UPDATE OF content ON group_messages BEGIN " +
+                    "INSERT INTO group_messages_fts(group_messages_fts, rowid, content) " +
+                    "VALUES ('delete', old.message_seq, old.content); " +
+                    "INSERT INTO group_messages_fts(rowid, content) VALUES (new.message_seq, new.content); END");
+            if (!ftsExists) {
+                st.execute("INSERT INTO group_messages_fts(group_messages_fts) VALUES ('rebuild')");
+            }
+
+            boolean readStateExists = tableExists(st, "group_read_state");
+            st.execute("CREATE TABLE IF NOT EXISTS group_read_state (" +
+                    "user_id TEXT NOT NULL, " +
                     "group_id INTEGER NOT NULL, " +
-                    "content TEXT NOT NULL, " +
-                    "timestamp TEXT NOT NULL, " +
-                    "FOREIGN KEY(sender_id) REFERENCES users(username) ON DELETE CASCADE, " +
+                    "last_read_at TEXT NOT NULL, " +
+                    "unread_count INTEGER NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY(user_id, group_id), " +
+                    "FOREIGN KEY(user_id) REFERENCES users(username) ON DELETE CASCADE, " +
                     "FOREIGN KEY(group_id) REFERENCES groups(group_id) ON DELETE CASCADE" +
                     ")");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_messages_unread_ai AFTER INSERT ON group_messages BEGIN " +
+                    "INSERT INTO group_read_state (user_id, group_id, last_read_at, unread_count) " +
+                    "SELECT u.username, new.group_id, '', 1 FROM group_members gm " +
+                    "JOIN users u ON u.user_id = gm.user_id " +
+                    "WHERE gm.group_id = new.group_id AND u.username <> new.sender_id " +
+                    "ON CONFLICT(user_id, group_id) DO UPDATE SET unread_count = unread_count + " +
+                    "CASE WHEN new.timestamp > last_read_at THEN 1 ELSE 0 END; END");
+            st.execute("CREATE TRIGGER IF NOT EXISTS group_messages_unread_ad AFTER DELETE ON group_messages BEGIN " +
+                    "UPDATE group_read_state SET unread_count = MAX(unread_count - 1, 0) " +
+                    "WHERE group_id = old.group_id AND user_id <> old.sender_id " +
+                    "AND old.timestamp > last_read_at; END");
+            if (tableExists(st, "group_members")) {
+                st.execute("CREATE TRIGGER IF NOT EXISTS group_members_read_state_ad AFTER DELETE ON group_members BEGIN " +
+                        "DELETE FROM group_read_state WHERE group_id = old.group_id " +
+                        "AND user_id = (SELECT username FROM users WHERE user_id = old.user_id); END");
+                if (!readStateExists) {
+                    // One-off backfill so existing history shows as unread for current members
+                    st.execute("INSERT OR IGNORE INTO group_read_state (user_id, group_id, last_read_at, unread_count) " +
+                            "SELECT u.username, gm.group_id, '', (" +
+                            "SELECT COUNT(*) FROM group_messages m " +
+                            "WHERE m.group_id = gm.group_id AND m.sender_id <> u.username) " +
+                            "FROM group_members gm JOIN users u ON u.user_id = gm.user_id");
+                }
+            }
         }
     }
 
     /**
      * <hr>
-     * Maps a database ResultSet row to a GroupMessage object.
+     * Moves messages stored before {@code message_seq} existed into a table
+     * that has it, numbered in their current rowid order. The old search
+     * index, its triggers and the table's indexes go with the old table and
+     * are created again afterwards; the search index is rebuilt once then.
      *
-     * <p>Converts SQL result set data into a structured GroupMessage entity
-     * with proper type conversions for timestamp fields.
+     * @throws SQLException if the migration fails; nothing is changed
+     */
+    private void addMessageSeq() throws SQLException {
+        SQLiteConnection.inTransaction(connection, tx -> {
+            try (Statement st = tx.createStatement()) {
+                st.execute("DROP TABLE IF EXISTS group_messages_fts");
+                st.execute("CREATE TABLE group_messages_migrated (" + MESSAGE_COLUMNS + ")");
+                st.execute("INSERT INTO group_messages_migrated (message_id, sender_id, group_id, content, timestamp) " +
+                        "SELECT message_id, sender_id, group_id, content, timestamp FROM group_messages ORDER BY rowid");
+                st.execute("DROP TABLE group_messages");
+                st.execute("ALTER TABLE group_messages_migrated RENAME TO group_messages");
+                return true;
+            }
+        });
+    }
+
+    /**
+     * <hr>
+     * Checks whether a table already has the given column.
+     *
+     * @param st an open statement to query with
+     * @param table the table name
+     * @param column the column name
+     * @return true if the column exists
+     * @throws SQLException if the schema cannot be read
+     */
+    private static boolean hasColumn(Statement st, String table, String column) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <hr>
+     * Checks whether a table exists in the current database.
      *
-     * @param rs the ResultSet containing database row data
-     * @return a populated GroupMessage object
-     * @throws SQLException if data extraction fails
+     * @param st an open statement to query with
+     * @param table the table name
+     * @return true if the table exists
+     * @throws SQLException if the schema cannot be read
      */
-    private GroupMessage mapRow(ResultSet rs) throws SQLException {
-        return new GroupMessage(
-                rs.getString("message_id"),
-                rs.getString("sender_id"),
-                rs.getString("content"),
-                LocalDateTime.parse(rs.getString("timestamp")),
-                rs.getInt("group_id")
-        );
+    private static boolean tableExists(Statement st, String table) throws SQLException {
+        try (ResultSet rs = st.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + table + "'")) {
+            return rs.next();
+        }
     }
 
     /**
@@ -153,7 +272,7 @@ public class GroupMessageDAO implements IGroupMessageDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, messageId);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapRow(rs);
+                if (rs.next()) return RowMappers.groupMessage(rs).map(rs);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching group message: " + e.getMessage());
@@ -175,7 +294,7 @@ public class GroupMessageDAO implements IGroupMessageDAO {
         List<GroupMessage> list = new ArrayList<>();
         String sql = "SELECT * FROM group_messages ORDER BY timestamp ASC";
         try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery(sql)) {
-            while (rs.next()) list.add(mapRow(rs));
+            RowMappers.mapAll(rs, RowMappers.groupMessage(rs), list);
         } catch (SQLException e) {
             System.err.println("Error fetching all group messages: " + e.getMessage());
         }
@@ -199,7 +318,7 @@ public class GroupMessageDAO implements IGroupMessageDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, groupId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                RowMappers.mapAll(rs, RowMappers.groupMessage(rs), list);
             }
         } catch (SQLException e) {
             System.err.println("Error fetching messages for group: " + e.getMessage());
@@ -228,4 +347,185 @@ public class GroupMessageDAO implements IGroupMessageDAO {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Searches message content across a set of groups.
+     *
+     * <p>Uses the FTS5 index with bm25 ranking; ties are broken by recency.
+     * The user's text is converted to a quoted term query so punctuation
+     * cannot produce FTS syntax errors.
+     *
+     * @param groupIds the groups to search within
+     * @param query the raw search text entered by the user
+     * @param limit the maximum number of hits to return
+     * @return the matching messages, most relevant first
+     */
+    @Override
+    public List<MessageSearchResult<GroupMessage>> searchMessages(List<Integer> groupIds, String query, int limit) {
+        List<MessageSearchResult<GroupMessage>> results = new ArrayList<>();
+        String match = FullTextQueryUtils.toMatchExpression(query);
+        if (match == null || groupIds == null || groupIds.isEmpty() || limit <= 0) return results;
+
+        String placeholders = String.join(",", Collections.nCopies(groupIds.size(), "?"));
+        String sql = "SELECT m.*, " +
+                "snippet(group_messages_fts, 0, char(2), char(3), '…', 12) AS snippet, " +
+                "bm25(group_messages_fts) AS score " +
+                "FROM group_messages_fts JOIN group_messages m ON m.message_seq = group_messages_fts.rowid " +
+                "WHERE group_messages_fts MATCH ? AND m.group_id IN (" + placeholders + ") " +
+                "ORDER BY score ASC, m.timestamp DESC LIMIT ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int i = 1;
+            ps.setString(i++, match);
+            for (Integer groupId : groupIds) ps.setInt(i++, groupId);
+            ps.setInt(i, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<GroupMessage> mapper = RowMappers.groupMessage(rs);
+                int snippet = rs.findColumn("snippet");
+                int score = rs.findColumn("score");
+                while (rs.next()) {
+                    results.add(new MessageSearchResult<>(mapper.map(rs), rs.getString(snippet), rs.getDouble(score)));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error searching group messages: " + e.getMessage());
+        }
+        return results;
+    }
+
+    /**
+     * <hr>
+     * Retrieves a page of group messages centred on a specific message.
+     *
+     * <p>Walks the (group_id, timestamp, message_id) index in both directions
+     * from the anchor, so the cost depends on the page size rather than the
+     * length of the group's history.
+     *
+     * @param groupId the group the anchor message belongs to
+     * @param messageId the anchor message
+     * @param before the number of earlier messages to include
+     * @param after the number of later messages to include
+     * @return the page in chronological order, empty if the anchor is not in the group
+     */
+    @Override
+    public List<GroupMessage> getMessagesAround(int groupId, String messageId, int before, int after) {
+        List<GroupMessage> page = new ArrayList<>();
+        GroupMessage anchor = getMessageById(messageId);
+        if (anchor == null || anchor.getGroupId() != groupId) return page;
+
+        String ts = anchor.getTimestamp().toString();
+        String beforeSql = "SELECT * FROM group_messages WHERE group_id = ? " +
+                "AND (timestamp < ? OR (timestamp = ? AND message_id < ?)) " +
+                "ORDER BY timestamp DESC, message_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM group_messages WHERE group_id = ? " +
+                "AND (timestamp > ? OR (timestamp = ? AND message_id > ?)) " +
+                "ORDER BY timestamp ASC, message_id ASC LIMIT ?";
+        try {
+            List<GroupMessage> earlier = queryPage(beforeSql, groupId, ts, messageId, Math.max(0, before));
+            Collections.reverse(earlier);
+            page.addAll(earlier);
+            page.add(anchor);
+            page.addAll(queryPage(afterSql, groupId, ts, messageId, Math.max(0, after)));
+        } catch (SQLException e) {
+            System.err.println("Error fetching messages around anchor: " + e.getMessage());
+        }
+        return page;
+    }
+
+    /**
+     * <hr>
+     * Runs one direction of a keyset page query relative to an anchor.
+     */
+    private List<GroupMessage> queryPage(String sql, int groupId, String ts, String messageId, int limit) throws SQLException {
+        List<GroupMessage> list = new ArrayList<>();
+        if (limit == 0) return list;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, groupId);
+            ps.setString(2, ts);
+            ps.setString(3, ts);
+            ps.setString(4, messageId);
+            ps.setInt(5, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, RowMappers.groupMessage(rs), list);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Marks everything currently in a group as read by the user.
+     *
+     * <p>Moves the user's cursor to the newest message timestamp in the group
+     * and clears the counter. The cursor never moves backwards.
+     *
+     * @param groupId the group being read
+     * @param userId the username of the reader
+     * @return true if the read state was recorded, false otherwise
+     */
+    @Override
+    public boolean markGroupRead(int groupId, String userId) {
+        if (userId == null || userId.isBlank()) return false;
+        String sql = "INSERT INTO group_read_state (user_id, group_id, last_read_at, unread_count) " +
+                "SELECT ?, ?, COALESCE(MAX(timestamp), ''), 0 FROM group_messages WHERE group_id = ? " +
+                "ON CONFLICT(user_id, group_id) DO UPDATE SET " +
+                "last_read_at = MAX(last_read_at, excluded.last_read_at), unread_count = 0";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            ps.setInt(2, groupId);
+            ps.setInt(3, groupId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error marking group read: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * <hr>
+     * Retrieves the user's unread counter for every group that has one.
+     *
+     * <p>A single primary-key range scan over the user's rows.
+     *
+     * @param userId the username of the reader
+     * @return unread counts keyed by group ID, omitting groups with none
+     */
+    @Override
+    public Map<Integer, Integer> getUnreadCounts(String userId) {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        if (userId == null || userId.isBlank()) return counts;
+        String sql = "SELECT group_id, unread_count FROM group_read_state " +
+                "WHERE user_id = ? AND unread_count > 0";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) counts.put(rs.getInt("group_id"), rs.getInt("unread_count"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching group unread counts: " + e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * <hr>
+     * Sums the user's unread counters across all groups.
+     *
+     * @param userId the username of the reader
+     * @return the total number of unread group messages
+     */
+    @Override
+    public int getTotalUnreadCount(String userId) {
+        if (userId == null || userId.isBlank()) return 0;
+        String sql = "SELECT COALESCE(SUM(unread_count), 0) FROM group_read_state WHERE user_id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching total group unread count: " + e.getMessage());
+        }
+        return 0;
+    }
+}
@@ -90,6 +90,20 @@ public interface IAvailabilityDAO {
      */
     List<Availability> getAvailabilitiesForUser(User user);
 
+    /**
+     * <hr>
+     * Retrieves a single user's availability slots within a date range.
+     *
+     * <p>Filters by user and start date in storage, so a month view loads
+     * only the signed-in user's rows and needs one call for the whole grid.
+     *
+     * @param user the user whose availabilities are being retrieved
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the user's availabilities ordered by start time
+     */
+    List<Availability> getAvailabilitiesForUserInRange(User user, LocalDate startDate, LocalDate endDate);
+
     /**
      * <hr>
      * Retrieves availability slots for a specific calendar week.
@@ -117,6 +131,20 @@ public interface IAvailabilityDAO {
      */
     List<Availability> getAvailabilitiesForUsers(List<User> users, LocalDate startOfWeek);
 
+    /**
+     * <hr>
+     * Retrieves availability slots for multiple users within a date range.
+     *
+     * <p>Loads a whole group's availability for an arbitrary window in one
+     * call, which the meeting-slot recommender sweeps over.
+     *
+     * @param users the list of users to retrieve availabilities for
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the matching availabilities ordered by start time
+     */
+    List<Availability> getAvailabilitiesForUsersInRange(List<User> users, LocalDate startDate, LocalDate endDate);
+
     /**
      * <hr>
      * Updates an existing availability slot with new information.
@@ -164,4 +192,32 @@ public interface IAvailabilityDAO {
      * @return true if the user has availability on the specified date, false otherwise
      */
     boolean hasAvailabilityOnDate(User user, LocalDate date);
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves recurring availability series that may occur within a date range.
+     *
+     * <p>Each series is returned once, as stored, including its end date and
+     * exception dates. Range queries return a series only on the date of its
+     * first occurrence, so callers expand the series returned here instead.
+     *
+     * @param users the users whose series to load, or null for every user
+     * @param startDate the first day of the range (inclusive), or null for no lower bound
+     * @param endDate the last day of the range (inclusive), or null for no upper bound
+     * @return the recurring series ordered by first start time
+     */
+    List<Availability> getRecurringAvailabilities(List<User> users, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * <hr>
+     * Removes a single occurrence from a recurring series.
+     *
+     * <p>Records the occurrence's start date as an exception, so the rest of
+     * the series stays in place.
+     *
+     * @param series the stored recurring availability
+     * @param occurrenceDate the start date of the occurrence to skip
+     * @return true if the exception was recorded, false otherwise
+     */
+    boolean addRecurrenceException(Availability series, LocalDate occurrenceDate);
+}
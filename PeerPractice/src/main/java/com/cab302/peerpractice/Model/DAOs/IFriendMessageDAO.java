@@ -1,6 +1,8 @@
 package com.cab302.peerpractice.Model.DAOs;
 
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
 import java.util.List;
 
 /**
@@ -16,6 +18,8 @@ import java.util.List;
  *   <li>Retrieval of message history between two users</li>
  *   <li>Bulk deletion of conversation history</li>
  *   <li>User-specific message queries</li>
+ *   <li>Full-text search and paging around a message</li>
+ *   <li>Inbox summaries with per-conversation unread counts</li>
  *   <li>Extends generic message operations</li>
  * </ul>
  *
@@ -63,4 +67,76 @@ public interface IFriendMessageDAO extends IMessageDAO<FriendMessage> {
      *         ordered by timestamp in ascending order
      */
     List<FriendMessage> getMessagesForUser(String userId);
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Searches the content of a user's direct messages.
+     *
+     * <p>Only messages the user sent or received are considered. When
+     * {@code otherUserId} is given the search is scoped to that single
+     * conversation, otherwise it covers all of the user's conversations.
+     *
+     * @param userId the username of the searching user
+     * @param otherUserId the other participant to scope to, or null for all conversations
+     * @param query the raw search text entered by the user
+     * @param limit the maximum number of hits to return
+     * @return the matching messages, most relevant first
+     */
+    List<MessageSearchResult<FriendMessage>> searchMessages(String userId, String otherUserId, String query, int limit);
+
+    /**
+     * <hr>
+     * Retrieves a page of a conversation centred on a specific message.
+     *
+     * @param user1Id the username of the first participant
+     * @param user2Id the username of the second participant
+     * @param messageId the anchor message
+     * @param before the number of earlier messages to include
+     * @param after the number of later messages to include
+     * @return the page in chronological order, empty if the anchor is not in the conversation
+     */
+    List<FriendMessage> getMessagesAround(String user1Id, String user2Id, String messageId, int before, int after);
+
+    /**
+     * <hr>
+     * Retrieves the user's inbox: one summary per conversation.
+     *
+     * <p>Each summary holds the other participant, the latest message and
+     * the number of messages received since the user last read the
+     * conversation. Implementations compute this in a single query rather
+     * than loading full histories.
+     *
+     * @param userId the username of the inbox owner
+     * @return the conversations, most recently active first
+     */
+    List<ConversationSummary> getInbox(String userId);
+
+    /**
+     * <hr>
+     * Marks everything currently in a conversation as read by the user.
+     *
+     * @param userId the username of the reader
+     * @param otherUserId the other participant's username
+     * @return true if the read state was recorded, false otherwise
+     */
+    boolean markConversationRead(String userId, String otherUserId);
+
+    /**
+     * <hr>
+     * Retrieves the unread counter for one conversation.
+     *
+     * @param userId the username of the reader
+     * @param otherUserId the other participant's username
+     * @return the number of unread messages
+     */
+    int getUnreadCount(String userId, String otherUserId);
+
+    /**
+     * <hr>
+     * Sums the user's unread counters across all conversations.
+     *
+     * @param userId the username of the reader
+     * @return the total number of unread direct messages
+     */
+    int getTotalUnreadCount(String userId);
+}
@@ -1,6 +1,12 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.ValueObjects.StorageQuota;
+import com.cab302.peerpractice.Model.ValueObjects.StorageStats;
+import com.cab302.peerpractice.Model.ValueObjects.StorageUsage;
+import com.cab302.peerpractice.Model.ValueObjects.StoredBlob;
+
 import java.util.List;
 
 /**
@@ -98,4 +104,161 @@ public interface IGroupFileDAO {
      * @return a list of GroupFile objects uploaded by the specified user
      */
     List<GroupFile> getFilesByUploader(String userId);
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Gets how many file records share a stored blob.
+     *
+     * <p>Files with identical content are stored once under their SHA-256
+     * hash. The count rises when a record with the hash is added and falls
+     * when one is deleted, so a blob may only be removed from disk once it
+     * reaches zero.
+     *
+     * @param contentHash the SHA-256 of the content in hex
+     * @return the number of records referencing the blob, 0 if none do
+     */
+    int getBlobReferenceCount(String contentHash);
+
+    /**
+     * <hr>
+     * Finds a file record that references a blob.
+     *
+     * <p>Every record sharing a blob shares how it is stored, so any one of
+     * them tells a new record whether the blob is compressed.
+     *
+     * @param contentHash the SHA-256 of the content in hex
+     * @return any one of the records, or null if none reference the blob
+     */
+    GroupFile getFileByContentHash(String contentHash);
+
+    /**
+     * <hr>
+     * Summarises the space taken by group files.
+     *
+     * <p>Compares the total size of every file record with the size of the
+     * distinct copies actually stored, giving the deduplication ratio.
+     *
+     * @return the storage statistics across all groups
+     */
+    StorageStats getStorageStats();
+
+    /**
+     * <hr>
+     * Reads one page of stored blobs in hash order.
+     *
+     * <p>Used to walk every blob with bounded memory, continuing each page
+     * from the last hash of the one before.
+     *
+     * @param afterHash the last hash of the previous page, or null for the first page
+     * @param limit the most blobs to return
+     * @return the blobs, in hash order
+     */
+    List<StoredBlob> getBlobsAfter(String afterHash, int limit);
+
+    /**
+     * <hr>
+     * Reads one page of the files stored before deduplication, in path order.
+     *
+     * <p>These files have no content hash and each has its own copy on disk.
+     *
+     * @param afterPath the last path of the previous page, or null for the first page
+     * @param limit the most files to return
+     * @return the files without a content hash, in path order
+     */
+    List<GroupFile> getUnhashedFilesAfter(String afterPath, int limit);
+
+    /**
+     * <hr>
+     * Deletes every file record that references a blob.
+     *
+     * <p>Used when a blob is lost or damaged beyond repair, so the records
+     * no longer offer a file that cannot be downloaded.
+     *
+     * @param contentHash the SHA-256 of the content in hex
+     * @return the number of records deleted
+     */
+    int deleteFilesByContentHash(String contentHash);
+
+    /**
+     * <hr>
+     * Records the start of a chunked upload.
+     *
+     * <p>The manifest describes the source file and how it is split; chunks
+     * are recorded separately as they land.
+     *
+     * @param manifest the manifest to store, without chunks
+     * @return true if the manifest was stored, false otherwise
+     */
+    boolean addUploadManifest(UploadManifest manifest);
+
+    /**
+     * <hr>
+     * Retrieves a chunked upload with every chunk recorded so far.
+     *
+     * @param uploadId the unique identifier of the upload
+     * @return the manifest if found, null otherwise
+     */
+    UploadManifest getUploadManifest(String uploadId);
+
+    /**
+     * <hr>
+     * Retrieves the chunked uploads a user has not finished, oldest first.
+     *
+     * @param uploaderId the username of the uploader
+     * @return the user's manifests, each with its recorded chunks
+     */
+    List<UploadManifest> getUploadManifestsForUser(String uploaderId);
+
+    /**
+     * <hr>
+     * Records that a chunk has been written to disk.
+     *
+     * <p>Recording a chunk again replaces its checksum, so a chunk that
+     * failed verification can be written afresh.
+     *
+     * @param uploadId the unique identifier of the upload
+     * @param chunkIndex the index of the chunk, from 0
+     * @param sha256 the chunk's SHA-256 in hex
+     * @return true if the chunk was recorded, false otherwise
+     */
+    boolean recordUploadChunk(String uploadId, int chunkIndex, String sha256);
+
+    /**
+     * <hr>
+     * Forgets a chunked upload and its chunks, once it has completed or been discarded.
+     *
+     * @param uploadId the unique identifier of the upload
+     * @return true if the upload was removed, false otherwise
+     */
+    boolean deleteUploadManifest(String uploadId);
+
+    /**
+     * <hr>
+     * Gets how much a group's files take up, by uploader and MIME type.
+     *
+     * <p>Usage is counted as files are added and deleted, so reading it
+     * does not depend on how many files the group has.
+     *
+     * @param groupId the unique identifier of the group
+     * @return the group's usage, empty if it has no files
+     */
+    StorageUsage getStorageUsage(int groupId);
+
+    /**
+     * <hr>
+     * Gets the storage limits set for a group.
+     *
+     * @param groupId the unique identifier of the group
+     * @return the group's quota, unlimited if none is set
+     */
+    StorageQuota getStorageQuota(int groupId);
+
+    /**
+     * <hr>
+     * Sets a group's storage limits, replacing any set before.
+     *
+     * @param quota the limits and the group they apply to
+     * @return true if the quota was saved, false otherwise
+     */
+    boolean setStorageQuota(StorageQuota quota);
+}
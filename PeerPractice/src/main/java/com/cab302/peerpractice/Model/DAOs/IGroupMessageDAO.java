@@ -1,7 +1,9 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -16,6 +18,7 @@ import java.util.List;
  *   <li>Group-specific message retrieval and management</li>
  *   <li>Bulk message operations for group contexts</li>
  *   <li>Group message history clearing</li>
+ *   <li>Full-text search and paging around a message</li>
  *   <li>Integration with generic message operations</li>
  * </ul>
  *
@@ -49,4 +52,63 @@ public interface IGroupMessageDAO extends IMessageDAO<GroupMessage> {
      * @return true if the operation completed successfully, false otherwise
      */
     boolean deleteMessagesForGroup(int groupId);
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Searches message content across a set of groups.
+     *
+     * <p>Runs a full-text query restricted to the given groups, returning
+     * hits ordered by relevance with a highlighted snippet for each. Callers
+     * are responsible for passing only groups the searching user belongs to.
+     *
+     * @param groupIds the groups to search within
+     * @param query the raw search text entered by the user
+     * @param limit the maximum number of hits to return
+     * @return the matching messages, most relevant first
+     */
+    List<MessageSearchResult<GroupMessage>> searchMessages(List<Integer> groupIds, String query, int limit);
+
+    /**
+     * <hr>
+     * Retrieves a page of group messages centred on a specific message.
+     *
+     * <p>Used to jump to a search hit without loading the full history:
+     * returns up to {@code before} earlier messages, the anchor itself and
+     * up to {@code after} later messages in chronological order.
+     *
+     * @param groupId the group the anchor message belongs to
+     * @param messageId the anchor message
+     * @param before the number of earlier messages to include
+     * @param after the number of later messages to include
+     * @return the page in chronological order, empty if the anchor is not in the group
+     */
+    List<GroupMessage> getMessagesAround(int groupId, String messageId, int before, int after);
+
+    /**
+     * <hr>
+     * Marks everything currently in a group as read by the user.
+     *
+     * @param groupId the group being read
+     * @param userId the username of the reader
+     * @return true if the read state was recorded, false otherwise
+     */
+    boolean markGroupRead(int groupId, String userId);
+
+    /**
+     * <hr>
+     * Retrieves the user's unread counter for each group.
+     *
+     * @param userId the username of the reader
+     * @return unread counts keyed by group ID, omitting groups with none
+     */
+    Map<Integer, Integer> getUnreadCounts(String userId);
+
+    /**
+     * <hr>
+     * Sums the user's unread counters across all groups.
+     *
+     * @param userId the username of the reader
+     * @return the total number of unread group messages
+     */
+    int getTotalUnreadCount(String userId);
+}
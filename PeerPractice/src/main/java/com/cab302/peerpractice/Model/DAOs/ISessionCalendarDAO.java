@@ -3,8 +3,10 @@ package com.cab302.peerpractice.Model.DAOs;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -195,4 +197,77 @@ public interface ISessionCalendarDAO {
      * @return a list of Session objects matching both date and group criteria
      */
     List<Session> getSessionsForDateAndGroup(LocalDate date, Group group);
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves a group's sessions that start within a date range.
+     *
+     * <p>Loads everything a calendar grid needs in one call, so a month
+     * view does not query once per day cell.
+     *
+     * @param group the group whose sessions are being retrieved
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the sessions ordered by start time
+     */
+    List<Session> getSessionsForGroupInRange(Group group, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * <hr>
+     * Retrieves a single session by its ID.
+     *
+     * <p>Looks the session up by primary key, so the cost does not grow
+     * with the number of sessions stored.
+     *
+     * @param sessionId the ID of the session to retrieve
+     * @return the session, or null if no session has that ID
+     */
+    Session getSessionById(String sessionId);
+
+    /**
+     * <hr>
+     * Retrieves the sessions that start within a time window.
+     *
+     * <p>Used to load upcoming sessions a window at a time, so callers
+     * such as the reminder scheduler never read the whole table.
+     *
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the sessions ordered by start time
+     */
+    List<Session> getSessionsStartingBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * <hr>
+     * Claims a seat in a session, or joins its waitlist if it is full.
+     *
+     * <p>The seat is claimed with a single conditional write, so concurrent
+     * joins never take the session past its participant limit. Users who
+     * already hold a seat or a waitlist place keep it.
+     *
+     * @param sessionId the session to join
+     * @param userId the user asking for a seat
+     * @return whether the user holds a seat, is waiting, or the session does not exist
+     */
+    SeatReservation reserveSeat(String sessionId, String userId);
+
+    /**
+     * <hr>
+     * Gives up a seat or waitlist place, promoting whoever has waited
+     * longest into any seat that opens.
+     *
+     * @param sessionId the session to leave
+     * @param userId the user leaving
+     * @return true if the user held a seat or waitlist place
+     */
+    boolean releaseSeat(String sessionId, String userId);
+
+    /**
+     * <hr>
+     * Retrieves the users waiting for a seat, first in line first.
+     *
+     * @param sessionId the session whose waitlist to read
+     * @return the waiting user IDs in order
+     */
+    List<String> getWaitlist(String sessionId);
+}
@@ -1,6 +1,10 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.TaskDashboardEntry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -84,6 +88,39 @@ public interface ISessionTaskDAO {
      */
     boolean removeTask(String taskId);
 
+    /**
+     * <hr>
+     * Retrieves several tasks by ID in one lookup.
+     *
+     * @param taskIds the IDs of the tasks to fetch
+     * @return the tasks found, in no particular order; missing IDs are skipped
+     */
+    List<SessionTask> getTasksByIds(Collection<String> taskIds);
+
+    /**
+     * <hr>
+     * Updates several tasks as one transaction.
+     *
+     * <p>Either every task is written or, if any of them no longer exists or
+     * the write fails, none are.
+     *
+     * @param updatedTasks the tasks with their new details
+     * @return true if every task was updated
+     */
+    boolean updateTasks(List<SessionTask> updatedTasks);
+
+    /**
+     * <hr>
+     * Removes several tasks as one transaction.
+     *
+     * <p>Either every task is removed or, if any of them no longer exists or
+     * the delete fails, none are.
+     *
+     * @param taskIds the IDs of the tasks to remove
+     * @return true if every task was removed
+     */
+    boolean removeTasks(Collection<String> taskIds);
+
     /**
      * <hr>
      * Removes all tasks for a specific session.
@@ -165,4 +202,29 @@ public interface ISessionTaskDAO {
      * @return the total number of task records in the system
      */
     int getTaskCount();
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves the incomplete tasks due within a time window.
+     *
+     * <p>Used to load upcoming deadlines a window at a time, so callers
+     * such as the reminder scheduler never read the whole table.
+     *
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the tasks ordered by deadline
+     */
+    List<SessionTask> getOpenTasksDueBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * <hr>
+     * Builds a user's task dashboard: their open tasks across every session
+     * and group, each with its session title, group name, deadline bucket
+     * and the session's completion counts.
+     *
+     * @param assigneeId the user whose tasks to list
+     * @param now the time deadline buckets are measured from
+     * @return the entries ordered by deadline
+     */
+    List<TaskDashboardEntry> getTaskDashboard(String assigneeId, LocalDateTime now);
+}
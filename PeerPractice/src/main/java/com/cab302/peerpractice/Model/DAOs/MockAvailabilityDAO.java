@@ -2,6 +2,7 @@ package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.Availability;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -50,13 +51,13 @@ public class MockAvailabilityDAO implements IAvailabilityDAO {
      * <hr>
      * Generates a unique identifier for new availability entities.
      *
-     * <p>Creates a random UUID string to serve as primary key for mock
+     * <p>Creates a time-ordered ID string to serve as primary key for mock
      * availability entities, simulating database auto-generation.
      *
      * @return a unique identifier string
      */
     private String generateId() {
-        return UUID.randomUUID().toString();
+        return TimeOrderedId.next();
     }
 
     // -------------------- CREATE --------------------
@@ -81,7 +82,7 @@ public class MockAvailabilityDAO implements IAvailabilityDAO {
         String id = availability.getAvailabilityId();
         if (id == null || id.isBlank()) {
             // Require test code to set it in constructor
-            id = UUID.randomUUID().toString();
+            id = TimeOrderedId.next();
             // Recreate availability with ID if needed
             availability = new Availability(
                     id,
@@ -179,6 +180,28 @@ public class MockAvailabilityDAO implements IAvailabilityDAO {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * <hr>
+     * Retrieves a user's availability slots within a date range.
+     *
+     * @param user the user whose availabilities are being retrieved
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the user's availabilities ordered by start time
+     */
+    @Override
+    public List<Availability> getAvailabilitiesForUserInRange(User user, LocalDate startDate, LocalDate endDate) {
+        if (user == null || startDate == null || endDate == null) return Collections.emptyList();
+        return availabilities.values().stream()
+                .filter(a -> a.getUser().getUserId().equals(user.getUserId()))
+                .filter(a -> {
+                    LocalDate date = a.getStartTime().toLocalDate();
+                    return !date.isBefore(startDate) && !date.isAfter(endDate);
+                })
+                .sorted(Comparator.comparing(Availability::getStartTime))
+                .collect(Collectors.toList());
+    }
+
     /**
      * <hr>
      * Retrieves availability slots for a specific week.
@@ -226,6 +249,29 @@ public class MockAvailabilityDAO implements IAvailabilityDAO {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * <hr>
+     * Retrieves availability slots for multiple users within a date range.
+     *
+     * @param users the users to retrieve availabilities for
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the matching availabilities ordered by start time
+     */
+    @Override
+    public List<Availability> getAvailabilitiesForUsersInRange(List<User> users, LocalDate startDate, LocalDate endDate) {
+        if (users == null || users.isEmpty() || startDate == null || endDate == null) return Collections.emptyList();
+        Set<String> userIds = users.stream().map(User::getUserId).collect(Collectors.toSet());
+        return availabilities.values().stream()
+                .filter(a -> userIds.contains(a.getUser().getUserId()))
+                .filter(a -> {
+                    LocalDate date = a.getStartTime().toLocalDate();
+                    return !date.isBefore(startDate) && !date.isAfter(endDate);
+                })
+                .sorted(Comparator.comparing(Availability::getStartTime))
+                .collect(Collectors.toList());
+    }
+
     /**
      * <hr>
      * Retrieves the total count of availability slots in mock storage.
@@ -293,4 +339,43 @@ public class MockAvailabilityDAO implements IAvailabilityDAO {
         availabilities.put(oldAvailability.getAvailabilityId(), updated);
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves recurring series that may occur within a date range.
+     *
+     * @param users the users whose series to load, or null for every user
+     * @param startDate the first day of the range, or null for no lower bound
+     * @param endDate the last day of the range, or null for no upper bound
+     * @return the recurring series ordered by first start time
+     */
+    @Override
+    public List<Availability> getRecurringAvailabilities(List<User> users, LocalDate startDate, LocalDate endDate) {
+        Set<String> userIds = users == null ? null : users.stream().map(User::getUserId).collect(Collectors.toSet());
+        return availabilities.values().stream()
+                .filter(Availability::isRecurring)
+                .filter(a -> userIds == null || userIds.contains(a.getUser().getUserId()))
+                .filter(a -> endDate == null || !a.getStartTime().toLocalDate().isAfter(endDate))
+                .filter(a -> startDate == null || a.getRecurrenceEnd() == null || !a.getRecurrenceEnd().isBefore(startDate))
+                .sorted(Comparator.comparing(Availability::getStartTime))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * <hr>
+     * Records a skipped occurrence on a stored series.
+     *
+     * @param series the stored recurring availability
+     * @param occurrenceDate the start date of the occurrence to skip
+     * @return true if the series exists and is recurring
+     */
+    @Override
+    public boolean addRecurrenceException(Availability series, LocalDate occurrenceDate) {
+        if (series == null || occurrenceDate == null) return false;
+        Availability stored = availabilities.get(series.getAvailabilityId());
+        if (stored == null || !stored.isRecurring()) return false;
+        stored.addRecurrenceException(occurrenceDate);
+        if (stored != series) series.addRecurrenceException(occurrenceDate);
+        return true;
+    }
+}
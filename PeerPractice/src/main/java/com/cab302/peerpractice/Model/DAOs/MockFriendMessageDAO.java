@@ -1,7 +1,11 @@
 package com.cab302.peerpractice.Model.DAOs;
 
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
+import com.cab302.peerpractice.Model.Utils.FullTextQueryUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,6 +34,9 @@ public class MockFriendMessageDAO implements IFriendMessageDAO {
     /** <hr> In-memory storage for friend message entities using message ID as key. */
     private final Map<String, FriendMessage> messages = new HashMap<>();
 
+    /** <hr> Read cursors keyed by conversation ID and then by username. */
+    private final Map<String, Map<String, LocalDateTime>> readState = new HashMap<>();
+
     /**
      * <hr>
      * Adds a new friend message to in-memory storage.
@@ -161,4 +168,126 @@ public class MockFriendMessageDAO implements IFriendMessageDAO {
                 .sorted(Comparator.comparing(FriendMessage::getTimestamp))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Searches a user's messages with a simple term match.
+     *
+     * @param userId the username of the searching user
+     * @param otherUserId the other participant to scope to, or null for all conversations
+     * @param query the raw search text
+     * @param limit the maximum number of hits to return
+     * @return matching messages, newest first
+     */
+    @Override
+    public List<MessageSearchResult<FriendMessage>> searchMessages(String userId, String otherUserId, String query, int limit) {
+        if (userId == null || limit <= 0) return new ArrayList<>();
+        List<FriendMessage> scope = otherUserId == null ? getMessagesForUser(userId) : getMessagesBetween(userId, otherUserId);
+        return scope.stream()
+                .filter(m -> FullTextQueryUtils.matches(m.getContent(), query))
+                .sorted(Comparator.comparing(FriendMessage::getTimestamp).reversed())
+                .limit(limit)
+                .map(m -> new MessageSearchResult<>(m, m.getContent(), 0))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * <hr>
+     * Retrieves a page of a conversation centred on a specific message.
+     *
+     * @param user1Id the username of the first participant
+     * @param user2Id the username of the second participant
+     * @param messageId the anchor message
+     * @param before the number of earlier messages to include
+     * @param after the number of later messages to include
+     * @return the page in chronological order
+     */
+    @Override
+    public List<FriendMessage> getMessagesAround(String user1Id, String user2Id, String messageId, int before, int after) {
+        List<FriendMessage> ordered = getMessagesBetween(user1Id, user2Id);
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).getMessageId().equals(messageId)) {
+                return new ArrayList<>(ordered.subList(Math.max(0, i - before), Math.min(ordered.size(), i + after + 1)));
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * <hr>
+     * Builds the user's inbox from in-memory messages.
+     *
+     * @param userId the username of the inbox owner
+     * @return the conversations, most recently active first
+     */
+    @Override
+    public List<ConversationSummary> getInbox(String userId) {
+        Map<String, List<FriendMessage>> byConversation = getMessagesForUser(userId).stream()
+                .filter(m -> m.getConversationId() != null)
+                .collect(Collectors.groupingBy(FriendMessage::getConversationId));
+
+        List<ConversationSummary> inbox = new ArrayList<>();
+        byConversation.forEach((conversationId, conversation) -> {
+            FriendMessage last = conversation.get(conversation.size() - 1);
+            LocalDateTime readUpTo = readState.getOrDefault(conversationId, Map.of()).get(userId);
+            int unread = (int) conversation.stream()
+                    .filter(m -> userId.equals(m.getReceiverId()))
+                    .filter(m -> readUpTo == null || m.getTimestamp().isAfter(readUpTo))
+                    .count();
+            String other = userId.equals(last.getSenderId()) ? last.getReceiverId() : last.getSenderId();
+            inbox.add(new ConversationSummary(conversationId, other, last, unread));
+        });
+        inbox.sort(Comparator.comparing(ConversationSummary::getLastTimestamp).reversed());
+        return inbox;
+    }
+
+    /**
+     * <hr>
+     * Moves the user's read cursor to the newest message in the conversation.
+     *
+     * @param userId the username of the reader
+     * @param otherUserId the other participant's username
+     * @return true once the read state is recorded
+     */
+    @Override
+    public boolean markConversationRead(String userId, String otherUserId) {
+        if (userId == null || otherUserId == null) return false;
+        List<FriendMessage> conversation = getMessagesBetween(userId, otherUserId);
+        if (conversation.isEmpty()) return true;
+        LocalDateTime latest = conversation.get(conversation.size() - 1).getTimestamp();
+        readState.computeIfAbsent(FriendMessage.conversationIdFor(userId, otherUserId), k -> new HashMap<>())
+                .merge(userId, latest, (a, b) -> a.isAfter(b) ? a : b);
+        return true;
+    }
+
+    /**
+     * <hr>
+     * Counts unread messages in one conversation from the in-memory cursor.
+     *
+     * @param userId the username of the reader
+     * @param otherUserId the other participant's username
+     * @return the number of unread messages
+     */
+    @Override
+    public int getUnreadCount(String userId, String otherUserId) {
+        if (userId == null || otherUserId == null) return 0;
+        String conversationId = FriendMessage.conversationIdFor(userId, otherUserId);
+        return getInbox(userId).stream()
+                .filter(c -> conversationId.equals(c.getConversationId()))
+                .mapToInt(ConversationSummary::getUnreadCount)
+                .sum();
+    }
+
+    /**
+     * <hr>
+     * Sums unread messages across the user's conversations.
+     *
+     * @param userId the username of the reader
+     * @return the total number of unread direct messages
+     */
+    @Override
+    public int getTotalUnreadCount(String userId) {
+        if (userId == null) return 0;
+        return getInbox(userId).stream().mapToInt(ConversationSummary::getUnreadCount).sum();
+    }
+}
@@ -1,7 +1,10 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
+import com.cab302.peerpractice.Model.Utils.FullTextQueryUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,6 +31,9 @@ public class MockGroupMessageDAO implements IGroupMessageDAO {
     /** <hr> In-memory storage for messages by message ID. */
     private final Map<String, GroupMessage> messages = new HashMap<>();
 
+    /** <hr> Read cursors keyed by username, then group ID. */
+    private final Map<String, Map<Integer, LocalDateTime>> readState = new HashMap<>();
+
     /**
      * <hr>
      * Adds a new message to the in-memory storage.
@@ -109,4 +115,106 @@ public class MockGroupMessageDAO implements IGroupMessageDAO {
         toRemove.forEach(messages::remove);
         return !toRemove.isEmpty();
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Searches messages in the given groups with a simple term match.
+     *
+     * @param groupIds the groups to search within
+     * @param query the raw search text
+     * @param limit the maximum number of hits to return
+     * @return matching messages, newest first
+     */
+    @Override
+    public List<MessageSearchResult<GroupMessage>> searchMessages(List<Integer> groupIds, String query, int limit) {
+        if (groupIds == null || limit <= 0) return new ArrayList<>();
+        return messages.values().stream()
+                .filter(m -> groupIds.contains(m.getGroupId()))
+                .filter(m -> FullTextQueryUtils.matches(m.getContent(), query))
+                .sorted(Comparator.comparing(GroupMessage::getTimestamp).reversed())
+                .limit(limit)
+                .map(m -> new MessageSearchResult<>(m, m.getContent(), 0))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * <hr>
+     * Retrieves a page of group messages centred on a specific message.
+     *
+     * @param groupId the group the anchor message belongs to
+     * @param messageId the anchor message
+     * @param before the number of earlier messages to include
+     * @param after the number of later messages to include
+     * @return the page in chronological order
+     */
+    @Override
+    public List<GroupMessage> getMessagesAround(int groupId, String messageId, int before, int after) {
+        List<GroupMessage> ordered = messages.values().stream()
+                .filter(m -> m.getGroupId() == groupId)
+                .sorted(Comparator.comparing(GroupMessage::getTimestamp).thenComparing(GroupMessage::getMessageId))
+                .collect(Collectors.toList());
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).getMessageId().equals(messageId)) {
+                return new ArrayList<>(ordered.subList(Math.max(0, i - before), Math.min(ordered.size(), i + after + 1)));
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * <hr>
+     * Moves the user's read cursor to the newest message in the group.
+     *
+     * @param groupId the group being read
+     * @param userId the username of the reader
+     * @return true once the read state is recorded
+     */
+    @Override
+    public boolean markGroupRead(int groupId, String userId) {
+        if (userId == null) return false;
+        messages.values().stream()
+                .filter(m -> m.getGroupId() == groupId)
+                .map(GroupMessage::getTimestamp)
+                .max(Comparator.naturalOrder())
+                .ifPresent(latest -> readState.computeIfAbsent(userId, k -> new HashMap<>())
+                        .merge(groupId, latest, (a, b) -> a.isAfter(b) ? a : b));
+        return true;
+    }
+
+    /**
+     * <hr>
+     * Counts messages from other users after the reader's cursor.
+     *
+     * <p>The mock has no membership data, so every group with messages is
+     * treated as one the user belongs to.
+     *
+     * @param userId the username of the reader
+     * @return unread counts keyed by group ID, omitting groups with none
+     */
+    @Override
+    public Map<Integer, Integer> getUnreadCounts(String userId) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        if (userId == null) return counts;
+        Map<Integer, LocalDateTime> cursors = readState.getOrDefault(userId, Map.of());
+        for (GroupMessage m : messages.values()) {
+            if (userId.equals(m.getSenderId())) continue;
+            LocalDateTime readUpTo = cursors.get(m.getGroupId());
+            if (readUpTo == null || m.getTimestamp().isAfter(readUpTo)) {
+                counts.merge(m.getGroupId(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * <hr>
+     * Sums unread messages across all groups.
+     *
+     * @param userId the username of the reader
+     * @return the total number of unread group messages
+     */
+    @Override
+    public int getTotalUnreadCount(String userId) {
+        return getUnreadCounts(userId).values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -3,8 +3,11 @@ package com.cab302.peerpractice.Model.DAOs;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,6 +35,18 @@ public class MockSessionCalendarDAO implements ISessionCalendarDAO {
 
     /** <hr> In-memory storage for sessions by session ID. */
     private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    /** <hr> Waiting user IDs by session ID, first in line first. */
+    private final Map<String, LinkedHashSet<String>> waitlists = new HashMap<>();
+    /** <hr> Resolves user IDs when seats are reserved; may be null. */
+    private final IUserDAO userDao;
+
+    public MockSessionCalendarDAO() {
+        this(null);
+    }
+
+    public MockSessionCalendarDAO(IUserDAO userDao) {
+        this.userDao = userDao;
+    }
 
     // -------------------- DAO METHODS --------------------
 
@@ -59,6 +74,9 @@ public class MockSessionCalendarDAO implements ISessionCalendarDAO {
     @Override
     public boolean removeSession(Session session) {
         if (session == null) return false;
+        synchronized (this) {
+            waitlists.remove(session.getSessionId());
+        }
         return sessions.remove(session.getSessionId()) != null;
     }
 
@@ -174,6 +192,9 @@ public class MockSessionCalendarDAO implements ISessionCalendarDAO {
      */
     @Override
     public void clearAllSessions() {
+        synchronized (this) {
+            waitlists.clear();
+        }
         sessions.clear();
     }
 
@@ -241,4 +262,148 @@ public class MockSessionCalendarDAO implements ISessionCalendarDAO {
         }
         return list;
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves a group's sessions starting within a date range.
+     *
+     * @param group the group to retrieve sessions for
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the sessions ordered by start time
+     */
+    @Override
+    public List<Session> getSessionsForGroupInRange(Group group, LocalDate startDate, LocalDate endDate) {
+        if (group == null || startDate == null || endDate == null) return Collections.emptyList();
+        List<Session> list = new ArrayList<>();
+        for (Session s : sessions.values()) {
+            LocalDate day = s.getStartTime().toLocalDate();
+            if (s.getGroup() != null && group.getID() == s.getGroup().getID() &&
+                    !day.isBefore(startDate) && !day.isAfter(endDate)) {
+                list.add(s);
+            }
+        }
+        list.sort(Comparator.comparing(Session::getStartTime));
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Retrieves a single session by its ID.
+     *
+     * @param sessionId the ID of the session to retrieve
+     * @return the session, or null if not found
+     */
+    @Override
+    public Session getSessionById(String sessionId) {
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    /**
+     * <hr>
+     * Retrieves the sessions that start within a time window.
+     *
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the sessions ordered by start time
+     */
+    @Override
+    public List<Session> getSessionsStartingBetween(LocalDateTime from, LocalDateTime to) {
+        List<Session> list = new ArrayList<>();
+        for (Session s : sessions.values()) {
+            if (!s.getStartTime().isBefore(from) && s.getStartTime().isBefore(to)) {
+                list.add(s);
+            }
+        }
+        list.sort(Comparator.comparing(Session::getStartTime));
+        return list;
+    }
+
+    // -------------------- SEATS --------------------
+
+    /**
+     * <hr>
+     * Claims a seat in a session, or joins its waitlist if it is full.
+     *
+     * @param sessionId the session to join
+     * @param userId the user asking for a seat
+     * @return whether the user holds a seat, is waiting, or the session does not exist
+     */
+    @Override
+    public synchronized SeatReservation reserveSeat(String sessionId, String userId) {
+        Session session = sessionId == null ? null : sessions.get(sessionId);
+        User user = session == null ? null : resolveUser(session, userId);
+        if (user == null) return SeatReservation.NOT_FOUND;
+        if (session.isParticipant(user)) return SeatReservation.JOINED;
+
+        LinkedHashSet<String> waiting = waitlists.computeIfAbsent(sessionId, id -> new LinkedHashSet<>());
+        boolean queueEmpty = waiting.isEmpty() || (waiting.size() == 1 && waiting.contains(userId));
+        if (queueEmpty && session.addParticipant(user)) {
+            waiting.remove(userId);
+            return SeatReservation.JOINED;
+        }
+        waiting.add(userId);
+        promote(session);
+        return session.isParticipant(user) ? SeatReservation.JOINED : SeatReservation.WAITLISTED;
+    }
+
+    /**
+     * <hr>
+     * Gives up a seat or waitlist place, promoting whoever has waited
+     * longest into any seat that opens.
+     *
+     * @param sessionId the session to leave
+     * @param userId the user leaving
+     * @return true if the user held a seat or waitlist place
+     */
+    @Override
+    public synchronized boolean releaseSeat(String sessionId, String userId) {
+        Session session = sessionId == null ? null : sessions.get(sessionId);
+        if (session == null || userId == null) return false;
+        boolean removed = false;
+        for (User participant : session.getParticipants()) {
+            if (userId.equals(participant.getUserId())) removed = session.removeParticipant(participant);
+        }
+        LinkedHashSet<String> waiting = waitlists.get(sessionId);
+        if (waiting != null) removed |= waiting.remove(userId);
+        promote(session);
+        return removed;
+    }
+
+    /**
+     * <hr>
+     * Retrieves the users waiting for a seat, first in line first.
+     *
+     * @param sessionId the session whose waitlist to read
+     * @return the waiting user IDs in order
+     */
+    @Override
+    public synchronized List<String> getWaitlist(String sessionId) {
+        LinkedHashSet<String> waiting = waitlists.get(sessionId);
+        return waiting == null ? new ArrayList<>() : new ArrayList<>(waiting);
+    }
+
+    private void promote(Session session) {
+        LinkedHashSet<String> waiting = waitlists.get(session.getSessionId());
+        if (waiting == null) return;
+        Iterator<String> it = waiting.iterator();
+        while (it.hasNext() && session.hasSpace()) {
+            User next = resolveUser(session, it.next());
+            if (next != null) session.addParticipant(next);
+            it.remove();
+        }
+    }
+
+    private User resolveUser(Session session, String userId) {
+        if (userId == null) return null;
+        for (User participant : session.getParticipants()) {
+            if (userId.equals(participant.getUserId())) return participant;
+        }
+        if (userDao == null) return null;
+        try {
+            return userDao.findUserById(userId);
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
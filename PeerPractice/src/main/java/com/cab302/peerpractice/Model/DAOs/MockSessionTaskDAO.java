@@ -1,6 +1,8 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.TaskDashboardEntry;
+import com.cab302.peerpractice.Model.ValueObjects.DeadlineBucket;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -16,7 +18,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p> Key features include:
  * <ul>
  *   <li>Thread-safe concurrent task storage</li>
- *   <li>Automatic UUID generation for missing task IDs</li>
+ *   <li>Automatic time-ordered ID generation for missing task IDs</li>
  *   <li>Timestamp management for task updates</li>
  *   <li>Flexible task retrieval by session, user, and status</li>
  * </ul>
@@ -33,30 +35,12 @@ public class MockSessionTaskDAO implements ISessionTaskDAO {
      * <hr>
      * Adds a new task to the in-memory storage.
      *
-     * <p>Automatically generates a task ID if missing and updates timestamps.
-     *
      * @param task the task to add
      */
     @Override
     public void addTask(SessionTask task) {
         if (task == null) return;
 
-        // Generate taskId if missing
-        if (task.getTaskId() == null) {
-            try {
-                var idField = SessionTask.class.getDeclaredField("taskId");
-                idField.setAccessible(true);
-                idField.set(task, UUID.randomUUID().toString());
-            } catch (Exception ignored) {}
-        }
-
-        // Update timestamps
-        try {
-            var updatedField = SessionTask.class.getDeclaredField("updated");
-            updatedField.setAccessible(true);
-            updatedField.set(task, LocalDateTime.now());
-        } catch (Exception ignored) {}
-
         tasks.put(task.getTaskId(), task);
     }
 
@@ -90,8 +74,6 @@ public class MockSessionTaskDAO implements ISessionTaskDAO {
      * <hr>
      * Updates an existing task in the in-memory storage.
      *
-     * <p>Automatically updates the task's timestamp.
-     *
      * @param updatedTask the task with updated information
      * @return true if the task was updated successfully
      */
@@ -99,12 +81,6 @@ public class MockSessionTaskDAO implements ISessionTaskDAO {
     public boolean updateTask(SessionTask updatedTask) {
         if (updatedTask == null || !tasks.containsKey(updatedTask.getTaskId())) return false;
 
-        try {
-            var updatedField = SessionTask.class.getDeclaredField("updated");
-            updatedField.setAccessible(true);
-            updatedField.set(updatedTask, LocalDateTime.now());
-        } catch (Exception ignored) {}
-
         tasks.put(updatedTask.getTaskId(), updatedTask);
         return true;
     }
@@ -121,6 +97,53 @@ public class MockSessionTaskDAO implements ISessionTaskDAO {
         return tasks.remove(taskId) != null;
     }
 
+    /**
+     * <hr>
+     * Retrieves several tasks by ID from the in-memory storage.
+     *
+     * @param taskIds the IDs of the tasks to fetch
+     * @return the tasks found; missing IDs are skipped
+     */
+    @Override
+    public List<SessionTask> getTasksByIds(Collection<String> taskIds) {
+        if (taskIds == null) return new ArrayList<>();
+        return new LinkedHashSet<>(taskIds).stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * <hr>
+     * Updates several tasks, all or nothing.
+     *
+     * @param updatedTasks the tasks with their new details
+     * @return true if every task existed and was updated
+     */
+    @Override
+    public synchronized boolean updateTasks(List<SessionTask> updatedTasks) {
+        if (updatedTasks == null || updatedTasks.isEmpty()) return false;
+        for (SessionTask task : updatedTasks) {
+            if (task == null || !tasks.containsKey(task.getTaskId())) return false;
+        }
+        for (SessionTask task : updatedTasks) tasks.put(task.getTaskId(), task);
+        return true;
+    }
+
+    /**
+     * <hr>
+     * Removes several tasks, all or nothing.
+     *
+     * @param taskIds the IDs of the tasks to remove
+     * @return true if every task existed and was removed
+     */
+    @Override
+    public synchronized boolean removeTasks(Collection<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty() || !tasks.keySet().containsAll(taskIds)) return false;
+        taskIds.forEach(tasks::remove);
+        return true;
+    }
+
     /**
      * <hr>
      * Removes all tasks associated with a specific session.
@@ -214,4 +237,47 @@ public class MockSessionTaskDAO implements ISessionTaskDAO {
     public int getTaskCount() {
         return tasks.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves the incomplete tasks due within a time window.
+     *
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the tasks ordered by deadline
+     */
+    @Override
+    public List<SessionTask> getOpenTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return tasks.values().stream()
+                .filter(t -> !t.isCompleted() && !t.getDeadline().isBefore(from) && t.getDeadline().isBefore(to))
+                .sorted(Comparator.comparing(SessionTask::getDeadline))
+                .toList();
+    }
+
+    /**
+     * <hr>
+     * Builds a user's task dashboard from the in-memory tasks. Sessions are
+     * not stored here, so session titles are empty and group names null.
+     *
+     * @param assigneeId the user whose tasks to list
+     * @param now the time deadline buckets are measured from
+     * @return the entries ordered by deadline
+     */
+    @Override
+    public List<TaskDashboardEntry> getTaskDashboard(String assigneeId, LocalDateTime now) {
+        Map<String, int[]> counts = new HashMap<>();
+        for (SessionTask t : tasks.values()) {
+            int[] c = counts.computeIfAbsent(t.getSessionId(), id -> new int[2]);
+            c[0]++;
+            if (t.isCompleted()) c[1]++;
+        }
+        return tasks.values().stream()
+                .filter(t -> t.getAssigneeId().equals(assigneeId) && !t.isCompleted())
+                .sorted(Comparator.comparing(SessionTask::getDeadline))
+                .map(t -> {
+                    int[] c = counts.get(t.getSessionId());
+                    return new TaskDashboardEntry(t, null, null, DeadlineBucket.of(t.getDeadline(), now), c[0], c[1]);
+                })
+                .toList();
+    }
+}
@@ -196,9 +196,9 @@ public class NotesDAO implements INotesDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, groupID);
             try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<Note> mapper = RowMappers.note(rs);
                 while (rs.next()) {
-                    Note note = mapNote(rs);
-                    notes.add(note);
+                    notes.add(withChapters(mapper.map(rs)));
                 }
             }
         } catch (SQLException e) {
@@ -221,7 +221,7 @@ public class NotesDAO implements INotesDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, noteID);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapNote(rs);
+                if (rs.next()) return withChapters(RowMappers.note(rs).map(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch note", e);
@@ -242,8 +242,9 @@ public class NotesDAO implements INotesDAO {
         String sql = "SELECT * FROM notes ORDER BY created_at DESC";
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
+            RowMapper<Note> mapper = RowMappers.note(rs);
             while (rs.next()) {
-                notes.add(mapNote(rs));
+                notes.add(withChapters(mapper.map(rs)));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch all notes", e);
@@ -266,7 +267,7 @@ public class NotesDAO implements INotesDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, noteID);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) chapters.add(mapChapter(rs));
+                RowMappers.mapAll(rs, RowMappers.chapter(rs), chapters);
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch chapters", e);
@@ -294,7 +295,7 @@ public class NotesDAO implements INotesDAO {
             ps.setString(1, chapterID);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapChapter(rs);
+                    return RowMappers.chapter(rs).map(rs);
                 }
             }
         } catch (SQLException e) {
@@ -460,35 +461,16 @@ public class NotesDAO implements INotesDAO {
 
     /**
      * <hr>
-     * Maps a database ResultSet row to a Note object.
+     * Attaches a note's chapter IDs to a freshly mapped note.
      *
-     * @param rs the ResultSet containing note data
-     * @return a Note object populated with data from the ResultSet
-     * @throws SQLException if database access error occurs
+     * @param note the note mapped from its row
+     * @return the same note, with its chapters added
      */
-    private Note mapNote(ResultSet rs) throws SQLException {
-        Note note = new Note(rs.getString("name"), rs.getInt("group_id"));
-        note.setID(rs.getString("note_id"));
-        // Load chapters
-        getChapterIds(rs.getString("note_id")).forEach(note::addChapter);
+    private Note withChapters(Note note) {
+        getChapterIds(note.getID()).forEach(note::addChapter);
         return note;
     }
 
-    /**
-     * <hr>
-     * Maps a database ResultSet row to a Chapter object.
-     *
-     * @param rs the ResultSet containing chapter data
-     * @return a Chapter object populated with data from the ResultSet
-     * @throws SQLException if database access error occurs
-     */
-    private Chapter mapChapter(ResultSet rs) throws SQLException {
-        Chapter chapter = new Chapter(rs.getString("name"), rs.getString("note_id"));
-        chapter.setID(rs.getString("chapter_id"));
-        chapter.setContent(rs.getString("content"));
-        return chapter;
-    }
-
     /**
      * <hr>
      * Retrieves all chapter IDs for a specific note.
@@ -0,0 +1,29 @@
+package com.cab302.peerpractice.Model.DAOs;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * <hr>
+ * Turns the current row of a result set into an entity.
+ *
+ * <p>Mappers are bound to one result set by the factories in
+ * {@link RowMappers}, which look up column positions once, so mapping each
+ * row reads columns by index rather than by name.
+ *
+ * @param <T> the entity type produced
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * <hr>
+     * Maps the row the result set is positioned on.
+     *
+     * @param rs the result set the mapper was bound to
+     * @return the mapped entity, or null if the row refers to something
+     *         that no longer exists and should be skipped
+     * @throws SQLException if a column cannot be read
+     */
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,333 @@
+package com.cab302.peerpractice.Model.DAOs;
+
+import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.Chapter;
+import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.Note;
+import com.cab302.peerpractice.Model.Entities.Session;
+import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.Entities.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.cab302.peerpractice.Model.DAOs.ColumnIndex.getDate;
+import static com.cab302.peerpractice.Model.DAOs.ColumnIndex.getDateTime;
+import static com.cab302.peerpractice.Model.DAOs.ColumnIndex.getString;
+
+/**
+ * <hr>
+ * Row mappers for every entity the SQLite DAOs load.
+ *
+ * <p>Each factory takes the result set it will read, resolves the column
+ * positions it needs once through {@link ColumnIndex}, and returns a
+ * {@link RowMapper} that builds the entity through its constructors. Rows
+ * are then read by index, timestamps are decoded by
+ * {@link com.cab302.peerpractice.Model.Utils.IsoTimestamps}, and no field
+ * is set by reflection.
+ *
+ * <p>Related rows (session participants, group members, note chapters) are
+ * left to the DAOs, which already batch those queries.
+ */
+public final class RowMappers {
+
+    private RowMappers() { /* prevent instantiation */ }
+
+    /**
+     * <hr>
+     * Resolves the user a row refers to, such as an owner or organiser.
+     */
+    @FunctionalInterface
+    public interface UserLookup {
+        /**
+         * <hr>
+         * @param key the user ID or username stored in the row
+         * @return the user, or null if there is none
+         * @throws SQLException if the lookup fails
+         */
+        User find(String key) throws SQLException;
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the users table. Profile columns a query did not select
+     * are left at their defaults.
+     */
+    public static RowMapper<User> user(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int userId = c.require("user_id");
+        int username = c.require("username");
+        int password = c.require("password");
+        int firstName = c.require("first_name");
+        int lastName = c.require("last_name");
+        int email = c.require("email");
+        int institution = c.require("institution");
+        int phone = c.optional("phone");
+        int address = c.optional("address");
+        int dateOfBirth = c.optional("date_of_birth");
+        int dateFormat = c.optional("date_format");
+        int timeFormat = c.optional("time_format");
+        int bio = c.optional("biography");
+        return row -> {
+            User u = new User(row.getString(userId), row.getString(firstName), row.getString(lastName),
+                    row.getString(username), row.getString(email), row.getString(password),
+                    row.getString(institution));
+            if (phone != 0) u.setPhone(row.getString(phone));
+            if (address != 0) u.setAddress(row.getString(address));
+            if (dateOfBirth != 0) u.setDateOfBirth(row.getString(dateOfBirth));
+            if (dateFormat != 0) u.setDateFormat(row.getString(dateFormat));
+            if (timeFormat != 0) u.setTimeFormat(row.getString(timeFormat));
+            if (bio != 0) {
+                try { u.setBio(row.getString(bio)); } catch (IllegalArgumentException ignored) {}
+            }
+            return u;
+        };
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the availabilities table, including the recurrence
+     * columns when selected. Owners are resolved through the lookup; a row
+     * whose owner no longer exists maps to null and is skipped.
+     */
+    public static RowMapper<Availability> availability(ResultSet rs, UserLookup owners) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int id = c.require("availability_id");
+        int title = c.require("title");
+        int description = c.optional("description");
+        int start = c.require("start_time");
+        int end = c.require("end_time");
+        int color = c.require("color_label");
+        int userId = c.require("user_id");
+        int pattern = c.optional("recurring_pattern");
+        int recurrenceEnd = c.optional("recurrence_end");
+        return row -> {
+            String ownerId = row.getString(userId);
+            User owner = owners.find(ownerId);
+            if (owner == null) return null;
+            Availability a = new Availability(row.getString(id), row.getString(title), owner,
+                    getDateTime(row, start), getDateTime(row, end), row.getString(color));
+            a.setDescription(getString(row, description));
+            a.setRecurringPattern(getString(row, pattern));
+            LocalDate until = getDate(row, recurrenceEnd);
+            if (a.isRecurring() && until != null) a.setRecurrenceEnd(until);
+            return a;
+        };
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the sessions table, without participants other than the
+     * organiser. Only the group ID is mapped, as the sessions table stores
+     * nothing else about the group; callers attach the Group if they need it.
+     * A row whose organiser no longer exists maps to null and is skipped.
+     */
+    public static RowMapper<Session> session(ResultSet rs, UserLookup users) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int id = c.require("session_id");
+        int title = c.require("title");
+        int description = c.optional("description");
+        int start = c.require("start_time");
+        int end = c.require("end_time");
+        int organiserId = c.require("organiser_user_id");
+        int priority = c.optional("priority");
+        int location = c.optional("location");
+        int color = c.optional("color_label");
+        int subject = c.optional("subject");
+        int maxParticipants = c.optional("max_participants");
+        int groupId = c.optional("group_id");
+        return row -> {
+            User organiser = users.find(row.getString(organiserId));
+            if (organiser == null) return null;
+            Session s = new Session(row.getString(id), row.getString(title), organiser,
+                    getDateTime(row, start), getDateTime(row, end));
+            if (description != 0) s.setDescription(row.getString(description));
+            if (color != 0) s.setColorLabel(row.getString(color));
+            if (location != 0) s.setLocation(row.getString(location));
+            if (subject != 0) s.setSubject(row.getString(subject));
+            if (priority != 0) s.setPriority(row.getString(priority));
+            if (maxParticipants != 0) s.setMaxParticipants(row.getInt(maxParticipants));
+            if (groupId != 0) {
+                int gid = row.getInt(groupId);
+                if (!row.wasNull()) s.setGroupId(gid);
+            }
+            return s;
+        };
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the session_tasks table.
+     */
+    public static RowMapper<SessionTask> sessionTask(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int taskId = c.require("task_id");
+        int sessionId = c.require("session_id");
+        int title = c.require("title");
+        int deadline = c.require("deadline");
+        int assigneeId = c.require("assignee_id");
+        int createdBy = c.require("created_by");
+        int completed = c.require("completed");
+        int createdAt = c.require("created_at");
+        return row -> new SessionTask(row.getString(taskId), row.getString(sessionId), row.getString(title),
+                getDateTime(row, deadline), row.getString(assigneeId), row.getString(createdBy),
+                getDateTime(row, createdAt), row.getInt(completed) == 1);
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the friend_messages table.
+     */
+    public static RowMapper<FriendMessage> friendMessage(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int messageId = c.require("message_id");
+        int senderId = c.require("sender_id");
+        int content = c.require("content");
+        int timestamp = c.require("timestamp");
+        int receiverId = c.require("receiver_id");
+        return row -> new FriendMessage(row.getString(messageId), row.getString(senderId),
+                row.getString(content), getDateTime(row, timestamp), row.getString(receiverId));
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the group_messages table.
+     */
+    public static RowMapper<GroupMessage> groupMessage(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int messageId = c.require("message_id");
+        int senderId = c.require("sender_id");
+        int content = c.require("content");
+        int timestamp = c.require("timestamp");
+        int groupId = c.require("group_id");
+        return row -> new GroupMessage(row.getString(messageId), row.getString(senderId),
+                row.getString(content), getDateTime(row, timestamp), row.getInt(groupId));
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the group_files table.
+     */
+    public static RowMapper<GroupFile> groupFile(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int fileId = c.require("file_id");
+        int groupId = c.require("group_id");
+        int uploaderId = c.require("uploader_id");
+        int filename = c.require("filename");
+        int filepath = c.require("filepath");
+        int fileSize = c.require("file_size");
+        int mimeType = c.require("mime_type");
+        int uploadedAt = c.require("uploaded_at");
+        int description = c.optional("description");
+        int contentHash = c.optional("content_hash");
+        int storedSize = c.optional("stored_size");
+        int compressed = c.optional("compressed");
+        return row -> {
+            long size = row.getLong(fileSize);
+            return new GroupFile(row.getString(fileId), row.getInt(groupId), row.getString(uploaderId),
+                    row.getString(filename), row.getString(filepath), size,
+                    row.getString(mimeType), getDateTime(row, uploadedAt), getString(row, description),
+                    getString(row, contentHash), storedSize == 0 ? size : row.getLong(storedSize),
+                    compressed != 0 && row.getBoolean(compressed));
+        };
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the upload_manifests table, without their chunks.
+     */
+    public static RowMapper<UploadManifest> uploadManifest(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int uploadId = c.require("upload_id");
+        int groupId = c.require("group_id");
+        int uploaderId = c.require("uploader_id");
+        int filename = c.require("filename");
+        int sourcePath = c.require("source_path");
+        int sourceSize = c.require("source_size");
+        int sourceModified = c.require("source_modified");
+        int chunkBytes = c.require("chunk_bytes");
+        int description = c.optional("description");
+        int createdAt = c.require("created_at");
+        return row -> new UploadManifest(row.getString(uploadId), row.getInt(groupId), row.getString(uploaderId),
+                row.getString(filename), row.getString(sourcePath), row.getLong(sourceSize),
+                row.getLong(sourceModified), row.getInt(chunkBytes), getString(row, description),
+                getDateTime(row, createdAt));
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the groups table, without members. Owners are stored by
+     * username and resolved through the lookup.
+     */
+    public static RowMapper<Group> group(ResultSet rs, UserLookup ownersByUsername) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int groupId = c.require("group_id");
+        int name = c.require("name");
+        int description = c.require("description");
+        int requireApproval = c.require("require_approval");
+        int owner = c.require("owner");
+        int createdAt = c.require("created_at");
+        return row -> new Group(row.getInt(groupId), row.getString(name), row.getString(description),
+                row.getInt(requireApproval) == 1, ownersByUsername.find(row.getString(owner)),
+                getDateTime(row, createdAt));
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the notes table, without chapters.
+     */
+    public static RowMapper<Note> note(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int noteId = c.require("note_id");
+        int name = c.require("name");
+        int groupId = c.require("group_id");
+        return row -> {
+            Note note = new Note(row.getString(name), row.getInt(groupId));
+            note.setID(row.getString(noteId));
+            return note;
+        };
+    }
+
+    /**
+     * <hr>
+     * Maps rows of the chapters table.
+     */
+    public static RowMapper<Chapter> chapter(ResultSet rs) throws SQLException {
+        ColumnIndex c = ColumnIndex.of(rs);
+        int chapterId = c.require("chapter_id");
+        int name = c.require("name");
+        int noteId = c.require("note_id");
+        int content = c.optional("content");
+        return row -> {
+            Chapter chapter = new Chapter(row.getString(name), row.getString(noteId));
+            chapter.setID(row.getString(chapterId));
+            if (content != 0) chapter.setContent(row.getString(content));
+            return chapter;
+        };
+    }
+
+    /**
+     * <hr>
+     * Maps every remaining row of a result set, skipping rows the mapper
+     * returns null for.
+     *
+     * @param rs the result set, positioned before its first row
+     * @param mapper a mapper bound to that result set
+     * @param into the list to add the entities to
+     * @return the same list
+     * @throws SQLException if a row cannot be read
+     */
+    public static <T> List<T> mapAll(ResultSet rs, RowMapper<T> mapper, List<T> into) throws SQLException {
+        while (rs.next()) {
+            T entity = mapper.map(rs);
+            if (entity != null) into.add(entity);
+        }
+        return into;
+    }
+}
@@ -3,13 +3,17 @@ package com.cab302.peerpractice.Model.DAOs;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <hr>
@@ -25,6 +29,7 @@ import java.util.List;
  *   <li>Support for session priorities, locations, and color coding</li>
  *   <li>Automatic table creation with proper relationships</li>
  *   <li>Group-based session organization</li>
+ *   <li>Single-pass range loading for calendar grids</li>
  * </ul>
  *
  * @see ISessionCalendarDAO
@@ -58,7 +63,10 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
      * Creates the necessary database tables if they don't exist.
      *
      * <p>Creates tables for sessions and session participants with appropriate
-     * relationships and constraints.
+     * relationships and constraints, plus a (group, start time) index so a
+     * group's calendar range is a single index scan and a start time index
+     * for loading upcoming sessions across all groups. Full sessions keep
+     * a waitlist in {@code session_waitlist}.
      *
      * @throws SQLException if table creation fails
      */
@@ -83,72 +91,85 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
                     "session_id TEXT NOT NULL, " +
                     "user_id TEXT NOT NULL, " +
                     "PRIMARY KEY(session_id, user_id))");
+            // FIFO by seq, which only ever grows
+            st.execute("CREATE TABLE IF NOT EXISTS session_waitlist (" +
+                    "seq INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "session_id TEXT NOT NULL, " +
+                    "user_id TEXT NOT NULL, " +
+                    "joined_at TEXT NOT NULL, " +
+                    "UNIQUE(session_id, user_id))");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_sessions_group_start ON sessions(group_id, start_time)");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_sessions_start ON sessions(start_time)");
         }
     }
 
     // -------------------- MAPPING --------------------
 
+    /** Largest number of IDs bound into one IN (...) list. */
+    private static final int PARTICIPANT_BATCH = 500;
+
     /**
      * <hr>
-     * Maps a database ResultSet row to a Session object.
+     * Maps every row of a session query, then loads their participants.
      *
-     * <p>Populates the session with organizer, participants, and all session properties.
+     * <p>Rows are mapped through {@link RowMappers#session}, and participants
+     * for all of the sessions are read in batched queries rather than one
+     * query per session. Each distinct user is looked up only once.
      *
-     * @param rs the ResultSet containing session data
-     * @return a fully populated Session object
+     * @param rs the ResultSet positioned before its first session row
+     * @return the mapped sessions, in result order
      * @throws SQLException if database access error occurs
      */
-    private Session mapRowToSession(ResultSet rs) throws SQLException {
-        String id = rs.getString("session_id");
-        String title = rs.getString("title");
-        LocalDateTime start = LocalDateTime.parse(rs.getString("start_time"));
-        LocalDateTime end = LocalDateTime.parse(rs.getString("end_time"));
-        String organiserId = rs.getString("organiser_user_id");
-
-        User organiser = null;
-        try {
-            organiser = userDao.findUserById(organiserId);
-        } catch (SQLException ignored) {}
-        if (organiser == null) {
-            organiser = new User(organiserId, "Unknown", "User", "unknown_user", "unknown@example.com", "", "");
-        }
-
-        Session s = new Session(title, organiser, start, end);
-        try {
-            var field = Session.class.getDeclaredField("sessionId");
-            field.setAccessible(true);
-            field.set(s, id);
-        } catch (Exception ignored) {}
-
-        s.setDescription(rs.getString("description"));
-        s.setColorLabel(rs.getString("color_label"));
-        s.setLocation(rs.getString("location"));
-        s.setSubject(rs.getString("subject"));
-        s.setPriority(rs.getString("priority"));
-        s.setMaxParticipants(rs.getInt("max_participants"));
-
-        int groupId = rs.getInt("group_id");
-        if (!rs.wasNull()) {
-            Group g = new Group("Unknown", "", false, null, LocalDateTime.now());
-            g.setID(groupId);
-            s.setGroup(g);
-        }
+    private List<Session> readSessions(ResultSet rs) throws SQLException {
+        Map<String, User> users = new HashMap<>();
+        List<Session> sessions = RowMappers.mapAll(rs,
+                RowMappers.session(rs, userId -> cachedUser(userId, users)), new ArrayList<>());
+        if (sessions.isEmpty()) return sessions;
 
-        // participants
-        List<User> participants = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement("SELECT user_id FROM session_participants WHERE session_id = ?")) {
-            ps.setString(1, id);
-            try (ResultSet prs = ps.executeQuery()) {
-                while (prs.next()) {
-                    String uid = prs.getString("user_id");
-                    User u = userDao.findUserById(uid);
-                    if (u != null) participants.add(u);
+        Map<String, Session> byId = new HashMap<>();
+        for (Session s : sessions) byId.put(s.getSessionId(), s);
+        List<String> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += PARTICIPANT_BATCH) {
+            List<String> batch = ids.subList(from, Math.min(ids.size(), from + PARTICIPANT_BATCH));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT session_id, user_id FROM session_participants WHERE session_id IN (" + placeholders + ")")) {
+                for (int i = 0; i < batch.size(); i++) ps.setString(i + 1, batch.get(i));
+                try (ResultSet prs = ps.executeQuery()) {
+                    while (prs.next()) {
+                        User u = cachedUser(prs.getString(2), users);
+                        if (u != null) byId.get(prs.getString(1)).addParticipant(u);
+                    }
                 }
             }
         }
-        for (User u : participants) s.addParticipant(u);
+        return sessions;
+    }
 
-        return s;
+    /**
+     * <hr>
+     * Maps the sessions of a group query, attaching the caller's group to
+     * each of them, as the rows themselves carry only its ID.
+     */
+    private List<Session> readSessions(ResultSet rs, Group group) throws SQLException {
+        List<Session> sessions = readSessions(rs);
+        for (Session s : sessions) s.setGroup(group);
+        return sessions;
+    }
+
+    /**
+     * <hr>
+     * Looks a user up once per batch, remembering misses as well as hits.
+     */
+    private User cachedUser(String userId, Map<String, User> users) {
+        if (userId == null) return null;
+        if (users.containsKey(userId)) return users.get(userId);
+        User u = null;
+        try {
+            u = userDao.findUserById(userId);
+        } catch (SQLException ignored) {}
+        users.put(userId, u);
+        return u;
     }
 
     // -------------------- DAO METHODS --------------------
@@ -167,11 +188,23 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
         if (session == null) {
             return false;
         }
+        return writeSession(session, session.getSessionId());
+    }
+
+    /**
+     * <hr>
+     * Inserts or replaces a session row and its participants under a given ID.
+     *
+     * @param session the session data to store
+     * @param sessionId the ID to store it under
+     * @return true if the session was written
+     */
+    private boolean writeSession(Session session, String sessionId) {
         try (PreparedStatement ps = connection.prepareStatement(
                 "INSERT OR REPLACE INTO sessions " +
                         "(session_id, title, description, start_time, end_time, organiser_user_id, priority, location, color_label, subject, max_participants, group_id) " +
                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-            ps.setString(1, session.getSessionId());
+            ps.setString(1, sessionId);
             ps.setString(2, session.getTitle());
             ps.setString(3, session.getDescription());
             ps.setString(4, session.getStartTime().toString());
@@ -182,17 +215,17 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
             ps.setString(9, session.getColorLabel());
             ps.setString(10, session.getSubject());
             ps.setInt(11, session.getMaxParticipants());
-            ps.setObject(12, session.getGroup() != null ? session.getGroup().getID() : null);
+            ps.setObject(12, session.getGroupId());
             ps.executeUpdate();
 
             // Participants
             try (PreparedStatement del = connection.prepareStatement("DELETE FROM session_participants WHERE session_id=?")) {
-                del.setString(1, session.getSessionId());
+                del.setString(1, sessionId);
                 del.executeUpdate();
             }
             for (User u : session.getParticipants()) {
                 try (PreparedStatement ins = connection.prepareStatement("INSERT INTO session_participants (session_id, user_id) VALUES (?, ?)")) {
-                    ins.setString(1, session.getSessionId());
+                    ins.setString(1, sessionId);
                     ins.setString(2, u.getUserId());
                     ins.executeUpdate();
                 }
@@ -224,6 +257,10 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
                 del.setString(1, session.getSessionId());
                 del.executeUpdate();
             }
+            try (PreparedStatement del = connection.prepareStatement("DELETE FROM session_waitlist WHERE session_id=?")) {
+                del.setString(1, session.getSessionId());
+                del.executeUpdate();
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             return false;
@@ -240,11 +277,33 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
     public List<Session> getAllSessions() {
         List<Session> list = new ArrayList<>();
         try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery("SELECT * FROM sessions")) {
-            while (rs.next()) list.add(mapRowToSession(rs));
+            list.addAll(readSessions(rs));
         } catch (SQLException ignored) {}
         return list;
     }
 
+    /**
+     * <hr>
+     * Retrieves a single session by its primary key.
+     *
+     * @param sessionId the ID of the session to retrieve
+     * @return the session, or null if not found
+     */
+    @Override
+    public Session getSessionById(String sessionId) {
+        if (sessionId == null) return null;
+        try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM sessions WHERE session_id = ?")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<Session> found = readSessions(rs);
+                if (!found.isEmpty()) return found.get(0);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting session by ID: " + e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * <hr>
      * Retrieves all sessions scheduled for a specific date.
@@ -258,7 +317,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
         try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM sessions WHERE substr(start_time,1,10)=?")) {
             ps.setString(1, date.toString());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToSession(rs));
+                list.addAll(readSessions(rs));
             }
         } catch (SQLException ignored) {}
         return list;
@@ -280,7 +339,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
         try (PreparedStatement ps = connection.prepareStatement("SELECT s.* FROM sessions s JOIN session_participants p ON s.session_id=p.session_id WHERE p.user_id=?")) {
             ps.setString(1, user.getUserId());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToSession(rs));
+                list.addAll(readSessions(rs));
             }
         } catch (SQLException ignored) {}
         return list;
@@ -301,7 +360,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
             ps.setString(1, startOfWeek.toString());
             ps.setString(2, end.toString());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToSession(rs));
+                list.addAll(readSessions(rs));
             }
         } catch (SQLException ignored) {}
         return list;
@@ -322,7 +381,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
             ps.setString(1, startDate.toString());
             ps.setString(2, endDate.toString());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToSession(rs));
+                list.addAll(readSessions(rs));
             }
         } catch (SQLException ignored) {}
         return list;
@@ -332,7 +391,8 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
      * <hr>
      * Updates an existing session with new session data.
      *
-     * <p>Preserves the original session ID while updating all other properties.
+     * <p>Preserves the original session ID while updating all other properties;
+     * the new session object itself keeps its own ID.
      *
      * @param oldSession the original session to update
      * @param newSession the new session data
@@ -343,15 +403,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
         if (oldSession == null || newSession == null) {
             return false;
         }
-        // Set the ID of the new session to match the old one for proper updating
-        try {
-            var field = Session.class.getDeclaredField("sessionId");
-            field.setAccessible(true);
-            field.set(newSession, oldSession.getSessionId());
-        } catch (Exception e) {
-            return false;
-        }
-        return addSession(newSession);
+        return writeSession(newSession, oldSession.getSessionId());
     }
 
     /**
@@ -364,6 +416,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
     public void clearAllSessions() {
         try (Statement st = connection.createStatement()) {
             st.executeUpdate("DELETE FROM session_participants");
+            st.executeUpdate("DELETE FROM session_waitlist");
             st.executeUpdate("DELETE FROM sessions");
         } catch (SQLException ignored) {}
     }
@@ -414,7 +467,7 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
         try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM sessions WHERE group_id=?")) {
             ps.setInt(1, group.getID());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToSession(rs));
+                list.addAll(readSessions(rs, group));
             }
         } catch (SQLException ignored) {}
         return list;
@@ -435,9 +488,230 @@ public class SessionCalendarDAO implements ISessionCalendarDAO {
             ps.setString(1, date.toString());
             ps.setInt(2, group.getID());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRowToSession(rs));
+                list.addAll(readSessions(rs, group));
             }
         } catch (SQLException ignored) {}
         return list;
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves a group's sessions starting within a date range in one pass.
+     *
+     * <p>Runs one indexed query for the sessions and one for all of their
+     * participants, and looks up each distinct user only once.
+     *
+     * @param group the group to retrieve sessions for
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return the sessions ordered by start time
+     */
+    @Override
+    public List<Session> getSessionsForGroupInRange(Group group, LocalDate startDate, LocalDate endDate) {
+        List<Session> list = new ArrayList<>();
+        if (group == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return list;
+        }
+        // ISO timestamps compare as text, so a half-open range keeps the index usable
+        String from = startDate.atStartOfDay().toString();
+        String to = endDate.plusDays(1).atStartOfDay().toString();
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT * FROM sessions WHERE group_id = ? AND start_time >= ? AND start_time < ? " +
+                        "ORDER BY start_time")) {
+            ps.setInt(1, group.getID());
+            ps.setString(2, from);
+            ps.setString(3, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                list.addAll(readSessions(rs, group));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching sessions in range: " + e.getMessage());
+        }
+        return list;
+    }
+
+    /**
+     * <hr>
+     * Retrieves the sessions that start within a time window.
+     *
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the sessions ordered by start time
+     */
+    @Override
+    public List<Session> getSessionsStartingBetween(LocalDateTime from, LocalDateTime to) {
+        List<Session> list = new ArrayList<>();
+        if (from == null || to == null || !to.isAfter(from)) {
+            return list;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT * FROM sessions WHERE start_time >= ? AND start_time < ? ORDER BY start_time")) {
+            ps.setString(1, from.toString());
+            ps.setString(2, to.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                list.addAll(readSessions(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching upcoming sessions: " + e.getMessage());
+        }
+        return list;
+    }
+
+    // -------------------- SEATS --------------------
+
+    /**
+     * <hr>
+     * Claims a seat in a session, or joins its waitlist if it is full.
+     *
+     * <p>The claim is one {@code INSERT ... SELECT} that only produces a row
+     * while the session is under its limit and nobody else is waiting, and
+     * SQLite runs each statement under its write lock, so concurrent joins
+     * cannot overbook. A user who misses out is appended to the waitlist,
+     * which is then promoted in case a seat opened in between.
+     *
+     * @param sessionId the session to join
+     * @param userId the user asking for a seat
+     * @return whether the user holds a seat, is waiting, or the session does not exist
+     */
+    @Override
+    public SeatReservation reserveSeat(String sessionId, String userId) {
+        if (sessionId == null || userId == null) return SeatReservation.NOT_FOUND;
+        try {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT OR IGNORE INTO session_participants (session_id, user_id) " +
+                            "SELECT s.session_id, ? FROM sessions s WHERE s.session_id = ? " +
+                            "AND (SELECT COUNT(*) FROM session_participants p WHERE p.session_id = s.session_id) < s.max_participants " +
+                            "AND NOT EXISTS (SELECT 1 FROM session_waitlist w WHERE w.session_id = s.session_id AND w.user_id <> ?)")) {
+                ps.setString(1, userId);
+                ps.setString(2, sessionId);
+                ps.setString(3, userId);
+                if (ps.executeUpdate() > 0) {
+                    dropPromotedFromWaitlist(sessionId);
+                    return SeatReservation.JOINED;
+                }
+            }
+            if (holdsSeat(sessionId, userId)) return SeatReservation.JOINED;
+
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT OR IGNORE INTO session_waitlist (session_id, user_id, joined_at) " +
+                            "SELECT session_id, ?, ? FROM sessions WHERE session_id = ?")) {
+                ps.setString(1, userId);
+                ps.setString(2, LocalDateTime.now().toString());
+                ps.setString(3, sessionId);
+                ps.executeUpdate();
+            }
+            promoteWaitlist(sessionId);
+            if (holdsSeat(sessionId, userId)) return SeatReservation.JOINED;
+            return getWaitlist(sessionId).contains(userId) ? SeatReservation.WAITLISTED : SeatReservation.NOT_FOUND;
+        } catch (SQLException e) {
+            System.err.println("Error reserving seat: " + e.getMessage());
+            return SeatReservation.NOT_FOUND;
+        }
+    }
+
+    /**
+     * <hr>
+     * Gives up a seat or waitlist place, promoting whoever has waited
+     * longest into any seat that opens.
+     *
+     * @param sessionId the session to leave
+     * @param userId the user leaving
+     * @return true if the user held a seat or waitlist place
+     */
+    @Override
+    public boolean releaseSeat(String sessionId, String userId) {
+        if (sessionId == null || userId == null) return false;
+        try {
+            int removed;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "DELETE FROM session_participants WHERE session_id = ? AND user_id = ?")) {
+                ps.setString(1, sessionId);
+                ps.setString(2, userId);
+                removed = ps.executeUpdate();
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "DELETE FROM session_waitlist WHERE session_id = ? AND user_id = ?")) {
+                ps.setString(1, sessionId);
+                ps.setString(2, userId);
+                removed += ps.executeUpdate();
+            }
+            promoteWaitlist(sessionId);
+            return removed > 0;
+        } catch (SQLException e) {
+            System.err.println("Error releasing seat: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * <hr>
+     * Retrieves the users waiting for a seat, first in line first.
+     *
+     * @param sessionId the session whose waitlist to read
+     * @return the waiting user IDs in order
+     */
+    @Override
+    public List<String> getWaitlist(String sessionId) {
+        List<String> waiting = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT user_id FROM session_waitlist WHERE session_id = ? ORDER BY seq")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) waiting.add(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading waitlist: " + e.getMessage());
+        }
+        return waiting;
+    }
+
+    /**
+     * <hr>
+     * Moves the longest-waiting users into free seats, one conditional
+     * write per seat, until the session is full or nobody is waiting.
+     *
+     * <p>Each step is a single statement, so two clients promoting at once
+     * cannot both fill the last seat; the loser's insert simply adds no row.
+     *
+     * @param sessionId the session to promote into
+     * @throws SQLException if database access error occurs
+     */
+    private void promoteWaitlist(String sessionId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT OR IGNORE INTO session_participants (session_id, user_id) " +
+                        "SELECT w.session_id, w.user_id FROM session_waitlist w " +
+                        "JOIN sessions s ON s.session_id = w.session_id " +
+                        "WHERE w.session_id = ? " +
+                        "AND (SELECT COUNT(*) FROM session_participants p WHERE p.session_id = w.session_id) < s.max_participants " +
+                        "AND NOT EXISTS (SELECT 1 FROM session_participants p WHERE p.session_id = w.session_id AND p.user_id = w.user_id) " +
+                        "ORDER BY w.seq LIMIT 1")) {
+            ps.setString(1, sessionId);
+            while (ps.executeUpdate() > 0) {
+                dropPromotedFromWaitlist(sessionId);
+            }
+        }
+    }
+
+    /** Removes waitlist entries for users who now hold a seat. */
+    private void dropPromotedFromWaitlist(String sessionId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "DELETE FROM session_waitlist WHERE session_id = ? AND user_id IN " +
+                        "(SELECT user_id FROM session_participants WHERE session_id = ?)")) {
+            ps.setString(1, sessionId);
+            ps.setString(2, sessionId);
+            ps.executeUpdate();
+        }
+    }
+
+    private boolean holdsSeat(String sessionId, String userId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT 1 FROM session_participants WHERE session_id = ? AND user_id = ?")) {
+            ps.setString(1, sessionId);
+            ps.setString(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
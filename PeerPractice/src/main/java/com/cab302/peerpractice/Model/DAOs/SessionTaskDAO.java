@@ -1,11 +1,16 @@
 package com.cab302.peerpractice.Model.DAOs;
 
 import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.TaskDashboardEntry;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.DeadlineBucket;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -28,6 +33,9 @@ import java.util.List;
  * @see SessionTask
  */
 public class SessionTaskDAO implements ISessionTaskDAO {
+    /** <hr> IDs bound per IN query, well under SQLite's parameter limit. */
+    private static final int MAX_IDS_PER_QUERY = 500;
+
     /** <hr> SQLite database connection instance. */
     private final Connection connection;
 
@@ -63,31 +71,17 @@ public class SessionTaskDAO implements ISessionTaskDAO {
                     "created_at TEXT NOT NULL, " +
                     "updated TEXT NOT NULL" +
                     ")");
+            // open tasks by deadline, for overdue checks and upcoming reminders
+            st.execute("CREATE INDEX IF NOT EXISTS idx_session_tasks_open_deadline " +
+                    "ON session_tasks(completed, deadline)");
+            // a user's open tasks by deadline, and every task of a session, for the dashboard
+            st.execute("CREATE INDEX IF NOT EXISTS idx_session_tasks_assignee_open " +
+                    "ON session_tasks(assignee_id, completed, deadline)");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_session_tasks_session " +
+                    "ON session_tasks(session_id)");
         }
     }
 
-    /**
-     * <hr>
-     * Maps a database ResultSet row to a SessionTask object.
-     *
-     * @param rs the ResultSet containing task data
-     * @return a SessionTask object populated with data from the ResultSet
-     * @throws SQLException if database access error occurs
-     */
-    private SessionTask mapRowToTask(ResultSet rs) throws SQLException {
-        String taskId = rs.getString("task_id");
-        String sessionId = rs.getString("session_id");
-        String title = rs.getString("title");
-        LocalDateTime deadline = LocalDateTime.parse(rs.getString("deadline"));
-        String assigneeId = rs.getString("assignee_id");
-        String createdBy = rs.getString("created_by");
-        boolean completed = rs.getInt("completed") == 1;
-        LocalDateTime createdAt = LocalDateTime.parse(rs.getString("created_at"));
-
-        SessionTask task = new SessionTask(taskId, sessionId, title, deadline, assigneeId, createdBy, createdAt, completed);
-        return task;
-    }
-
     /**
      * <hr>
      * Adds a new task to the database.
@@ -134,7 +128,7 @@ public class SessionTaskDAO implements ISessionTaskDAO {
                 "SELECT * FROM session_tasks WHERE session_id = ?")) {
             ps.setString(1, sessionId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) tasks.add(mapRowToTask(rs));
+                RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
             }
         } catch (SQLException e) {
             System.err.println("Error getting tasks for session: " + e.getMessage());
@@ -155,7 +149,7 @@ public class SessionTaskDAO implements ISessionTaskDAO {
                 "SELECT * FROM session_tasks WHERE task_id = ?")) {
             ps.setString(1, taskId);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapRowToTask(rs);
+                if (rs.next()) return RowMappers.sessionTask(rs).map(rs);
             }
         } catch (SQLException e) {
             System.err.println("Error getting task by id: " + e.getMessage());
@@ -211,6 +205,115 @@ public class SessionTaskDAO implements ISessionTaskDAO {
         }
     }
 
+    /**
+     * <hr>
+     * Retrieves several tasks by ID, a chunk of IDs per query so the bound
+     * parameters stay under SQLite's limit.
+     *
+     * @param taskIds the IDs of the tasks to fetch
+     * @return the tasks found; missing IDs are skipped
+     */
+    @Override
+    public List<SessionTask> getTasksByIds(Collection<String> taskIds) {
+        List<SessionTask> tasks = new ArrayList<>();
+        if (taskIds == null || taskIds.isEmpty()) return tasks;
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        try {
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "SELECT * FROM session_tasks WHERE task_id IN (" + placeholders + ")")) {
+                    for (int i = 0; i < chunk.size(); i++) ps.setString(i + 1, chunk.get(i));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting tasks by id: " + e.getMessage());
+        }
+        return tasks;
+    }
+
+    /**
+     * <hr>
+     * Updates several tasks as one transaction, sending the updates as a
+     * single JDBC batch.
+     *
+     * @param updatedTasks the tasks with their new details
+     * @return true if every task was updated; otherwise nothing is changed
+     */
+    @Override
+    public boolean updateTasks(List<SessionTask> updatedTasks) {
+        if (updatedTasks == null || updatedTasks.isEmpty()) return false;
+        String now = LocalDateTime.now().toString();
+        return inTransaction("updating tasks", tx -> {
+            try (PreparedStatement ps = tx.prepareStatement(
+                    "UPDATE session_tasks SET title = ?, deadline = ?, assignee_id = ?, completed = ?, updated = ? " +
+                            "WHERE task_id = ?")) {
+                for (SessionTask task : updatedTasks) {
+                    ps.setString(1, task.getTitle());
+                    ps.setString(2, task.getDeadline().toString());
+                    ps.setString(3, task.getAssigneeId());
+                    ps.setInt(4, task.isCompleted() ? 1 : 0);
+                    ps.setString(5, now);
+                    ps.setString(6, task.getTaskId());
+                    ps.addBatch();
+                }
+                return allRowsAffected(ps.executeBatch());
+            }
+        });
+    }
+
+    /**
+     * <hr>
+     * Removes several tasks as one transaction, sending the deletes as a
+     * single JDBC batch.
+     *
+     * @param taskIds the IDs of the tasks to remove
+     * @return true if every task was removed; otherwise nothing is removed
+     */
+    @Override
+    public boolean removeTasks(Collection<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) return false;
+        return inTransaction("removing tasks", tx -> {
+            try (PreparedStatement ps = tx.prepareStatement(
+                    "DELETE FROM session_tasks WHERE task_id = ?")) {
+                for (String taskId : new LinkedHashSet<>(taskIds)) {
+                    ps.setString(1, taskId);
+                    ps.addBatch();
+                }
+                return allRowsAffected(ps.executeBatch());
+            }
+        });
+    }
+
+    /**
+     * <hr>
+     * Runs work in one transaction on a connection of its own, so writes
+     * other threads make meanwhile are neither taken in nor rolled back.
+     *
+     * @param action what is being done, for the error log
+     * @param work the statements to run
+     * @return true if the work succeeded and was committed
+     */
+    private boolean inTransaction(String action, SQLiteConnection.TransactionWork work) {
+        try {
+            return SQLiteConnection.inTransaction(connection, work);
+        } catch (SQLException e) {
+            System.err.println("Error " + action + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean allRowsAffected(int[] counts) {
+        for (int count : counts) {
+            if (count == 0) return false;
+        }
+        return true;
+    }
+
     /**
      * <hr>
      * Removes all tasks associated with a specific session.
@@ -248,7 +351,7 @@ public class SessionTaskDAO implements ISessionTaskDAO {
                 "SELECT * FROM session_tasks WHERE assignee_id = ?")) {
             ps.setString(1, assigneeId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) tasks.add(mapRowToTask(rs));
+                RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
             }
         } catch (SQLException e) {
             System.err.println("Error getting tasks for user: " + e.getMessage());
@@ -269,7 +372,7 @@ public class SessionTaskDAO implements ISessionTaskDAO {
                 "SELECT * FROM session_tasks WHERE completed = 0 AND deadline < ?")) {
             ps.setString(1, LocalDateTime.now().toString());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) tasks.add(mapRowToTask(rs));
+                RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
             }
         } catch (SQLException e) {
             System.err.println("Error getting overdue tasks: " + e.getMessage());
@@ -289,7 +392,7 @@ public class SessionTaskDAO implements ISessionTaskDAO {
         try (PreparedStatement ps = connection.prepareStatement(
                 "SELECT * FROM session_tasks WHERE completed = 1")) {
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) tasks.add(mapRowToTask(rs));
+                RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
             }
         } catch (SQLException e) {
             System.err.println("Error getting completed tasks: " + e.getMessage());
@@ -308,7 +411,7 @@ public class SessionTaskDAO implements ISessionTaskDAO {
         List<SessionTask> tasks = new ArrayList<>();
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery("SELECT * FROM session_tasks")) {
-            while (rs.next()) tasks.add(mapRowToTask(rs));
+            RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
         } catch (SQLException e) {
             System.err.println("Error getting all tasks: " + e.getMessage());
         }
@@ -345,4 +448,86 @@ public class SessionTaskDAO implements ISessionTaskDAO {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * <hr>
+     * Retrieves the incomplete tasks due within a time window.
+     *
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the tasks ordered by deadline
+     */
+    @Override
+    public List<SessionTask> getOpenTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        List<SessionTask> tasks = new ArrayList<>();
+        if (from == null || to == null || !to.isAfter(from)) {
+            return tasks;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT * FROM session_tasks WHERE completed = 0 AND deadline >= ? AND deadline < ? " +
+                        "ORDER BY deadline")) {
+            ps.setString(1, from.toString());
+            ps.setString(2, to.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMappers.mapAll(rs, RowMappers.sessionTask(rs), tasks);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting upcoming tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+
+    /**
+     * <hr>
+     * Builds a user's task dashboard in one query.
+     *
+     * <p>The user's open tasks come from the assignee index and are joined to
+     * their session and group for display. Completion counts are aggregated
+     * only over the sessions those tasks belong to, and the deadline bucket
+     * is worked out in the same statement, so the dashboard never loads
+     * sessions one task at a time.
+     *
+     * @param assigneeId the user whose tasks to list
+     * @param now the time deadline buckets are measured from
+     * @return the entries ordered by deadline
+     */
+    @Override
+    public List<TaskDashboardEntry> getTaskDashboard(String assigneeId, LocalDateTime now) {
+        List<TaskDashboardEntry> entries = new ArrayList<>();
+        if (assigneeId == null || now == null) return entries;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT t.*, s.title AS session_title, g.name AS group_name, " +
+                        "CASE WHEN t.deadline < ? THEN 0 WHEN t.deadline < ? THEN 1 WHEN t.deadline < ? THEN 2 ELSE 3 END AS bucket, " +
+                        "c.total, c.done " +
+                        "FROM session_tasks t " +
+                        "JOIN (SELECT session_id, COUNT(*) AS total, SUM(completed) AS done FROM session_tasks " +
+                        "      WHERE session_id IN (SELECT session_id FROM session_tasks WHERE assignee_id = ? AND completed = 0) " +
+                        "      GROUP BY session_id) c ON c.session_id = t.session_id " +
+                        "LEFT JOIN sessions s ON s.session_id = t.session_id " +
+                        "LEFT JOIN groups g ON g.group_id = s.group_id " +
+                        "WHERE t.assignee_id = ? AND t.completed = 0 " +
+                        "ORDER BY t.deadline")) {
+            ps.setString(1, now.toString());
+            ps.setString(2, DeadlineBucket.endOfToday(now).toString());
+            ps.setString(3, DeadlineBucket.endOfWeek(now).toString());
+            ps.setString(4, assigneeId);
+            ps.setString(5, assigneeId);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<SessionTask> task = RowMappers.sessionTask(rs);
+                int sessionTitle = rs.findColumn("session_title");
+                int groupName = rs.findColumn("group_name");
+                int bucket = rs.findColumn("bucket");
+                int total = rs.findColumn("total");
+                int done = rs.findColumn("done");
+                DeadlineBucket[] buckets = DeadlineBucket.values();
+                while (rs.next()) {
+                    entries.add(new TaskDashboardEntry(task.map(rs), rs.getString(sessionTitle),
+                            rs.getString(groupName), buckets[rs.getInt(bucket)], rs.getInt(total), rs.getInt(done)));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error building task dashboard: " + e.getMessage());
+        }
+        return entries;
+    }
+}
@@ -5,6 +5,7 @@ import com.cab302.peerpractice.Exceptions.DuplicateEmailException;
 import com.cab302.peerpractice.Model.Entities.Notification;
 import com.cab302.peerpractice.Model.Entities.FriendRequestNotification;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.IsoTimestamps;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -104,38 +105,6 @@ public class UserDAO implements IUserDAO {
         }
     }
 
-    // -------------------- MAP --------------------
-
-    /**
-     * <hr>
-     * Maps a database ResultSet row to a User object.
-     *
-     * @param rs the ResultSet containing user data
-     * @return a User object populated with data from the ResultSet
-     * @throws SQLException if database access error occurs
-     */
-    private User mapUser(ResultSet rs) throws SQLException {
-        String userId = rs.getString("user_id");
-        String username = rs.getString("username");
-        String password = rs.getString("password");
-        String firstName = rs.getString("first_name");
-        String lastName = rs.getString("last_name");
-        String email = rs.getString("email");
-        String institution = rs.getString("institution");
-        String bio = rs.getString("biography");
-
-        User u = new User(userId, firstName, lastName, username, email, password, institution);
-
-        try { u.setPhone(rs.getString("phone")); } catch (SQLException ignored) {}
-        try { u.setAddress(rs.getString("address")); } catch (SQLException ignored) {}
-        try { u.setDateOfBirth(rs.getString("date_of_birth")); } catch (SQLException ignored) {}
-        try { u.setDateFormat(rs.getString("date_format")); } catch (SQLException ignored) {}
-        try { u.setTimeFormat(rs.getString("time_format")); } catch (SQLException ignored) {}
-        try { u.setBio(bio); } catch (Exception ignored) {}
-
-        return u;
-    }
-
     // -------------------- CREATE --------------------
 
     /**
@@ -220,7 +189,7 @@ public class UserDAO implements IUserDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, value);
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? mapUser(rs) : null;
+                return rs.next() ? RowMappers.user(rs).map(rs) : null;
             }
         }
     }
@@ -238,7 +207,7 @@ public class UserDAO implements IUserDAO {
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             ObservableList<User> list = FXCollections.observableArrayList();
-            while (rs.next()) list.add(mapUser(rs));
+            RowMappers.mapAll(rs, RowMappers.user(rs), list);
             return list;
         }
     }
@@ -505,15 +474,16 @@ public class UserDAO implements IUserDAO {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, user.getUserId());
             try (ResultSet rs = ps.executeQuery()) {
+                RowMapper<User> mapper = RowMappers.user(rs);
                 while (rs.next()) {
-                    User from = mapUser(rs);
+                    User from = mapper.map(rs);
                     FriendRequestNotification notif = new FriendRequestNotification(from, user);
 
                     // Set timestamp
                     try {
                         String createdAt = rs.getString("created_at");
                         if (createdAt != null) {
-                            notif.setCreatedAt(java.time.LocalDateTime.parse(createdAt));
+                            notif.setCreatedAt(IsoTimestamps.parseDateTime(createdAt));
                         }
                     } catch (Exception ignored) {}
 
@@ -1,8 +1,15 @@
 package com.cab302.peerpractice.Model.Entities;
 
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class Availability {
     private final String availabilityId; // unique identifier
@@ -14,10 +21,13 @@ public class Availability {
     private User user;
     private boolean isRecurring;
     private String recurringPattern;
+    private LocalDate recurrenceEnd; // last day an occurrence may start, null for no end
+    private final Set<LocalDate> recurrenceExceptions = new TreeSet<>();
+    private Availability series; // the stored rule this occurrence was expanded from
 
     // Constructor with auto-generated ID
     public Availability(String title, User user, LocalDateTime startTime, LocalDateTime endTime, String colorLabel) {
-        this(UUID.randomUUID().toString(), title, user, startTime, endTime, colorLabel);
+        this(TimeOrderedId.next(), title, user, startTime, endTime, colorLabel);
     }
 
     // Constructor with explicit ID (used when loading from DB)
@@ -98,6 +108,50 @@ public class Availability {
         }
     }
 
+    public LocalDate getRecurrenceEnd() { return recurrenceEnd; }
+    public void setRecurrenceEnd(LocalDate recurrenceEnd) {
+        if (recurrenceEnd != null && recurrenceEnd.isBefore(startTime.toLocalDate())) {
+            throw new IllegalArgumentException("Recurrence cannot end before the first occurrence");
+        }
+        this.recurrenceEnd = recurrenceEnd;
+    }
+
+    /** Start dates of occurrences that have been removed from the series. */
+    public Set<LocalDate> getRecurrenceExceptions() { return Collections.unmodifiableSet(recurrenceExceptions); }
+    public void setRecurrenceExceptions(Collection<LocalDate> exceptions) {
+        recurrenceExceptions.clear();
+        if (exceptions != null) recurrenceExceptions.addAll(exceptions);
+    }
+    public void addRecurrenceException(LocalDate date) { recurrenceExceptions.add(Objects.requireNonNull(date)); }
+
+    /**
+     * Returns the stored recurring availability this one was expanded from.
+     *
+     * @return the series, or null if this is a stored row rather than an occurrence
+     */
+    public Availability getSeries() { return series; }
+    public boolean isOccurrence() { return series != null; }
+
+    /**
+     * Creates the occurrence of this series that starts at the given time.
+     * Occurrences get their own ID, derived from the series ID and date, so
+     * that several of them can be held and compared at once.
+     *
+     * @param start the start of the occurrence
+     * @return a transient Availability for that occurrence
+     */
+    public Availability occurrenceAt(LocalDateTime start) {
+        LocalDateTime end = start.plus(Duration.between(startTime, endTime));
+        Availability occurrence = new Availability(availabilityId + "@" + start.toLocalDate(),
+                title, user, start, end, colorLabel);
+        occurrence.description = description;
+        occurrence.isRecurring = isRecurring;
+        occurrence.recurringPattern = recurringPattern;
+        occurrence.recurrenceEnd = recurrenceEnd;
+        occurrence.series = this;
+        return occurrence;
+    }
+
     // --- Equality & Debugging ---
     @Override
     public boolean equals(Object o) {
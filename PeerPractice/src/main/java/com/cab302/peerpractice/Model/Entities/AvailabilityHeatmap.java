@@ -0,0 +1,294 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import com.cab302.peerpractice.Model.ValueObjects.TimeRange;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * How many members of a group are free in each fixed-size time slot of a
+ * window, such as every 30 minutes of a month.
+ * <p>
+ * Counts are kept in a difference array: marking a member free from slot
+ * {@code a} to slot {@code b} touches only {@code diff[a]} and
+ * {@code diff[b]}, and the per-slot counts are the prefix sums, rebuilt once
+ * after a batch of changes. Each member's availability is also kept merged
+ * into disjoint runs, so a member with back-to-back or overlapping
+ * availability is still counted once. Adding an availability touches only
+ * the runs it joins; removing one re-merges only the run it was part of.
+ * <p>
+ * A member counts towards a slot only if they are free for the whole slot.
+ * Not thread-safe.
+ */
+public class AvailabilityHeatmap {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final long slotSeconds;
+    private final int slotCount;
+    private final Set<String> memberIds = new HashSet<>();
+    /** Each member's availability in the window, keyed by availability ID. */
+    private final Map<String, Map<String, TimeRange>> rangesByMember = new HashMap<>();
+    /** Each member's availability merged into disjoint runs, end keyed by start. */
+    private final Map<String, TreeMap<LocalDateTime, LocalDateTime>> runsByMember = new HashMap<>();
+    private final int[] diff;
+    private int[] counts;
+
+    /**
+     * Creates an empty heatmap.
+     *
+     * @param members the users whose availability is counted
+     * @param start the start of the first slot
+     * @param end the end of the window; a final partial slot is dropped
+     * @param slotLength the length of each slot
+     */
+    public AvailabilityHeatmap(Collection<User> members, LocalDateTime start, LocalDateTime end, Duration slotLength) {
+        Objects.requireNonNull(members, "Members cannot be null");
+        this.start = Objects.requireNonNull(start, "Start cannot be null");
+        Objects.requireNonNull(end, "End cannot be null");
+        Objects.requireNonNull(slotLength, "Slot length cannot be null");
+        if (slotLength.getSeconds() <= 0) {
+            throw new IllegalArgumentException("Slot length must be at least one second");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+        this.slotSeconds = slotLength.getSeconds();
+        this.slotCount = (int) (ChronoUnit.SECONDS.between(start, end) / slotSeconds);
+        this.end = start.plusSeconds(slotCount * slotSeconds);
+        this.diff = new int[slotCount + 1];
+        for (User member : members) memberIds.add(member.getUserId());
+    }
+
+    /**
+     * Counts an availability, or moves it if its ID is already counted.
+     *
+     * @param availability the availability to count
+     * @return false if its owner is not a member of this heatmap
+     */
+    public boolean add(Availability availability) {
+        if (availability == null || !tracks(availability.getUser())) return false;
+        String memberId = availability.getUser().getUserId();
+        TimeRange range = new TimeRange(availability.getStartTime(), availability.getEndTime());
+        TimeRange previous = rangesByMember.computeIfAbsent(memberId, id -> new HashMap<>())
+                .put(availability.getAvailabilityId(), range);
+        if (range.equals(previous)) return true;
+        if (previous != null) unmerge(memberId, previous);
+        merge(memberId, range);
+        return true;
+    }
+
+    /**
+     * Stops counting an availability.
+     *
+     * @param availability the availability to remove
+     * @return true if it was counted
+     */
+    public boolean remove(Availability availability) {
+        if (availability == null || !tracks(availability.getUser())) return false;
+        String memberId = availability.getUser().getUserId();
+        Map<String, TimeRange> ranges = rangesByMember.get(memberId);
+        TimeRange removed = ranges == null ? null : ranges.remove(availability.getAvailabilityId());
+        if (removed == null) return false;
+        unmerge(memberId, removed);
+        return true;
+    }
+
+    /**
+     * Replaces everything counted for one member.
+     *
+     * @param member the member to update
+     * @param availabilities the member's availability in the window
+     */
+    public void setMemberAvailability(User member, Collection<Availability> availabilities) {
+        if (!tracks(member)) return;
+        String memberId = member.getUserId();
+        TreeMap<LocalDateTime, LocalDateTime> runs = runsByMember.remove(memberId);
+        if (runs != null) runs.forEach((from, to) -> mark(from, to, -1));
+
+        Map<String, TimeRange> ranges = new HashMap<>();
+        for (Availability a : availabilities) {
+            if (a.getUser() != null && memberId.equals(a.getUser().getUserId())) {
+                ranges.put(a.getAvailabilityId(), new TimeRange(a.getStartTime(), a.getEndTime()));
+            }
+        }
+        rangesByMember.put(memberId, ranges);
+        if (ranges.isEmpty()) return;
+
+        List<TimeRange> sorted = new ArrayList<>(ranges.values());
+        sorted.sort(Comparator.comparing(TimeRange::getStart));
+        runs = new TreeMap<>();
+        LocalDateTime runStart = sorted.get(0).getStart();
+        LocalDateTime runEnd = sorted.get(0).getEnd();
+        for (int i = 1; i < sorted.size(); i++) {
+            TimeRange r = sorted.get(i);
+            if (r.getStart().isAfter(runEnd)) {
+                runs.put(runStart, runEnd);
+                runStart = r.getStart();
+                runEnd = r.getEnd();
+            } else if (r.getEnd().isAfter(runEnd)) {
+                runEnd = r.getEnd();
+            }
+        }
+        runs.put(runStart, runEnd);
+        runs.forEach((from, to) -> mark(from, to, 1));
+        runsByMember.put(memberId, runs);
+    }
+
+    /** Stops counting every availability. */
+    public void clear() {
+        rangesByMember.clear();
+        runsByMember.clear();
+        Arrays.fill(diff, 0);
+        counts = null;
+    }
+
+    public boolean tracks(User user) {
+        return user != null && memberIds.contains(user.getUserId());
+    }
+
+    public int getMemberCount() {
+        return memberIds.size();
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Duration getSlotLength() {
+        return Duration.ofSeconds(slotSeconds);
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public LocalDateTime getSlotStart(int slot) {
+        return start.plusSeconds(slot * slotSeconds);
+    }
+
+    /**
+     * Returns the slot containing an instant.
+     *
+     * @param time the instant to look up
+     * @return the slot index, or -1 if the instant is outside the window
+     */
+    public int slotOf(LocalDateTime time) {
+        if (time.isBefore(start) || !time.isBefore(end)) return -1;
+        return (int) (ChronoUnit.SECONDS.between(start, time) / slotSeconds);
+    }
+
+    /**
+     * Returns how many members are free for the whole of a slot.
+     *
+     * @param slot the slot index
+     * @return the number of free members
+     */
+    public int getCount(int slot) {
+        Objects.checkIndex(slot, slotCount);
+        return counts()[slot];
+    }
+
+    /**
+     * Returns the per-slot counts for the whole window.
+     *
+     * @return a copy of the counts, one per slot
+     */
+    public int[] getCounts() {
+        return counts().clone();
+    }
+
+    /**
+     * Returns the most members free in any slot that starts within a range.
+     *
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @return the peak count, or 0 if no slot starts in the range
+     */
+    public int getPeak(LocalDateTime from, LocalDateTime to) {
+        int first = (int) Math.max(0, ceilDiv(ChronoUnit.SECONDS.between(start, from), slotSeconds));
+        int last = (int) Math.min(slotCount, ceilDiv(ChronoUnit.SECONDS.between(start, to), slotSeconds));
+        int[] c = counts();
+        int peak = 0;
+        for (int i = first; i < last; i++) peak = Math.max(peak, c[i]);
+        return peak;
+    }
+
+    private int[] counts() {
+        if (counts == null) {
+            counts = new int[slotCount];
+            int running = 0;
+            for (int i = 0; i < slotCount; i++) {
+                running += diff[i];
+                counts[i] = running;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Folds one range into a member's runs, joining any run it overlaps or
+     * touches, and counts only the difference.
+     */
+    private void merge(String memberId, TimeRange range) {
+        TreeMap<LocalDateTime, LocalDateTime> runs = runsByMember.computeIfAbsent(memberId, id -> new TreeMap<>());
+        LocalDateTime from = range.getStart();
+        LocalDateTime to = range.getEnd();
+        Map.Entry<LocalDateTime, LocalDateTime> before = runs.floorEntry(from);
+        if (before != null && !from.isAfter(before.getValue())) from = before.getKey();
+        Iterator<Map.Entry<LocalDateTime, LocalDateTime>> joined = runs.subMap(from, true, to, true).entrySet().iterator();
+        while (joined.hasNext()) {
+            Map.Entry<LocalDateTime, LocalDateTime> run = joined.next();
+            mark(run.getKey(), run.getValue(), -1);
+            if (run.getValue().isAfter(to)) to = run.getValue();
+            joined.remove();
+        }
+        runs.put(from, to);
+        mark(from, to, 1);
+    }
+
+    /**
+     * Takes one range, already dropped from the member's ranges, out of
+     * their runs by re-merging what is left of the run that held it.
+     */
+    private void unmerge(String memberId, TimeRange range) {
+        TreeMap<LocalDateTime, LocalDateTime> runs = runsByMember.get(memberId);
+        Map.Entry<LocalDateTime, LocalDateTime> run = runs == null ? null : runs.floorEntry(range.getStart());
+        if (run == null) return;
+        runs.remove(run.getKey());
+        mark(run.getKey(), run.getValue(), -1);
+        for (TimeRange r : rangesByMember.get(memberId).values()) {
+            if (!r.getStart().isBefore(run.getKey()) && !r.getStart().isAfter(run.getValue())) merge(memberId, r);
+        }
+    }
+
+    private void mark(LocalDateTime from, LocalDateTime to, int delta) {
+        // only slots the member is free for from start to finish
+        long first = Math.max(0, ceilDiv(ChronoUnit.SECONDS.between(start, from), slotSeconds));
+        long last = Math.min(slotCount, Math.floorDiv(ChronoUnit.SECONDS.between(start, to), slotSeconds));
+        if (first >= last) return;
+        diff[(int) first] += delta;
+        diff[(int) last] -= delta;
+        counts = null;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
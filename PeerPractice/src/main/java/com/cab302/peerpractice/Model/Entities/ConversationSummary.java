@@ -0,0 +1,52 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One row of a user's direct-message inbox: the other participant, the most
+ * recent message in the conversation and how many messages are unread.
+ */
+public class ConversationSummary {
+    private final String conversationId;
+    private final String otherUserId;
+    private final FriendMessage lastMessage;
+    private final int unreadCount;
+
+    public ConversationSummary(String conversationId, String otherUserId, FriendMessage lastMessage, int unreadCount) {
+        this.conversationId = Objects.requireNonNull(conversationId, "Conversation ID cannot be null");
+        this.otherUserId = Objects.requireNonNull(otherUserId, "Other user ID cannot be null");
+        this.lastMessage = Objects.requireNonNull(lastMessage, "Last message cannot be null");
+        this.unreadCount = Math.max(0, unreadCount);
+    }
+
+    public String getConversationId() {
+        return conversationId;
+    }
+
+    public String getOtherUserId() {
+        return otherUserId;
+    }
+
+    public FriendMessage getLastMessage() {
+        return lastMessage;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastMessage.getTimestamp();
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversationSummary{" +
+                "conversationId='" + conversationId + '\'' +
+                ", otherUserId='" + otherUserId + '\'' +
+                ", lastTimestamp=" + getLastTimestamp() +
+                ", unreadCount=" + unreadCount +
+                '}';
+    }
+}
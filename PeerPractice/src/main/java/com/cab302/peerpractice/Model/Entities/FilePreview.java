@@ -0,0 +1,64 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A small preview of a shared group file: a downscaled thumbnail for
+ * images, the opening lines for text documents, or nothing for other types.
+ */
+public class FilePreview {
+
+    public enum Kind { IMAGE, TEXT, NONE }
+
+    private final String fileId;
+    private final Kind kind;
+    private final Path thumbnailPath;
+    private final String snippet;
+
+    private FilePreview(String fileId, Kind kind, Path thumbnailPath, String snippet) {
+        this.fileId = Objects.requireNonNull(fileId, "File ID cannot be null");
+        this.kind = kind;
+        this.thumbnailPath = thumbnailPath;
+        this.snippet = snippet;
+    }
+
+    /**
+     * Creates an image preview.
+     *
+     * @param thumbnailPath the cached PNG thumbnail
+     */
+    public static FilePreview image(String fileId, Path thumbnailPath) {
+        return new FilePreview(fileId, Kind.IMAGE, Objects.requireNonNull(thumbnailPath), null);
+    }
+
+    /**
+     * Creates a text preview.
+     *
+     * @param snippet the first lines of the document
+     */
+    public static FilePreview text(String fileId, String snippet) {
+        return new FilePreview(fileId, Kind.TEXT, null, Objects.requireNonNull(snippet));
+    }
+
+    /**
+     * Creates the preview for a file that has none.
+     */
+    public static FilePreview none(String fileId) {
+        return new FilePreview(fileId, Kind.NONE, null, null);
+    }
+
+    public String getFileId() { return fileId; }
+    public Kind getKind() { return kind; }
+
+    /** The cached thumbnail for an image preview, otherwise null. */
+    public Path getThumbnailPath() { return thumbnailPath; }
+
+    /** The opening lines for a text preview, otherwise null. */
+    public String getSnippet() { return snippet; }
+
+    @Override
+    public String toString() {
+        return "FilePreview{" + fileId + ", " + kind + '}';
+    }
+}
@@ -7,6 +7,9 @@ import java.util.Objects;
  * Represents a direct message sent between two users (friends).
  */
 public class FriendMessage extends Message {
+    /** Separator between the two usernames in a conversation ID. Not a legal username character. */
+    private static final String CONVERSATION_SEPARATOR = "|";
+
     private final String recipientId;
 
     public FriendMessage(String messageId,
@@ -26,4 +29,29 @@ public class FriendMessage extends Message {
     public String getReceiverId() {
         return recipientId;
     }
+
+    /**
+     * Returns the canonical ID of the conversation this message belongs to.
+     *
+     * @return the conversation ID, or null if the recipient is unknown
+     */
+    public String getConversationId() {
+        return recipientId == null ? null : conversationIdFor(getSenderId(), recipientId);
+    }
+
+    /**
+     * Builds the canonical conversation ID for a pair of users. The ID is the
+     * same regardless of argument order, so both directions of a chat share it.
+     *
+     * @param user1Id the first participant's username
+     * @param user2Id the second participant's username
+     * @return the conversation ID
+     */
+    public static String conversationIdFor(String user1Id, String user2Id) {
+        Objects.requireNonNull(user1Id, "User ID cannot be null");
+        Objects.requireNonNull(user2Id, "User ID cannot be null");
+        return user1Id.compareTo(user2Id) <= 0
+                ? user1Id + CONVERSATION_SEPARATOR + user2Id
+                : user2Id + CONVERSATION_SEPARATOR + user1Id;
+    }
 }
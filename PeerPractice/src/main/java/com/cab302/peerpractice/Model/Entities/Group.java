@@ -28,6 +28,12 @@ public class Group {
         this.memberRoles = new HashMap<>();
     }
 
+    // Constructor for groups loaded from storage, which already have an ID
+    public Group(int ID, String name, String description, boolean require_approval, User owner, LocalDateTime created_at) {
+        this(name, description, require_approval, owner, created_at);
+        this.ID = ID;
+    }
+
     public List<User> getMembers() { return Collections.unmodifiableList(members); }
     public void setMembers(List<User> members) { this.members = members; }
     public void addMember(User user){members.add(user);}
@@ -16,10 +16,39 @@ public class GroupFile {
     private final String mimeType;
     private final LocalDateTime uploadedAt;
     private final String description;
+    private final String contentHash;
+    private final long storedSize;
+    private final boolean compressed;
 
     public GroupFile(String fileId, int groupId, String uploaderId, String filename,
                      String filepath, long fileSize, String mimeType,
                      LocalDateTime uploadedAt, String description) {
+        this(fileId, groupId, uploaderId, filename, filepath, fileSize, mimeType, uploadedAt, description, null);
+    }
+
+    /**
+     * Creates a file record whose bytes live in the shared blob store.
+     *
+     * @param contentHash SHA-256 of the content in hex, or null for a file stored on its own
+     */
+    public GroupFile(String fileId, int groupId, String uploaderId, String filename,
+                     String filepath, long fileSize, String mimeType,
+                     LocalDateTime uploadedAt, String description, String contentHash) {
+        this(fileId, groupId, uploaderId, filename, filepath, fileSize, mimeType, uploadedAt, description,
+                contentHash, fileSize, false);
+    }
+
+    /**
+     * Creates a file record whose stored bytes may be compressed.
+     *
+     * @param contentHash SHA-256 of the uncompressed content in hex, or null for a file stored on its own
+     * @param storedSize the bytes the file takes on disk
+     * @param compressed whether the stored bytes are deflated
+     */
+    public GroupFile(String fileId, int groupId, String uploaderId, String filename,
+                     String filepath, long fileSize, String mimeType,
+                     LocalDateTime uploadedAt, String description, String contentHash,
+                     long storedSize, boolean compressed) {
         this.fileId = fileId;
         this.groupId = groupId;
         this.uploaderId = uploaderId;
@@ -29,6 +58,9 @@ public class GroupFile {
         this.mimeType = mimeType;
         this.uploadedAt = uploadedAt;
         this.description = description;
+        this.contentHash = contentHash;
+        this.storedSize = storedSize;
+        this.compressed = compressed;
     }
 
     public String getFileId() {
@@ -51,10 +83,28 @@ public class GroupFile {
         return filepath;
     }
 
+    /**
+     * Gets the size of the file as uploaded and downloaded.
+     */
     public long getFileSize() {
         return fileSize;
     }
 
+    /**
+     * Gets the bytes the file takes on disk, which is less than its size
+     * when it is stored compressed.
+     */
+    public long getStoredSize() {
+        return storedSize;
+    }
+
+    /**
+     * Whether the stored bytes are zlib-deflated and must be inflated to read the file.
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
     public String getMimeType() {
         return mimeType;
     }
@@ -67,19 +117,37 @@ public class GroupFile {
         return description;
     }
 
+    /**
+     * Gets the SHA-256 of the file's content, shared by every record with
+     * the same bytes.
+     * @return the hash in lowercase hex, or null for files stored before deduplication
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
     /**
      * Returns a human-readable file size string.
      * @return formatted file size (e.g., "1.5 MB", "320 KB")
      */
     public String getFormattedFileSize() {
-        if (fileSize < 1024) {
-            return fileSize + " B";
-        } else if (fileSize < 1024 * 1024) {
-            return String.format("%.1f KB", fileSize / 1024.0);
-        } else if (fileSize < 1024 * 1024 * 1024) {
-            return String.format("%.1f MB", fileSize / (1024.0 * 1024.0));
+        return formatSize(fileSize);
+    }
+
+    /**
+     * Formats a byte count the way file sizes are shown.
+     * @param bytes the number of bytes
+     * @return formatted size (e.g., "1.5 MB", "320 KB")
+     */
+    public static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        } else if (bytes < 1024 * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
         } else {
-            return String.format("%.1f GB", fileSize / (1024.0 * 1024.0 * 1024.0));
+            return String.format("%.1f GB", bytes / (1024.0 * 1024.0 * 1024.0));
         }
     }
 
@@ -95,6 +163,9 @@ public class GroupFile {
                 ", mimeType='" + mimeType + '\'' +
                 ", uploadedAt=" + uploadedAt +
                 ", description='" + description + '\'' +
+                ", contentHash='" + contentHash + '\'' +
+                ", storedSize=" + storedSize +
+                ", compressed=" + compressed +
                 '}';
     }
 }
@@ -0,0 +1,47 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import com.cab302.peerpractice.Model.ValueObjects.TimeRange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A suggested meeting time for a group: the time range and the members who
+ * are available for all of it.
+ */
+public class MeetingSlot {
+    private final TimeRange timeRange;
+    private final List<User> attendees;
+
+    public MeetingSlot(TimeRange timeRange, List<User> attendees) {
+        this.timeRange = Objects.requireNonNull(timeRange, "Time range cannot be null");
+        this.attendees = List.copyOf(Objects.requireNonNull(attendees, "Attendees cannot be null"));
+    }
+
+    public TimeRange getTimeRange() {
+        return timeRange;
+    }
+
+    public LocalDateTime getStart() {
+        return timeRange.getStart();
+    }
+
+    public LocalDateTime getEnd() {
+        return timeRange.getEnd();
+    }
+
+    public List<User> getAttendees() {
+        return attendees;
+    }
+
+    public int getAttendeeCount() {
+        return attendees.size();
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingSlot{" + timeRange.getStart() + " to " + timeRange.getEnd() +
+               ", attendees=" + attendees.size() + "}";
+    }
+}
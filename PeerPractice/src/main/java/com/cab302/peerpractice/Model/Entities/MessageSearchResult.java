@@ -0,0 +1,60 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import java.util.Objects;
+
+/**
+ * A single hit from a full-text message search.
+ * <p>
+ * The snippet is a short excerpt of the message content with each matched
+ * term wrapped in {@link #HIGHLIGHT_START} and {@link #HIGHLIGHT_END} so the
+ * view can render highlights without re-running the match itself.
+ *
+ * @param <T> the message type (group or friend)
+ */
+public class MessageSearchResult<T extends Message> {
+    /** Marker placed before each highlighted term in the snippet. */
+    public static final String HIGHLIGHT_START = "\u0002";
+    /** Marker placed after each highlighted term in the snippet. */
+    public static final String HIGHLIGHT_END = "\u0003";
+
+    private final T message;
+    private final String snippet;
+    private final double rank;
+
+    public MessageSearchResult(T message, String snippet, double rank) {
+        this.message = Objects.requireNonNull(message, "Message cannot be null");
+        this.snippet = snippet == null ? message.getContent() : snippet;
+        this.rank = rank;
+    }
+
+    public T getMessage() {
+        return message;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /**
+     * Relevance score; lower is more relevant (SQLite bm25 convention).
+     */
+    public double getRank() {
+        return rank;
+    }
+
+    /**
+     * Returns the snippet with highlight markers removed.
+     */
+    public String getPlainSnippet() {
+        return snippet.replace(HIGHLIGHT_START, "").replace(HIGHLIGHT_END, "");
+    }
+
+    @Override
+    public String toString() {
+        return "MessageSearchResult{" +
+                "messageId='" + message.getMessageId() + '\'' +
+                ", snippet='" + getPlainSnippet() + '\'' +
+                ", rank=" + rank +
+                '}';
+    }
+}
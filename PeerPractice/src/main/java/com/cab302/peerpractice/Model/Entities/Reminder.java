@@ -0,0 +1,85 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A reminder that a session is about to start or a task is about to fall due.
+ * <p>
+ * Reminders are identified by what they are about, so rescheduling a session
+ * replaces its reminder rather than adding a second one.
+ */
+public class Reminder {
+
+    public enum Kind { SESSION_START, TASK_DUE }
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final Kind kind;
+    private final String sourceId;
+    private final String title;
+    private final LocalDateTime eventTime;
+    private final LocalDateTime fireAt;
+    private final Set<String> recipientIds;
+
+    public Reminder(Kind kind, String sourceId, String title, LocalDateTime eventTime,
+                    LocalDateTime fireAt, Set<String> recipientIds) {
+        this.kind = Objects.requireNonNull(kind, "Kind cannot be null");
+        this.sourceId = Objects.requireNonNull(sourceId, "Source ID cannot be null");
+        this.title = title == null ? "" : title;
+        this.eventTime = Objects.requireNonNull(eventTime, "Event time cannot be null");
+        this.fireAt = Objects.requireNonNull(fireAt, "Fire time cannot be null");
+        this.recipientIds = Collections.unmodifiableSet(new LinkedHashSet<>(recipientIds));
+    }
+
+    /**
+     * Builds the reminder for a session's start, sent to its organiser and participants.
+     */
+    public static Reminder forSession(Session session, Duration lead) {
+        Set<String> recipients = new LinkedHashSet<>();
+        if (session.getOrganiser() != null) recipients.add(session.getOrganiser().getUserId());
+        for (User participant : session.getParticipants()) recipients.add(participant.getUserId());
+        return new Reminder(Kind.SESSION_START, session.getSessionId(), session.getTitle(),
+                session.getStartTime(), session.getStartTime().minus(lead), recipients);
+    }
+
+    /**
+     * Builds the reminder for a task's deadline, sent to its assignee.
+     */
+    public static Reminder forTask(SessionTask task, Duration lead) {
+        return new Reminder(Kind.TASK_DUE, task.getTaskId(), task.getTitle(),
+                task.getDeadline(), task.getDeadline().minus(lead), Set.of(task.getAssigneeId()));
+    }
+
+    /** The key shared by every reminder about the same session or task. */
+    public String getKey() {
+        return kind + ":" + sourceId;
+    }
+
+    public Kind getKind() { return kind; }
+    public String getSourceId() { return sourceId; }
+    public String getTitle() { return title; }
+    public LocalDateTime getEventTime() { return eventTime; }
+    public LocalDateTime getFireAt() { return fireAt; }
+    public Set<String> getRecipientIds() { return recipientIds; }
+
+    public boolean isFor(User user) {
+        return user != null && recipientIds.contains(user.getUserId());
+    }
+
+    public String getMsg() {
+        return kind == Kind.SESSION_START
+                ? String.format("Session \"%s\" starts at %s", title, TIME.format(eventTime))
+                : String.format("Task \"%s\" is due at %s", title, TIME.format(eventTime));
+    }
+
+    @Override
+    public String toString() {
+        return getKey() + " at " + fireAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.cab302.peerpractice.Model.Entities;
 
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,9 +22,18 @@ public class Session {
     private String subject;
     private int maxParticipants;
     private Group group;
+    private Integer groupId;
 
     public Session(String title, User organiser, LocalDateTime startTime, LocalDateTime endTime) {
-        this.sessionId = java.util.UUID.randomUUID().toString();
+        this(TimeOrderedId.next(), title, organiser, startTime, endTime);
+    }
+
+    // Constructor for sessions loaded from storage, which already have an ID
+    public Session(String sessionId, String title, User organiser, LocalDateTime startTime, LocalDateTime endTime) {
+        if (sessionId == null || sessionId.isBlank()) {
+            throw new IllegalArgumentException("Session ID cannot be null or blank");
+        }
+        this.sessionId = sessionId;
 
         if (title == null || title.isBlank()) {
             throw new IllegalArgumentException("Session title cannot be null or blank");
@@ -77,6 +88,9 @@ public class Session {
     public int getMaxParticipants() { return maxParticipants; }
     public Group getGroup() { return group; }
 
+    // The group's ID, known even when the Group itself has not been loaded
+    public Integer getGroupId() { return group != null ? Integer.valueOf(group.getID()) : groupId; }
+
     // === Setters ===
     public void setTitle(String title) {
         if (title == null || title.isBlank()) {
@@ -123,12 +137,40 @@ public class Session {
 
     public void setGroup(Group group) {
         this.group = group;
+        this.groupId = group != null ? group.getID() : null;
+    }
+
+    // Records only the group ID, as stored; the Group is left for the caller to resolve
+    public void setGroupId(Integer groupId) {
+        if (group != null && !Objects.equals(groupId, group.getID())) group = null;
+        this.groupId = groupId;
     }
 
     public void setPriority(String priority) {
         this.priority = priority != null ? priority : "optional";
     }
 
+    /**
+     * Creates an independent copy of this session with the same ID, so the
+     * copy can be edited without changing this one.
+     *
+     * @return a new Session with the same fields and participants
+     */
+    public Session copy() {
+        Session copy = new Session(sessionId, title, organiser, startTime, endTime);
+        copy.description = description;
+        copy.location = location;
+        copy.colorLabel = colorLabel;
+        copy.subject = subject;
+        copy.maxParticipants = maxParticipants;
+        copy.group = group;
+        copy.groupId = groupId;
+        copy.priority = priority;
+        copy.participants.clear();
+        copy.participants.addAll(participants);
+        return copy;
+    }
+
     // === Participant management ===
     public boolean addParticipant(User user) {
         if (user == null || participants.contains(user)) {
@@ -1,8 +1,9 @@
 package com.cab302.peerpractice.Model.Entities;
 
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * This represents a task within a study session that can be assigned to participants.
@@ -20,7 +21,7 @@ public class SessionTask {
     private boolean completed;
     
     public SessionTask(String sessionId, String title, LocalDateTime deadline, String assigneeId, String createdBy) {
-        this.taskId = UUID.randomUUID().toString();
+        this.taskId = TimeOrderedId.next();
         this.sessionId = Objects.requireNonNull(sessionId, "Session ID cannot be null");
         this.title = Objects.requireNonNull(title, "Task title cannot be null");
         this.deadline = Objects.requireNonNull(deadline, "Deadline cannot be null");
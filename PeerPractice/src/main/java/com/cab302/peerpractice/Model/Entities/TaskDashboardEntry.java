@@ -0,0 +1,69 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import com.cab302.peerpractice.Model.ValueObjects.DeadlineBucket;
+
+import java.util.Objects;
+
+/**
+ * One row of a user's task dashboard: an open task together with the
+ * session and group it belongs to, how soon it is due, and how far the
+ * session's tasks as a whole have got.
+ */
+public class TaskDashboardEntry {
+    private final SessionTask task;
+    private final String sessionTitle;
+    private final String groupName;
+    private final DeadlineBucket bucket;
+    private final int sessionTaskCount;
+    private final int sessionCompletedCount;
+
+    public TaskDashboardEntry(SessionTask task, String sessionTitle, String groupName, DeadlineBucket bucket,
+                              int sessionTaskCount, int sessionCompletedCount) {
+        this.task = Objects.requireNonNull(task, "Task cannot be null");
+        this.sessionTitle = sessionTitle == null ? "" : sessionTitle;
+        this.groupName = groupName;
+        this.bucket = Objects.requireNonNull(bucket, "Bucket cannot be null");
+        this.sessionTaskCount = Math.max(0, sessionTaskCount);
+        this.sessionCompletedCount = Math.max(0, sessionCompletedCount);
+    }
+
+    public SessionTask getTask() {
+        return task;
+    }
+
+    public String getSessionTitle() {
+        return sessionTitle;
+    }
+
+    /**
+     * Gets the name of the group the session belongs to.
+     *
+     * @return the group name, or null for a session outside any group
+     */
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public DeadlineBucket getBucket() {
+        return bucket;
+    }
+
+    public int getSessionTaskCount() {
+        return sessionTaskCount;
+    }
+
+    public int getSessionCompletedCount() {
+        return sessionCompletedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskDashboardEntry{" +
+                "taskId='" + task.getTaskId() + '\'' +
+                ", sessionTitle='" + sessionTitle + '\'' +
+                ", groupName='" + groupName + '\'' +
+                ", bucket=" + bucket +
+                ", completed=" + sessionCompletedCount + "/" + sessionTaskCount +
+                '}';
+    }
+}
@@ -0,0 +1,164 @@
+package com.cab302.peerpractice.Model.Entities;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The persisted record of a chunked upload: which file is being uploaded
+ * where, how it is split, and the checksum of every chunk that has landed.
+ * <p>
+ * Chunks are fixed-size pieces of the source file numbered from 0; only the
+ * last may be shorter. A chunk is recorded only once its bytes are on disk,
+ * so an interrupted upload can resume from the first chunk not recorded.
+ */
+public class UploadManifest {
+    private final String uploadId;
+    private final int groupId;
+    private final String uploaderId;
+    private final String filename;
+    private final String sourcePath;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int chunkBytes;
+    private final String description;
+    private final LocalDateTime createdAt;
+    /** SHA-256 in hex of each chunk that has landed, by chunk index. */
+    private final Map<Integer, String> chunkHashes = new TreeMap<>();
+
+    public UploadManifest(String uploadId, int groupId, String uploaderId, String filename,
+                          String sourcePath, long sourceSize, long sourceModified, int chunkBytes,
+                          String description, LocalDateTime createdAt) {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.uploadId = Objects.requireNonNull(uploadId, "Upload ID cannot be null");
+        this.groupId = groupId;
+        this.uploaderId = uploaderId;
+        this.filename = filename;
+        this.sourcePath = sourcePath;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.chunkBytes = chunkBytes;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public String getUploaderId() {
+        return uploaderId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Gets the absolute path of the file being uploaded, which must still be
+     * there, unchanged, for the upload to resume.
+     */
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    public long getSourceSize() {
+        return sourceSize;
+    }
+
+    /**
+     * Gets the source file's last-modified time in epoch milliseconds when the upload started.
+     */
+    public long getSourceModified() {
+        return sourceModified;
+    }
+
+    public int getChunkBytes() {
+        return chunkBytes;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getChunkCount() {
+        return (int) ((sourceSize + chunkBytes - 1) / chunkBytes);
+    }
+
+    /**
+     * Gets the offset in the source file where a chunk starts.
+     */
+    public long getChunkOffset(int index) {
+        return (long) index * chunkBytes;
+    }
+
+    /**
+     * Gets the length of a chunk; every chunk is full size except possibly the last.
+     */
+    public long getChunkLength(int index) {
+        return Math.min(chunkBytes, sourceSize - getChunkOffset(index));
+    }
+
+    /**
+     * Gets the checksum recorded for a chunk.
+     *
+     * @return the SHA-256 in hex, or null if the chunk has not landed
+     */
+    public String getChunkHash(int index) {
+        return chunkHashes.get(index);
+    }
+
+    public boolean hasChunk(int index) {
+        return chunkHashes.containsKey(index);
+    }
+
+    public void recordChunk(int index, String sha256) {
+        if (index < 0 || index >= getChunkCount()) {
+            throw new IllegalArgumentException("Chunk index out of range: " + index);
+        }
+        chunkHashes.put(index, Objects.requireNonNull(sha256, "Chunk checksum cannot be null"));
+    }
+
+    public void forgetChunk(int index) {
+        chunkHashes.remove(index);
+    }
+
+    public Map<Integer, String> getChunkHashes() {
+        return Collections.unmodifiableMap(chunkHashes);
+    }
+
+    /**
+     * Gets how many bytes are covered by the chunks that have landed.
+     */
+    public long getLandedBytes() {
+        long landed = 0;
+        for (int index : chunkHashes.keySet()) landed += getChunkLength(index);
+        return landed;
+    }
+
+    public boolean isComplete() {
+        return chunkHashes.size() == getChunkCount();
+    }
+
+    @Override
+    public String toString() {
+        return "UploadManifest{" +
+                "uploadId='" + uploadId + '\'' +
+                ", groupId=" + groupId +
+                ", filename='" + filename + '\'' +
+                ", chunks=" + chunkHashes.size() + "/" + getChunkCount() +
+                '}';
+    }
+}
@@ -26,6 +26,7 @@ public class ManagerFactory {
     private final PasswordHasher passwordHasher;
     private final Notifier notifier;
     private final MailService mailService;
+    private MessageOutbox messageOutbox;
 
     // Cached manager instances (DEPRECATED - being replaced by focused services)
     private UserManager userManager;
@@ -36,7 +37,11 @@ public class ManagerFactory {
     private SessionTaskManager sessionTaskManager;
     private AvailabilityManager availabilityManager;
     private GroupMessageManager groupMessageManager;
+    private FriendMessageManager friendMessageManager;
     private GroupFileManager groupFileManager;
+    private FilePreviewService filePreviewService;
+    private StorageReconciler storageReconciler;
+    private ReminderScheduler reminderScheduler;
 
     // Cached service instances (NEW - focused single-responsibility services)
     private UserAuthenticationService userAuthenticationService;
@@ -189,6 +194,7 @@ public class ManagerFactory {
             if (sessionTaskManager != null) {
                 sessionCalendarManager.setSessionTaskManager(sessionTaskManager);
             }
+            sessionCalendarManager.setReminderScheduler(reminderScheduler);
         }
         return sessionCalendarManager;
     }
@@ -221,6 +227,7 @@ public class ManagerFactory {
             if (sessionCalendarManager != null) {
                 sessionCalendarManager.setSessionTaskManager(sessionTaskManager);
             }
+            sessionTaskManager.setReminderScheduler(reminderScheduler);
         }
         return sessionTaskManager;
     }
@@ -247,12 +254,41 @@ public class ManagerFactory {
     public GroupMessageManager getGroupMessageManager() {
         if (groupMessageManager == null) {
             groupMessageManager = new GroupMessageManager(
-                daoFactory.getGroupMessageDAO()
+                daoFactory.getGroupMessageDAO(),
+                daoFactory.getGroupDAO(),
+                getMessageOutbox()
             );
         }
         return groupMessageManager;
     }
 
+    /**
+     * Gets or creates the FriendMessageManager instance.
+     *
+     * @return the FriendMessageManager
+     */
+    public FriendMessageManager getFriendMessageManager() {
+        if (friendMessageManager == null) {
+            friendMessageManager = new FriendMessageManager(
+                daoFactory.getFriendMessageDAO(),
+                getMessageOutbox()
+            );
+        }
+        return friendMessageManager;
+    }
+
+    /**
+     * Gets or creates the background writer shared by the message managers.
+     *
+     * @return the MessageOutbox
+     */
+    public MessageOutbox getMessageOutbox() {
+        if (messageOutbox == null) {
+            messageOutbox = new MessageOutbox();
+        }
+        return messageOutbox;
+    }
+
     /**
      * Gets or creates the GroupFileManager instance.
      *
@@ -267,6 +303,51 @@ public class ManagerFactory {
         return groupFileManager;
     }
 
+    /**
+     * Gets or creates the FilePreviewService instance.
+     *
+     * @return the FilePreviewService
+     */
+    public FilePreviewService getFilePreviewService() {
+        if (filePreviewService == null) {
+            filePreviewService = new FilePreviewService();
+        }
+        return filePreviewService;
+    }
+
+    /**
+     * Gets or creates the StorageReconciler for group file storage. The
+     * caller starts it.
+     *
+     * @return the StorageReconciler
+     */
+    public StorageReconciler getStorageReconciler() {
+        if (storageReconciler == null) {
+            storageReconciler = getGroupFileManager().createReconciler();
+        }
+        return storageReconciler;
+    }
+
+    /**
+     * Gets or creates the ReminderScheduler instance, wired to the session
+     * calendar and task managers so it hears about every change. The caller
+     * starts it.
+     *
+     * @return the ReminderScheduler
+     */
+    public ReminderScheduler getReminderScheduler() {
+        if (reminderScheduler == null) {
+            reminderScheduler = new ReminderScheduler(
+                daoFactory.getSessionCalendarDAO(),
+                daoFactory.getSessionTaskDAO(),
+                notifier
+            );
+            getSessionCalendarManager().setReminderScheduler(reminderScheduler);
+            getSessionTaskManager().setReminderScheduler(reminderScheduler);
+        }
+        return reminderScheduler;
+    }
+
     /**
      * Gets the PasswordHasher instance.
      *
@@ -307,7 +388,27 @@ public class ManagerFactory {
         sessionTaskManager = null;
         availabilityManager = null;
         groupMessageManager = null;
-        groupFileManager = null;
+        friendMessageManager = null;
+        if (storageReconciler != null) {
+            storageReconciler.stop();
+            storageReconciler = null;
+        }
+        if (groupFileManager != null) {
+            groupFileManager.shutdown();
+            groupFileManager = null;
+        }
+        if (filePreviewService != null) {
+            filePreviewService.shutdown();
+            filePreviewService = null;
+        }
+        if (reminderScheduler != null) {
+            reminderScheduler.stop();
+            reminderScheduler = null;
+        }
+        if (messageOutbox != null) {
+            messageOutbox.shutdown();
+            messageOutbox = null;
+        }
 
         // Reset new focused services
         userAuthenticationService = null;
@@ -2,14 +2,43 @@ package com.cab302.peerpractice.Model.Managers;
 
 import com.cab302.peerpractice.Model.DAOs.IAvailabilityDAO;
 import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.AvailabilityHeatmap;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.MeetingSlot;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.RecurrenceExpander;
+import com.cab302.peerpractice.Model.ValueObjects.IntervalIndex;
+import com.cab302.peerpractice.Model.ValueObjects.TimeRange;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 public class AvailabilityManager {
+    /** How far ahead an open-ended series is checked for clashes before it is saved. */
+    private static final Period OVERLAP_CHECK_HORIZON = Period.ofYears(1);
+
     private final IAvailabilityDAO availabilityDAO;
+    /** Per-user overlap indexes of one-off slots, built on first use and kept in step with writes. */
+    private final Map<String, IntervalIndex<Availability>> userIndexes = new HashMap<>();
+    /** Per-user recurring series, loaded alongside the index and expanded per query. */
+    private final Map<String, List<Availability>> userSeries = new HashMap<>();
+    /** Heatmaps handed out by {@link #buildGroupHeatmap}, updated on every write until dropped. */
+    private final Set<AvailabilityHeatmap> liveHeatmaps = Collections.newSetFromMap(new WeakHashMap<>());
 
     public AvailabilityManager(IAvailabilityDAO availabilityDAO) {
         this.availabilityDAO = availabilityDAO;
@@ -19,43 +48,158 @@ public class AvailabilityManager {
                                       LocalDateTime endTime, String colorLabel) {
         try {
             Availability availability = new Availability(title, user, startTime, endTime, colorLabel);
-            return availabilityDAO.addAvailability(availability);
+            boolean added = availabilityDAO.addAvailability(availability);
+            if (added) {
+                index(availability);
+                for (AvailabilityHeatmap heatmap : liveHeatmaps) heatmap.add(availability);
+            }
+            return added;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Creates an availability that repeats until an optional end date.
+     * The series is stored once; occurrences are generated when queried.
+     *
+     * @param pattern DAILY, WEEKLY, FORTNIGHTLY, MONTHLY or YEARLY
+     * @param until the last day an occurrence may start, or null to repeat indefinitely
+     * @return true if the series was stored
+     */
+    public boolean createRecurringAvailability(String title, User user, LocalDateTime startTime,
+                                               LocalDateTime endTime, String colorLabel,
+                                               String pattern, LocalDate until) {
+        try {
+            Availability availability = new Availability(title, user, startTime, endTime, colorLabel);
+            availability.setRecurringPattern(pattern);
+            if (!availability.isRecurring()) {
+                throw new IllegalArgumentException("Unknown recurrence pattern: " + pattern);
+            }
+            availability.setRecurrenceEnd(until);
+            boolean added = availabilityDAO.addAvailability(availability);
+            if (added) {
+                index(availability);
+                refreshHeatmaps(user);
+            }
+            return added;
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    /**
+     * Stored availability rows. Recurring series appear once, as their rule,
+     * rather than as occurrences.
+     */
     public List<Availability> getAllAvailabilities() {
         return availabilityDAO.getAllAvailabilities();
     }
 
     public List<Availability> getAvailabilitiesForDate(LocalDate date) {
-        return availabilityDAO.getAvailabilitiesForDate(date);
+        return withOccurrences(availabilityDAO.getAvailabilitiesForDate(date), null, date, date);
     }
 
+    /**
+     * Stored availability rows for a user. Recurring series appear once, as
+     * their rule, rather than as occurrences.
+     */
     public List<Availability> getAvailabilitiesForUser(User user) {
         return availabilityDAO.getAvailabilitiesForUser(user);
     }
 
+    public List<Availability> getAvailabilitiesForUserInRange(User user, LocalDate startDate, LocalDate endDate) {
+        if (user == null) return List.of();
+        return withOccurrences(availabilityDAO.getAvailabilitiesForUserInRange(user, startDate, endDate),
+                List.of(user), startDate, endDate);
+    }
+
+    /**
+     * Loads a user's availability for a date range in one query and buckets
+     * it by start day, so a calendar grid can render every cell from the map.
+     *
+     * @param user the user whose availability to load
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return availabilities keyed by day in date order; days without any are absent
+     */
+    public Map<LocalDate, List<Availability>> getAvailabilitiesByDayForUser(User user, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, List<Availability>> byDay = new TreeMap<>();
+        for (Availability availability : getAvailabilitiesForUserInRange(user, startDate, endDate)) {
+            byDay.computeIfAbsent(availability.getStartTime().toLocalDate(), d -> new ArrayList<>()).add(availability);
+        }
+        return byDay;
+    }
+
     public List<Availability> getAvailabilitiesForWeek(LocalDate startOfWeek) {
-        return availabilityDAO.getAvailabilitiesForWeek(startOfWeek);
+        return withOccurrences(availabilityDAO.getAvailabilitiesForWeek(startOfWeek),
+                null, startOfWeek, startOfWeek.plusDays(6));
     }
 
     public List<Availability> getAvailabilitiesForUsers(List<User> users, LocalDate startOfWeek) {
-        return availabilityDAO.getAvailabilitiesForUsers(users, startOfWeek);
+        if (users == null || users.isEmpty()) return List.of();
+        return withOccurrences(availabilityDAO.getAvailabilitiesForUsers(users, startOfWeek),
+                users, startOfWeek, startOfWeek.plusDays(6));
     }
 
+    /**
+     * Removes an availability. Passing an occurrence of a recurring series
+     * removes the whole series; use {@link #removeOccurrence} to skip one date.
+     */
     public boolean removeAvailability(Availability availability) {
-        return availabilityDAO.removeAvailability(availability);
+        Availability stored = availability != null && availability.isOccurrence() ? availability.getSeries() : availability;
+        boolean removed = availabilityDAO.removeAvailability(stored);
+        if (removed) {
+            unindex(stored);
+            if (stored.isRecurring()) {
+                refreshHeatmaps(stored.getUser());
+            } else {
+                for (AvailabilityHeatmap heatmap : liveHeatmaps) heatmap.remove(stored);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes one occurrence of a recurring series, leaving the rest in place.
+     *
+     * @param occurrence an occurrence returned by one of the range queries
+     * @return true if the occurrence was skipped
+     */
+    public boolean removeOccurrence(Availability occurrence) {
+        if (occurrence == null || !occurrence.isOccurrence()) return false;
+        boolean skipped = availabilityDAO.addRecurrenceException(occurrence.getSeries(),
+                occurrence.getStartTime().toLocalDate());
+        if (skipped) {
+            unindex(occurrence.getSeries());
+            for (AvailabilityHeatmap heatmap : liveHeatmaps) heatmap.remove(occurrence);
+        }
+        return skipped;
     }
 
     public boolean updateAvailability(Availability oldAvailability, Availability newAvailability) {
-        return availabilityDAO.updateAvailability(oldAvailability, newAvailability);
+        // editing an occurrence edits the series it came from
+        if (oldAvailability != null && oldAvailability.isOccurrence()) oldAvailability = oldAvailability.getSeries();
+        boolean updated = availabilityDAO.updateAvailability(oldAvailability, newAvailability);
+        if (updated) {
+            // the stored row keeps the old ID, so rebuild the owner's index from storage
+            unindex(oldAvailability);
+            if (oldAvailability.getUser() != null) userIndexes.remove(oldAvailability.getUser().getUserId());
+            refreshHeatmaps(oldAvailability.getUser());
+            if (newAvailability != null && newAvailability.getUser() != oldAvailability.getUser()) {
+                refreshHeatmaps(newAvailability.getUser());
+            }
+        }
+        return updated;
     }
 
     public void clearAllAvailabilities() {
         availabilityDAO.clearAllAvailabilities();
+        userIndexes.clear();
+        userSeries.clear();
+        liveHeatmaps.forEach(AvailabilityHeatmap::clear);
     }
 
     public int getAvailabilityCount() {
@@ -63,6 +207,386 @@ public class AvailabilityManager {
     }
 
     public boolean hasAvailabilityOnDate(User user, LocalDate date) {
-        return availabilityDAO.hasAvailabilityOnDate(user, date);
+        return !getAvailabilitiesForUserInRange(user, date, date).isEmpty();
+    }
+
+    /**
+     * Finds a user's existing availability that overlaps a time range,
+     * used to catch double entries before a new slot is saved.
+     *
+     * @param user the user whose availability to check
+     * @param startTime the start of the proposed slot
+     * @param endTime the end of the proposed slot
+     * @return the overlapping availabilities in start-time order
+     */
+    public List<Availability> findOverlappingAvailabilities(User user, LocalDateTime startTime, LocalDateTime endTime) {
+        if (user == null) return List.of();
+        TimeRange range = new TimeRange(startTime, endTime);
+        List<Availability> overlapping = new ArrayList<>(userIndex(user).overlapping(range));
+        // an occurrence starting the day before can run into the range
+        for (Availability series : userSeries.get(user.getUserId())) {
+            for (Availability occurrence : RecurrenceExpander.occurrences(series,
+                    startTime.toLocalDate().minusDays(1), endTime.toLocalDate())) {
+                if (range.overlapsWith(new TimeRange(occurrence.getStartTime(), occurrence.getEndTime()))) {
+                    overlapping.add(occurrence);
+                }
+            }
+        }
+        overlapping.sort(Comparator.comparing(Availability::getStartTime));
+        return overlapping;
+    }
+
+    /**
+     * Finds the user's existing availability that any occurrence of a
+     * proposed slot would overlap, used to catch clashes before it is saved.
+     *
+     * <p>A recurring proposal is expanded over its whole run, or
+     * {@link #OVERLAP_CHECK_HORIZON} ahead if it never ends. The user's other
+     * series are expanded over the same window into one interval index, so
+     * each occurrence costs two index lookups rather than a scan.
+     *
+     * @param proposed the slot about to be saved, recurring or not
+     * @return the overlapping availabilities in start-time order; an
+     *         existing series appears once for each occurrence that clashes
+     */
+    public List<Availability> findOverlappingAvailabilities(Availability proposed) {
+        if (proposed == null || proposed.getUser() == null) return List.of();
+        User user = proposed.getUser();
+        if (!proposed.isRecurring()) {
+            return findOverlappingAvailabilities(user, proposed.getStartTime(), proposed.getEndTime());
+        }
+        LocalDate from = proposed.getStartTime().toLocalDate();
+        LocalDate to = proposed.getRecurrenceEnd() != null
+                ? proposed.getRecurrenceEnd() : from.plus(OVERLAP_CHECK_HORIZON);
+
+        IntervalIndex<Availability> oneOffs = userIndex(user);
+        // occurrences of a series share its ID, so they are indexed by position
+        List<Availability> seriesOccurrences = RecurrenceExpander.expand(
+                userSeries.get(user.getUserId()), from.minusDays(1), to.plusDays(1));
+        IntervalIndex<Integer> seriesIndex = new IntervalIndex<>();
+        for (int i = 0; i < seriesOccurrences.size(); i++) {
+            Availability o = seriesOccurrences.get(i);
+            seriesIndex.put(new TimeRange(o.getStartTime(), o.getEndTime()), i);
+        }
+
+        Set<Availability> overlapping = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Availability occurrence : RecurrenceExpander.occurrences(proposed, from, to)) {
+            TimeRange range = new TimeRange(occurrence.getStartTime(), occurrence.getEndTime());
+            overlapping.addAll(oneOffs.overlapping(range));
+            for (int i : seriesIndex.overlapping(range)) overlapping.add(seriesOccurrences.get(i));
+        }
+        List<Availability> sorted = new ArrayList<>(overlapping);
+        sorted.sort(Comparator.comparing(Availability::getStartTime));
+        return sorted;
+    }
+
+    /**
+     * Finds a user's availability covering a given moment.
+     *
+     * @param user the user whose availability to check
+     * @param time the moment to test
+     * @return the availabilities containing that moment
+     */
+    public List<Availability> getAvailabilitiesAt(User user, LocalDateTime time) {
+        if (user == null) return List.of();
+        List<Availability> containing = new ArrayList<>(userIndex(user).containing(time));
+        for (Availability series : userSeries.get(user.getUserId())) {
+            for (Availability occurrence : RecurrenceExpander.occurrences(series,
+                    time.toLocalDate().minusDays(1), time.toLocalDate())) {
+                if (new TimeRange(occurrence.getStartTime(), occurrence.getEndTime()).contains(time)) {
+                    containing.add(occurrence);
+                }
+            }
+        }
+        containing.sort(Comparator.comparing(Availability::getStartTime));
+        return containing;
+    }
+
+    /**
+     * Replaces stored recurring rows in a range result with their expanded
+     * occurrences. Range queries only see a series on its first date, so the
+     * series overlapping the range are loaded separately and expanded lazily.
+     */
+    private List<Availability> withOccurrences(List<Availability> rows, List<User> users,
+                                               LocalDate from, LocalDate to) {
+        List<Availability> result = new ArrayList<>();
+        for (Availability a : rows) {
+            if (!a.isRecurring()) result.add(a);
+        }
+        if (from == null || to == null || to.isBefore(from)) return result;
+        List<Availability> series = availabilityDAO.getRecurringAvailabilities(users, from, to);
+        if (series.isEmpty()) return result;
+        result.addAll(RecurrenceExpander.expand(series, from, to));
+        result.sort(Comparator.comparing(Availability::getStartTime));
+        return result;
+    }
+
+    private IntervalIndex<Availability> userIndex(User user) {
+        return userIndexes.computeIfAbsent(user.getUserId(), id -> {
+            IntervalIndex<Availability> index = new IntervalIndex<>();
+            for (Availability a : availabilityDAO.getAvailabilitiesForUser(user)) {
+                if (!a.isRecurring()) index.put(new TimeRange(a.getStartTime(), a.getEndTime()), a);
+            }
+            userSeries.put(id, availabilityDAO.getRecurringAvailabilities(List.of(user), null, null));
+            return index;
+        });
+    }
+
+    private void index(Availability availability) {
+        if (availability == null || availability.getUser() == null) return;
+        if (availability.isRecurring()) {
+            // the series list is reloaded with the index on next use
+            userIndexes.remove(availability.getUser().getUserId());
+            return;
+        }
+        IntervalIndex<Availability> index = userIndexes.get(availability.getUser().getUserId());
+        if (index != null) {
+            index.put(new TimeRange(availability.getStartTime(), availability.getEndTime()), availability);
+        }
+    }
+
+    private void unindex(Availability availability) {
+        if (availability == null) return;
+        if (availability.isRecurring() && availability.getUser() != null) {
+            userIndexes.remove(availability.getUser().getUserId());
+            return;
+        }
+        userIndexes.values().forEach(index -> index.remove(availability));
+    }
+
+    /**
+     * Counts how many of a group's members are free in each slot of a date range.
+     *
+     * <p>Loads every member's availability, including recurring occurrences,
+     * in one query. The returned heatmap stays live: availability created,
+     * changed or removed through this manager updates it in place, so callers
+     * can keep it for as long as the view is open.
+     *
+     * @param group the group whose members to count; members must be loaded
+     * @param from the first day of the range (inclusive)
+     * @param to the last day of the range (inclusive)
+     * @param slotLength the length of each slot, e.g. 30 minutes
+     * @return the heatmap, or null if the arguments do not describe a range
+     */
+    public AvailabilityHeatmap buildGroupHeatmap(Group group, LocalDate from, LocalDate to, Duration slotLength) {
+        if (group == null || from == null || to == null || to.isBefore(from)) return null;
+        List<User> members = group.getMembers();
+        AvailabilityHeatmap heatmap = new AvailabilityHeatmap(members, from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay(), slotLength);
+        if (!members.isEmpty()) {
+            // slots that start the evening before can still run into the range
+            Map<String, List<Availability>> byMember = new HashMap<>();
+            for (Availability a : withOccurrences(
+                    availabilityDAO.getAvailabilitiesForUsersInRange(members, from.minusDays(1), to),
+                    members, from.minusDays(1), to)) {
+                if (a.getUser() != null) {
+                    byMember.computeIfAbsent(a.getUser().getUserId(), id -> new ArrayList<>()).add(a);
+                }
+            }
+            for (User member : members) {
+                List<Availability> slots = byMember.get(member.getUserId());
+                if (slots != null) heatmap.setMemberAvailability(member, slots);
+            }
+        }
+        liveHeatmaps.add(heatmap);
+        return heatmap;
+    }
+
+    /** Reloads one user's slots in every live heatmap that counts them. */
+    private void refreshHeatmaps(User user) {
+        if (user == null) return;
+        for (AvailabilityHeatmap heatmap : liveHeatmaps) {
+            if (!heatmap.tracks(user)) continue;
+            LocalDate from = heatmap.getStart().toLocalDate();
+            LocalDate to = heatmap.getEnd().minusNanos(1).toLocalDate();
+            heatmap.setMemberAvailability(user, withOccurrences(
+                    availabilityDAO.getAvailabilitiesForUserInRange(user, from.minusDays(1), to),
+                    List.of(user), from.minusDays(1), to));
+        }
+    }
+
+    /**
+     * Suggests times when a group's members are free together.
+     *
+     * <p>Loads every member's availability for the window in one query and
+     * sweeps over it with {@link #findMeetingSlots}.
+     *
+     * @param group the group whose members to schedule; members must be loaded
+     * @param from the first day of the window (inclusive)
+     * @param to the last day of the window (inclusive)
+     * @param length how long the session will run
+     * @param minAttendees the fewest members a suggestion may have
+     * @param limit the maximum number of suggestions
+     * @return non-overlapping suggestions, best first
+     */
+    public List<MeetingSlot> recommendMeetingSlots(Group group, LocalDate from, LocalDate to,
+                                                   Duration length, int minAttendees, int limit) {
+        if (group == null || from == null || to == null || to.isBefore(from)) return List.of();
+        List<User> members = group.getMembers();
+        if (members.isEmpty()) return List.of();
+        // slots that start the evening before can still run into the window
+        List<Availability> availabilities = withOccurrences(
+                availabilityDAO.getAvailabilitiesForUsersInRange(members, from.minusDays(1), to),
+                members, from.minusDays(1), to);
+        return findMeetingSlots(availabilities, from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                length, minAttendees, limit);
+    }
+
+    /**
+     * Finds the times within a window that the most people can attend.
+     *
+     * <p>Each person's slots are clipped to the window and merged, so
+     * back-to-back slots count as one stretch. A sweep over the sorted start
+     * and end points then keeps the set of people currently free. The best
+     * meeting for any group of attendees starts when the last of them becomes
+     * free, so only those start points are scored: the attendees are the
+     * people whose current stretch lasts the whole session. Candidates are
+     * ranked by attendance, then by earliest start, and picked greedily so no
+     * two suggestions overlap.
+     *
+     * @param availabilities the availability of everyone being scheduled
+     * @param windowStart the earliest time a meeting may start
+     * @param windowEnd the latest time a meeting may end
+     * @param length how long the meeting will run
+     * @param minAttendees the fewest people a suggestion may have
+     * @param limit the maximum number of suggestions
+     * @return non-overlapping suggestions, best first
+     */
+    public static List<MeetingSlot> findMeetingSlots(Collection<Availability> availabilities,
+                                                     LocalDateTime windowStart, LocalDateTime windowEnd,
+                                                     Duration length, int minAttendees, int limit) {
+        if (availabilities == null || windowStart == null || windowEnd == null || length == null
+                || length.isZero() || length.isNegative() || limit <= 0 || !windowEnd.isAfter(windowStart)) {
+            return List.of();
+        }
+        long from = windowStart.toEpochSecond(ZoneOffset.UTC);
+        long to = windowEnd.toEpochSecond(ZoneOffset.UTC);
+        long len = length.getSeconds();
+        int needed = Math.max(1, minAttendees);
+
+        // Clip each person's slots to the window
+        Map<String, Integer> personIndex = new HashMap<>();
+        List<User> people = new ArrayList<>();
+        List<List<long[]>> slots = new ArrayList<>();
+        for (Availability a : availabilities) {
+            if (a == null || a.getUser() == null) continue;
+            long start = Math.max(from, a.getStartTime().toEpochSecond(ZoneOffset.UTC));
+            long end = Math.min(to, a.getEndTime().toEpochSecond(ZoneOffset.UTC));
+            if (end <= start) continue;
+            int person = personIndex.computeIfAbsent(a.getUser().getUserId(), id -> {
+                people.add(a.getUser());
+                slots.add(new ArrayList<>());
+                return people.size() - 1;
+            });
+            slots.get(person).add(new long[] {start, end});
+        }
+        if (people.size() < needed) return List.of();
+
+        // Merge each person's slots into disjoint stretches long enough to host the meeting
+        List<long[]> stretches = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int person = 0; person < people.size(); person++) {
+            List<long[]> own = slots.get(person);
+            own.sort(Comparator.comparingLong(r -> r[0]));
+            long curStart = own.get(0)[0];
+            long curEnd = own.get(0)[1];
+            for (int i = 1; i <= own.size(); i++) {
+                if (i < own.size() && own.get(i)[0] <= curEnd) {
+                    curEnd = Math.max(curEnd, own.get(i)[1]);
+                    continue;
+                }
+                if (curEnd - curStart >= len) {
+                    stretches.add(new long[] {curStart, curEnd});
+                    owners.add(person);
+                }
+                if (i < own.size()) {
+                    curStart = own.get(i)[0];
+                    curEnd = own.get(i)[1];
+                }
+            }
+        }
+
+        // Sort endpoints as packed (offset << 21 | stretch) keys so the sweep stays on primitives
+        int n = stretches.size();
+        long[] startKeys = new long[n];
+        long[] endKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            startKeys[i] = ((stretches.get(i)[0] - from) << 21) | i;
+            endKeys[i] = ((stretches.get(i)[1] - from) << 21) | i;
+        }
+        Arrays.sort(startKeys);
+        Arrays.sort(endKeys);
+
+        long[] freeUntil = new long[people.size()];
+        int[] activePos = new int[people.size()];
+        Arrays.fill(activePos, -1);
+        int[] active = new int[people.size()];
+        int activeCount = 0;
+
+        List<long[]> candidateTimes = new ArrayList<>();
+        List<int[]> candidateAttendees = new ArrayList<>();
+        int e = 0;
+        for (int s = 0; s < n; ) {
+            long t = startKeys[s] >>> 21;
+            // stretches ending at or before t cannot take a meeting starting at t
+            while (e < n && (endKeys[e] >>> 21) <= t) {
+                int person = owners.get((int) (endKeys[e++] & 0x1FFFFF));
+                int pos = activePos[person];
+                int last = active[--activeCount];
+                active[pos] = last;
+                activePos[last] = pos;
+                activePos[person] = -1;
+            }
+            while (s < n && (startKeys[s] >>> 21) == t) {
+                int stretch = (int) (startKeys[s++] & 0x1FFFFF);
+                int person = owners.get(stretch);
+                freeUntil[person] = stretches.get(stretch)[1] - from;
+                activePos[person] = activeCount;
+                active[activeCount++] = person;
+            }
+            if (activeCount < needed) continue;
+
+            int[] attending = new int[activeCount];
+            int count = 0;
+            for (int i = 0; i < activeCount; i++) {
+                if (freeUntil[active[i]] >= t + len) attending[count++] = active[i];
+            }
+            if (count >= needed) {
+                candidateTimes.add(new long[] {t, count});
+                candidateAttendees.add(Arrays.copyOf(attending, count));
+            }
+        }
+
+        // Most attendees first, then earliest; skip anything overlapping a better pick
+        Integer[] order = new Integer[candidateTimes.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (x, y) -> {
+            int cmp = Long.compare(candidateTimes.get(y)[1], candidateTimes.get(x)[1]);
+            return cmp != 0 ? cmp : Long.compare(candidateTimes.get(x)[0], candidateTimes.get(y)[0]);
+        });
+
+        List<MeetingSlot> picked = new ArrayList<>();
+        List<long[]> taken = new ArrayList<>();
+        for (int idx : order) {
+            if (picked.size() >= limit) break;
+            long start = candidateTimes.get(idx)[0];
+            boolean clashes = false;
+            for (long[] r : taken) {
+                if (start < r[1] && r[0] < start + len) {
+                    clashes = true;
+                    break;
+                }
+            }
+            if (clashes) continue;
+            taken.add(new long[] {start, start + len});
+
+            int[] attending = candidateAttendees.get(idx);
+            Arrays.sort(attending);
+            List<User> attendees = new ArrayList<>(attending.length);
+            for (int person : attending) attendees.add(people.get(person));
+            LocalDateTime slotStart = windowStart.plusSeconds(start);
+            picked.add(new MeetingSlot(new TimeRange(slotStart, slotStart.plus(length)), attendees));
+        }
+        return picked;
     }
-}
\ No newline at end of file
+}
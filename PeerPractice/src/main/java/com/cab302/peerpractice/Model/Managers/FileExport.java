@@ -0,0 +1,182 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.ValueObjects.ExportState;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An export of a group's files to a ZIP archive started with
+ * {@link GroupFileManager#exportGroupAsync}, or a download of one file
+ * started with {@link GroupFileManager#downloadFileAsync}, tracking its
+ * state and how many bytes of file content have been written.
+ * <p>
+ * The listener is notified on every state change and after each buffer of
+ * bytes. Notifications come from the export worker thread, so UI code
+ * must hop back onto the FX thread itself.
+ */
+public class FileExport {
+    private final Path destination;
+    private final int fileCount;
+    private final long totalBytes;
+    private final Consumer<FileExport> listener;
+    private volatile ExportState state = ExportState.QUEUED;
+    private volatile long bytesCopied;
+    private volatile int filesDone;
+    private volatile long startedNanos;
+    private volatile long elapsedNanos;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    /** Files whose stored content could not be found, left out of the archive. */
+    private final List<String> skippedFiles = new CopyOnWriteArrayList<>();
+
+    FileExport(Path destination, int fileCount, long totalBytes, Consumer<FileExport> listener) {
+        this.destination = Objects.requireNonNull(destination, "Destination cannot be null");
+        this.fileCount = fileCount;
+        this.totalBytes = Math.max(0, totalBytes);
+        this.listener = listener;
+    }
+
+    /**
+     * The archive or file being written. It appears under this name only
+     * once it is complete.
+     */
+    public Path getDestination() {
+        return destination;
+    }
+
+    public ExportState getState() {
+        return state;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getFilesDone() {
+        return filesDone;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    /**
+     * Fraction of the files' content written so far, from 0 to 1.
+     */
+    public double getProgress() {
+        if (totalBytes == 0) return state == ExportState.COMPLETED ? 1 : 0;
+        return Math.min(1.0, (double) bytesCopied / totalBytes);
+    }
+
+    /**
+     * Average rate at which file content has been written since the export
+     * started.
+     *
+     * @return bytes per second, or 0 before any time has passed
+     */
+    public double getBytesPerSecond() {
+        long nanos = state == ExportState.EXPORTING ? System.nanoTime() - startedNanos : elapsedNanos;
+        return nanos <= 0 ? 0 : bytesCopied * 1e9 / nanos;
+    }
+
+    /**
+     * Names of files left out because their stored content was missing.
+     */
+    public List<String> getSkippedFiles() {
+        return List.copyOf(skippedFiles);
+    }
+
+    /**
+     * Reason the export failed, or null if it has not.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Asks the export to stop. The worker notices between buffers, deletes
+     * the partial file and moves the export to
+     * {@link ExportState#CANCELLED}. An export that has already finished is
+     * left alone.
+     *
+     * @return true if the export had not finished yet
+     */
+    public boolean cancel() {
+        if (state.isDone()) return false;
+        cancelRequested = true;
+        return true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void started() {
+        startedNanos = System.nanoTime();
+        update(ExportState.EXPORTING);
+    }
+
+    void progressed(long bytesCopied) {
+        this.bytesCopied = bytesCopied;
+        notifyListener();
+    }
+
+    void fileDone() {
+        filesDone++;
+    }
+
+    void skipped(String filename) {
+        skippedFiles.add(filename);
+    }
+
+    void completed() {
+        finish(ExportState.COMPLETED);
+    }
+
+    void cancelled() {
+        finish(ExportState.CANCELLED);
+    }
+
+    void failed(String reason) {
+        error = reason;
+        finish(ExportState.FAILED);
+    }
+
+    private void finish(ExportState finalState) {
+        if (startedNanos != 0) elapsedNanos = System.nanoTime() - startedNanos;
+        update(finalState);
+    }
+
+    private void update(ExportState newState) {
+        state = newState;
+        notifyListener();
+    }
+
+    private void notifyListener() {
+        if (listener != null) {
+            try {
+                listener.accept(this);
+            } catch (RuntimeException e) {
+                System.err.println("Export listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileExport{" +
+                "destination=" + destination +
+                ", state=" + state +
+                ", files=" + filesDone + "/" + fileCount +
+                ", bytesCopied=" + bytesCopied + "/" + totalBytes +
+                '}';
+    }
+}
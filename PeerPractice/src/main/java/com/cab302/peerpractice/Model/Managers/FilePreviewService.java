@@ -0,0 +1,371 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.Entities.FilePreview;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Utils.LruCache;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates previews of group files on a small background pool and keeps
+ * them in an on-disk cache.
+ * <p>
+ * Images are decoded with source subsampling, so a large photo is never
+ * held in memory at full size, and scaled to a PNG thumbnail. Text
+ * documents ({@code .txt}, {@code .md}, {@code .rtf}) are previewed by
+ * their opening lines. Other types have no preview.
+ * <p>
+ * Cached previews are named by file ID and content hash, so a file whose
+ * bytes change gets a new preview. The cache is bounded in bytes: the
+ * least recently used previews are deleted once it grows past its limit,
+ * and recency survives restarts through the files' modification times.
+ * Recently used previews are also kept in memory.
+ */
+public class FilePreviewService {
+    /** Largest width or height of a thumbnail, in pixels. */
+    public static final int THUMBNAIL_SIZE = 96;
+    private static final int SNIPPET_LINES = 4;
+    private static final int SNIPPET_CHARS = 240;
+    /** How much of a text document is read to find its opening lines. */
+    private static final int SNIPPET_READ_BYTES = 4096;
+    private static final int PREVIEW_THREADS = 2;
+    /** Requests waiting beyond this are dropped; cells that are still visible ask again. */
+    private static final int QUEUE_LIMIT = 64;
+    private static final int MEMORY_ENTRIES = 256;
+    private static final long DEFAULT_CACHE_BYTES = 32L * 1024 * 1024;
+    private static final Path DEFAULT_CACHE_DIR = Paths.get("group_files", "previews");
+
+    private final Path cacheDir;
+    private final long maxCacheBytes;
+    private final LruCache<String, FilePreview> recent = new LruCache<>(MEMORY_ENTRIES);
+    /** Previews being generated, so a file scrolled past twice is only worked on once. */
+    private final Map<String, CompletableFuture<FilePreview>> inFlight = new ConcurrentHashMap<>();
+    /** Cached preview files by name in least recently used order, with their sizes; guarded by this. */
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+    private boolean indexLoaded;
+    private ExecutorService workers;
+
+    public FilePreviewService() {
+        this(DEFAULT_CACHE_DIR, DEFAULT_CACHE_BYTES);
+    }
+
+    /**
+     * @param cacheDir where generated previews are kept
+     * @param maxCacheBytes the most bytes of previews to keep on disk
+     */
+    public FilePreviewService(Path cacheDir, long maxCacheBytes) {
+        if (maxCacheBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.cacheDir = cacheDir;
+        this.maxCacheBytes = maxCacheBytes;
+    }
+
+    /**
+     * Gets a file's preview, generating it in the background if it is not
+     * cached. The future completes on a worker thread, or at once when the
+     * preview is in memory or the file type has none.
+     *
+     * @param file the file to preview
+     * @return the preview; {@link FilePreview.Kind#NONE} if it could not be made
+     */
+    public CompletableFuture<FilePreview> getPreview(GroupFile file) {
+        FilePreview.Kind kind = kindOf(file.getFilename());
+        if (kind == FilePreview.Kind.NONE) {
+            return CompletableFuture.completedFuture(FilePreview.none(file.getFileId()));
+        }
+        String key = cacheKey(file);
+        FilePreview cached = recent.get(key);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<FilePreview> pending = new CompletableFuture<>();
+        CompletableFuture<FilePreview> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) return existing;
+        try {
+            executor().execute(() -> {
+                try {
+                    FilePreview preview = load(file, kind, key);
+                    recent.put(key, preview);
+                    pending.complete(preview);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error generating preview for " + file.getFilename() + ": " + e.getMessage());
+                    pending.complete(FilePreview.none(file.getFileId()));
+                } finally {
+                    inFlight.remove(key, pending);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, pending);
+            pending.complete(FilePreview.none(file.getFileId()));
+        }
+        return pending;
+    }
+
+    /**
+     * Drops a deleted file's previews from memory and disk.
+     */
+    public void forget(GroupFile file) {
+        String prefix = file.getFileId() + "-";
+        recent.remove(cacheKey(file));
+        synchronized (this) {
+            loadIndex();
+            List<String> names = diskIndex.keySet().stream().filter(n -> n.startsWith(prefix)).toList();
+            for (String name : names) evict(name);
+        }
+    }
+
+    /**
+     * Gets how many bytes of previews are cached on disk.
+     */
+    public synchronized long getCacheBytes() {
+        loadIndex();
+        return diskBytes;
+    }
+
+    /**
+     * Stops the preview threads; requests still queued are dropped.
+     */
+    public void shutdown() {
+        ExecutorService running;
+        synchronized (this) {
+            running = workers;
+            workers = null;
+        }
+        if (running != null) running.shutdownNow();
+    }
+
+    private synchronized ExecutorService executor() {
+        if (workers == null) {
+            workers = new ThreadPoolExecutor(PREVIEW_THREADS, PREVIEW_THREADS, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(QUEUE_LIMIT), r -> {
+                        Thread t = new Thread(r, "file-preview");
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        return workers;
+    }
+
+    private static FilePreview.Kind kindOf(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg")
+                || name.endsWith(".gif") || name.endsWith(".bmp")) {
+            return FilePreview.Kind.IMAGE;
+        }
+        if (name.endsWith(".txt") || name.endsWith(".md") || name.endsWith(".rtf")) {
+            return FilePreview.Kind.TEXT;
+        }
+        return FilePreview.Kind.NONE;
+    }
+
+    /** Files stored before deduplication have no hash, so their size stands in for it. */
+    private static String cacheKey(GroupFile file) {
+        String version = file.getContentHash() != null ? file.getContentHash() : "size" + file.getFileSize();
+        return file.getFileId() + "-" + version;
+    }
+
+    private FilePreview load(GroupFile file, FilePreview.Kind kind, String key) throws IOException {
+        String name = key + (kind == FilePreview.Kind.IMAGE ? ".png" : ".txt");
+        Path cached = lookup(name);
+        if (cached == null) {
+            cached = generate(file, kind, name);
+        }
+        return kind == FilePreview.Kind.IMAGE
+                ? FilePreview.image(file.getFileId(), cached)
+                : FilePreview.text(file.getFileId(), Files.readString(cached, StandardCharsets.UTF_8));
+    }
+
+    /** Writes a new preview to the cache and returns its path. */
+    private Path generate(GroupFile source, FilePreview.Kind kind, String name) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path target = cacheDir.resolve(name);
+        Path partial = cacheDir.resolve(name + ".part");
+        try {
+            if (kind == FilePreview.Kind.IMAGE) {
+                BufferedImage thumbnail = readThumbnail(source, THUMBNAIL_SIZE);
+                if (!ImageIO.write(thumbnail, "png", partial.toFile())) {
+                    throw new IOException("No PNG writer available");
+                }
+            } else {
+                boolean rtf = source.getFilename().toLowerCase(Locale.ROOT).endsWith(".rtf");
+                Files.writeString(partial, readSnippet(source, rtf), StandardCharsets.UTF_8);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        stored(name, Files.size(target));
+        return target;
+    }
+
+    /**
+     * Decodes an image at roughly twice the thumbnail size by reading only
+     * every nth pixel, then scales it down smoothly to fit the thumbnail.
+     */
+    private static BufferedImage readThumbnail(GroupFile source, int size) throws IOException {
+        try (InputStream content = GroupFileManager.openContent(source);
+             ImageInputStream in = ImageIO.createImageInputStream(content)) {
+            if (in == null) throw new IOException("Cannot open " + source.getFilename());
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) throw new IOException("Unsupported image format: " + source.getFilename());
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1, Math.max(width, height) / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scaleToFit(reader.read(0, param), size);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleToFit(BufferedImage image, int size) {
+        double scale = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Reads the first non-blank lines of a text document. Only the start of
+     * the file is read, and bytes that are not valid UTF-8 are replaced.
+     */
+    private static String readSnippet(GroupFile source, boolean rtf) throws IOException {
+        byte[] head;
+        try (InputStream in = GroupFileManager.openContent(source)) {
+            head = in.readNBytes(SNIPPET_READ_BYTES);
+        }
+        String text = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(ByteBuffer.wrap(head))
+                .toString();
+        if (rtf) text = stripRtf(text);
+        String snippet = text.lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .limit(SNIPPET_LINES)
+                .collect(Collectors.joining("\n"));
+        return snippet.length() > SNIPPET_CHARS ? snippet.substring(0, SNIPPET_CHARS - 1) + "…" : snippet;
+    }
+
+    /** Reduces RTF markup to its visible text, well enough for a preview. */
+    private static String stripRtf(String rtf) {
+        return rtf
+                .replaceAll("\\{\\\\(fonttbl|colortbl|stylesheet|info|\\*)[^{}]*(\\{[^{}]*}[^{}]*)*}", "")
+                .replaceAll("\\\\par[d]?\\b", "\n")
+                .replaceAll("\\\\'[0-9a-fA-F]{2}", "")
+                .replaceAll("\\\\[a-zA-Z]+-?\\d* ?", "")
+                .replaceAll("[{}]", "");
+    }
+
+    /** Finds a cached preview and marks it as recently used. */
+    private synchronized Path lookup(String name) {
+        loadIndex();
+        // get, unlike containsKey, moves the entry to the most recently used end
+        if (diskIndex.get(name) == null) return null;
+        Path path = cacheDir.resolve(name);
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return path;
+        } catch (IOException e) {
+            // deleted behind our back
+            diskBytes -= diskIndex.remove(name);
+            return null;
+        }
+    }
+
+    /** Adds a new preview to the index and evicts the least recently used past the limit. */
+    private synchronized void stored(String name, long bytes) {
+        loadIndex();
+        Long previous = diskIndex.put(name, bytes);
+        diskBytes += bytes - (previous == null ? 0 : previous);
+        Iterator<String> eldest = new ArrayList<>(diskIndex.keySet()).iterator();
+        while (diskBytes > maxCacheBytes && eldest.hasNext()) {
+            String candidate = eldest.next();
+            if (!candidate.equals(name)) evict(candidate);
+        }
+    }
+
+    private void evict(String name) {
+        Long bytes = diskIndex.remove(name);
+        if (bytes != null) diskBytes -= bytes;
+        int dot = name.lastIndexOf('.');
+        recent.remove(dot < 0 ? name : name.substring(0, dot));
+        try {
+            Files.deleteIfExists(cacheDir.resolve(name));
+        } catch (IOException e) {
+            System.err.println("Error deleting cached preview: " + e.getMessage());
+        }
+    }
+
+    /** Reads the previews already on disk, oldest first, the first time the cache is used. */
+    private void loadIndex() {
+        if (indexLoaded) return;
+        indexLoaded = true;
+        if (!Files.isDirectory(cacheDir)) return;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDir)) {
+            for (Path entry : entries) {
+                if (entry.getFileName().toString().endsWith(".part")) {
+                    Files.deleteIfExists(entry); // left by a write that never finished
+                } else {
+                    files.add(entry);
+                }
+            }
+            files.sort(Comparator.comparing(FilePreviewService::modified));
+            for (Path file : files) {
+                long bytes = Files.size(file);
+                diskIndex.put(file.getFileName().toString(), bytes);
+                diskBytes += bytes;
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading preview cache: " + e.getMessage());
+        }
+    }
+
+    private static FileTime modified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.ValueObjects.UploadState;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A file upload started with {@link GroupFileManager#uploadFileAsync},
+ * tracking its state and how many bytes have been copied.
+ * <p>
+ * The listener is notified on every state change and after each chunk of
+ * bytes. Notifications come from the upload worker thread, so UI code must
+ * hop back onto the FX thread itself.
+ */
+public class FileUpload {
+    private final String filename;
+    private final long totalBytes;
+    private final Consumer<FileUpload> listener;
+    private volatile UploadState state = UploadState.QUEUED;
+    private volatile long bytesCopied;
+    private volatile long startedNanos;
+    private volatile long elapsedNanos;
+    private volatile GroupFile result;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    /** Bytes already on disk from an earlier attempt when this one started. */
+    private volatile long resumedBytes;
+    /** ID of the upload's manifest if it is chunked and can be resumed, otherwise null. */
+    private volatile String uploadId;
+    /** The thread copying this upload, guarded by this; null when none is. */
+    private Thread worker;
+
+    FileUpload(String filename, long totalBytes, Consumer<FileUpload> listener) {
+        this.filename = Objects.requireNonNull(filename, "Filename cannot be null");
+        this.totalBytes = Math.max(0, totalBytes);
+        this.listener = listener;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public UploadState getState() {
+        return state;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    /**
+     * Fraction of the file copied so far, from 0 to 1.
+     */
+    public double getProgress() {
+        return totalBytes == 0 ? (state == UploadState.COMPLETED ? 1 : 0) : (double) bytesCopied / totalBytes;
+    }
+
+    /**
+     * Average copy rate since the upload started, not counting bytes
+     * carried over from an interrupted attempt.
+     *
+     * @return bytes per second, or 0 before any time has passed
+     */
+    public double getBytesPerSecond() {
+        long nanos = state == UploadState.UPLOADING ? System.nanoTime() - startedNanos : elapsedNanos;
+        return nanos <= 0 ? 0 : (bytesCopied - resumedBytes) * 1e9 / nanos;
+    }
+
+    /**
+     * Gets the ID to resume this upload with if it fails part way.
+     *
+     * @return the manifest ID for a chunked upload, or null if it cannot be resumed
+     */
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    /**
+     * The stored file once the upload has completed, or null before then.
+     */
+    public GroupFile getResult() {
+        return result;
+    }
+
+    /**
+     * Reason the upload failed, or null if it has not.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Asks the upload to stop. The worker notices between chunks (or at once
+     * if it is blocked on the channel), deletes the partial file and moves
+     * the upload to {@link UploadState#CANCELLED}. An upload that has
+     * already finished is left alone.
+     *
+     * @return true if the upload had not finished yet
+     */
+    public boolean cancel() {
+        if (state.isDone()) return false;
+        cancelRequested = true;
+        synchronized (this) {
+            // interrupting closes the channel, waking a worker blocked on I/O
+            if (worker != null) worker.interrupt();
+        }
+        return true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized void bind(Thread thread) {
+        worker = thread;
+    }
+
+    /** Detaches the worker, clearing any interrupt meant for this upload. */
+    synchronized void unbind() {
+        worker = null;
+        Thread.interrupted();
+    }
+
+    void resumable(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    void resumedFrom(long bytesOnDisk) {
+        resumedBytes = bytesOnDisk;
+        bytesCopied = bytesOnDisk;
+    }
+
+    void started() {
+        startedNanos = System.nanoTime();
+        update(UploadState.UPLOADING);
+    }
+
+    void progressed(long bytesCopied) {
+        this.bytesCopied = bytesCopied;
+        notifyListener();
+    }
+
+    void completed(GroupFile file) {
+        result = file;
+        finish(UploadState.COMPLETED);
+    }
+
+    void cancelled() {
+        finish(UploadState.CANCELLED);
+    }
+
+    void failed(String reason) {
+        error = reason;
+        finish(UploadState.FAILED);
+    }
+
+    private void finish(UploadState finalState) {
+        if (startedNanos != 0) elapsedNanos = System.nanoTime() - startedNanos;
+        update(finalState);
+    }
+
+    private void update(UploadState newState) {
+        state = newState;
+        notifyListener();
+    }
+
+    private void notifyListener() {
+        if (listener != null) {
+            try {
+                listener.accept(this);
+            } catch (RuntimeException e) {
+                System.err.println("Upload listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileUpload{" +
+                "filename='" + filename + '\'' +
+                ", state=" + state +
+                ", bytesCopied=" + bytesCopied + "/" + totalBytes +
+                '}';
+    }
+}
@@ -1,8 +1,9 @@
 package com.cab302.peerpractice.Model.Managers;
 
 import com.cab302.peerpractice.Model.DAOs.IFriendMessageDAO;
-import com.cab302.peerpractice.Model.DAOs.MockFriendMessageDAO;
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
 
 import java.util.List;
 import java.util.Objects;
@@ -13,20 +14,31 @@ import java.util.Objects;
  */
 public class FriendMessageManager extends MessageManager<FriendMessage> {
 
+    /** Maximum number of hits returned by a message search. */
+    public static final int SEARCH_LIMIT = 50;
+    /** Number of messages loaded on each side of a search hit when jumping to it. */
+    public static final int JUMP_PAGE_RADIUS = 25;
+
     private final IFriendMessageDAO friendMessageDAO;
 
     public FriendMessageManager(IFriendMessageDAO friendMessageDAO) {
+        this(friendMessageDAO, null);
+    }
+
+    /**
+     * Creates a manager that can send in the background.
+     *
+     * @param friendMessageDAO the message DAO
+     * @param outbox the background writer for asynchronous sends
+     */
+    public FriendMessageManager(IFriendMessageDAO friendMessageDAO, MessageOutbox outbox) {
+        super(outbox);
         this.friendMessageDAO = Objects.requireNonNull(friendMessageDAO, "DAO cannot be null");
     }
 
     @Override
     public String sendMessage(FriendMessage message) {
-        if (message == null) {
-            throw new IllegalArgumentException("Message cannot be null");
-        }
-        if (message.getReceiverId() == null || message.getReceiverId().isBlank()) {
-            throw new IllegalArgumentException("Recipient ID cannot be null or empty");
-        }
+        validateOutgoing(message);
 
         boolean added = friendMessageDAO.addMessage(message);
         if (!added) {
@@ -36,6 +48,16 @@ public class FriendMessageManager extends MessageManager<FriendMessage> {
         return message.getMessageId();
     }
 
+    @Override
+    protected void validateOutgoing(FriendMessage message) {
+        if (message == null) {
+            throw new IllegalArgumentException("Message cannot be null");
+        }
+        if (message.getReceiverId() == null || message.getReceiverId().isBlank()) {
+            throw new IllegalArgumentException("Recipient ID cannot be null or empty");
+        }
+    }
+
     @Override
     public List<FriendMessage> getMessages(int receiverId) {
         return List.of();
@@ -49,6 +71,75 @@ public class FriendMessageManager extends MessageManager<FriendMessage> {
         return friendMessageDAO.getMessagesForUser(userId);
     }
 
+    /**
+     * Gets the full conversation between two users in chronological order.
+     *
+     * @param userId the viewing user's username
+     * @param otherUserId the other participant's username
+     * @return the conversation's messages
+     */
+    public List<FriendMessage> getConversation(String userId, String otherUserId) {
+        if (userId == null || userId.isBlank() || otherUserId == null || otherUserId.isBlank()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        return friendMessageDAO.getMessagesBetween(userId, otherUserId);
+    }
+
+    /**
+     * Gets the user's inbox: the latest message and unread count for each
+     * conversation, without loading any conversation history.
+     *
+     * @param userId the inbox owner's username
+     * @return the conversations, most recently active first
+     */
+    public List<ConversationSummary> getInbox(String userId) {
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+        return friendMessageDAO.getInbox(userId);
+    }
+
+    /**
+     * Marks a conversation as read up to its newest message.
+     *
+     * @param userId the reader's username
+     * @param otherUserId the other participant's username
+     * @return true if the read state was recorded
+     */
+    public boolean markConversationRead(String userId, String otherUserId) {
+        if (userId == null || userId.isBlank() || otherUserId == null || otherUserId.isBlank()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        return friendMessageDAO.markConversationRead(userId, otherUserId);
+    }
+
+    /**
+     * Gets the number of unread messages in one conversation.
+     *
+     * @param userId the reader's username
+     * @param otherUserId the other participant's username
+     * @return the unread count
+     */
+    public int getUnreadCount(String userId, String otherUserId) {
+        if (userId == null || userId.isBlank() || otherUserId == null || otherUserId.isBlank()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        return friendMessageDAO.getUnreadCount(userId, otherUserId);
+    }
+
+    /**
+     * Gets the number of unread direct messages across all conversations.
+     *
+     * @param userId the reader's username
+     * @return the total unread count
+     */
+    public int getTotalUnreadCount(String userId) {
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+        return friendMessageDAO.getTotalUnreadCount(userId);
+    }
+
     @Override
     public boolean deleteMessage(String messageId) {
         if (messageId == null || messageId.isBlank()) {
@@ -64,4 +155,59 @@ public class FriendMessageManager extends MessageManager<FriendMessage> {
         }
         return friendMessageDAO.getMessageById(messageId);
     }
+
+    /**
+     * Searches all of a user's direct conversations.
+     * Only messages the user sent or received can match.
+     *
+     * @param userId the searching user's username
+     * @param query the raw search text
+     * @return matching messages with highlighted snippets, most relevant first
+     */
+    public List<MessageSearchResult<FriendMessage>> searchMessages(String userId, String query) {
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+        return friendMessageDAO.searchMessages(userId, null, query, SEARCH_LIMIT);
+    }
+
+    /**
+     * Searches a single conversation between the user and another user.
+     *
+     * @param userId the searching user's username
+     * @param otherUserId the other participant's username
+     * @param query the raw search text
+     * @return matching messages with highlighted snippets, most relevant first
+     */
+    public List<MessageSearchResult<FriendMessage>> searchConversation(String userId, String otherUserId, String query) {
+        if (userId == null || userId.isBlank() || otherUserId == null || otherUserId.isBlank()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        return friendMessageDAO.searchMessages(userId, otherUserId, query, SEARCH_LIMIT);
+    }
+
+    /**
+     * Loads the page of a conversation surrounding a message, used to jump to
+     * a search hit. Returns nothing if the message is not part of the
+     * conversation, so users cannot page into other people's chats.
+     *
+     * @param userId the viewing user's username
+     * @param otherUserId the other participant's username
+     * @param messageId the message to centre on
+     * @return the surrounding messages in chronological order
+     */
+    public List<FriendMessage> getMessagesAround(String userId, String otherUserId, String messageId) {
+        if (userId == null || userId.isBlank() || otherUserId == null || otherUserId.isBlank()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        if (messageId == null || messageId.isBlank()) {
+            throw new IllegalArgumentException("Message ID cannot be null or empty");
+        }
+        // the viewer must be a participant of the anchor's conversation, as search requires
+        FriendMessage anchor = friendMessageDAO.getMessageById(messageId);
+        if (anchor == null || !FriendMessage.conversationIdFor(userId, otherUserId).equals(anchor.getConversationId())) {
+            return List.of();
+        }
+        return friendMessageDAO.getMessagesAround(userId, otherUserId, messageId, JUMP_PAGE_RADIUS, JUMP_PAGE_RADIUS);
+    }
 }
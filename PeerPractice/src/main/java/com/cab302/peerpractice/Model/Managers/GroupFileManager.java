@@ -1,25 +1,118 @@
 package com.cab302.peerpractice.Model.Managers;
 
+import com.cab302.peerpractice.Exceptions.StorageQuotaExceededException;
 import com.cab302.peerpractice.Model.DAOs.IGroupFileDAO;
 import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+import com.cab302.peerpractice.Model.ValueObjects.ExportState;
+import com.cab302.peerpractice.Model.ValueObjects.StorageQuota;
+import com.cab302.peerpractice.Model.ValueObjects.StorageStats;
+import com.cab302.peerpractice.Model.ValueObjects.StorageUsage;
+import com.cab302.peerpractice.Model.ValueObjects.UploadState;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Manager class for handling group file operations.
  * Acts as the middle layer between controllers and the DAO.
  * Handles file storage and metadata management.
+ * <p>
+ * File content is stored once per distinct SHA-256 under
+ * {@code group_files/blobs}, however many groups share it. Records
+ * reference their blob by hash, and a blob is deleted only when the last
+ * record referencing it is.
+ * <p>
+ * Files larger than one chunk upload in chunks recorded in a persisted
+ * {@link UploadManifest}, so an upload interrupted by sleep, a removed
+ * drive or closing the app resumes from the chunks already on disk.
+ * <p>
+ * Groups can have a {@link StorageQuota}. An upload is checked against it
+ * before any bytes are copied, counting uploads still in progress, and
+ * refused with a {@link StorageQuotaExceededException} if it would not fit.
+ * <p>
+ * Blobs of compressible content are stored zlib-deflated. Whether to
+ * compress is decided per file from its MIME type and how well a sample
+ * of it deflates. The hash, the recorded size and quotas are always of
+ * the uncompressed content; {@link #openContent} inflates on the fly.
+ * <p>
+ * A group's files can be exported to one ZIP archive with
+ * {@link #exportGroupAsync}, and a single file saved with
+ * {@link #downloadFileAsync}, both streamed straight from the store.
  */
 public class GroupFileManager {
 
     private final IGroupFileDAO groupFileDAO;
     private static final String FILE_STORAGE_ROOT = "group_files";
+    /** Suffix of files still being copied; they are renamed once complete. */
+    static final String PARTIAL_SUFFIX = ".part";
+    /** Directory under the storage root holding content-addressed blobs. */
+    static final String BLOB_DIR = "blobs";
+    /** Directory under the blob store where uploads are copied before their hash is known. */
+    static final String INCOMING_DIR = "incoming";
+    /** Bytes copied between progress reports and cancellation checks. */
+    private static final int BUFFER_BYTES = 1024 * 1024;
+    /**
+     * Size of the pieces a resumable upload is split into. Files larger than
+     * one chunk are uploaded in chunks so an interruption loses at most one.
+     */
+    private static final int RESUMABLE_CHUNK_BYTES = 8 * 1024 * 1024;
+    private static final String CHUNK_SUFFIX = ".chunk";
+    private static final int UPLOAD_THREADS = 2;
+    /** Files smaller than this are stored raw; the saving would not be worth a read through an inflater. */
+    private static final int COMPRESSION_MIN_BYTES = 4 * 1024;
+    /** Bytes from the start of a file deflated to judge whether the whole file is worth compressing. */
+    private static final int COMPRESSION_SAMPLE_BYTES = 64 * 1024;
+    /** A file is compressed only if its sample deflates to at most this fraction of its size. */
+    private static final double COMPRESSION_MAX_RATIO = 0.8;
+
+    /** Background upload threads, started on first use. */
+    private ExecutorService uploads;
+    /** Background export thread, started on first use; separate so a long export does not hold up uploads. */
+    private ExecutorService exports;
+    /** IDs of chunked uploads running now, which cannot be resumed or discarded until they stop. */
+    private final Set<String> activeUploads = ConcurrentHashMap.newKeySet();
+    /** Guards checking, adding and removing blobs together with the records that reference them. */
+    private final Object blobLock = new Object();
+    /**
+     * Bytes of uploads in progress by group, and by group and uploader, which
+     * count against quotas until their records exist. Guarded by quotaLock.
+     */
+    private final Map<Integer, Long> reservedGroupBytes = new HashMap<>();
+    private final Map<String, Long> reservedUserBytes = new HashMap<>();
+    private final Object quotaLock = new Object();
+    /** Whether new uploads may be stored compressed; files already stored are read either way. */
+    private volatile boolean compressionEnabled = true;
 
     public GroupFileManager(IGroupFileDAO groupFileDAO) {
         this.groupFileDAO = Objects.requireNonNull(groupFileDAO, "GroupFileDAO cannot be null");
@@ -49,8 +142,254 @@ public class GroupFileManager {
      * @param description optional description
      * @return the created GroupFile, or null if upload failed
      * @throws IOException if file operations fail
+     * @throws StorageQuotaExceededException if the file would take the group or uploader past their quota
      */
     public GroupFile uploadFile(int groupId, String uploaderId, File sourceFile, String description) throws IOException {
+        validateUpload(groupId, uploaderId, sourceFile);
+        Runnable releaseQuota = reserveQuota(groupId, uploaderId, sourceFile.length());
+        try {
+            return store(groupId, uploaderId, sourceFile, description, null);
+        } finally {
+            releaseQuota.run();
+        }
+    }
+
+    /**
+     * Starts uploading a file on a background thread and returns at once.
+     * <p>
+     * Bytes are copied through channels in chunks and hashed on the way,
+     * reporting progress to the listener after each one. The copy goes to
+     * a partial file that is flushed to disk and renamed into the blob store
+     * before the database record is written, so a record never points at a
+     * file that is incomplete or could still be lost. Content that is
+     * already stored is not kept twice. Cancelling or failing deletes the
+     * partial file.
+     * <p>
+     * Files larger than one chunk are split into fixed-size chunks, each
+     * written durably, checksummed and recorded in a manifest as it lands.
+     * If such an upload fails, its chunks are kept and
+     * {@link #resumeUpload} continues it; cancelling discards them.
+     *
+     * @param groupId the group ID
+     * @param uploaderId the user ID of the uploader
+     * @param sourceFile the file to upload
+     * @param description optional description
+     * @param listener notified on progress and state changes, from the upload thread; may be null
+     * @return the upload, initially {@link UploadState#QUEUED}
+     * @throws StorageQuotaExceededException if the file would take the group or uploader past their quota
+     */
+    public FileUpload uploadFileAsync(int groupId, String uploaderId, File sourceFile, String description,
+                                      Consumer<FileUpload> listener) {
+        validateUpload(groupId, uploaderId, sourceFile);
+        Runnable releaseQuota = reserveQuota(groupId, uploaderId, sourceFile.length());
+        if (sourceFile.length() > RESUMABLE_CHUNK_BYTES) {
+            UploadManifest manifest = new UploadManifest(TimeOrderedId.next(), groupId, uploaderId,
+                    sourceFile.getName(), sourceFile.getAbsolutePath(), sourceFile.length(),
+                    sourceFile.lastModified(), RESUMABLE_CHUNK_BYTES, description, LocalDateTime.now());
+            if (groupFileDAO.addUploadManifest(manifest)) {
+                return submitChunked(manifest, listener, releaseQuota);
+            }
+            // without a manifest the upload cannot resume, but it can still run in one piece
+        }
+        FileUpload upload = new FileUpload(sourceFile.getName(), sourceFile.length(), listener);
+        try {
+            uploadExecutor().execute(() -> {
+                try {
+                    runUpload(upload, groupId, uploaderId, sourceFile, description);
+                } finally {
+                    releaseQuota.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releaseQuota.run();
+            upload.failed("File uploads are shut down");
+        }
+        return upload;
+    }
+
+    /**
+     * Continues a chunked upload that failed or was stopped part way,
+     * uploading only the chunks that did not land. The source file must
+     * still be where it was, unchanged.
+     *
+     * @param uploadId the upload's manifest ID, from {@link FileUpload#getUploadId()}
+     *                 or {@link #getInterruptedUploads}
+     * @param listener notified on progress and state changes, from the upload thread; may be null
+     * @return the upload, initially {@link UploadState#QUEUED}
+     * @throws IllegalArgumentException if there is no such upload
+     * @throws IllegalStateException if the upload is already running
+     * @throws StorageQuotaExceededException if the group has filled up since the upload started
+     */
+    public FileUpload resumeUpload(String uploadId, Consumer<FileUpload> listener) {
+        UploadManifest manifest = uploadId == null ? null : groupFileDAO.getUploadManifest(uploadId);
+        if (manifest == null) {
+            throw new IllegalArgumentException("No interrupted upload with ID " + uploadId);
+        }
+        return submitChunked(manifest, listener,
+                reserveQuota(manifest.getGroupId(), manifest.getUploaderId(), manifest.getSourceSize()));
+    }
+
+    /**
+     * Gets a user's chunked uploads that stopped before finishing and can be resumed.
+     *
+     * @param uploaderId the user ID of the uploader
+     * @return the manifests of uploads not running now, oldest first
+     */
+    public List<UploadManifest> getInterruptedUploads(String uploaderId) {
+        if (uploaderId == null || uploaderId.isBlank()) {
+            throw new IllegalArgumentException("Uploader ID cannot be null or blank");
+        }
+        return groupFileDAO.getUploadManifestsForUser(uploaderId).stream()
+                .filter(m -> !activeUploads.contains(m.getUploadId()))
+                .toList();
+    }
+
+    /**
+     * Abandons an interrupted chunked upload, deleting the chunks it left.
+     *
+     * @param uploadId the upload's manifest ID
+     * @return true if it was discarded, false if it is running or unknown
+     */
+    public boolean discardUpload(String uploadId) {
+        if (uploadId == null || !activeUploads.add(uploadId)) return false;
+        try {
+            deleteChunks(uploadId);
+            return groupFileDAO.deleteUploadManifest(uploadId);
+        } finally {
+            activeUploads.remove(uploadId);
+        }
+    }
+
+    /**
+     * Exports all of a group's files to a ZIP archive on a background thread.
+     * <p>
+     * Content is streamed from the store into the archive a buffer at a
+     * time, so memory use does not grow with the size of the group. Files
+     * stored compressed are inflated on the way. Formats that are already
+     * compressed are written at level 0 rather than deflated again. Large
+     * archives use ZIP64 as needed.
+     * <p>
+     * The archive is written next to the destination under a partial name
+     * and renamed once complete. Cancelling or failing deletes it. Files
+     * whose stored content is missing are left out and listed in
+     * {@link FileExport#getSkippedFiles()}.
+     *
+     * @param groupId the group ID
+     * @param destination the archive to write; replaced if it exists
+     * @param listener notified on progress and state changes, from the export thread; may be null
+     * @return the export, initially {@link ExportState#QUEUED}
+     */
+    public FileExport exportGroupAsync(int groupId, File destination, Consumer<FileExport> listener) {
+        if (groupId <= 0) {
+            throw new IllegalArgumentException("Invalid group ID: " + groupId);
+        }
+        if (destination == null) {
+            throw new IllegalArgumentException("Destination cannot be null");
+        }
+        List<GroupFile> files = groupFileDAO.getFilesForGroup(groupId);
+        long totalBytes = files.stream().mapToLong(GroupFile::getFileSize).sum();
+        FileExport export = new FileExport(destination.toPath(), files.size(), totalBytes, listener);
+        try {
+            exportExecutor().execute(() -> runExport(export, target -> writeArchive(files, target, export)));
+        } catch (RejectedExecutionException e) {
+            export.failed("File exports are shut down");
+        }
+        return export;
+    }
+
+    /**
+     * Saves one file's content to a local file on a background thread.
+     * <p>
+     * Content is streamed from the store a buffer at a time and inflated
+     * on the way if it is stored compressed. It is written next to the
+     * destination under a partial name and renamed once complete, so a
+     * cancelled or failed download leaves nothing behind. Runs on the same
+     * worker as {@link #exportGroupAsync}.
+     *
+     * @param fileId the file ID
+     * @param destination the file to write; replaced if it exists
+     * @param listener notified on progress and state changes, from the export thread; may be null
+     * @return the download, initially {@link ExportState#QUEUED}
+     */
+    public FileExport downloadFileAsync(String fileId, File destination, Consumer<FileExport> listener) {
+        if (destination == null) {
+            throw new IllegalArgumentException("Destination cannot be null");
+        }
+        GroupFile file = fileId == null ? null : groupFileDAO.getFileById(fileId);
+        if (file == null) {
+            throw new IllegalArgumentException("File not found: " + fileId);
+        }
+        FileExport download = new FileExport(destination.toPath(), 1, file.getFileSize(), listener);
+        try {
+            exportExecutor().execute(() -> runExport(download, target -> writeFile(file, target, download)));
+        } catch (RejectedExecutionException e) {
+            download.failed("File exports are shut down");
+        }
+        return download;
+    }
+
+    /**
+     * Creates a reconciler for this manager's storage. It shares the blob
+     * lock and knows which uploads are running, so its repairs never race
+     * an upload or delete. The caller starts it.
+     *
+     * @return a reconciler reading back content at the default rate
+     */
+    public StorageReconciler createReconciler() {
+        return new StorageReconciler(groupFileDAO, Paths.get(FILE_STORAGE_ROOT), blobLock,
+                activeUploads::contains, StorageReconciler.DEFAULT_BYTES_PER_SECOND);
+    }
+
+    /**
+     * Turns compression of new uploads on or off. Files already stored
+     * compressed stay compressed and are still read transparently.
+     *
+     * @param enabled whether compressible uploads are stored compressed
+     */
+    public void setCompressionEnabled(boolean enabled) {
+        this.compressionEnabled = enabled;
+    }
+
+    /**
+     * Stops the upload threads, cancelling uploads still in progress.
+     * Chunked uploads keep what has landed and can be resumed later.
+     */
+    public void shutdown() {
+        ExecutorService running;
+        ExecutorService exporting;
+        synchronized (this) {
+            running = uploads;
+            uploads = null;
+            exporting = exports;
+            exports = null;
+        }
+        if (running != null) running.shutdownNow();
+        if (exporting != null) exporting.shutdownNow();
+    }
+
+    private synchronized ExecutorService uploadExecutor() {
+        if (uploads == null) {
+            uploads = Executors.newFixedThreadPool(UPLOAD_THREADS, r -> {
+                Thread t = new Thread(r, "file-upload");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return uploads;
+    }
+
+    private synchronized ExecutorService exportExecutor() {
+        if (exports == null) {
+            exports = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "file-export");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return exports;
+    }
+
+    private void validateUpload(int groupId, String uploaderId, File sourceFile) {
         if (groupId <= 0) {
             throw new IllegalArgumentException("Invalid group ID: " + groupId);
         }
@@ -60,57 +399,724 @@ public class GroupFileManager {
         if (sourceFile == null || !sourceFile.exists()) {
             throw new IllegalArgumentException("Source file does not exist");
         }
+    }
 
-        // Generate unique file ID
-        String fileId = UUID.randomUUID().toString();
+    /**
+     * Starts a chunked upload on a background thread.
+     *
+     * @param releaseQuota releases the upload's quota reservation once it finishes
+     */
+    private FileUpload submitChunked(UploadManifest manifest, Consumer<FileUpload> listener, Runnable releaseQuota) {
+        String uploadId = manifest.getUploadId();
+        if (!activeUploads.add(uploadId)) {
+            releaseQuota.run();
+            throw new IllegalStateException("Upload is already running: " + manifest.getFilename());
+        }
+        FileUpload upload = new FileUpload(manifest.getFilename(), manifest.getSourceSize(), listener);
+        upload.resumable(uploadId);
+        try {
+            uploadExecutor().execute(() -> runChunked(upload, manifest, releaseQuota));
+        } catch (RejectedExecutionException e) {
+            activeUploads.remove(uploadId);
+            releaseQuota.run();
+            upload.failed("File uploads are shut down");
+        }
+        return upload;
+    }
+
+    /**
+     * Counts an upload against its group's quota until it finishes. Usage is
+     * read from the stored counters, and the bytes of other uploads still in
+     * progress are added, so uploads started together cannot overshoot.
+     *
+     * @return releases the reservation; run it once the upload has finished, however it ends
+     * @throws StorageQuotaExceededException if the bytes would not fit
+     */
+    private Runnable reserveQuota(int groupId, String uploaderId, long bytes) {
+        StorageQuota quota = groupFileDAO.getStorageQuota(groupId);
+        if (!quota.isGroupLimited() && !quota.isUserLimited()) {
+            return () -> { };
+        }
+        String userKey = groupId + "/" + uploaderId;
+        synchronized (quotaLock) {
+            StorageUsage usage = groupFileDAO.getStorageUsage(groupId);
+            long groupBytes = usage.getTotalBytes() + reservedGroupBytes.getOrDefault(groupId, 0L);
+            if (quota.isGroupLimited() && groupBytes + bytes > quota.getMaxGroupBytes()) {
+                throw new StorageQuotaExceededException(String.format(
+                        "The group's storage limit is %s and %s is already in use",
+                        GroupFile.formatSize(quota.getMaxGroupBytes()), GroupFile.formatSize(groupBytes)));
+            }
+            long userBytes = usage.getBytesForUploader(uploaderId) + reservedUserBytes.getOrDefault(userKey, 0L);
+            if (quota.isUserLimited() && userBytes + bytes > quota.getMaxUserBytes()) {
+                throw new StorageQuotaExceededException(String.format(
+                        "Each member may upload %s to this group and you have used %s",
+                        GroupFile.formatSize(quota.getMaxUserBytes()), GroupFile.formatSize(userBytes)));
+            }
+            reservedGroupBytes.merge(groupId, bytes, Long::sum);
+            reservedUserBytes.merge(userKey, bytes, Long::sum);
+        }
+        return () -> {
+            synchronized (quotaLock) {
+                reservedGroupBytes.computeIfPresent(groupId, (k, v) -> v == bytes ? null : v - bytes);
+                reservedUserBytes.computeIfPresent(userKey, (k, v) -> v == bytes ? null : v - bytes);
+            }
+        };
+    }
+
+    private void runUpload(FileUpload upload, int groupId, String uploaderId, File sourceFile, String description) {
+        upload.bind(Thread.currentThread());
+        try {
+            if (upload.isCancelRequested()) {
+                upload.cancelled();
+                return;
+            }
+            upload.started();
+            GroupFile stored = store(groupId, uploaderId, sourceFile, description, upload);
+            if (stored != null) {
+                upload.completed(stored);
+            } else {
+                upload.failed("File record could not be saved");
+            }
+        } catch (CancellationException e) {
+            upload.cancelled();
+        } catch (IOException | RuntimeException e) {
+            // an interrupt from cancel() surfaces as ClosedByInterruptException
+            if (upload.isCancelRequested()) {
+                upload.cancelled();
+            } else {
+                upload.failed(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            }
+        } finally {
+            upload.unbind();
+        }
+    }
+
+    private void runChunked(FileUpload upload, UploadManifest manifest, Runnable releaseQuota) {
+        upload.bind(Thread.currentThread());
+        Runnable outcome;
+        try {
+            outcome = uploadChunked(upload, manifest);
+        } finally {
+            upload.unbind();
+            activeUploads.remove(manifest.getUploadId());
+            releaseQuota.run();
+        }
+        // report only once the upload is released, so a listener can resume or discard it straight away
+        outcome.run();
+    }
+
+    /**
+     * Runs a chunked upload to the end.
+     *
+     * @return reports the final state to the upload
+     */
+    private Runnable uploadChunked(FileUpload upload, UploadManifest manifest) {
+        try {
+            if (upload.isCancelRequested()) {
+                discardChunks(manifest);
+                return upload::cancelled;
+            }
+            Path source = Paths.get(manifest.getSourcePath());
+            if (!Files.isRegularFile(source) || Files.size(source) != manifest.getSourceSize()
+                    || Files.getLastModifiedTime(source).toMillis() != manifest.getSourceModified()) {
+                // the chunks on disk no longer match the file, so this upload can never resume
+                discardChunks(manifest);
+                return () -> upload.failed("The file was moved or changed since the upload started");
+            }
+            GroupFile stored = storeChunked(source, manifest, upload);
+            if (stored == null) {
+                return () -> upload.failed("File record could not be saved");
+            }
+            discardChunks(manifest);
+            return () -> upload.completed(stored);
+        } catch (CancellationException e) {
+            discardChunks(manifest);
+            return upload::cancelled;
+        } catch (IOException | RuntimeException e) {
+            // an interrupt from cancel() surfaces as ClosedByInterruptException
+            if (upload.isCancelRequested()) {
+                discardChunks(manifest);
+                return upload::cancelled;
+            }
+            // the landed chunks and manifest stay so the upload can resume
+            String reason = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            return () -> upload.failed(reason);
+        }
+    }
+
+    /** Writes an export's content to the partial file it is built in. */
+    private interface ExportWriter {
+        void write(Path target) throws IOException;
+    }
+
+    private void runExport(FileExport export, ExportWriter writer) {
+        Path destination = export.getDestination();
+        Path partial = destination.resolveSibling(destination.getFileName() + PARTIAL_SUFFIX);
+        try {
+            if (export.isCancelRequested()) {
+                export.cancelled();
+                return;
+            }
+            export.started();
+            writer.write(partial);
+            moveIntoPlace(partial, destination);
+            export.completed();
+        } catch (CancellationException e) {
+            deletePartialArchive(partial);
+            export.cancelled();
+        } catch (IOException | RuntimeException e) {
+            deletePartialArchive(partial);
+            // shutdown() interrupts the thread, which surfaces as ClosedByInterruptException
+            if (export.isCancelRequested()) {
+                export.cancelled();
+            } else {
+                export.failed(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            }
+        }
+    }
+
+    private static void deletePartialArchive(Path partial) {
+        try {
+            Files.deleteIfExists(partial);
+        } catch (IOException e) {
+            System.err.println("Error deleting partial export: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streams each file's content into a new archive, one buffer at a time.
+     * Entries are written with data descriptors, so nothing has to be read
+     * twice to learn its size or CRC first.
+     *
+     * @throws CancellationException if the export is cancelled between buffers
+     */
+    private static void writeArchive(List<GroupFile> files, Path target, FileExport export) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024))) {
+            byte[] buffer = new byte[BUFFER_BYTES];
+            Set<String> entryNames = new HashSet<>();
+            long done = 0;
+            for (GroupFile file : files) {
+                if (export.isCancelRequested()) {
+                    throw new CancellationException("Export cancelled");
+                }
+                InputStream content;
+                try {
+                    content = openContent(file);
+                } catch (NoSuchFileException e) {
+                    export.skipped(file.getFilename());
+                    done += file.getFileSize();
+                    export.progressed(done);
+                    continue;
+                }
+                try (content) {
+                    ZipEntry entry = new ZipEntry(archiveEntryName(file, entryNames));
+                    if (file.getUploadedAt() != null) entry.setTimeLocal(file.getUploadedAt());
+                    if (file.getDescription() != null && !file.getDescription().isBlank()) {
+                        entry.setComment(file.getDescription());
+                    }
+                    // deflating JPEGs, ZIPs or videos again costs time and saves nothing
+                    zip.setLevel(file.getMimeType() != null && isPrecompressed(file.getMimeType())
+                            ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(entry);
+                    int read;
+                    while ((read = content.read(buffer)) >= 0) {
+                        if (export.isCancelRequested()) {
+                            throw new CancellationException("Export cancelled");
+                        }
+                        zip.write(buffer, 0, read);
+                        done += read;
+                        export.progressed(done);
+                    }
+                    zip.closeEntry();
+                }
+                export.fileDone();
+            }
+        }
+    }
+
+    /**
+     * Streams one file's content into a new file, one buffer at a time.
+     *
+     * @throws CancellationException if the download is cancelled between buffers
+     */
+    private static void writeFile(GroupFile file, Path target, FileExport export) throws IOException {
+        InputStream content;
+        try {
+            content = openContent(file);
+        } catch (NoSuchFileException e) {
+            throw new IOException(file.getFilename() + " was not found on the server", e);
+        }
+        try (content; OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_BYTES];
+            long done = 0;
+            int read;
+            while ((read = content.read(buffer)) >= 0) {
+                if (export.isCancelRequested()) {
+                    throw new CancellationException("Download cancelled");
+                }
+                out.write(buffer, 0, read);
+                done += read;
+                export.progressed(done);
+            }
+        }
+        export.fileDone();
+    }
+
+    /**
+     * Names a file's entry in an export after the file, made safe for a
+     * path and unique within the archive, ignoring case so it extracts
+     * cleanly on Windows and macOS too: a second {@code notes.txt} becomes
+     * {@code notes (2).txt}.
+     */
+    private static String archiveEntryName(GroupFile file, Set<String> taken) {
+        String name = file.getFilename() == null ? "" : file.getFilename().replaceAll("[/\\\\:]", "_").strip();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) name = file.getFileId();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        String candidate = name;
+        for (int copy = 2; !taken.add(candidate.toLowerCase(Locale.ROOT)); copy++) {
+            candidate = stem + " (" + copy + ")" + extension;
+        }
+        return candidate;
+    }
+
+    /**
+     * Uploads the chunks of a file that have not landed yet, then joins
+     * them into a blob and records the file.
+     * <p>
+     * Each chunk is copied to a partial file, forced to disk and renamed
+     * before its checksum is recorded, so every recorded chunk is complete.
+     * Recorded chunks whose file is missing or the wrong size are uploaded
+     * again.
+     *
+     * @return the created GroupFile, or null if the record could not be saved
+     */
+    private GroupFile storeChunked(Path source, UploadManifest manifest, FileUpload progress) throws IOException {
+        Path chunkDir = chunkDirectory(manifest.getUploadId());
+        Files.createDirectories(chunkDir);
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < manifest.getChunkCount(); i++) {
+            Path chunk = chunkDir.resolve(i + CHUNK_SUFFIX);
+            boolean landed = manifest.hasChunk(i) && Files.isRegularFile(chunk)
+                    && Files.size(chunk) == manifest.getChunkLength(i);
+            if (!landed) {
+                manifest.forgetChunk(i);
+                missing.add(i);
+            }
+        }
 
-        // Create group-specific directory
-        Path groupDir = Paths.get(FILE_STORAGE_ROOT, "group_" + groupId);
-        if (!Files.exists(groupDir)) {
-            Files.createDirectories(groupDir);
+        long done = manifest.getLandedBytes();
+        progress.resumedFrom(done);
+        progress.started();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            for (int i : missing) {
+                Path chunk = chunkDir.resolve(i + CHUNK_SUFFIX);
+                Path partial = chunkDir.resolve(i + CHUNK_SUFFIX + PARTIAL_SUFFIX);
+                MessageDigest digest = sha256();
+                in.position(manifest.getChunkOffset(i));
+                try {
+                    if (copyDurably(in, manifest.getChunkLength(i), partial, digest, null, progress, done)
+                            != manifest.getChunkLength(i)) {
+                        throw new IOException("The file was changed during the upload");
+                    }
+                    moveIntoPlace(partial, chunk);
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(partial);
+                    throw e;
+                }
+                String checksum = HexFormat.of().formatHex(digest.digest());
+                if (!groupFileDAO.recordUploadChunk(manifest.getUploadId(), i, checksum)) {
+                    throw new IOException("Chunk " + (i + 1) + " of " + manifest.getChunkCount() + " could not be recorded");
+                }
+                manifest.recordChunk(i, checksum);
+                done += manifest.getChunkLength(i);
+            }
+        }
+
+        String contentHash = verifyChunks(manifest, chunkDir, progress);
+        String mimeType = getMimeType(new File(manifest.getFilename()));
+        // the first chunk is a sample of the file, and unlike the source it is still here on a resume
+        boolean compress = shouldCompress(chunkDir.resolve(0 + CHUNK_SUFFIX), mimeType);
+        GroupFile groupFile = new GroupFile(
+                TimeOrderedId.next(),
+                manifest.getGroupId(),
+                manifest.getUploaderId(),
+                manifest.getFilename(),
+                blobPath(contentHash).toString(),
+                manifest.getSourceSize(),
+                mimeType,
+                LocalDateTime.now(),
+                manifest.getDescription(),
+                contentHash
+        );
+        Path partialPath = Paths.get(FILE_STORAGE_ROOT, BLOB_DIR, INCOMING_DIR, manifest.getUploadId() + PARTIAL_SUFFIX);
+        BlobWriter join = target -> joinChunks(manifest, chunkDir, target, compress);
+        // join outside the lock; content that is already stored needs no copy at all
+        if (!Files.exists(blobPath(contentHash))) {
+            try {
+                join.write(partialPath);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partialPath);
+                throw e;
+            }
+        }
+        return commit(groupFile, partialPath, compress, join);
+    }
+
+    /**
+     * Reads every chunk once, checking it against its recorded checksum and
+     * hashing the whole file on the way. A chunk that fails is deleted so
+     * resuming uploads it again.
+     *
+     * @return the SHA-256 of the whole file in hex
+     * @throws IOException if a chunk does not match its checksum
+     */
+    private static String verifyChunks(UploadManifest manifest, Path chunkDir, FileUpload progress) throws IOException {
+        MessageDigest whole = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        for (int i = 0; i < manifest.getChunkCount(); i++) {
+            if (progress.isCancelRequested()) {
+                throw new CancellationException("Upload cancelled");
+            }
+            Path chunk = chunkDir.resolve(i + CHUNK_SUFFIX);
+            MessageDigest digest = sha256();
+            try (FileChannel in = FileChannel.open(chunk, StandardOpenOption.READ)) {
+                while (in.read(buffer.clear()) >= 0) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    whole.update(buffer);
+                }
+            }
+            if (!HexFormat.of().formatHex(digest.digest()).equals(manifest.getChunkHash(i))) {
+                Files.deleteIfExists(chunk);
+                manifest.forgetChunk(i);
+                throw new IOException("Chunk " + (i + 1) + " of " + manifest.getChunkCount()
+                        + " was damaged on disk; resume the upload to send it again");
+            }
+        }
+        return HexFormat.of().formatHex(whole.digest());
+    }
+
+    /**
+     * Joins the chunks into one file and forces it to disk. Uncompressed,
+     * the bytes move channel to channel with transferTo, so the kernel can
+     * copy them without passing them through the JVM.
+     */
+    private static void joinChunks(UploadManifest manifest, Path chunkDir, Path target, boolean compress)
+            throws IOException {
+        Deflater deflater = compress ? new Deflater() : null;
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = compress ? ByteBuffer.allocateDirect(BUFFER_BYTES) : null;
+            ByteBuffer deflated = compress ? ByteBuffer.allocateDirect(BUFFER_BYTES) : null;
+            for (int i = 0; i < manifest.getChunkCount(); i++) {
+                try (FileChannel in = FileChannel.open(chunkDir.resolve(i + CHUNK_SUFFIX), StandardOpenOption.READ)) {
+                    if (compress) {
+                        while (in.read(buffer.clear()) >= 0) {
+                            // a view, so clearing the buffer for the next read cannot hand the deflater stale input
+                            deflater.setInput(buffer.flip().duplicate());
+                            deflateTo(out, deflater, deflated, false);
+                        }
+                        continue;
+                    }
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            if (compress) deflateTo(out, deflater, deflated, true);
+            out.force(true);
+        } finally {
+            if (deflater != null) deflater.end();
         }
+    }
+
+    private static Path chunkDirectory(String uploadId) {
+        return Paths.get(FILE_STORAGE_ROOT, BLOB_DIR, INCOMING_DIR, uploadId);
+    }
+
+    /** Forgets a chunked upload, deleting its chunks and manifest. */
+    private void discardChunks(UploadManifest manifest) {
+        deleteChunks(manifest.getUploadId());
+        groupFileDAO.deleteUploadManifest(manifest.getUploadId());
+    }
 
-        // Determine file extension
-        String originalFilename = sourceFile.getName();
-        String extension = "";
-        int dotIndex = originalFilename.lastIndexOf('.');
-        if (dotIndex > 0) {
-            extension = originalFilename.substring(dotIndex);
+    private static void deleteChunks(String uploadId) {
+        Path chunkDir = chunkDirectory(uploadId);
+        if (!Files.isDirectory(chunkDir)) return;
+        try (DirectoryStream<Path> chunks = Files.newDirectoryStream(chunkDir)) {
+            for (Path chunk : chunks) Files.deleteIfExists(chunk);
+            Files.deleteIfExists(chunkDir);
+        } catch (IOException e) {
+            System.err.println("Error deleting upload chunks: " + e.getMessage());
         }
+    }
 
-        // Create destination path with unique ID
-        String storedFilename = fileId + extension;
-        Path destinationPath = groupDir.resolve(storedFilename);
+    /** Writes a blob's bytes to a file, for when they are needed after all. */
+    private interface BlobWriter {
+        void write(Path target) throws IOException;
+    }
 
-        // Copy file to storage
-        Files.copy(sourceFile.toPath(), destinationPath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Copies a file into the blob store and records it. The content is
+     * hashed while it is copied; if a blob with the same hash is already
+     * stored, the copy is discarded and the new record shares that blob.
+     *
+     * @param progress receives progress and is checked for cancellation; null for a plain copy
+     * @return the created GroupFile, or null if the record could not be saved
+     */
+    private GroupFile store(int groupId, String uploaderId, File sourceFile, String description,
+                            FileUpload progress) throws IOException {
+        // Generate unique file ID
+        String fileId = TimeOrderedId.next();
 
-        // Determine MIME type
+        // Copy to a partial file, hashing on the way, and only give it its real name once it is on disk
+        Path incomingDir = Paths.get(FILE_STORAGE_ROOT, BLOB_DIR, INCOMING_DIR);
+        Files.createDirectories(incomingDir);
+        Path partialPath = incomingDir.resolve(fileId + PARTIAL_SUFFIX);
         String mimeType = getMimeType(sourceFile);
+        boolean compress = shouldCompress(sourceFile.toPath(), mimeType);
+        MessageDigest digest = sha256();
+        long size;
+        Deflater deflater = compress ? new Deflater() : null;
+        try (FileChannel in = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+            size = copyDurably(in, Long.MAX_VALUE, partialPath, digest, deflater, progress, 0);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partialPath);
+            throw e;
+        } finally {
+            if (deflater != null) deflater.end();
+        }
+        String contentHash = HexFormat.of().formatHex(digest.digest());
 
-        // Create GroupFile entity
         GroupFile groupFile = new GroupFile(
                 fileId,
                 groupId,
                 uploaderId,
-                originalFilename,
-                destinationPath.toString(),
-                sourceFile.length(),
+                sourceFile.getName(),
+                blobPath(contentHash).toString(),
+                size,
                 mimeType,
                 LocalDateTime.now(),
-                description
+                description,
+                contentHash
         );
 
-        // Save to database
-        if (groupFileDAO.addFile(groupFile)) {
-            return groupFile;
-        } else {
-            // Clean up file if database insert failed
-            Files.deleteIfExists(destinationPath);
+        return commit(groupFile, partialPath, compress, target -> {
+            throw new IOException("Copied file went missing: " + target);
+        });
+    }
+
+    /**
+     * Moves a finished copy into the blob store, or drops it if the blob is
+     * already there, and records the file with how its blob is stored.
+     * <p>
+     * Holds the blob lock until the record exists, so a delete cannot remove
+     * a blob it is about to reference.
+     *
+     * @param pending the file to record; its stored size and compression are filled in here
+     * @param partialPath the complete copy on disk, if one was made
+     * @param compressed whether the copy is deflated
+     * @param writer writes the copy if there is none but the blob is needed after all
+     * @return the recorded file, or null if the record could not be saved
+     */
+    private GroupFile commit(GroupFile pending, Path partialPath, boolean compressed, BlobWriter writer)
+            throws IOException {
+        Path blobPath = Paths.get(pending.getFilepath());
+        synchronized (blobLock) {
+            long storedSize;
+            try {
+                // a blob in use is kept however it is stored; one nobody references is replaced
+                GroupFile sharing = Files.exists(blobPath)
+                        ? groupFileDAO.getFileByContentHash(pending.getContentHash()) : null;
+                if (sharing != null) {
+                    Files.deleteIfExists(partialPath);
+                    storedSize = sharing.getStoredSize();
+                    compressed = sharing.isCompressed();
+                } else {
+                    // the blob may have been deleted since the copy was skipped
+                    if (!Files.exists(partialPath)) writer.write(partialPath);
+                    storedSize = Files.size(partialPath);
+                    Files.createDirectories(blobPath.getParent());
+                    moveIntoPlace(partialPath, blobPath);
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partialPath);
+                throw e;
+            }
+
+            GroupFile groupFile = new GroupFile(pending.getFileId(), pending.getGroupId(), pending.getUploaderId(),
+                    pending.getFilename(), pending.getFilepath(), pending.getFileSize(), pending.getMimeType(),
+                    pending.getUploadedAt(), pending.getDescription(), pending.getContentHash(),
+                    storedSize, compressed);
+            // Save to database
+            if (groupFileDAO.addFile(groupFile)) {
+                return groupFile;
+            }
+            // Clean up the blob if no other record uses it
+            releaseBlob(groupFile.getContentHash());
             return null;
         }
     }
 
+    /**
+     * Copies up to {@code limit} bytes from the source channel's position to
+     * a new file in fixed-size pieces, feeding every piece to the digest,
+     * then forces the copy to disk.
+     *
+     * @param deflater compresses the copy, or null to copy the bytes as they are
+     * @param reportedBase bytes of the upload already done, added to the progress reported
+     * @return the number of bytes read from the source
+     * @throws CancellationException if the upload is cancelled between pieces
+     */
+    private static long copyDurably(FileChannel in, long limit, Path target, MessageDigest digest,
+                                    Deflater deflater, FileUpload progress, long reportedBase) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            ByteBuffer deflated = deflater == null ? null : ByteBuffer.allocateDirect(BUFFER_BYTES);
+            long position = 0;
+            while (position < limit) {
+                if (progress != null && progress.isCancelRequested()) {
+                    throw new CancellationException("Upload cancelled");
+                }
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_BYTES, limit - position));
+                int read = in.read(buffer);
+                if (read < 0) break;
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                if (deflater == null) {
+                    while (buffer.hasRemaining()) out.write(buffer);
+                } else {
+                    // a view, so clearing the buffer for the next read cannot hand the deflater stale input
+                    deflater.setInput(buffer.duplicate());
+                    deflateTo(out, deflater, deflated, false);
+                }
+                position += read;
+                if (progress != null) progress.progressed(reportedBase + position);
+            }
+            if (deflater != null) deflateTo(out, deflater, deflated, true);
+            out.force(true);
+            return position;
+        }
+    }
+
+    /**
+     * Writes out what the deflater produces from the input it has been
+     * given: until it needs more input, or, when finishing, until the
+     * stream is complete.
+     */
+    private static void deflateTo(FileChannel out, Deflater deflater, ByteBuffer deflated, boolean finish)
+            throws IOException {
+        if (finish) deflater.finish();
+        while (finish ? !deflater.finished() : !deflater.needsInput()) {
+            deflater.deflate(deflated.clear());
+            deflated.flip();
+            while (deflated.hasRemaining()) out.write(deflated);
+        }
+    }
+
+    /**
+     * Decides whether a file is worth storing compressed. Formats that are
+     * already compressed are skipped outright; for anything else the start
+     * of the file is deflated and the file is compressed only if that
+     * sample shrinks enough.
+     */
+    private boolean shouldCompress(Path file, String mimeType) throws IOException {
+        if (!compressionEnabled || isPrecompressed(mimeType)) return false;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (in.size() < COMPRESSION_MIN_BYTES) return false;
+            ByteBuffer sample = ByteBuffer.allocate((int) Math.min(COMPRESSION_SAMPLE_BYTES, in.size()));
+            while (sample.hasRemaining() && in.read(sample) >= 0) {
+                // fill the sample
+            }
+            sample.flip();
+            int sampled = sample.remaining();
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(sample);
+                deflater.finish();
+                byte[] discard = new byte[8 * 1024];
+                long deflatedBytes = 0;
+                while (!deflater.finished()) {
+                    deflatedBytes += deflater.deflate(discard);
+                }
+                return deflatedBytes <= sampled * COMPRESSION_MAX_RATIO;
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    /** Formats whose content is compressed already, so deflating it again gains next to nothing. */
+    private static boolean isPrecompressed(String mimeType) {
+        if (mimeType.startsWith("audio/")) return !mimeType.equals("audio/wav");
+        return mimeType.startsWith("image/jpeg") || mimeType.startsWith("image/png")
+                || mimeType.startsWith("video/")
+                || mimeType.equals("application/zip")
+                || mimeType.equals("application/pdf")
+                || mimeType.startsWith("application/vnd.openxmlformats");
+    }
+
+    private static void moveIntoPlace(Path partial, Path destination) throws IOException {
+        try {
+            Files.move(partial, destination, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Blobs are spread over subdirectories named by the first two hex digits of their hash. */
+    private static Path blobPath(String contentHash) {
+        return Paths.get(FILE_STORAGE_ROOT, BLOB_DIR, contentHash.substring(0, 2), contentHash);
+    }
+
+    /**
+     * Deletes a blob from disk if no record references it any more.
+     * Callers hold the blob lock.
+     */
+    private void releaseBlob(String contentHash) {
+        if (groupFileDAO.getBlobReferenceCount(contentHash) > 0) return;
+        try {
+            Files.deleteIfExists(blobPath(contentHash));
+        } catch (IOException e) {
+            System.err.println("Error deleting stored blob: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the bytes behind a record that was just removed: its blob if
+     * this was the last reference, or its own copy for files stored before
+     * deduplication. Callers hold the blob lock.
+     */
+    private void releaseStorage(GroupFile file) {
+        if (file.getContentHash() != null) {
+            releaseBlob(file.getContentHash());
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(file.getFilepath()));
+        } catch (IOException e) {
+            System.err.println("Error deleting physical file: " + e.getMessage());
+            // Continue even if physical file deletion fails
+        }
+    }
+
     /**
      * Determines the MIME type of a file based on its extension.
      *
@@ -133,6 +1139,9 @@ public class GroupFileManager {
         if (filename.endsWith(".docx")) return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
         if (filename.endsWith(".txt")) return "text/plain";
         if (filename.endsWith(".rtf")) return "application/rtf";
+        if (filename.endsWith(".md")) return "text/markdown";
+        if (filename.endsWith(".csv")) return "text/csv";
+        if (filename.endsWith(".json")) return "application/json";
 
         // Other common types
         if (filename.endsWith(".zip")) return "application/zip";
@@ -185,19 +1194,14 @@ public class GroupFileManager {
             return false;
         }
 
-        // Delete from database first
-        boolean dbDeleted = groupFileDAO.deleteFile(fileId);
-
-        // Delete physical file
-        try {
-            Path filePath = Paths.get(file.getFilepath());
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            System.err.println("Error deleting physical file: " + e.getMessage());
-            // Continue even if physical file deletion fails
+        synchronized (blobLock) {
+            // Delete from database first, then the bytes if nothing else shares them
+            boolean dbDeleted = groupFileDAO.deleteFile(fileId);
+            if (dbDeleted) {
+                releaseStorage(file);
+            }
+            return dbDeleted;
         }
-
-        return dbDeleted;
     }
 
     /**
@@ -214,20 +1218,17 @@ public class GroupFileManager {
         // Get all files first
         List<GroupFile> files = groupFileDAO.getFilesForGroup(groupId);
 
-        // Delete from database
-        boolean dbDeleted = groupFileDAO.deleteFilesForGroup(groupId);
-
-        // Delete physical files
-        for (GroupFile file : files) {
-            try {
-                Path filePath = Paths.get(file.getFilepath());
-                Files.deleteIfExists(filePath);
-            } catch (IOException e) {
-                System.err.println("Error deleting physical file: " + e.getMessage());
+        synchronized (blobLock) {
+            // Delete from database, then each blob this group held the last reference to
+            if (!groupFileDAO.deleteFilesForGroup(groupId)) {
+                return false;
+            }
+            for (GroupFile file : files) {
+                releaseStorage(file);
             }
         }
 
-        // Try to delete group directory if empty
+        // Try to delete the group directory left by files stored before deduplication
         try {
             Path groupDir = Paths.get(FILE_STORAGE_ROOT, "group_" + groupId);
             if (Files.exists(groupDir) && Files.isDirectory(groupDir)) {
@@ -237,7 +1238,61 @@ public class GroupFileManager {
             // Ignore if directory is not empty or cannot be deleted
         }
 
-        return dbDeleted;
+        return true;
+    }
+
+    /**
+     * Summarises the space group files take, including how much is saved
+     * by storing identical files once.
+     *
+     * @return the storage statistics across all groups
+     */
+    public StorageStats getStorageStats() {
+        return groupFileDAO.getStorageStats();
+    }
+
+    /**
+     * Gets how much a group's files take up, broken down by uploader and
+     * MIME type. Reads counters kept as files are added and deleted rather
+     * than listing the group's files.
+     *
+     * @param groupId the group ID
+     * @return the group's usage
+     */
+    public StorageUsage getStorageUsage(int groupId) {
+        if (groupId <= 0) {
+            throw new IllegalArgumentException("Invalid group ID: " + groupId);
+        }
+        return groupFileDAO.getStorageUsage(groupId);
+    }
+
+    /**
+     * Gets the storage limits set for a group.
+     *
+     * @param groupId the group ID
+     * @return the group's quota, unlimited if none is set
+     */
+    public StorageQuota getStorageQuota(int groupId) {
+        if (groupId <= 0) {
+            throw new IllegalArgumentException("Invalid group ID: " + groupId);
+        }
+        return groupFileDAO.getStorageQuota(groupId);
+    }
+
+    /**
+     * Sets a group's storage limits. Files already stored are kept even if
+     * they exceed the new limits; only later uploads are refused.
+     *
+     * @param groupId the group ID
+     * @param maxGroupBytes the most bytes the group may hold, or {@link StorageQuota#UNLIMITED}
+     * @param maxUserBytes the most bytes each member may upload to the group, or {@link StorageQuota#UNLIMITED}
+     * @return true if the quota was saved, false otherwise
+     */
+    public boolean setStorageQuota(int groupId, long maxGroupBytes, long maxUserBytes) {
+        if (groupId <= 0) {
+            throw new IllegalArgumentException("Invalid group ID: " + groupId);
+        }
+        return groupFileDAO.setStorageQuota(new StorageQuota(groupId, maxGroupBytes, maxUserBytes));
     }
 
     /**
@@ -254,18 +1309,31 @@ public class GroupFileManager {
     }
 
     /**
-     * Gets the physical file for download.
+     * Opens the content of a file for reading, inflating it on the fly if
+     * it is stored compressed.
      *
      * @param fileId the file ID
-     * @return the File object, or null if not found
+     * @return a stream of the file's content, or null if not found
+     * @throws IOException if the stored file cannot be opened
      */
-    public File getPhysicalFile(String fileId) {
+    public InputStream openFile(String fileId) throws IOException {
         GroupFile groupFile = groupFileDAO.getFileById(fileId);
-        if (groupFile == null) {
+        if (groupFile == null || !Files.exists(Paths.get(groupFile.getFilepath()))) {
             return null;
         }
+        return openContent(groupFile);
+    }
 
-        File file = new File(groupFile.getFilepath());
-        return file.exists() ? file : null;
+    /**
+     * Opens the stored content of a file record, inflating it on the fly
+     * if it is stored compressed. The caller closes the stream.
+     *
+     * @param file the file record
+     * @return a stream of the file's content as uploaded
+     * @throws IOException if the stored file cannot be opened
+     */
+    public static InputStream openContent(GroupFile file) throws IOException {
+        InputStream stored = new BufferedInputStream(Files.newInputStream(Paths.get(file.getFilepath())), 64 * 1024);
+        return file.isCompressed() ? new InflaterInputStream(stored) : stored;
     }
 }
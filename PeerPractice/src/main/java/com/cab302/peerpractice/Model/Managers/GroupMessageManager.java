@@ -1,9 +1,15 @@
 package com.cab302.peerpractice.Model.Managers;
 
+import com.cab302.peerpractice.Exceptions.InsufficientPermissionsException;
+import com.cab302.peerpractice.Model.DAOs.IGroupDAO;
 import com.cab302.peerpractice.Model.DAOs.IGroupMessageDAO;
+import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
+import com.cab302.peerpractice.Model.Entities.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -12,23 +18,60 @@ import java.util.Objects;
  */
 public class GroupMessageManager extends MessageManager<GroupMessage> {
 
+    /** Maximum number of hits returned by a message search. */
+    public static final int SEARCH_LIMIT = 50;
+    /** Number of messages loaded on each side of a search hit when jumping to it. */
+    public static final int JUMP_PAGE_RADIUS = 25;
+
     private final IGroupMessageDAO groupMessageDAO;
+    private final IGroupDAO groupDAO;
 
     public GroupMessageManager(IGroupMessageDAO groupMessageDAO) {
+        this(groupMessageDAO, null);
+    }
+
+    /**
+     * Creates a manager that can enforce group membership on searches.
+     *
+     * @param groupMessageDAO the message DAO
+     * @param groupDAO the group DAO used for membership checks
+     */
+    public GroupMessageManager(IGroupMessageDAO groupMessageDAO, IGroupDAO groupDAO) {
+        this(groupMessageDAO, groupDAO, null);
+    }
+
+    /**
+     * Creates a manager that enforces membership and can send in the background.
+     *
+     * @param groupMessageDAO the message DAO
+     * @param groupDAO the group DAO used for membership checks
+     * @param outbox the background writer for asynchronous sends
+     */
+    public GroupMessageManager(IGroupMessageDAO groupMessageDAO, IGroupDAO groupDAO, MessageOutbox outbox) {
+        super(outbox);
         this.groupMessageDAO = Objects.requireNonNull(groupMessageDAO, "GroupMessageDAO cannot be null");
+        this.groupDAO = groupDAO;
     }
 
     @Override
     public String sendMessage(GroupMessage message) {
+        validateOutgoing(message);
+
+        boolean added = groupMessageDAO.addMessage(message);
+        if (!added) {
+            throw new IllegalStateException("Failed to send message");
+        }
+        return message.getMessageId();
+    }
+
+    @Override
+    protected void validateOutgoing(GroupMessage message) {
         if (message == null) {
             throw new IllegalArgumentException("Message cannot be null");
         }
         if (message.getGroupId() <= 0) {
             throw new IllegalArgumentException("Invalid group ID: " + message.getGroupId());
         }
-
-        groupMessageDAO.addMessage(message);
-        return message.getMessageId();
     }
 
     @Override
@@ -73,4 +116,110 @@ public class GroupMessageManager extends MessageManager<GroupMessage> {
         }
         return groupMessageDAO.deleteMessagesForGroup(groupId);
     }
+
+    /**
+     * Searches messages in every group the user belongs to.
+     *
+     * @param user the searching user
+     * @param query the raw search text
+     * @return matching messages with highlighted snippets, most relevant first
+     */
+    public List<MessageSearchResult<GroupMessage>> searchMessages(User user, String query) {
+        requireMembershipSource();
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        List<Integer> groupIds = groupDAO.searchByUser(user).stream().map(Group::getID).toList();
+        return groupMessageDAO.searchMessages(groupIds, query, SEARCH_LIMIT);
+    }
+
+    /**
+     * Searches messages within a single group the user belongs to.
+     *
+     * @param user the searching user
+     * @param groupId the group to search
+     * @param query the raw search text
+     * @return matching messages with highlighted snippets, most relevant first
+     * @throws InsufficientPermissionsException if the user is not a member of the group
+     */
+    public List<MessageSearchResult<GroupMessage>> searchMessages(User user, int groupId, String query) {
+        requireMember(user, groupId);
+        return groupMessageDAO.searchMessages(List.of(groupId), query, SEARCH_LIMIT);
+    }
+
+    /**
+     * Loads the page of a group's history surrounding a message, used to jump
+     * to a search hit.
+     *
+     * @param user the user viewing the chat
+     * @param groupId the group the message belongs to
+     * @param messageId the message to centre on
+     * @return the surrounding messages in chronological order
+     * @throws InsufficientPermissionsException if the user is not a member of the group
+     */
+    public List<GroupMessage> getMessagesAround(User user, int groupId, String messageId) {
+        if (messageId == null || messageId.isBlank()) {
+            throw new IllegalArgumentException("Message ID cannot be null or blank");
+        }
+        requireMember(user, groupId);
+        return groupMessageDAO.getMessagesAround(groupId, messageId, JUMP_PAGE_RADIUS, JUMP_PAGE_RADIUS);
+    }
+
+    /**
+     * Marks a group as read by the user up to its newest message.
+     *
+     * @param user the reading user
+     * @param groupId the group being read
+     * @return true if the read state was recorded
+     * @throws InsufficientPermissionsException if the user is not a member of the group
+     */
+    public boolean markGroupRead(User user, int groupId) {
+        requireMember(user, groupId);
+        return groupMessageDAO.markGroupRead(groupId, user.getUsername());
+    }
+
+    /**
+     * Gets the user's unread counter for each of their groups.
+     *
+     * @param user the reading user
+     * @return unread counts keyed by group ID, omitting groups with none
+     */
+    public Map<Integer, Integer> getUnreadCounts(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        return groupMessageDAO.getUnreadCounts(user.getUsername());
+    }
+
+    /**
+     * Gets the number of unread messages across all of the user's groups.
+     *
+     * @param user the reading user
+     * @return the total unread group messages
+     */
+    public int getTotalUnreadCount(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        return groupMessageDAO.getTotalUnreadCount(user.getUsername());
+    }
+
+    private void requireMember(User user, int groupId) {
+        requireMembershipSource();
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        if (groupId <= 0) {
+            throw new IllegalArgumentException("Invalid group ID: " + groupId);
+        }
+        if (!groupDAO.isUserMemberOfGroup(groupId, user.getUserId())) {
+            throw new InsufficientPermissionsException("You are not a member of this group");
+        }
+    }
+
+    private void requireMembershipSource() {
+        if (groupDAO == null) {
+            throw new IllegalStateException("This operation requires a GroupDAO for membership checks");
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.cab302.peerpractice.Model.Managers;
 import com.cab302.peerpractice.Model.Entities.Message;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Base class for message managers (group or friend).
@@ -10,11 +11,60 @@ import java.util.List;
  */
 public abstract class MessageManager<T extends Message> {
 
+    private final MessageOutbox outbox;
+
+    protected MessageManager() {
+        this(null);
+    }
+
+    /**
+     * @param outbox the background writer used by {@link #sendMessageAsync}, may be null
+     */
+    protected MessageManager(MessageOutbox outbox) {
+        this.outbox = outbox;
+    }
+
     /**
      * Send a message (validates and delegates to DAO).
      */
     public abstract String sendMessage(T message);
 
+    /**
+     * Checks that a message can be sent, throwing IllegalArgumentException if not.
+     */
+    protected abstract void validateOutgoing(T message);
+
+    /**
+     * Send a message without blocking the caller.
+     * <p>
+     * The message is validated immediately and then written on the outbox
+     * thread; the returned handle starts as sending and the listener is told
+     * when it becomes sent or failed.
+     *
+     * @param message the message to send
+     * @param listener notified on each delivery state change, may be null
+     * @return the tracked outgoing message
+     * @throws IllegalArgumentException if the message is invalid
+     */
+    public OutgoingMessage<T> sendMessageAsync(T message, Consumer<OutgoingMessage<T>> listener) {
+        validateOutgoing(message);
+        return requireOutbox().submit(message, m -> sendMessage(m) != null, listener);
+    }
+
+    /**
+     * Queue another attempt for a message that failed to send.
+     */
+    public void retrySend(OutgoingMessage<T> outgoing) {
+        requireOutbox().retry(outgoing);
+    }
+
+    private MessageOutbox requireOutbox() {
+        if (outbox == null) {
+            throw new IllegalStateException("Asynchronous sending requires a MessageOutbox");
+        }
+        return outbox;
+    }
+
     /**
      * Get all messages for a given user or group.
      */
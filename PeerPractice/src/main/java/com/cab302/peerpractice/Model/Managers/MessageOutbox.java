@@ -0,0 +1,106 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.Entities.Message;
+import com.cab302.peerpractice.Model.ValueObjects.DeliveryState;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Background writer for outgoing chat messages.
+ * <p>
+ * Sends return immediately with an {@link OutgoingMessage} in the
+ * {@link DeliveryState#SENDING} state so the UI can show the message right
+ * away; the database write happens on a single dedicated thread. Using one
+ * thread keeps writes in submission order, so rapid sends are stored in the
+ * order they were typed.
+ */
+public class MessageOutbox {
+
+    private final ExecutorService writer;
+
+    public MessageOutbox() {
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "message-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queues a message for writing.
+     *
+     * @param message the message to store
+     * @param persist writes the message, returning true on success
+     * @param listener notified on each state change, may be null
+     * @param <T> the message type
+     * @return the tracked message, initially {@link DeliveryState#SENDING}
+     */
+    public <T extends Message> OutgoingMessage<T> submit(T message, Predicate<T> persist,
+                                                         Consumer<OutgoingMessage<T>> listener) {
+        OutgoingMessage<T> outgoing = new OutgoingMessage<>(message, persist, listener);
+        enqueue(outgoing);
+        return outgoing;
+    }
+
+    /**
+     * Queues another attempt for a message whose last write failed.
+     * Messages that are already sending or sent are left alone.
+     *
+     * @param outgoing the failed message
+     */
+    public void retry(OutgoingMessage<?> outgoing) {
+        if (outgoing == null || outgoing.getState() != DeliveryState.FAILED) return;
+        outgoing.update(DeliveryState.SENDING);
+        enqueue(outgoing);
+    }
+
+    /**
+     * Waits until everything queued so far has been attempted.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @return true if the queue drained in time
+     */
+    public boolean awaitIdle(long timeoutMillis) {
+        try {
+            Future<?> marker = writer.submit(() -> { });
+            marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return writer.isTerminated();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting messages and gives queued writes a chance to finish.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(OutgoingMessage<?> outgoing) {
+        try {
+            writer.execute(outgoing::deliver);
+        } catch (RejectedExecutionException e) {
+            outgoing.fail("Message outbox is shut down");
+        }
+    }
+}
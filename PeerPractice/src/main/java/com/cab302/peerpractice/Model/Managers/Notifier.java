@@ -6,12 +6,15 @@ import com.cab302.peerpractice.Model.DAOs.IUserDAO;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class Notifier {
 
     private final IUserDAO userDAO;
     private final IFriendDAO friendDAO;
+    private final List<Consumer<Reminder>> reminderListeners = new CopyOnWriteArrayList<>();
 
     public Notifier(IUserDAO userDAO, IFriendDAO friendDAO){
         this.userDAO = userDAO;
@@ -149,6 +152,37 @@ public class Notifier {
         return userDAO.markNotificationAsRead(user, notification);
     }
 
+    /**
+     * Register a listener for reminders, such as the popup shown to the signed-in user
+     * @param listener Called on the scheduler thread for every reminder sent
+     */
+    public void addReminderListener(Consumer<Reminder> listener) {
+        if (listener != null) reminderListeners.add(listener);
+    }
+
+    /**
+     * Remove a reminder listener
+     * @param listener The listener to remove
+     */
+    public void removeReminderListener(Consumer<Reminder> listener) {
+        reminderListeners.remove(listener);
+    }
+
+    /**
+     * Send a reminder to every registered listener. Reminders are not stored
+     * in the notifications table, which only holds requests that need an answer.
+     * @param reminder The reminder to send
+     */
+    public void sendReminder(Reminder reminder) {
+        for (Consumer<Reminder> listener : reminderListeners) {
+            try {
+                listener.accept(reminder);
+            } catch (RuntimeException e) {
+                System.err.println("Reminder listener failed: " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Mark all notifications as read for a user
      * @param user The user
@@ -0,0 +1,86 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.Entities.Message;
+import com.cab302.peerpractice.Model.ValueObjects.DeliveryState;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A message handed to the {@link MessageOutbox}, tracking its delivery state.
+ * <p>
+ * The listener is notified on every state change. Notifications come from
+ * the outbox writer thread (or the thread calling retry), so UI code must
+ * hop back onto the FX thread itself.
+ *
+ * @param <T> the message type (group or friend)
+ */
+public class OutgoingMessage<T extends Message> {
+    private final T message;
+    private final Predicate<T> writer;
+    private final Consumer<OutgoingMessage<T>> listener;
+    private volatile DeliveryState state = DeliveryState.SENDING;
+    private volatile String error;
+
+    OutgoingMessage(T message, Predicate<T> writer, Consumer<OutgoingMessage<T>> listener) {
+        this.message = Objects.requireNonNull(message, "Message cannot be null");
+        this.writer = Objects.requireNonNull(writer, "Writer cannot be null");
+        this.listener = listener;
+    }
+
+    public T getMessage() {
+        return message;
+    }
+
+    public DeliveryState getState() {
+        return state;
+    }
+
+    /**
+     * Reason for the last failed attempt, or null if none has failed.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Attempts the write once and records the outcome.
+     */
+    void deliver() {
+        try {
+            if (writer.test(message)) {
+                error = null;
+                update(DeliveryState.SENT);
+            } else {
+                fail("Message could not be saved");
+            }
+        } catch (RuntimeException e) {
+            fail(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    void fail(String reason) {
+        error = reason;
+        update(DeliveryState.FAILED);
+    }
+
+    void update(DeliveryState newState) {
+        state = newState;
+        if (listener != null) {
+            try {
+                listener.accept(this);
+            } catch (RuntimeException e) {
+                System.err.println("Outgoing message listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OutgoingMessage{" +
+                "messageId='" + message.getMessageId() + '\'' +
+                ", state=" + state +
+                '}';
+    }
+}
@@ -0,0 +1,245 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.DAOs.ISessionCalendarDAO;
+import com.cab302.peerpractice.Model.DAOs.ISessionTaskDAO;
+import com.cab302.peerpractice.Model.Entities.Reminder;
+import com.cab302.peerpractice.Model.Entities.Session;
+import com.cab302.peerpractice.Model.Entities.SessionTask;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends reminders shortly before sessions start and tasks fall due.
+ * <p>
+ * Pending reminders sit in a queue ordered by when they should fire, and a
+ * single timer sleeps until the earliest one. Upcoming sessions and tasks
+ * are read from the start time and deadline indexes one window at a time:
+ * everything before the loaded horizon is already queued, and the next
+ * window is read just before the horizon comes within a reminder's lead
+ * time. Between loads the queue is kept current by the session calendar
+ * and task managers, which report every change, so nothing is rescanned.
+ * <p>
+ * Reminders are delivered through {@link Notifier#sendReminder(Reminder)}.
+ */
+public class ReminderScheduler {
+    /** How long before a session starts its reminder fires. */
+    public static final Duration SESSION_LEAD = Duration.ofMinutes(15);
+    /** How long before a task is due its reminder fires. */
+    public static final Duration TASK_LEAD = Duration.ofHours(1);
+    /** How far past the current lead time each load reads ahead. */
+    private static final Duration WINDOW = Duration.ofHours(12);
+    private static final Duration MAX_LEAD = TASK_LEAD.compareTo(SESSION_LEAD) > 0 ? TASK_LEAD : SESSION_LEAD;
+
+    private final ISessionCalendarDAO sessions;
+    private final ISessionTaskDAO tasks;
+    private final Notifier notifier;
+    private final Clock clock;
+
+    private final NavigableSet<Reminder> queue = new TreeSet<>(
+            Comparator.comparing(Reminder::getFireAt).thenComparing(Reminder::getKey));
+    private final Map<String, Reminder> pending = new HashMap<>();
+    /** Sessions and tasks before this time are queued; null until started. */
+    private LocalDateTime horizon;
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> wakeup;
+
+    public ReminderScheduler(ISessionCalendarDAO sessions, ISessionTaskDAO tasks, Notifier notifier) {
+        this(sessions, tasks, notifier, Clock.systemDefaultZone());
+    }
+
+    public ReminderScheduler(ISessionCalendarDAO sessions, ISessionTaskDAO tasks, Notifier notifier, Clock clock) {
+        this.sessions = sessions;
+        this.tasks = tasks;
+        this.notifier = notifier;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the first window of upcoming sessions and tasks and starts the
+     * timer. Does nothing if already running.
+     */
+    public synchronized void start() {
+        if (timer != null) return;
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reminder-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        LocalDateTime now = now();
+        horizon = now;
+        extendHorizon(now);
+        arm(now);
+    }
+
+    /**
+     * Stops the timer and drops every pending reminder.
+     */
+    public void stop() {
+        ScheduledExecutorService stopped;
+        synchronized (this) {
+            stopped = timer;
+            timer = null;
+            if (wakeup != null) wakeup.cancel(false);
+            wakeup = null;
+            queue.clear();
+            pending.clear();
+            horizon = null;
+        }
+        if (stopped != null) stopped.shutdownNow();
+    }
+
+    public synchronized boolean isRunning() {
+        return timer != null;
+    }
+
+    /**
+     * Queues or moves the reminder for a session that was added or changed.
+     */
+    public synchronized void sessionChanged(Session session) {
+        if (session == null || session.getSessionId() == null) return;
+        cancel(Reminder.Kind.SESSION_START + ":" + session.getSessionId());
+        if (isQueueable(session.getStartTime())) enqueue(Reminder.forSession(session, SESSION_LEAD));
+        arm(now());
+    }
+
+    /**
+     * Drops the reminder for a session that was removed.
+     */
+    public synchronized void sessionRemoved(String sessionId) {
+        if (cancel(Reminder.Kind.SESSION_START + ":" + sessionId)) arm(now());
+    }
+
+    /**
+     * Queues or moves the reminder for a task that was added or changed;
+     * completing a task drops it.
+     */
+    public synchronized void taskChanged(SessionTask task) {
+        if (task == null) return;
+        cancel(Reminder.Kind.TASK_DUE + ":" + task.getTaskId());
+        if (!task.isCompleted() && isQueueable(task.getDeadline())) enqueue(Reminder.forTask(task, TASK_LEAD));
+        arm(now());
+    }
+
+    /**
+     * Drops the reminder for a task that was removed.
+     */
+    public synchronized void taskRemoved(String taskId) {
+        if (cancel(Reminder.Kind.TASK_DUE + ":" + taskId)) arm(now());
+    }
+
+    /**
+     * Drops every pending reminder and reads the current window again, for
+     * bulk changes such as clearing the calendar.
+     */
+    public synchronized void reload() {
+        if (horizon == null) return;
+        queue.clear();
+        pending.clear();
+        LocalDateTime now = now();
+        horizon = now;
+        extendHorizon(now);
+        arm(now);
+    }
+
+    /**
+     * Delivers every reminder whose time has come and reads the next window
+     * if the horizon is close. The timer calls this; it returns at once if
+     * the scheduler is not running.
+     *
+     * @return the number of reminders delivered
+     */
+    public int fireDue() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            if (horizon == null) return 0;
+            LocalDateTime now = now();
+            if (!now.isBefore(horizon.minus(MAX_LEAD))) extendHorizon(now);
+            while (!queue.isEmpty() && !queue.first().getFireAt().isAfter(now)) {
+                Reminder reminder = queue.pollFirst();
+                pending.remove(reminder.getKey());
+                due.add(reminder);
+            }
+            arm(now);
+        }
+        // deliver outside the lock so listeners can call back into the managers
+        for (Reminder reminder : due) notifier.sendReminder(reminder);
+        return due.size();
+    }
+
+    /**
+     * Returns the pending reminders, earliest first.
+     */
+    public synchronized List<Reminder> getPendingReminders() {
+        return new ArrayList<>(queue);
+    }
+
+    /**
+     * Returns when the earliest pending reminder fires.
+     *
+     * @return the fire time, or null if nothing is pending
+     */
+    public synchronized LocalDateTime getNextFireTime() {
+        return queue.isEmpty() ? null : queue.first().getFireAt();
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /** Whether an event belongs in the queue now rather than in a later window. */
+    private boolean isQueueable(LocalDateTime eventTime) {
+        return horizon != null && eventTime != null
+                && !eventTime.isBefore(now()) && eventTime.isBefore(horizon);
+    }
+
+    /** Reads sessions and tasks from the horizon up to a full window past the lead time. */
+    private void extendHorizon(LocalDateTime now) {
+        LocalDateTime to = now.plus(MAX_LEAD).plus(WINDOW);
+        if (!to.isAfter(horizon)) return;
+        for (Session session : sessions.getSessionsStartingBetween(horizon, to)) {
+            enqueue(Reminder.forSession(session, SESSION_LEAD));
+        }
+        for (SessionTask task : tasks.getOpenTasksDueBetween(horizon, to)) {
+            enqueue(Reminder.forTask(task, TASK_LEAD));
+        }
+        horizon = to;
+    }
+
+    private void enqueue(Reminder reminder) {
+        cancel(reminder.getKey());
+        pending.put(reminder.getKey(), reminder);
+        queue.add(reminder);
+    }
+
+    private boolean cancel(String key) {
+        Reminder existing = pending.remove(key);
+        if (existing == null) return false;
+        queue.remove(existing);
+        return true;
+    }
+
+    /** Sets the timer for the earliest reminder, or for the next window load if that comes first. */
+    private void arm(LocalDateTime now) {
+        if (timer == null) return;
+        if (wakeup != null) wakeup.cancel(false);
+        LocalDateTime next = horizon.minus(MAX_LEAD);
+        if (!queue.isEmpty() && queue.first().getFireAt().isBefore(next)) {
+            next = queue.first().getFireAt();
+        }
+        long delay = Math.max(0, Duration.between(now, next).toMillis());
+        wakeup = timer.schedule(this::fireDue, delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -4,18 +4,43 @@ import com.cab302.peerpractice.Model.DAOs.ISessionCalendarDAO;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.LruCache;
+import com.cab302.peerpractice.Model.ValueObjects.IntervalIndex;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
+import com.cab302.peerpractice.Model.ValueObjects.TimeRange;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Manager for session calendar logic. Wraps an ISessionCalendarDAO
  * so the underlying storage (DB or in-memory) can be swapped easily.
  */
 public class SessionCalendarManager {
+    private static final int SESSION_CACHE_SIZE = 256;
+
     private final ISessionCalendarDAO storage;
     private SessionTaskManager sessionTaskManager;
+    private ReminderScheduler reminderScheduler;
+    /**
+     * Overlap indexes built on first use, keyed by group ID and by user ID.
+     * They are kept in step only with writes made through this manager;
+     * sessions changed by other means, such as another manager instance or
+     * a direct edit to the database, are not seen until the manager is
+     * recreated or {@link #clearAllSessions} runs.
+     */
+    private final Map<Integer, IntervalIndex<Session>> groupIndexes = new HashMap<>();
+    private final Map<String, IntervalIndex<Session>> userIndexes = new HashMap<>();
+    /** Recently used sessions by ID, so task operations do not reload their session each time; never handed out directly. */
+    private final LruCache<String, Session> sessionsById = new LruCache<>(SESSION_CACHE_SIZE);
 
     public SessionCalendarManager(ISessionCalendarDAO storage) {
         this.storage = storage;
@@ -30,27 +55,53 @@ public class SessionCalendarManager {
         try {
             Session session = new Session(title, organiser, startTime, endTime);
             session.setColorLabel(colorLabel);
-            return storage.addSession(session);
+            return addSession(session);
         } catch (Exception e) {
             return false;
         }
     }
 
+    public void setReminderScheduler(ReminderScheduler reminderScheduler) {
+        this.reminderScheduler = reminderScheduler;
+    }
+
     public boolean addSession(Session session) {
-        return storage.addSession(session);
+        boolean added = storage.addSession(session);
+        // adding an existing ID replaces the stored session
+        if (session != null) sessionsById.remove(session.getSessionId());
+        if (added) {
+            index(session);
+            if (reminderScheduler != null) reminderScheduler.sessionChanged(session);
+        }
+        return added;
     }
 
     public boolean addSession(Session session, Group group) {
         if (session != null) {
             session.setGroup(group);
         }
-        return storage.addSession(session);
+        return addSession(session);
     }
 
     public List<Session> getAllSessions() {
         return storage.getAllSessions();
     }
 
+    /**
+     * Finds a session by ID, from the cache when it was used recently and
+     * otherwise by primary key. Sessions changed through this manager are
+     * evicted, so the cache never serves an outdated copy of them. Each
+     * caller gets its own copy, so editing one before saving it cannot
+     * change what other callers see.
+     *
+     * @param sessionId the ID to look up
+     * @return a copy of the session, or null if none has that ID
+     */
+    public Session getSessionById(String sessionId) {
+        Session session = sessionsById.get(sessionId, storage::getSessionById);
+        return session == null ? null : session.copy();
+    }
+
     public List<Session> getSessionsForDate(LocalDate date) {
         return storage.getSessionsForDate(date);
     }
@@ -73,15 +124,34 @@ public class SessionCalendarManager {
         if (session != null && session.getSessionId() != null && sessionTaskManager != null) {
             sessionTaskManager.deleteAllTasksForSession(session.getSessionId());
         }
-        return storage.removeSession(session);
+        boolean removed = storage.removeSession(session);
+        if (removed) sessionRemoved(session);
+        if (session != null) sessionsById.remove(session.getSessionId());
+        return removed;
     }
 
     public boolean updateSession(Session oldSession, Session newSession) {
-        return storage.updateSession(oldSession, newSession);
+        boolean updated = storage.updateSession(oldSession, newSession);
+        if (oldSession != null) sessionsById.remove(oldSession.getSessionId());
+        if (updated) {
+            unindex(oldSession);
+            // the stored row keeps the old ID, so index the stored copy when there is one
+            Session stored = getSessionById(oldSession.getSessionId());
+            index(stored != null ? stored : newSession);
+            if (reminderScheduler != null) {
+                reminderScheduler.sessionRemoved(oldSession.getSessionId());
+                reminderScheduler.sessionChanged(stored != null ? stored : newSession);
+            }
+        }
+        return updated;
     }
 
     public void clearAllSessions() {
         storage.clearAllSessions();
+        sessionsById.clear();
+        groupIndexes.clear();
+        userIndexes.clear();
+        if (reminderScheduler != null) reminderScheduler.reload();
     }
 
     public int getSessionCount() {
@@ -96,7 +166,36 @@ public class SessionCalendarManager {
         if (session != null && session.getSessionId() != null && sessionTaskManager != null) {
             sessionTaskManager.deleteAllTasksForSession(session.getSessionId());
         }
-        storage.removeSession(session);
+        if (storage.removeSession(session)) sessionRemoved(session);
+        if (session != null) sessionsById.remove(session.getSessionId());
+    }
+
+    /**
+     * Asks for a seat in a session. The storage claims the seat atomically,
+     * so a full session puts the user on its waitlist instead of overbooking.
+     *
+     * @return whether the user joined, is waiting, or the session is gone
+     */
+    public SeatReservation joinSession(Session session, User user) {
+        if (session == null || user == null) return SeatReservation.NOT_FOUND;
+        SeatReservation result = storage.reserveSeat(session.getSessionId(), user.getUserId());
+        if (result != SeatReservation.NOT_FOUND) seatsChanged(session);
+        return result;
+    }
+
+    /**
+     * Gives up a seat or waitlist place; the first person waiting takes any
+     * seat that opens. The organiser cannot leave their own session.
+     */
+    public boolean leaveSession(Session session, User user) {
+        if (session == null || user == null || user.equals(session.getOrganiser())) return false;
+        boolean left = storage.releaseSeat(session.getSessionId(), user.getUserId());
+        if (left) seatsChanged(session);
+        return left;
+    }
+
+    public List<String> getWaitlist(Session session) {
+        return session == null ? new ArrayList<>() : storage.getWaitlist(session.getSessionId());
     }
 
     public List<Session> getSessionsForGroup(Group group) {
@@ -106,4 +205,120 @@ public class SessionCalendarManager {
     public List<Session> getSessionsForDateAndGroup(LocalDate date, Group group) {
         return storage.getSessionsForDateAndGroup(date, group);
     }
+
+    /**
+     * Loads a group's sessions for a date range in one query and buckets them
+     * by start day, so a calendar grid can render every cell from the map.
+     *
+     * @param group the group whose sessions to load
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the last day of the range (inclusive)
+     * @return sessions keyed by day in date order; days without sessions are absent
+     */
+    public Map<LocalDate, List<Session>> getSessionsByDayForGroup(Group group, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, List<Session>> byDay = new TreeMap<>();
+        for (Session session : storage.getSessionsForGroupInRange(group, startDate, endDate)) {
+            byDay.computeIfAbsent(session.getStartTime().toLocalDate(), d -> new ArrayList<>()).add(session);
+        }
+        return byDay;
+    }
+
+    /**
+     * Finds sessions that would clash with a candidate session: sessions in
+     * the same group, or involving any of its participants, whose times
+     * overlap. The candidate itself is ignored, so an edited session does not
+     * conflict with its previous version.
+     *
+     * @param candidate the session about to be created or saved
+     * @return the clashing sessions in start-time order
+     */
+    public List<Session> findConflictingSessions(Session candidate) {
+        return findConflictingSessions(candidate, null);
+    }
+
+    /**
+     * Finds sessions that would clash with an edited session, ignoring the
+     * stored session it is about to replace.
+     *
+     * @param candidate the edited session
+     * @param replacing the stored session being edited, or null
+     * @return the clashing sessions in start-time order
+     */
+    public List<Session> findConflictingSessions(Session candidate, Session replacing) {
+        if (candidate == null) return List.of();
+        TimeRange range = new TimeRange(candidate.getStartTime(), candidate.getEndTime());
+        Set<Session> conflicts = new LinkedHashSet<>();
+        if (candidate.getGroup() != null) {
+            conflicts.addAll(groupIndex(candidate.getGroup()).overlapping(range));
+        }
+        for (User participant : candidate.getParticipants()) {
+            conflicts.addAll(userIndex(participant).overlapping(range));
+        }
+        conflicts.remove(candidate);
+        if (replacing != null) conflicts.remove(replacing);
+        List<Session> ordered = new ArrayList<>(conflicts);
+        ordered.sort(Comparator.comparing(Session::getStartTime));
+        return ordered;
+    }
+
+    /**
+     * Checks whether a user is already booked into a session during a time range.
+     *
+     * @param user the user to check
+     * @param range the time range to test
+     * @return true if any of the user's sessions overlap the range
+     */
+    public boolean isUserBooked(User user, TimeRange range) {
+        return user != null && range != null && userIndex(user).overlapsAny(range);
+    }
+
+    private IntervalIndex<Session> groupIndex(Group group) {
+        return groupIndexes.computeIfAbsent(group.getID(), id -> build(storage.getSessionsForGroup(group)));
+    }
+
+    private IntervalIndex<Session> userIndex(User user) {
+        return userIndexes.computeIfAbsent(user.getUserId(), id -> build(storage.getSessionsForUser(user)));
+    }
+
+    private static IntervalIndex<Session> build(List<Session> sessions) {
+        IntervalIndex<Session> index = new IntervalIndex<>();
+        for (Session s : sessions) index.put(new TimeRange(s.getStartTime(), s.getEndTime()), s);
+        return index;
+    }
+
+    /** Adds a stored session to every index already built for its group or participants. */
+    private void index(Session session) {
+        if (session == null) return;
+        TimeRange range = new TimeRange(session.getStartTime(), session.getEndTime());
+        if (session.getGroupId() != null) {
+            IntervalIndex<Session> index = groupIndexes.get(session.getGroupId());
+            if (index != null) index.put(range, session);
+        }
+        for (User participant : session.getParticipants()) {
+            IntervalIndex<Session> index = userIndexes.get(participant.getUserId());
+            if (index != null) index.put(range, session);
+        }
+    }
+
+    /** Refreshes the cache, indexes and reminder after participants changed in storage. */
+    private void seatsChanged(Session session) {
+        sessionsById.remove(session.getSessionId());
+        unindex(session);
+        Session stored = getSessionById(session.getSessionId());
+        if (stored == null) return;
+        index(stored);
+        if (reminderScheduler != null) reminderScheduler.sessionChanged(stored);
+    }
+
+    private void sessionRemoved(Session session) {
+        unindex(session);
+        if (reminderScheduler != null) reminderScheduler.sessionRemoved(session.getSessionId());
+    }
+
+    /** Removes a session from every built index; its old group and participants may be unknown. */
+    private void unindex(Session session) {
+        if (session == null) return;
+        groupIndexes.values().forEach(index -> index.remove(session));
+        userIndexes.values().forEach(index -> index.remove(session));
+    }
 }
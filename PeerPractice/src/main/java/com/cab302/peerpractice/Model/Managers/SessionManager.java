@@ -68,7 +68,8 @@ public class SessionManager {
 
     public Session findSessionById(String sessionId) {
         if (sessionId == null) return null;
-        for (Session session : getAllSessions()) {
+        if (calendarManager != null) return calendarManager.getSessionById(sessionId);
+        for (Session session : sessions) {
             if (sessionId.equals(session.getSessionId())) {
                 return session;
             }
@@ -79,7 +80,7 @@ public class SessionManager {
     public List<Session> getSessionsForGroup(Group group) {
         if (calendarManager != null) return calendarManager.getSessionsForGroup(group);
         List<Session> groupSessions = new ArrayList<>();
-        for (Session session : sessions) if (session.getGroup() != null && session.getGroup().equals(group)) groupSessions.add(session);
+        for (Session session : sessions) if (group != null && session.getGroupId() != null && session.getGroupId() == group.getID()) groupSessions.add(session);
         return groupSessions;
     }
 
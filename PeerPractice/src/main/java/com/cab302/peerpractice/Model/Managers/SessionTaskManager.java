@@ -2,11 +2,18 @@ package com.cab302.peerpractice.Model.Managers;
 
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.TaskDashboardEntry;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.DAOs.ISessionTaskDAO;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * Manages session tasks with proper validation and permission checks.
@@ -16,12 +23,17 @@ public class SessionTaskManager {
 
     private final ISessionTaskDAO storage;
     private final SessionManager sessionManager;
+    private ReminderScheduler reminderScheduler;
 
     public SessionTaskManager(ISessionTaskDAO storage, SessionManager sessionManager) {
         this.storage = storage;
         this.sessionManager = sessionManager;
     }
 
+    public void setReminderScheduler(ReminderScheduler reminderScheduler) {
+        this.reminderScheduler = reminderScheduler;
+    }
+
     /**
      * Creates a new task for a session, validating session existence and participants.
      */
@@ -42,6 +54,7 @@ public class SessionTaskManager {
 
         SessionTask task = new SessionTask(sessionId, title, deadline, assigneeId, createdBy);
         storage.addTask(task);
+        if (reminderScheduler != null) reminderScheduler.taskChanged(task);
         return task;
     }
 
@@ -80,6 +93,7 @@ public class SessionTaskManager {
         );
 
         if (storage.updateTask(updatedTask)) {
+            if (reminderScheduler != null) reminderScheduler.taskChanged(updatedTask);
             return updatedTask;
         } else {
             throw new IllegalStateException("Failed to update task");
@@ -97,7 +111,9 @@ public class SessionTaskManager {
             throw new IllegalArgumentException("Only the task creator or assignee can delete this task");
         }
 
-        return storage.removeTask(taskId);
+        boolean removed = storage.removeTask(taskId);
+        if (removed && reminderScheduler != null) reminderScheduler.taskRemoved(taskId);
+        return removed;
     }
 
     /**
@@ -112,7 +128,115 @@ public class SessionTaskManager {
         }
 
         task.setCompleted(true);
-        return storage.updateTask(task);
+        boolean updated = storage.updateTask(task);
+        if (updated && reminderScheduler != null) reminderScheduler.taskRemoved(taskId);
+        return updated;
+    }
+
+    // ---------------- Batch operations ----------------
+
+    /**
+     * Marks several tasks as completed in one transaction. Only the assignee
+     * can complete a task, so this fails without changing anything if any
+     * of them belongs to someone else.
+     *
+     * @return the number of tasks completed
+     */
+    public int completeTasks(Collection<String> taskIds, String completedBy) {
+        List<SessionTask> tasks = loadAll(taskIds);
+        for (SessionTask task : tasks) {
+            if (!task.getAssigneeId().equals(completedBy)) {
+                throw new IllegalArgumentException("Only the assignee can mark \"" + task.getTitle() + "\" as completed");
+            }
+        }
+        List<SessionTask> completing = tasks.stream().filter(t -> !t.isCompleted()).toList();
+        if (completing.isEmpty()) return 0;
+        completing.forEach(t -> t.setCompleted(true));
+        if (!storage.updateTasks(completing)) throw new IllegalStateException("Failed to complete tasks");
+        if (reminderScheduler != null) completing.forEach(t -> reminderScheduler.taskRemoved(t.getTaskId()));
+        return completing.size();
+    }
+
+    /**
+     * Assigns several tasks to one participant in one transaction. The new
+     * assignee and the user making the change must both take part in every
+     * affected session.
+     *
+     * @return the number of tasks reassigned
+     */
+    public int reassignTasks(Collection<String> taskIds, String assigneeId, String updatedBy) {
+        return updateAll(taskIds, updatedBy, assigneeId, task -> new SessionTask(task.getTaskId(), task.getSessionId(),
+                task.getTitle(), task.getDeadline(), assigneeId, task.getCreatedBy(), task.getCreatedAt(), task.isCompleted()));
+    }
+
+    /**
+     * Moves several tasks to a new deadline in one transaction. The user
+     * making the change must take part in every affected session.
+     *
+     * @return the number of tasks rescheduled
+     */
+    public int rescheduleTasks(Collection<String> taskIds, LocalDateTime deadline, String updatedBy) {
+        if (deadline == null) throw new IllegalArgumentException("Deadline cannot be null");
+        if (deadline.isBefore(LocalDateTime.now())) throw new IllegalArgumentException("Deadline cannot be in the past");
+        return updateAll(taskIds, updatedBy, null, task -> new SessionTask(task.getTaskId(), task.getSessionId(),
+                task.getTitle(), deadline, task.getAssigneeId(), task.getCreatedBy(), task.getCreatedAt(), task.isCompleted()));
+    }
+
+    /**
+     * Deletes several tasks in one transaction. Each task can only be deleted
+     * by its creator or assignee; if any cannot, nothing is deleted.
+     *
+     * @return the number of tasks deleted
+     */
+    public int deleteTasks(Collection<String> taskIds, String deletedBy) {
+        List<SessionTask> tasks = loadAll(taskIds);
+        for (SessionTask task : tasks) {
+            if (!task.getCreatedBy().equals(deletedBy) && !task.getAssigneeId().equals(deletedBy)) {
+                throw new IllegalArgumentException("Only the task creator or assignee can delete \"" + task.getTitle() + "\"");
+            }
+        }
+        List<String> ids = tasks.stream().map(SessionTask::getTaskId).toList();
+        if (!storage.removeTasks(ids)) throw new IllegalStateException("Failed to delete tasks");
+        if (reminderScheduler != null) ids.forEach(reminderScheduler::taskRemoved);
+        return ids.size();
+    }
+
+    /**
+     * Loads every requested task in one lookup, failing if any is missing so
+     * a batch never applies to only part of what the user selected.
+     */
+    private List<SessionTask> loadAll(Collection<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) throw new IllegalArgumentException("No tasks selected");
+        Set<String> wanted = new LinkedHashSet<>(taskIds);
+        List<SessionTask> tasks = storage.getTasksByIds(wanted);
+        if (tasks.size() != wanted.size()) throw new IllegalArgumentException("Task not found");
+        return tasks;
+    }
+
+    /**
+     * Validates and writes a batch of edits. Each session is looked up once,
+     * however many of its tasks are in the batch.
+     */
+    private int updateAll(Collection<String> taskIds, String updatedBy, String assigneeId,
+                          UnaryOperator<SessionTask> edit) {
+        List<SessionTask> tasks = loadAll(taskIds);
+        Map<String, Session> sessions = new HashMap<>();
+        for (SessionTask task : tasks) {
+            Session session = sessions.computeIfAbsent(task.getSessionId(), this::findSessionById);
+            if (session == null) {
+                throw new IllegalArgumentException("Session not found");
+            }
+            if (assigneeId != null && !isUserParticipant(session, assigneeId)) {
+                throw new IllegalArgumentException("Assignee must be a participant in the session");
+            }
+            if (!isUserParticipant(session, updatedBy)) {
+                throw new IllegalArgumentException("Only session participants can update tasks");
+            }
+        }
+        List<SessionTask> updated = tasks.stream().map(edit).toList();
+        if (!storage.updateTasks(updated)) throw new IllegalStateException("Failed to update tasks");
+        if (reminderScheduler != null) updated.forEach(reminderScheduler::taskChanged);
+        return updated.size();
     }
 
     // ---------------- Retrieval methods ----------------
@@ -128,8 +252,21 @@ public class SessionTaskManager {
         return storage.getOverdueTasks();
     }
 
+    /**
+     * Lists the user's open tasks across all their sessions and groups, with
+     * everything the "my tasks" view shows, from a single storage query.
+     */
+    public List<TaskDashboardEntry> getTaskDashboard(String userId) {
+        return storage.getTaskDashboard(userId, LocalDateTime.now());
+    }
+
     public boolean deleteAllTasksForSession(String sessionId) {
-        return storage.removeAllTasksForSession(sessionId);
+        List<SessionTask> removing = reminderScheduler != null ? storage.getTasksForSession(sessionId) : List.of();
+        boolean removed = storage.removeAllTasksForSession(sessionId);
+        if (removed) {
+            for (SessionTask task : removing) reminderScheduler.taskRemoved(task.getTaskId());
+        }
+        return removed;
     }
 
     // ---------------- Helper methods ----------------
@@ -0,0 +1,650 @@
+package com.cab302.peerpractice.Model.Managers;
+
+import com.cab302.peerpractice.Model.DAOs.IGroupFileDAO;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.ValueObjects.ReconcileReport;
+import com.cab302.peerpractice.Model.ValueObjects.StoredBlob;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds and repairs group file storage that has fallen out of step with
+ * the file records: blobs no record references, records whose blob is gone,
+ * blobs whose content no longer matches their hash, and partial uploads
+ * left behind when the app stopped part way.
+ * <p>
+ * Each pass walks the storage tree and the records side by side in sorted
+ * order. Records are read a page at a time and directories one at a time,
+ * so memory stays bounded however many files are stored. Content is read
+ * back at a limited rate so a pass can run while the app is in use.
+ * <p>
+ * Nothing found on disk is deleted straight away. Orphaned and damaged
+ * files are moved to {@code quarantine} under the storage root and kept
+ * for {@link #QUARANTINE_RETENTION}; a missing blob whose copy is still in
+ * quarantine is put back. Records are never removed by a pass: records
+ * whose file cannot be found anywhere are listed in the report, and only
+ * {@link #removeLostRecords} deletes them, when asked to. A pass stops
+ * straight away if the storage root or blob store is missing while records
+ * still point into it, since that usually means the app was started from
+ * another directory or the storage is not mounted, not that every file was
+ * lost. Repairs to the blob store hold the file manager's blob lock, so
+ * they never race an upload or delete.
+ */
+public class StorageReconciler {
+    /** How often the background reconciler runs. */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofHours(6);
+    /** How fast content is read back to check it against its hash. */
+    public static final long DEFAULT_BYTES_PER_SECOND = 4L * 1024 * 1024;
+    /** How long quarantined files are kept before they are deleted. */
+    public static final Duration QUARANTINE_RETENTION = Duration.ofDays(30);
+    /** How long after a partial upload was last written it is treated as abandoned. */
+    private static final Duration UPLOAD_GRACE = Duration.ofHours(1);
+    /** Delay before the first background run, so it does not compete with start-up. */
+    private static final Duration FIRST_RUN_DELAY = Duration.ofMinutes(10);
+
+    static final String QUARANTINE_DIR = "quarantine";
+    /** Quarantine subdirectories for blobs nothing referenced, damaged blobs, and older per-file copies. */
+    private static final String ORPHAN_DIR = "orphans";
+    private static final String CORRUPT_DIR = "corrupt";
+    private static final String FILES_DIR = "files";
+    /** Directories under the storage root holding files stored before deduplication. */
+    private static final String LEGACY_DIR_PREFIX = "group_";
+    private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}");
+    private static final int PAGE_SIZE = 500;
+    private static final int BUFFER_BYTES = 256 * 1024;
+
+    private final IGroupFileDAO groupFileDAO;
+    private final Path root;
+    private final Object blobLock;
+    private final Predicate<String> uploadActive;
+    private final long bytesPerSecond;
+    /** Held for a whole pass, so two never run at once. */
+    private final Object runLock = new Object();
+
+    private ScheduledExecutorService timer;
+    private volatile ReconcileReport lastReport;
+
+    /**
+     * Creates a reconciler. {@link GroupFileManager#createReconciler()}
+     * creates one for the app's own storage.
+     *
+     * @param groupFileDAO the file records
+     * @param root the storage root holding the blob store
+     * @param blobLock the lock held while blobs and their records are added or removed
+     * @param uploadActive tells whether an upload ID belongs to an upload running now
+     * @param bytesPerSecond the most bytes read per second to verify content, or 0 for no limit
+     */
+    public StorageReconciler(IGroupFileDAO groupFileDAO, Path root, Object blobLock,
+                             Predicate<String> uploadActive, long bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new IllegalArgumentException("Read rate cannot be negative");
+        }
+        this.groupFileDAO = groupFileDAO;
+        this.root = root;
+        this.blobLock = blobLock;
+        this.uploadActive = uploadActive;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Runs a pass every interval on a low-priority background thread, the
+     * first a few minutes from now. Does nothing if already running.
+     *
+     * @param interval the time from the end of one pass to the start of the next
+     */
+    public synchronized void start(Duration interval) {
+        if (timer != null) return;
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "storage-reconciler");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile(true);
+            } catch (RuntimeException e) {
+                // keep the schedule going; the next pass starts afresh
+                System.err.println("Error reconciling file storage: " + e.getMessage());
+            }
+        }, FIRST_RUN_DELAY.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background runs, interrupting a pass in progress.
+     */
+    public void stop() {
+        ScheduledExecutorService stopped;
+        synchronized (this) {
+            stopped = timer;
+            timer = null;
+        }
+        if (stopped != null) stopped.shutdownNow();
+    }
+
+    public synchronized boolean isRunning() {
+        return timer != null;
+    }
+
+    /**
+     * Gets the report of the last pass to finish or be stopped.
+     *
+     * @return the report, or null if no pass has run
+     */
+    public ReconcileReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Runs one pass over the whole store on the calling thread. An
+     * interrupt stops the pass after the file it is on.
+     *
+     * @param verifyContent whether to read every blob back and check it
+     *                      against its hash, rather than only its size
+     * @return what the pass found and repaired
+     */
+    public ReconcileReport reconcile(boolean verifyContent) {
+        synchronized (runLock) {
+            Pass pass = new Pass(verifyContent);
+            boolean completed = false;
+            try {
+                if (storageMissing()) {
+                    throw new IOException("file storage not found at " + root.toAbsolutePath());
+                }
+                reconcileBlobs(pass);
+                reconcileUnhashedFiles(pass);
+                removeStaleUploads(pass);
+                purgeQuarantine(pass);
+                completed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // the storage or a directory in it could not be read, so what is missing cannot be told
+                System.err.println("Error reconciling file storage: " + e.getMessage());
+                pass.errors++;
+            }
+            ReconcileReport report = pass.report(completed);
+            lastReport = report;
+            return report;
+        }
+    }
+
+    /**
+     * Deletes the records a pass found lost, once an administrator has
+     * decided their files are not coming back. Each one is checked again
+     * first, so a file that has reappeared or been replaced since the pass
+     * keeps its record. Does nothing while the storage itself is missing.
+     *
+     * @param report the pass whose lost records to delete
+     * @return the number of records deleted
+     */
+    public int removeLostRecords(ReconcileReport report) {
+        synchronized (runLock) {
+            if (report == null || storageMissing()) return 0;
+            int removed = 0;
+            for (String hash : report.getLostBlobs()) {
+                Path blob = root.resolve(GroupFileManager.BLOB_DIR).resolve(hash.substring(0, 2)).resolve(hash);
+                synchronized (blobLock) {
+                    if (!Files.exists(blob)) removed += groupFileDAO.deleteFilesByContentHash(hash);
+                }
+            }
+            for (String fileId : report.getLostFiles()) {
+                GroupFile file = groupFileDAO.getFileById(fileId);
+                if (file != null && file.getContentHash() == null && !Files.exists(Paths.get(file.getFilepath()))
+                        && groupFileDAO.deleteFile(fileId)) {
+                    removed++;
+                }
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Checks whether the storage root or blob store is gone while records
+     * still point into it.
+     */
+    private boolean storageMissing() {
+        if (!Files.isDirectory(root)) {
+            return !groupFileDAO.getBlobsAfter(null, 1).isEmpty()
+                    || !groupFileDAO.getUnhashedFilesAfter(null, 1).isEmpty();
+        }
+        return !Files.isDirectory(root.resolve(GroupFileManager.BLOB_DIR))
+                && !groupFileDAO.getBlobsAfter(null, 1).isEmpty();
+    }
+
+    /**
+     * Compares the blob directories with the blob table. Both are in hash
+     * order: directories are named by the first two digits, and their
+     * entries are sorted as they are read.
+     */
+    private void reconcileBlobs(Pass pass) throws IOException, InterruptedException {
+        Path blobs = root.resolve(GroupFileManager.BLOB_DIR);
+        PagedCursor<StoredBlob> records = new PagedCursor<>(
+                after -> groupFileDAO.getBlobsAfter(after, PAGE_SIZE), StoredBlob::getHash);
+        for (Path prefixDir : sortedEntries(blobs)) {
+            String prefix = prefixDir.getFileName().toString();
+            if (!Files.isDirectory(prefixDir) || prefix.equals(GroupFileManager.INCOMING_DIR)) continue;
+            for (Path blob : sortedEntries(prefixDir)) {
+                if (Files.isDirectory(blob)) continue;
+                pass.checkpoint();
+                String name = blob.getFileName().toString();
+                if (!BLOB_NAME.matcher(name).matches() || !name.startsWith(prefix)) {
+                    // not a blob at all, so nothing can reference it
+                    pass.attempt(() -> quarantine(blob, quarantineDir(ORPHAN_DIR).resolve(prefix + "-" + name)),
+                            () -> pass.orphansQuarantined++);
+                    continue;
+                }
+                while (records.hasNext() && records.peekKey().compareTo(name) < 0) {
+                    StoredBlob missing = records.next();
+                    pass.attempt(() -> repairMissingBlob(pass, missing), () -> { });
+                }
+                if (records.hasNext() && records.peekKey().equals(name)) {
+                    StoredBlob recorded = records.next();
+                    pass.attempt(() -> checkBlob(pass, blob, recorded), () -> { });
+                } else {
+                    pass.attempt(() -> quarantineOrphanBlob(pass, blob, name), () -> { });
+                }
+            }
+        }
+        while (records.hasNext()) {
+            pass.checkpoint();
+            StoredBlob missing = records.next();
+            pass.attempt(() -> repairMissingBlob(pass, missing), () -> { });
+        }
+    }
+
+    private void checkBlob(Pass pass, Path blob, StoredBlob recorded) throws IOException, InterruptedException {
+        pass.blobsChecked++;
+        String hash = recorded.getHash();
+        boolean intact = Files.size(blob) == recorded.getStoredSize()
+                && (!pass.verifyContent || hash.equals(hashOf(pass, blob, recorded.isCompressed())));
+        if (intact) return;
+        synchronized (blobLock) {
+            if (!Files.exists(blob)) return; // released while it was being read
+            quarantine(blob, quarantineDir(CORRUPT_DIR).resolve(hash));
+            pass.corruptQuarantined++;
+        }
+        repairMissingBlob(pass, recorded);
+    }
+
+    private void quarantineOrphanBlob(Pass pass, Path blob, String hash) throws IOException {
+        synchronized (blobLock) {
+            // an upload may have recorded it since the page was read
+            if (groupFileDAO.getBlobReferenceCount(hash) > 0 || !Files.exists(blob)) return;
+            quarantine(blob, quarantineDir(ORPHAN_DIR).resolve(hash));
+            pass.orphansQuarantined++;
+        }
+    }
+
+    /**
+     * Puts back a referenced blob that is not on disk from the orphans in
+     * quarantine, checking it first; if there is no good copy, reports it
+     * lost and leaves its records alone.
+     */
+    private void repairMissingBlob(Pass pass, StoredBlob missing) throws IOException, InterruptedException {
+        String hash = missing.getHash();
+        Path blob = root.resolve(GroupFileManager.BLOB_DIR).resolve(hash.substring(0, 2)).resolve(hash);
+        Path kept = quarantineDir(ORPHAN_DIR).resolve(hash);
+        // read outside the lock so a slow check does not hold up uploads
+        boolean restorable = Files.isRegularFile(kept) && hash.equals(hashOf(pass, kept, missing.isCompressed()));
+        synchronized (blobLock) {
+            // an upload may have stored it again, or the last record been deleted, since the page was read
+            if (Files.exists(blob) || groupFileDAO.getBlobReferenceCount(hash) == 0) return;
+            if (restorable && Files.isRegularFile(kept)) {
+                Files.createDirectories(blob.getParent());
+                Files.move(kept, blob, StandardCopyOption.REPLACE_EXISTING);
+                pass.blobsRestored++;
+            } else {
+                pass.lostBlobs.add(hash);
+            }
+        }
+    }
+
+    /**
+     * Compares the directories of files stored before deduplication with
+     * their records. Records are in path order, and a depth-first walk
+     * with sorted entries visits paths in the same order.
+     */
+    private void reconcileUnhashedFiles(Pass pass) throws IOException, InterruptedException {
+        PagedCursor<GroupFile> records = new PagedCursor<>(
+                after -> groupFileDAO.getUnhashedFilesAfter(after, PAGE_SIZE), GroupFile::getFilepath);
+        for (Path dir : sortedEntries(root)) {
+            if (Files.isDirectory(dir) && dir.getFileName().toString().startsWith(LEGACY_DIR_PREFIX)) {
+                walkUnhashedFiles(pass, dir, records);
+            }
+        }
+        while (records.hasNext()) {
+            pass.checkpoint();
+            GroupFile missing = records.next();
+            pass.attempt(() -> repairMissingFile(pass, missing), () -> { });
+        }
+    }
+
+    private void walkUnhashedFiles(Pass pass, Path dir, PagedCursor<GroupFile> records)
+            throws IOException, InterruptedException {
+        for (Path entry : sortedEntries(dir)) {
+            if (Files.isDirectory(entry)) {
+                walkUnhashedFiles(pass, entry, records);
+                continue;
+            }
+            pass.checkpoint();
+            String path = entry.toString();
+            while (records.hasNext() && records.peekKey().compareTo(path) < 0) {
+                GroupFile missing = records.next();
+                pass.attempt(() -> repairMissingFile(pass, missing), () -> { });
+            }
+            if (records.hasNext() && records.peekKey().equals(path)) {
+                records.next();
+                pass.blobsChecked++;
+            } else {
+                pass.attempt(() -> quarantine(entry, quarantineDir(FILES_DIR).resolve(root.relativize(entry))),
+                        () -> pass.orphansQuarantined++);
+            }
+        }
+    }
+
+    /**
+     * Handles a record of an older per-file copy that the walk did not
+     * find: it may be stored elsewhere, or have been quarantined, and
+     * otherwise it is reported lost.
+     */
+    private void repairMissingFile(Pass pass, GroupFile file) throws IOException {
+        Path path = Paths.get(file.getFilepath());
+        if (Files.exists(path)) {
+            pass.blobsChecked++;
+            return;
+        }
+        Path absoluteRoot = root.toAbsolutePath().normalize();
+        Path absolute = path.toAbsolutePath().normalize();
+        Path kept = absolute.startsWith(absoluteRoot)
+                ? quarantineDir(FILES_DIR).resolve(absoluteRoot.relativize(absolute).toString())
+                : null;
+        if (kept != null && Files.isRegularFile(kept)) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.move(kept, path);
+            pass.blobsRestored++;
+        } else {
+            pass.lostFiles.add(file.getFileId());
+        }
+    }
+
+    /**
+     * Deletes partial copies and chunk directories that no running or
+     * resumable upload owns and that have not been written for a while.
+     */
+    private void removeStaleUploads(Pass pass) throws IOException, InterruptedException {
+        Path incoming = root.resolve(GroupFileManager.BLOB_DIR).resolve(GroupFileManager.INCOMING_DIR);
+        Instant cutoff = Instant.now().minus(UPLOAD_GRACE);
+        for (Path entry : sortedEntries(incoming)) {
+            pass.checkpoint();
+            String name = entry.getFileName().toString();
+            String uploadId = name.endsWith(GroupFileManager.PARTIAL_SUFFIX)
+                    ? name.substring(0, name.length() - GroupFileManager.PARTIAL_SUFFIX.length())
+                    : name;
+            pass.attempt(() -> {
+                if (uploadActive.test(uploadId) || Files.getLastModifiedTime(entry).toInstant().isAfter(cutoff)) return;
+                if (Files.isDirectory(entry)) {
+                    // chunks stay while their manifest does, so the upload can resume
+                    if (groupFileDAO.getUploadManifest(uploadId) != null) return;
+                    deleteTree(entry);
+                } else {
+                    Files.deleteIfExists(entry);
+                }
+                pass.staleUploadsRemoved++;
+            }, () -> { });
+        }
+    }
+
+    /**
+     * Deletes quarantined files older than the retention period, and any
+     * directories that leaves empty.
+     */
+    private void purgeQuarantine(Pass pass) throws IOException {
+        Path quarantine = root.resolve(QUARANTINE_DIR);
+        if (!Files.isDirectory(quarantine)) return;
+        Instant cutoff = Instant.now().minus(QUARANTINE_RETENTION);
+        Files.walkFileTree(quarantine, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.lastModifiedTime().toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    pass.quarantinePurged++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (!dir.equals(quarantine)) {
+                    try (Stream<Path> left = Files.list(dir)) {
+                        if (left.findAny().isEmpty()) Files.delete(dir);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private Path quarantineDir(String kind) {
+        return root.resolve(QUARANTINE_DIR).resolve(kind);
+    }
+
+    /**
+     * Moves a file into quarantine, dating it now so it is kept for the
+     * full retention period however old it was.
+     */
+    private static void quarantine(Path file, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> entries = Files.walk(dir)) {
+            for (Path entry : entries.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    /**
+     * Lists a directory in walk order. A directory sorts as if its name
+     * ended in a separator, so every path under it sorts together, and a
+     * depth-first walk visits full paths in string order.
+     *
+     * @return the entries, or none if the directory does not exist
+     */
+    private static List<Path> sortedEntries(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries
+                    .map(entry -> Map.entry(Files.isDirectory(entry)
+                            ? entry.getFileName() + entry.getFileSystem().getSeparator()
+                            : entry.getFileName().toString(), entry))
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(Map.Entry::getValue)
+                    .toList();
+        }
+    }
+
+    /**
+     * Hashes the content of a stored file, inflating it first if it is
+     * compressed. The read budget is spent on the bytes read from disk.
+     *
+     * @return the hash, or null if a compressed file does not inflate
+     */
+    private String hashOf(Pass pass, Path file, boolean compressed) throws IOException, InterruptedException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        Inflater inflater = compressed ? new Inflater() : null;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = in.read(pass.buffer.clear())) >= 0) {
+                pass.buffer.flip();
+                if (inflater == null) {
+                    digest.update(pass.buffer);
+                } else {
+                    inflater.setInput(pass.buffer);
+                    while (!inflater.needsInput() && !inflater.finished()) {
+                        int inflated = inflater.inflate(pass.inflated.clear());
+                        if (inflated == 0 && inflater.needsDictionary()) return null;
+                        digest.update(pass.inflated.flip());
+                    }
+                }
+                pass.throttle(read);
+            }
+            if (inflater != null && !inflater.finished()) return null; // truncated
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            if (inflater != null) inflater.end();
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /** A step of a pass that touches one file. */
+    private interface FileStep {
+        void run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * The counters and read budget of one pass.
+     */
+    private final class Pass {
+        final boolean verifyContent;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        /** Inflated content of compressed blobs on its way to the digest. */
+        final ByteBuffer inflated = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        /** The time by which the bytes read so far are allowed, in System.nanoTime terms. */
+        long readAllowedUntil = System.nanoTime();
+        int blobsChecked;
+        long bytesVerified;
+        int orphansQuarantined;
+        int corruptQuarantined;
+        int blobsRestored;
+        final List<String> lostBlobs = new ArrayList<>();
+        final List<String> lostFiles = new ArrayList<>();
+        int staleUploadsRemoved;
+        int quarantinePurged;
+        int errors;
+
+        Pass(boolean verifyContent) {
+            this.verifyContent = verifyContent;
+        }
+
+        void checkpoint() throws InterruptedException {
+            if (Thread.interrupted()) throw new InterruptedException("Storage reconciliation stopped");
+        }
+
+        /**
+         * Sleeps as needed to keep reads under the rate. Time spent on other
+         * work only builds up a second's allowance, so reads never burst.
+         */
+        void throttle(int bytes) throws InterruptedException {
+            bytesVerified += bytes;
+            if (bytesPerSecond == 0) return;
+            long now = System.nanoTime();
+            readAllowedUntil = Math.max(readAllowedUntil, now - TimeUnit.SECONDS.toNanos(1))
+                    + bytes * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+            if (readAllowedUntil > now) TimeUnit.NANOSECONDS.sleep(readAllowedUntil - now);
+        }
+
+        /**
+         * Runs a step, counting a failure as an error so the pass carries on with the next file.
+         *
+         * @param onSuccess runs if the step completes
+         */
+        void attempt(FileStep step, Runnable onSuccess) throws InterruptedException {
+            try {
+                step.run();
+                onSuccess.run();
+            } catch (IOException e) {
+                System.err.println("Error reconciling file storage: " + e.getMessage());
+                errors++;
+            }
+        }
+
+        ReconcileReport report(boolean completed) {
+            return new ReconcileReport(blobsChecked, bytesVerified, orphansQuarantined, corruptQuarantined,
+                    blobsRestored, lostBlobs, lostFiles, staleUploadsRemoved, quarantinePurged, errors, completed);
+        }
+    }
+
+    /**
+     * Iterates over rows read a page at a time, each page continuing from
+     * the key of the last row of the one before.
+     */
+    private static final class PagedCursor<T> {
+        private final Function<String, List<T>> pages;
+        private final Function<T, String> key;
+        private Iterator<T> page = Collections.emptyIterator();
+        private T next;
+        private String lastKey;
+        private boolean exhausted;
+
+        PagedCursor(Function<String, List<T>> pages, Function<T, String> key) {
+            this.pages = pages;
+            this.key = key;
+        }
+
+        boolean hasNext() {
+            fill();
+            return next != null;
+        }
+
+        String peekKey() {
+            fill();
+            return next == null ? null : key.apply(next);
+        }
+
+        T next() {
+            fill();
+            T row = next;
+            next = null;
+            return row;
+        }
+
+        private void fill() {
+            if (next != null || exhausted) return;
+            if (!page.hasNext()) {
+                List<T> loaded = pages.apply(lastKey);
+                if (loaded.isEmpty()) {
+                    exhausted = true;
+                    return;
+                }
+                page = loaded.iterator();
+            }
+            next = page.next();
+            lastKey = key.apply(next);
+        }
+    }
+}
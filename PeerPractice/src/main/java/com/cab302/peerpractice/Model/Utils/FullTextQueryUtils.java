@@ -0,0 +1,87 @@
+package com.cab302.peerpractice.Model.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Helpers for turning free-form search box input into SQLite FTS5 queries.
+ * <p>
+ * User input is never passed to {@code MATCH} directly: FTS5 treats characters
+ * such as {@code "}, {@code *}, {@code :} and words like {@code AND}/{@code NEAR}
+ * as syntax, so a stray quote would otherwise raise an SQL error. Each term is
+ * quoted instead, and the final term becomes a prefix query so results update
+ * while the user is still typing.
+ */
+public class FullTextQueryUtils {
+
+    private FullTextQueryUtils() { /* prevent instantiation */ }
+
+    /**
+     * Splits search input into lower-cased terms using the same rule as the
+     * FTS5 {@code unicode61} tokenizer (letters and digits form tokens).
+     *
+     * @param input raw search text, may be null
+     * @return the search terms in input order, empty if there are none
+     */
+    public static List<String> tokenize(String input) {
+        List<String> terms = new ArrayList<>();
+        if (input == null) return terms;
+
+        StringBuilder current = new StringBuilder();
+        input.codePoints().forEach(cp -> {
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else if (current.length() > 0) {
+                terms.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+        });
+        if (current.length() > 0) {
+            terms.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return terms;
+    }
+
+    /**
+     * Builds a safe FTS5 match expression requiring every term, with the last
+     * term treated as a prefix.
+     *
+     * @param input raw search text, may be null
+     * @return the match expression, or null if the input contains no terms
+     */
+    public static String toMatchExpression(String input) {
+        List<String> terms = tokenize(input);
+        if (terms.isEmpty()) return null;
+
+        StringBuilder expr = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) expr.append(' ');
+            expr.append('"').append(terms.get(i)).append('"');
+            if (i == terms.size() - 1) expr.append('*');
+        }
+        return expr.toString();
+    }
+
+    /**
+     * In-memory equivalent of {@link #toMatchExpression(String)} used by the
+     * mock DAOs: every term must appear in the text, the last one as a prefix.
+     *
+     * @param text  the text to test
+     * @param input raw search text
+     * @return true if the text satisfies the query
+     */
+    public static boolean matches(String text, String input) {
+        List<String> terms = tokenize(input);
+        if (terms.isEmpty() || text == null) return false;
+
+        List<String> words = tokenize(text);
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean prefix = i == terms.size() - 1;
+            boolean found = words.stream().anyMatch(w -> prefix ? w.startsWith(term) : w.equals(term));
+            if (!found) return false;
+        }
+        return true;
+    }
+}
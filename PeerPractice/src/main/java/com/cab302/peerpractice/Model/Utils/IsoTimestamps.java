@@ -0,0 +1,86 @@
+package com.cab302.peerpractice.Model.Utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Decodes the timestamps the DAOs store as text.
+ * <p>
+ * Every DAO writes {@link LocalDateTime#toString()}, so stored values have
+ * fixed positions: {@code yyyy-MM-ddTHH:mm}, optionally followed by
+ * {@code :ss} and a fraction of one to nine digits. These are decoded by
+ * reading digits at those positions, which avoids the general
+ * {@code DateTimeFormatter} machinery behind {@link LocalDateTime#parse}.
+ * Anything else, such as a value written by hand with a space separator,
+ * falls back to the standard parser so it fails or succeeds exactly as
+ * before.
+ */
+public final class IsoTimestamps {
+
+    private IsoTimestamps() { /* prevent instantiation */ }
+
+    /**
+     * Decodes a stored date-time.
+     *
+     * @param text the stored value, or null
+     * @return the date-time, or null if the value is null
+     * @throws java.time.format.DateTimeParseException if the value is not a date-time
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        if (text == null) return null;
+        int len = text.length();
+        if (len < 16 || !shape(text, 10, 'T') || !shape(text, 13, ':') || !isDate(text)) {
+            return LocalDateTime.parse(text);
+        }
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = 0;
+        int nano = 0;
+        if (len > 16) {
+            if (len < 19 || !shape(text, 16, ':')) return LocalDateTime.parse(text);
+            second = digits(text, 17, 2);
+            if (len > 19) {
+                int fraction = len - 20;
+                if (!shape(text, 19, '.') || fraction < 1 || fraction > 9) return LocalDateTime.parse(text);
+                nano = digits(text, 20, fraction);
+                for (int i = fraction; i < 9; i++) nano *= 10;
+            }
+        }
+        if ((hour | minute | second | nano) < 0) return LocalDateTime.parse(text);
+        return LocalDateTime.of(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2),
+                hour, minute, second, nano);
+    }
+
+    /**
+     * Decodes a stored date.
+     *
+     * @param text the stored value, or null
+     * @return the date, or null if the value is null
+     * @throws java.time.format.DateTimeParseException if the value is not a date
+     */
+    public static LocalDate parseDate(String text) {
+        if (text == null) return null;
+        if (text.length() != 10 || !isDate(text)) return LocalDate.parse(text);
+        return LocalDate.of(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2));
+    }
+
+    private static boolean isDate(String text) {
+        return shape(text, 4, '-') && shape(text, 7, '-')
+                && digits(text, 0, 4) >= 0 && digits(text, 5, 2) >= 0 && digits(text, 8, 2) >= 0;
+    }
+
+    private static boolean shape(String text, int index, char expected) {
+        return text.charAt(index) == expected;
+    }
+
+    /** Reads a run of decimal digits, or returns -1 if any character is not a digit. */
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = text.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cab302.peerpractice.Model.Utils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded map that evicts the least recently used entry once full.
+ * <p>
+ * Backed by an access-ordered {@link LinkedHashMap}, so lookups, inserts
+ * and evictions are all constant time. Methods are synchronized, which is
+ * enough for the short critical sections the managers need; null keys and
+ * values are not stored.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LruCache<K, V> {
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    /** A token per key being loaded; a write to the key drops it, so the stale load is not cached. */
+    private final Map<K, Object> loads = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the most entries to keep; must be positive
+     */
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached value and marks it as recently used.
+     *
+     * @param key the key to look up
+     * @return the value, or null if it is not cached
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) misses++; else hits++;
+        return value;
+    }
+
+    /**
+     * Returns a cached value, loading and caching it on a miss. A null
+     * result from the loader is returned but not cached.
+     * <p>
+     * The loader runs outside the lock, so a slow query does not block
+     * other readers. If the key is put or removed while it loads, the
+     * loaded value may already be out of date, so it is returned to this
+     * caller but not cached.
+     *
+     * @param key the key to look up
+     * @param loader computes the value on a miss
+     * @return the cached or loaded value, or null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Object token = new Object();
+        synchronized (this) {
+            V value = get(key);
+            if (value != null || key == null) return value;
+            loads.put(key, token);
+        }
+        V value = null;
+        try {
+            value = loader.apply(key);
+            return value;
+        } finally {
+            synchronized (this) {
+                if (loads.get(key) == token) {
+                    loads.remove(key);
+                    if (value != null) entries.put(key, value);
+                }
+            }
+        }
+    }
+
+    public synchronized void put(K key, V value) {
+        if (key == null || value == null) return;
+        loads.remove(key);
+        entries.put(key, value);
+    }
+
+    public synchronized V remove(K key) {
+        loads.remove(key);
+        return entries.remove(key);
+    }
+
+    public synchronized boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void clear() {
+        loads.clear();
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+}
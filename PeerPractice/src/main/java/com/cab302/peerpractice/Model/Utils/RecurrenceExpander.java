@@ -0,0 +1,135 @@
+package com.cab302.peerpractice.Model.Utils;
+
+import com.cab302.peerpractice.Model.Entities.Availability;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Expands recurring availability into the occurrences that fall in a window.
+ * <p>
+ * A series is stored once, as its first occurrence plus a pattern, an
+ * optional end date and a set of skipped dates. Occurrences are generated
+ * lazily: the iterator jumps straight to the first occurrence on or after
+ * the window start and stops at the window end, so a long-running series
+ * costs only as much as the occurrences actually asked for.
+ * <p>
+ * Each occurrence is computed from the series start rather than from the
+ * previous occurrence, so monthly series that start on the 31st land on the
+ * last day of shorter months without drifting earlier afterwards.
+ */
+public final class RecurrenceExpander {
+
+    private RecurrenceExpander() { /* prevent instantiation */ }
+
+    /**
+     * Returns the occurrences of a series that start within a date range.
+     * A non-recurring availability yields itself if it starts in the range.
+     *
+     * @param series the stored availability
+     * @param from the first start date to include, or null for no lower bound
+     * @param to the last start date to include, or null for no upper bound
+     * @return a lazily evaluated sequence of occurrences in start order
+     */
+    public static Iterable<Availability> occurrences(Availability series, LocalDate from, LocalDate to) {
+        return () -> new OccurrenceIterator(series, from, to);
+    }
+
+    /**
+     * Expands several series over a date range into one list ordered by start.
+     *
+     * @param series the stored availabilities
+     * @param from the first start date to include
+     * @param to the last start date to include
+     * @return every occurrence in the range
+     */
+    public static List<Availability> expand(Collection<Availability> series, LocalDate from, LocalDate to) {
+        List<Availability> out = new ArrayList<>();
+        for (Availability a : series) {
+            for (Availability occurrence : occurrences(a, from, to)) out.add(occurrence);
+        }
+        out.sort(Comparator.comparing(Availability::getStartTime));
+        return out;
+    }
+
+    private static final class OccurrenceIterator implements Iterator<Availability> {
+        private final Availability series;
+        private final LocalDate first;
+        private final LocalDate last;
+        private final String pattern;
+        private long n;
+        private Availability next;
+
+        private OccurrenceIterator(Availability series, LocalDate from, LocalDate to) {
+            this.series = series;
+            this.first = series.getStartTime().toLocalDate();
+            this.pattern = series.isRecurring() ? series.getRecurringPattern() : "NONE";
+            LocalDate end = series.getRecurrenceEnd();
+            if ("NONE".equals(pattern)) end = first;
+            this.last = end == null ? to : (to == null || end.isBefore(to) ? end : to);
+            this.n = from == null ? 0 : firstIndexOnOrAfter(from);
+            advance();
+        }
+
+        /** Estimates the first occurrence index on or after a date, then corrects it. */
+        private long firstIndexOnOrAfter(LocalDate from) {
+            if (!from.isAfter(first)) return 0;
+            long k = switch (pattern) {
+                case "DAILY" -> ChronoUnit.DAYS.between(first, from);
+                case "WEEKLY" -> ChronoUnit.DAYS.between(first, from) / 7;
+                case "FORTNIGHTLY" -> ChronoUnit.DAYS.between(first, from) / 14;
+                case "MONTHLY" -> ChronoUnit.MONTHS.between(YearMonth.from(first), YearMonth.from(from));
+                case "YEARLY" -> from.getYear() - first.getYear();
+                default -> 1;
+            };
+            while (k > 0 && !dateAt(k - 1).isBefore(from)) k--;
+            while (dateAt(k).isBefore(from)) k++;
+            return k;
+        }
+
+        private LocalDate dateAt(long k) {
+            return switch (pattern) {
+                case "DAILY" -> first.plusDays(k);
+                case "WEEKLY" -> first.plusWeeks(k);
+                case "FORTNIGHTLY" -> first.plusWeeks(2 * k);
+                case "MONTHLY" -> first.plusMonths(k);
+                case "YEARLY" -> first.plusYears(k);
+                default -> k == 0 ? first : LocalDate.MAX;
+            };
+        }
+
+        private void advance() {
+            next = null;
+            while (true) {
+                LocalDate date = dateAt(n);
+                if (date.equals(LocalDate.MAX) || (last != null && date.isAfter(last))) return;
+                n++;
+                if (series.getRecurrenceExceptions().contains(date)) continue;
+                next = "NONE".equals(pattern)
+                        ? series
+                        : series.occurrenceAt(date.atTime(series.getStartTime().toLocalTime()));
+                return;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Availability next() {
+            if (next == null) throw new NoSuchElementException();
+            Availability current = next;
+            advance();
+            return current;
+        }
+    }
+}
@@ -39,6 +39,52 @@ public class SQLiteConnection {
         instance = null;
     }
 
+    /** A unit of work run on a transaction's connection, reporting whether it should be committed. */
+    public interface TransactionWork {
+        boolean run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs work as one transaction on its own connection to the same
+     * database, committing only if it succeeds and rolling back otherwise.
+     * <p>
+     * The shared connection is used by background threads too, so a
+     * transaction begun on it would take in whatever they write meanwhile,
+     * and a rollback would silently undo it. A separate connection keeps
+     * the transaction to its own statements, and SQLite's locking makes
+     * other writers wait for it to finish. An in-memory database cannot be
+     * opened twice, so for one the work runs on the given connection.
+     *
+     * @param shared the connection whose database to use
+     * @param work the statements to run, given the connection to run them on
+     * @return true if the work succeeded and was committed
+     * @throws SQLException if the work or the commit fails; the transaction is rolled back
+     */
+    public static boolean inTransaction(Connection shared, TransactionWork work) throws SQLException {
+        String url = shared.getMetaData().getURL();
+        boolean inMemory = url == null || url.equals("jdbc:sqlite:") || url.contains(":memory:");
+        Connection connection = inMemory ? shared : openConnection(url);
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                if (work.run(connection)) {
+                    connection.commit();
+                    return true;
+                }
+                connection.rollback();
+                return false;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            if (connection != shared) connection.close();
+        }
+    }
+
     private static Connection createFileConnection() throws SQLException {
         Path cwd = Paths.get(System.getProperty("user.dir"));
         Path moduleDir = cwd.resolve("PeerPractice");
@@ -54,10 +100,15 @@ public class SQLiteConnection {
             try { Files.createDirectories(dbPath.getParent()); } catch (Exception ignored) {}
         }
 
-        String url = "jdbc:sqlite:" + dbPath.toAbsolutePath();
+        return openConnection("jdbc:sqlite:" + dbPath.toAbsolutePath());
+    }
+
+    private static Connection openConnection(String url) throws SQLException {
         Connection conn = DriverManager.getConnection(url);
         try (var st = conn.createStatement()) {
             st.execute("PRAGMA foreign_keys = ON");
+            // other clients may hold the write lock briefly; wait rather than fail
+            st.execute("PRAGMA busy_timeout = 5000");
         }
         return conn;
     }
@@ -0,0 +1,82 @@
+package com.cab302.peerpractice.Model.Utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates time-ordered identifiers in the UUID version 7 layout.
+ * <p>
+ * The first 48 bits hold the Unix time in milliseconds, so IDs sort by
+ * creation time both as {@link UUID}s and as their lower-case string form.
+ * New rows therefore append to the right-hand edge of a TEXT primary key
+ * index instead of landing at random positions, and an ID can double as
+ * an ordering cursor. The string form is the familiar 36-character UUID,
+ * so existing random IDs stay valid alongside new ones.
+ * <p>
+ * IDs from one JVM are strictly increasing: within the same millisecond a
+ * 12-bit counter is incremented, and if it overflows the timestamp is
+ * advanced by one millisecond rather than waiting for the clock.
+ */
+public final class TimeOrderedId {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_MASK = 0xFFF;
+
+    private static long lastMillis = -1;
+    private static int counter;
+
+    private TimeOrderedId() { /* prevent instantiation */ }
+
+    /**
+     * Returns a new time-ordered ID in canonical UUID string form.
+     *
+     * @return the new identifier
+     */
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * Returns a new time-ordered ID.
+     *
+     * @return the new identifier as a UUID
+     */
+    public static UUID nextUuid() {
+        long millis;
+        int seq;
+        synchronized (TimeOrderedId.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // start low in the range so there is headroom for a burst
+                counter = RANDOM.nextInt(COUNTER_MASK >> 1);
+            } else if (++counter > COUNTER_MASK) {
+                // counter exhausted (or clock moved back): borrow the next millisecond
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            seq = counter;
+        }
+
+        long msb = (millis << 16) | (0x7L << 12) | seq;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Extracts the creation time of an ID made by this class.
+     *
+     * @param id an identifier string
+     * @return the Unix time in milliseconds, or -1 if the ID is not time-ordered
+     */
+    public static long timestampOf(String id) {
+        if (id == null) return -1;
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.version() == 7 ? uuid.getMostSignificantBits() >>> 16 : -1;
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
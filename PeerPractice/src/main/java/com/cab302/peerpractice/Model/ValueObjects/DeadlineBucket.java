@@ -0,0 +1,66 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Value object grouping an open task's deadline relative to now: already
+ * past, due before the end of today, due before the end of this week
+ * (weeks start on Monday, as in the calendar), or later.
+ */
+public enum DeadlineBucket {
+    OVERDUE("Overdue"),
+    TODAY("Due today"),
+    THIS_WEEK("Due this week"),
+    LATER("Later");
+
+    private final String displayName;
+
+    DeadlineBucket(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the heading shown above tasks in this bucket.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the first moment after today.
+     *
+     * @param now the current time
+     * @return midnight at the start of tomorrow
+     */
+    public static LocalDateTime endOfToday(LocalDateTime now) {
+        return now.toLocalDate().plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Gets the first moment after this week.
+     *
+     * @param now the current time
+     * @return midnight at the start of next Monday
+     */
+    public static LocalDateTime endOfWeek(LocalDateTime now) {
+        return now.toLocalDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+
+    /**
+     * Places a deadline in its bucket.
+     *
+     * @param deadline the task deadline
+     * @param now the current time
+     * @return the bucket the deadline falls in
+     */
+    public static DeadlineBucket of(LocalDateTime deadline, LocalDateTime now) {
+        if (deadline.isBefore(now)) return OVERDUE;
+        if (deadline.isBefore(endOfToday(now))) return TODAY;
+        if (deadline.isBefore(endOfWeek(now))) return THIS_WEEK;
+        return LATER;
+    }
+}
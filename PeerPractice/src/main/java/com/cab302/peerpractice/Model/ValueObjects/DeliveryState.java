@@ -0,0 +1,36 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Value object representing the delivery state of an outgoing message.
+ * A message is shown as soon as it is sent and moves from {@link #SENDING}
+ * to {@link #SENT} or {@link #FAILED} once the background write completes.
+ */
+public enum DeliveryState {
+    SENDING("Sending…"),
+    SENT("Sent"),
+    FAILED("Failed to send");
+
+    private final String displayName;
+
+    DeliveryState(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the label shown next to a message in this state.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Checks whether the message still needs the user's attention.
+     *
+     * @return true if the message has not been stored yet
+     */
+    public boolean isPending() {
+        return this != SENT;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Value object representing where an export of a group's files has got
+ * to. An export is {@link #QUEUED} until a worker picks it up,
+ * {@link #EXPORTING} while files are written to the archive, and ends
+ * {@link #COMPLETED}, {@link #CANCELLED} or {@link #FAILED}.
+ */
+public enum ExportState {
+    QUEUED("Waiting…"),
+    EXPORTING("Exporting"),
+    COMPLETED("Exported"),
+    CANCELLED("Cancelled"),
+    FAILED("Export failed");
+
+    private final String displayName;
+
+    ExportState(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the label shown next to an export in this state.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Checks whether the export has finished, one way or another.
+     *
+     * @return true if no further progress will be reported
+     */
+    public boolean isDone() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
@@ -0,0 +1,281 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory index of values by the {@link TimeRange} they occupy.
+ * <p>
+ * Backed by an AVL tree ordered by range start, where every node also
+ * records the latest end time in its subtree. Overlap and stabbing queries
+ * use that to skip whole subtrees, so they cost O(log n + k) for k matches
+ * instead of a scan over every entry. Adding, moving and removing a value
+ * is O(log n).
+ * <p>
+ * Each value is held at most once; adding a value that is already present
+ * (by {@code equals}) moves it to the new range. Overlap follows
+ * {@link TimeRange#overlapsWith}, so back-to-back ranges do not overlap.
+ * Not thread-safe.
+ *
+ * @param <T> the indexed value type
+ */
+public final class IntervalIndex<T> {
+
+    private Node<T> root;
+    private final Map<T, Node<T>> nodes = new HashMap<>();
+    private long nextSeq;
+
+    /**
+     * Adds a value, or moves it if it is already indexed.
+     *
+     * @param range the time range the value occupies
+     * @param value the value to index
+     */
+    public void put(TimeRange range, T value) {
+        Objects.requireNonNull(range, "Time range cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        remove(value);
+        Node<T> node = new Node<>(range, value, nextSeq++);
+        root = insert(root, node);
+        nodes.put(value, node);
+    }
+
+    /**
+     * Removes a value from the index.
+     *
+     * @param value the value to remove
+     * @return true if the value was indexed
+     */
+    public boolean remove(T value) {
+        Node<T> node = nodes.remove(value);
+        if (node == null) return false;
+        root = delete(root, node);
+        return true;
+    }
+
+    /**
+     * Returns the range a value is indexed under.
+     *
+     * @param value the value to look up
+     * @return its range, or null if the value is not indexed
+     */
+    public TimeRange rangeOf(T value) {
+        Node<T> node = nodes.get(value);
+        return node == null ? null : node.range;
+    }
+
+    /**
+     * Finds every value whose range overlaps the given range.
+     *
+     * @param range the range to test
+     * @return the overlapping values in start-time order
+     */
+    public List<T> overlapping(TimeRange range) {
+        Objects.requireNonNull(range, "Time range cannot be null");
+        List<T> out = new ArrayList<>();
+        collectOverlapping(root, range, out);
+        return out;
+    }
+
+    /**
+     * Checks whether any value overlaps the given range.
+     *
+     * @param range the range to test
+     * @return true if at least one indexed range overlaps it
+     */
+    public boolean overlapsAny(TimeRange range) {
+        Objects.requireNonNull(range, "Time range cannot be null");
+        Node<T> node = root;
+        while (node != null && !node.range.overlapsWith(range)) {
+            // if the left subtree reaches past the query start but holds no match,
+            // everything to the right starts too late to match either
+            node = node.left != null && node.left.maxEnd.isAfter(range.getStart()) ? node.left : node.right;
+        }
+        return node != null;
+    }
+
+    /**
+     * Finds every value whose range contains the given instant, with both
+     * ends inclusive as in {@link TimeRange#contains}.
+     *
+     * @param time the instant to test
+     * @return the containing values in start-time order
+     */
+    public List<T> containing(LocalDateTime time) {
+        Objects.requireNonNull(time, "Time cannot be null");
+        List<T> out = new ArrayList<>();
+        collectContaining(root, time, out);
+        return out;
+    }
+
+    /**
+     * Returns every indexed value in start-time order.
+     *
+     * @return all values
+     */
+    public List<T> values() {
+        List<T> out = new ArrayList<>(nodes.size());
+        collectAll(root, out);
+        return out;
+    }
+
+    /**
+     * Checks whether a value is indexed.
+     *
+     * @param value the value to look for
+     * @return true if present
+     */
+    public boolean contains(T value) {
+        return nodes.containsKey(value);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    public void clear() {
+        root = null;
+        nodes.clear();
+    }
+
+    // -------------------- QUERIES --------------------
+
+    private void collectOverlapping(Node<T> node, TimeRange range, List<T> out) {
+        // nothing in this subtree ends after the query starts
+        if (node == null || !node.maxEnd.isAfter(range.getStart())) return;
+        collectOverlapping(node.left, range, out);
+        // this node and everything to its right start at or after the query ends
+        if (!node.range.getStart().isBefore(range.getEnd())) return;
+        if (node.range.overlapsWith(range)) out.add(node.value);
+        collectOverlapping(node.right, range, out);
+    }
+
+    private void collectContaining(Node<T> node, LocalDateTime time, List<T> out) {
+        if (node == null || node.maxEnd.isBefore(time)) return;
+        collectContaining(node.left, time, out);
+        if (node.range.getStart().isAfter(time)) return;
+        if (node.range.contains(time)) out.add(node.value);
+        collectContaining(node.right, time, out);
+    }
+
+    private void collectAll(Node<T> node, List<T> out) {
+        if (node == null) return;
+        collectAll(node.left, out);
+        out.add(node.value);
+        collectAll(node.right, out);
+    }
+
+    // -------------------- AVL MAINTENANCE --------------------
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) return added;
+        if (added.compareTo(node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> delete(Node<T> node, Node<T> target) {
+        if (node == null) return null;
+        int cmp = target.compareTo(node);
+        if (cmp < 0) {
+            node.left = delete(node.left, target);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, target);
+        } else {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            Node<T> successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> deleteMin(Node<T> node) {
+        if (node.left == null) return node.right;
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node<T> rebalance(Node<T> node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<T> implements Comparable<Node<T>> {
+        private final TimeRange range;
+        private final T value;
+        /** Insertion order, so equal ranges still have a total order. */
+        private final long seq;
+        private Node<T> left;
+        private Node<T> right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        private Node(TimeRange range, T value, long seq) {
+            this.range = range;
+            this.value = value;
+            this.seq = seq;
+            this.maxEnd = range.getEnd();
+        }
+
+        private void update() {
+            height = 1 + Math.max(IntervalIndex.height(left), IntervalIndex.height(right));
+            maxEnd = range.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) maxEnd = left.maxEnd;
+            if (right != null && right.maxEnd.isAfter(maxEnd)) maxEnd = right.maxEnd;
+        }
+
+        @Override
+        public int compareTo(Node<T> other) {
+            int cmp = range.getStart().compareTo(other.range.getStart());
+            if (cmp != 0) return cmp;
+            cmp = range.getEnd().compareTo(other.range.getEnd());
+            return cmp != 0 ? cmp : Long.compare(seq, other.seq);
+        }
+    }
+}
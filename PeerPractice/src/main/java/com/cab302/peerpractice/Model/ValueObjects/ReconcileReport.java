@@ -0,0 +1,134 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+import java.util.List;
+
+/**
+ * Immutable value object describing one pass of the storage reconciler:
+ * how much it checked, what was out of step between the file records and
+ * the files on disk, and what it did about it.
+ */
+public final class ReconcileReport {
+    private final int blobsChecked;
+    private final long bytesVerified;
+    private final int orphansQuarantined;
+    private final int corruptQuarantined;
+    private final int blobsRestored;
+    private final List<String> lostBlobs;
+    private final List<String> lostFiles;
+    private final int staleUploadsRemoved;
+    private final int quarantinePurged;
+    private final int errors;
+    private final boolean completed;
+
+    /**
+     * Creates a new ReconcileReport.
+     *
+     * @param blobsChecked blobs and older per-file copies compared with their records
+     * @param bytesVerified bytes read to check content against its hash
+     * @param orphansQuarantined files on disk no record referenced, moved to quarantine
+     * @param corruptQuarantined blobs whose size or content did not match their hash, moved to quarantine
+     * @param blobsRestored missing files put back from quarantine
+     * @param lostBlobs hashes of blobs still referenced by records but found nowhere
+     * @param lostFiles IDs of records of older per-file copies found nowhere
+     * @param staleUploadsRemoved abandoned partial uploads deleted
+     * @param quarantinePurged quarantined files deleted after the retention period
+     * @param errors files that could not be checked or repaired
+     * @param completed false if the pass was stopped before the end
+     */
+    public ReconcileReport(int blobsChecked, long bytesVerified, int orphansQuarantined, int corruptQuarantined,
+                           int blobsRestored, List<String> lostBlobs, List<String> lostFiles,
+                           int staleUploadsRemoved, int quarantinePurged,
+                           int errors, boolean completed) {
+        this.blobsChecked = blobsChecked;
+        this.bytesVerified = bytesVerified;
+        this.orphansQuarantined = orphansQuarantined;
+        this.corruptQuarantined = corruptQuarantined;
+        this.blobsRestored = blobsRestored;
+        this.lostBlobs = List.copyOf(lostBlobs);
+        this.lostFiles = List.copyOf(lostFiles);
+        this.staleUploadsRemoved = staleUploadsRemoved;
+        this.quarantinePurged = quarantinePurged;
+        this.errors = errors;
+        this.completed = completed;
+    }
+
+    public int getBlobsChecked() {
+        return blobsChecked;
+    }
+
+    public long getBytesVerified() {
+        return bytesVerified;
+    }
+
+    public int getOrphansQuarantined() {
+        return orphansQuarantined;
+    }
+
+    public int getCorruptQuarantined() {
+        return corruptQuarantined;
+    }
+
+    public int getBlobsRestored() {
+        return blobsRestored;
+    }
+
+    /**
+     * Hashes of blobs whose records were kept although no copy was found.
+     */
+    public List<String> getLostBlobs() {
+        return lostBlobs;
+    }
+
+    /**
+     * IDs of records of older per-file copies kept although the file was not found.
+     */
+    public List<String> getLostFiles() {
+        return lostFiles;
+    }
+
+    /**
+     * Counts the lost blobs and files whose records the pass left in place.
+     */
+    public int getLostCount() {
+        return lostBlobs.size() + lostFiles.size();
+    }
+
+    public int getStaleUploadsRemoved() {
+        return staleUploadsRemoved;
+    }
+
+    public int getQuarantinePurged() {
+        return quarantinePurged;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Checks whether the pass finished and found records and files in step.
+     * Removing stale uploads and purging quarantine is routine and does not count.
+     */
+    public boolean isClean() {
+        return completed && errors == 0 && orphansQuarantined == 0 && corruptQuarantined == 0
+                && blobsRestored == 0 && getLostCount() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconcileReport{checked=" + blobsChecked +
+                ", verifiedBytes=" + bytesVerified +
+                ", orphans=" + orphansQuarantined +
+                ", corrupt=" + corruptQuarantined +
+                ", restored=" + blobsRestored +
+                ", lost=" + getLostCount() +
+                ", staleUploads=" + staleUploadsRemoved +
+                ", purged=" + quarantinePurged +
+                ", errors=" + errors +
+                (completed ? "" : ", stopped early") + '}';
+    }
+}
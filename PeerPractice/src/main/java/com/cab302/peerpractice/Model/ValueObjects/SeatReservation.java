@@ -0,0 +1,27 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Value object representing the outcome of asking for a seat in a session.
+ * A full session puts the user on its waitlist, and the first person waiting
+ * is given the seat when someone leaves.
+ */
+public enum SeatReservation {
+    JOINED("Joined"),
+    WAITLISTED("On the waitlist"),
+    NOT_FOUND("Session not found");
+
+    private final String displayName;
+
+    SeatReservation(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the label shown to the user after asking for a seat.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,66 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Immutable value object holding the storage limits of a group: how many
+ * bytes of files the group may hold in total, and how many of those any
+ * one member may upload. A limit of {@link #UNLIMITED} does not apply.
+ */
+public final class StorageQuota {
+    /** Limit value meaning there is no limit. */
+    public static final long UNLIMITED = 0;
+
+    private final int groupId;
+    private final long maxGroupBytes;
+    private final long maxUserBytes;
+
+    /**
+     * Creates a new StorageQuota.
+     *
+     * @param groupId the group the limits apply to
+     * @param maxGroupBytes the most bytes the group may hold, or {@link #UNLIMITED}
+     * @param maxUserBytes the most bytes each member may upload to the group, or {@link #UNLIMITED}
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public StorageQuota(int groupId, long maxGroupBytes, long maxUserBytes) {
+        if (maxGroupBytes < 0 || maxUserBytes < 0) {
+            throw new IllegalArgumentException("Storage limits cannot be negative");
+        }
+        this.groupId = groupId;
+        this.maxGroupBytes = maxGroupBytes;
+        this.maxUserBytes = maxUserBytes;
+    }
+
+    /**
+     * Creates the quota of a group with no limits set.
+     */
+    public static StorageQuota unlimited(int groupId) {
+        return new StorageQuota(groupId, UNLIMITED, UNLIMITED);
+    }
+
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public long getMaxGroupBytes() {
+        return maxGroupBytes;
+    }
+
+    public long getMaxUserBytes() {
+        return maxUserBytes;
+    }
+
+    public boolean isGroupLimited() {
+        return maxGroupBytes != UNLIMITED;
+    }
+
+    public boolean isUserLimited() {
+        return maxUserBytes != UNLIMITED;
+    }
+
+    @Override
+    public String toString() {
+        return "StorageQuota{groupId=" + groupId +
+                ", maxGroupBytes=" + (isGroupLimited() ? maxGroupBytes : "unlimited") +
+                ", maxUserBytes=" + (isUserLimited() ? maxUserBytes : "unlimited") + '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Immutable value object summarising how much space shared group files
+ * take. Identical uploads share one stored copy, so the bytes the files
+ * add up to can be more than the bytes actually on disk.
+ */
+public final class StorageStats {
+    private final int fileCount;
+    private final int storedCount;
+    private final long logicalBytes;
+    private final long storedBytes;
+
+    /**
+     * Creates a new StorageStats.
+     *
+     * @param fileCount the number of file records
+     * @param storedCount the number of distinct copies on disk
+     * @param logicalBytes the sum of every file's size
+     * @param storedBytes the sum of the sizes of the copies on disk
+     */
+    public StorageStats(int fileCount, int storedCount, long logicalBytes, long storedBytes) {
+        this.fileCount = fileCount;
+        this.storedCount = storedCount;
+        this.logicalBytes = logicalBytes;
+        this.storedBytes = storedBytes;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getStoredCount() {
+        return storedCount;
+    }
+
+    public long getLogicalBytes() {
+        return logicalBytes;
+    }
+
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Gets the bytes saved by storing identical files once.
+     *
+     * @return logical bytes minus stored bytes
+     */
+    public long getSavedBytes() {
+        return logicalBytes - storedBytes;
+    }
+
+    /**
+     * Gets how many times over the stored bytes are referenced, e.g. 2.0
+     * when every file is shared by two records.
+     *
+     * @return logical bytes divided by stored bytes, or 1 when nothing is stored
+     */
+    public double getDedupRatio() {
+        return storedBytes == 0 ? 1.0 : (double) logicalBytes / storedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StorageStats{files=%d, stored=%d, logicalBytes=%d, storedBytes=%d, ratio=%.2f}",
+                fileCount, storedCount, logicalBytes, storedBytes, getDedupRatio());
+    }
+}
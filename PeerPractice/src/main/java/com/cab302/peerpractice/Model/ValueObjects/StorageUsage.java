@@ -0,0 +1,121 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable value object describing how much a group's files take up,
+ * broken down by uploader and MIME type. Sizes are what the files add up
+ * to, however many of them share a stored copy.
+ */
+public final class StorageUsage {
+
+    /**
+     * The files one uploader has in a group with one MIME type.
+     */
+    public static final class Entry {
+        private final String uploaderId;
+        private final String mimeType;
+        private final int fileCount;
+        private final long bytes;
+
+        public Entry(String uploaderId, String mimeType, int fileCount, long bytes) {
+            this.uploaderId = uploaderId;
+            this.mimeType = mimeType;
+            this.fileCount = fileCount;
+            this.bytes = bytes;
+        }
+
+        public String getUploaderId() {
+            return uploaderId;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public int getFileCount() {
+            return fileCount;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    private final int groupId;
+    private final List<Entry> entries;
+
+    /**
+     * Creates a new StorageUsage.
+     *
+     * @param groupId the group described
+     * @param entries one entry per uploader and MIME type with files in the group
+     */
+    public StorageUsage(int groupId, List<Entry> entries) {
+        this.groupId = groupId;
+        this.entries = List.copyOf(entries);
+    }
+
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public int getFileCount() {
+        return entries.stream().mapToInt(Entry::getFileCount).sum();
+    }
+
+    public long getTotalBytes() {
+        return entries.stream().mapToLong(Entry::getBytes).sum();
+    }
+
+    /**
+     * Gets the bytes one member has uploaded to the group.
+     *
+     * @return the bytes, 0 if the member has no files there
+     */
+    public long getBytesForUploader(String uploaderId) {
+        return entries.stream()
+                .filter(e -> e.getUploaderId().equals(uploaderId))
+                .mapToLong(Entry::getBytes)
+                .sum();
+    }
+
+    /**
+     * Gets the bytes each member has uploaded, largest first.
+     */
+    public Map<String, Long> getBytesByUploader() {
+        return totalBy(Entry::getUploaderId);
+    }
+
+    /**
+     * Gets the bytes taken by each MIME type, largest first.
+     */
+    public Map<String, Long> getBytesByMimeType() {
+        return totalBy(Entry::getMimeType);
+    }
+
+    private Map<String, Long> totalBy(Function<Entry, String> key) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            totals.merge(key.apply(entry), entry.getBytes(), Long::sum);
+        }
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    @Override
+    public String toString() {
+        return "StorageUsage{groupId=" + groupId + ", files=" + getFileCount() + ", bytes=" + getTotalBytes() + '}';
+    }
+}
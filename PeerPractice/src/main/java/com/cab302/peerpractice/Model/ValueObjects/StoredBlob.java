@@ -0,0 +1,49 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Immutable value object describing one blob in the content-addressed
+ * store: the content it holds and how that content sits on disk.
+ */
+public final class StoredBlob {
+    private final String hash;
+    private final long size;
+    private final long storedSize;
+    private final boolean compressed;
+
+    /**
+     * Creates a new StoredBlob.
+     *
+     * @param hash the SHA-256 of the uncompressed content in hex
+     * @param size the size of the uncompressed content
+     * @param storedSize the size of the blob file on disk
+     * @param compressed whether the blob file is zlib-deflated
+     */
+    public StoredBlob(String hash, long size, long storedSize, boolean compressed) {
+        this.hash = hash;
+        this.size = size;
+        this.storedSize = storedSize;
+        this.compressed = compressed;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getStoredSize() {
+        return storedSize;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredBlob{" + hash + ", size=" + size + ", storedSize=" + storedSize +
+                (compressed ? ", compressed" : "") + '}';
+    }
+}
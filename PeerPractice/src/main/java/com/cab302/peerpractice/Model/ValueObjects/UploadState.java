@@ -0,0 +1,39 @@
+package com.cab302.peerpractice.Model.ValueObjects;
+
+/**
+ * Value object representing where a file upload has got to. An upload is
+ * {@link #QUEUED} until a worker picks it up, {@link #UPLOADING} while its
+ * bytes are copied, and ends {@link #COMPLETED}, {@link #CANCELLED} or
+ * {@link #FAILED}.
+ */
+public enum UploadState {
+    QUEUED("Waiting…"),
+    UPLOADING("Uploading"),
+    COMPLETED("Uploaded"),
+    CANCELLED("Cancelled"),
+    FAILED("Upload failed");
+
+    private final String displayName;
+
+    UploadState(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the label shown next to an upload in this state.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Checks whether the upload has finished, one way or another.
+     *
+     * @return true if no further progress will be reported
+     */
+    public boolean isDone() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
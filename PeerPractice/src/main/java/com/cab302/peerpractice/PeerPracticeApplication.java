@@ -1,9 +1,13 @@
 package com.cab302.peerpractice;
 
+import com.cab302.peerpractice.Model.Entities.Reminder;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Managers.SessionPersistence;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.controlsfx.control.Notifications;
 
 
 public class PeerPracticeApplication extends Application {
@@ -13,6 +17,8 @@ public class PeerPracticeApplication extends Application {
             AppContext ctx = new AppContext();
             Navigation navigate = new Navigation(ctx,stage);
             stage.setUserData(navigate);
+            ctx.getNotifier().addReminderListener(reminder ->
+                    Platform.runLater(() -> showReminder(ctx, stage, reminder)));
 
             User savedUser =
                 SessionPersistence.loadSavedSession(ctx.getUserDAO());
@@ -31,6 +37,19 @@ public class PeerPracticeApplication extends Application {
         }
     }
 
+    /**
+     * Shows a reminder as a toast if it is meant for whoever is signed in.
+     */
+    private static void showReminder(AppContext ctx, Stage stage, Reminder reminder) {
+        if (!reminder.isFor(ctx.getUserSession().getCurrentUser()) || !stage.isShowing()) return;
+        Notifications.create()
+                .owner(stage)
+                .title(reminder.getKind() == Reminder.Kind.SESSION_START ? "Session starting soon" : "Task due soon")
+                .text(reminder.getMsg())
+                .hideAfter(Duration.seconds(10))
+                .showInformation();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -23,7 +23,8 @@ public enum View {
     ManageGroup("managegroup-dialog.fxml", "Manage Group"),
     GroupSettings("groupsettings-dialog.fxml", "Group Settings"),
 
-    SessionTasks("session-tasks-view.fxml", "Session Tasks");
+    SessionTasks("session-tasks-view.fxml", "Session Tasks"),
+    MyTasks("my-tasks-view.fxml", "My Tasks");
 
     private final String fxml;
     private final String title;
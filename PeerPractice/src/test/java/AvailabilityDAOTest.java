@@ -3,6 +3,7 @@ import com.cab302.peerpractice.Model.DAOs.IUserDAO;
 import com.cab302.peerpractice.Model.DAOs.UserDAO;
 import com.cab302.peerpractice.Model.Entities.Availability;
 import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Managers.AvailabilityManager;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class AvailabilityDAOTest {
 
@@ -115,6 +117,37 @@ public class AvailabilityDAOTest {
         assertEquals(1, storage.getAvailabilitiesForUser(testUser2).size());
     }
 
+    @Test
+    void testGetAvailabilitiesForUserInRange() {
+        Availability evening = new Availability("Evening Slot", testUser1,
+                LocalDateTime.of(2024, 10, 15, 18, 0),
+                LocalDateTime.of(2024, 10, 15, 19, 0),
+                "RED");
+        Availability nextMonth = new Availability("November Slot", testUser1,
+                LocalDateTime.of(2024, 11, 1, 9, 0),
+                LocalDateTime.of(2024, 11, 1, 10, 0),
+                "GREEN");
+        storage.addAvailability(evening);
+        storage.addAvailability(testAvailability2); // other user, same day
+        storage.addAvailability(nextMonth);
+        storage.addAvailability(testAvailability1);
+
+        List<Availability> october = storage.getAvailabilitiesForUserInRange(testUser1,
+                LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31));
+        assertEquals(List.of("Morning Study", "Evening Slot"),
+                october.stream().map(Availability::getTitle).toList());
+        assertTrue(october.stream().allMatch(a -> a.getUser().getUserId().equals(testUser1.getUserId())));
+
+        Map<LocalDate, List<Availability>> byDay = new AvailabilityManager(storage)
+                .getAvailabilitiesByDayForUser(testUser1, LocalDate.of(2024, 10, 1), LocalDate.of(2024, 11, 30));
+        assertEquals(2, byDay.get(LocalDate.of(2024, 10, 15)).size());
+        assertEquals(1, byDay.get(LocalDate.of(2024, 11, 1)).size());
+        assertEquals(2, byDay.size());
+
+        assertTrue(storage.getAvailabilitiesForUserInRange(null,
+                LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31)).isEmpty());
+    }
+
     @Test
     void testGetAvailabilitiesForWeek() {
         storage.addAvailability(testAvailability1);
@@ -228,4 +261,43 @@ public class AvailabilityDAOTest {
         }
         assertEquals(5, storage.getAvailabilityCount());
     }
+
+    @Test
+    void testRecurringAvailabilityRoundTrip() {
+        Availability weekly = new Availability("Weekly Study", testUser1,
+                LocalDateTime.of(2024, 10, 1, 9, 0),
+                LocalDateTime.of(2024, 10, 1, 11, 0),
+                "GREEN");
+        weekly.setRecurringPattern("WEEKLY");
+        weekly.setRecurrenceEnd(LocalDate.of(2024, 12, 31));
+        assertTrue(storage.addAvailability(weekly));
+        assertTrue(storage.addRecurrenceException(weekly, LocalDate.of(2024, 10, 15)));
+        assertTrue(storage.addAvailability(testAvailability2));
+
+        List<Availability> series = storage.getRecurringAvailabilities(List.of(testUser1),
+                LocalDate.of(2024, 10, 14), LocalDate.of(2024, 10, 20));
+        assertEquals(1, series.size());
+        assertEquals("WEEKLY", series.get(0).getRecurringPattern());
+        assertEquals(LocalDate.of(2024, 12, 31), series.get(0).getRecurrenceEnd());
+        assertTrue(series.get(0).getRecurrenceExceptions().contains(LocalDate.of(2024, 10, 15)));
+
+        // the series has ended before this range
+        assertTrue(storage.getRecurringAvailabilities(null, LocalDate.of(2025, 1, 1), null).isEmpty());
+
+        AvailabilityManager manager = new AvailabilityManager(storage);
+        List<Availability> october = manager.getAvailabilitiesForUserInRange(testUser1,
+                LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31));
+        assertEquals(List.of(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 8),
+                        LocalDate.of(2024, 10, 22), LocalDate.of(2024, 10, 29)),
+                october.stream().map(a -> a.getStartTime().toLocalDate()).toList());
+        assertTrue(manager.hasAvailabilityOnDate(testUser1, LocalDate.of(2024, 11, 5)));
+        assertFalse(manager.hasAvailabilityOnDate(testUser1, LocalDate.of(2024, 10, 15)));
+        assertEquals(List.of(testAvailability2), manager.getAvailabilitiesForDate(LocalDate.of(2024, 10, 15)));
+
+        assertTrue(manager.removeOccurrence(october.get(1)));
+        assertFalse(manager.hasAvailabilityOnDate(testUser1, LocalDate.of(2024, 10, 8)));
+        assertTrue(manager.removeAvailability(october.get(0)));
+        assertTrue(manager.getAvailabilitiesForUserInRange(testUser1,
+                LocalDate.of(2024, 10, 1), LocalDate.of(2024, 12, 31)).isEmpty());
+    }
 }
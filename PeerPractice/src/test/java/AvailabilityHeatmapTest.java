@@ -0,0 +1,132 @@
+import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.AvailabilityHeatmap;
+import com.cab302.peerpractice.Model.Entities.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityHeatmapTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private User alice;
+    private User bobby;
+    private AvailabilityHeatmap heatmap;
+
+    @BeforeEach
+    void setUp() {
+        alice = new User("Alice", "Smith", "alice_heat", "alice@example.com", "hash", "QUT");
+        bobby = new User("Bobby", "Jones", "bobby_heat", "bobby@example.com", "hash", "QUT");
+        heatmap = new AvailabilityHeatmap(List.of(alice, bobby), DAY.atStartOfDay(),
+                DAY.plusDays(1).atStartOfDay(), Duration.ofMinutes(30));
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private static Availability free(User user, LocalDateTime start, LocalDateTime end) {
+        return new Availability("Free", user, start, end, "GREEN");
+    }
+
+    @Test
+    void countsOnlyWholeSlotsAndEachMemberOnce() {
+        heatmap.add(free(alice, at(9, 15), at(11, 0)));
+        heatmap.add(free(alice, at(10, 0), at(12, 0)));
+        heatmap.add(free(bobby, at(10, 0), at(10, 30)));
+
+        assertEquals(48, heatmap.getSlotCount());
+        // 9:00 is only partly covered
+        assertEquals(0, heatmap.getCount(heatmap.slotOf(at(9, 0))));
+        assertEquals(1, heatmap.getCount(heatmap.slotOf(at(9, 30))));
+        // overlapping slots for Alice still count her once
+        assertEquals(2, heatmap.getCount(heatmap.slotOf(at(10, 0))));
+        assertEquals(1, heatmap.getCount(heatmap.slotOf(at(11, 30))));
+        assertEquals(0, heatmap.getCount(heatmap.slotOf(at(12, 0))));
+        assertEquals(2, heatmap.getPeak(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()));
+    }
+
+    @Test
+    void updatesIncrementallyAndIgnoresNonMembers() {
+        Availability morning = free(alice, at(9, 0), at(10, 0));
+        heatmap.add(morning);
+        heatmap.add(free(bobby, at(9, 0), at(9, 30)));
+        assertEquals(2, heatmap.getCount(heatmap.slotOf(at(9, 0))));
+
+        assertTrue(heatmap.remove(morning));
+        assertFalse(heatmap.remove(morning));
+        assertEquals(1, heatmap.getCount(heatmap.slotOf(at(9, 0))));
+
+        User carol = new User("Carol", "White", "carol_heat", "carol@example.com", "hash", "QUT");
+        assertFalse(heatmap.add(free(carol, at(9, 0), at(10, 0))));
+
+        heatmap.setMemberAvailability(bobby, List.of(free(bobby, at(14, 0), at(15, 0))));
+        assertEquals(0, heatmap.getCount(heatmap.slotOf(at(9, 0))));
+        assertEquals(1, heatmap.getCount(heatmap.slotOf(at(14, 30))));
+        assertEquals(-1, heatmap.slotOf(DAY.plusDays(1).atStartOfDay()));
+    }
+
+    @Test
+    void randomisedChanges_matchCountingEveryMemberPerSlot() {
+        Random random = new Random(3);
+        List<User> members = new ArrayList<>();
+        for (int m = 0; m < 20; m++) {
+            members.add(new User("Member", "Number", "member_" + m, "m" + m + "@example.com", "hash", "QUT"));
+        }
+        AvailabilityHeatmap week = new AvailabilityHeatmap(members, DAY.atStartOfDay(),
+                DAY.plusDays(7).atStartOfDay(), Duration.ofMinutes(15));
+        List<Availability> live = new ArrayList<>();
+
+        for (int step = 0; step < 400; step++) {
+            if (!live.isEmpty() && random.nextInt(3) == 0) {
+                assertTrue(week.remove(live.remove(random.nextInt(live.size()))));
+            } else if (!live.isEmpty() && random.nextInt(4) == 0) {
+                // moving a slot re-adds it under the same ID
+                Availability old = live.get(random.nextInt(live.size()));
+                LocalDateTime start = old.getStartTime().plusMinutes(random.nextInt(241) - 120);
+                Availability moved = new Availability(old.getAvailabilityId(), "Free", old.getUser(),
+                        start, start.plusMinutes(1 + random.nextInt(300)), "GREEN");
+                assertTrue(week.add(moved));
+                live.set(live.indexOf(old), moved);
+            } else {
+                LocalDateTime start = DAY.minusDays(1).atStartOfDay().plusMinutes(random.nextInt(8 * 24 * 60));
+                Availability a = free(members.get(random.nextInt(members.size())), start,
+                        start.plusMinutes(1 + random.nextInt(300)));
+                week.add(a);
+                live.add(a);
+            }
+        }
+
+        int[] counts = week.getCounts();
+        for (int slot = 0; slot < week.getSlotCount(); slot++) {
+            LocalDateTime slotStart = week.getSlotStart(slot);
+            LocalDateTime slotEnd = slotStart.plus(week.getSlotLength());
+            // a member free for the slot only across two touching availabilities is still free
+            long expected = members.stream().filter(member -> coveredByMerged(live, member, slotStart, slotEnd)).count();
+            assertEquals(expected, counts[slot], "slot " + slot);
+        }
+    }
+
+    private static boolean coveredByMerged(List<Availability> live, User member, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime reached = from;
+        boolean progressed = true;
+        while (progressed && reached.isBefore(to)) {
+            progressed = false;
+            for (Availability a : live) {
+                if (a.getUser() == member && !a.getStartTime().isAfter(reached) && a.getEndTime().isAfter(reached)) {
+                    reached = a.getEndTime();
+                    progressed = true;
+                }
+            }
+        }
+        return !reached.isBefore(to);
+    }
+}
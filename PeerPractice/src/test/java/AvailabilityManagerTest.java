@@ -0,0 +1,217 @@
+import com.cab302.peerpractice.Model.DAOs.MockAvailabilityDAO;
+import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.AvailabilityHeatmap;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.MeetingSlot;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Managers.AvailabilityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityManagerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private MockAvailabilityDAO dao;
+    private AvailabilityManager manager;
+    private User alice;
+    private User bobby;
+    private User carol;
+
+    @BeforeEach
+    void setUp() {
+        dao = new MockAvailabilityDAO(null);
+        manager = new AvailabilityManager(dao);
+        alice = new User("Alice", "Smith", "alice_slots", "alice@example.com", "hash", "QUT");
+        bobby = new User("Bobby", "Jones", "bobby_slots", "bobby@example.com", "hash", "QUT");
+        carol = new User("Carol", "White", "carol_slots", "carol@example.com", "hash", "QUT");
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private void free(User user, LocalDateTime start, LocalDateTime end) {
+        dao.addAvailability(new Availability("Free", user, start, end, "GREEN"));
+    }
+
+    private Group groupOf(User... members) {
+        Group group = new Group("Study", "", false, members[0], LocalDateTime.now());
+        group.setMembers(new ArrayList<>(List.of(members)));
+        return group;
+    }
+
+    @Test
+    void recommendMeetingSlots_ranksByAttendanceThenStart() {
+        free(alice, at(9, 0), at(12, 0));
+        free(bobby, at(10, 0), at(11, 30));
+        free(carol, at(10, 30), at(13, 0));
+
+        List<MeetingSlot> slots = manager.recommendMeetingSlots(groupOf(alice, bobby, carol),
+                DAY, DAY, Duration.ofHours(1), 2, 3);
+
+        assertEquals(at(10, 30), slots.get(0).getStart());
+        assertEquals(at(11, 30), slots.get(0).getEnd());
+        assertEquals(List.of(alice, bobby, carol), slots.get(0).getAttendees());
+
+        // 10:00 with only Alice and Bobby overlaps the better slot, so it is not offered
+        assertEquals(1, slots.size());
+    }
+
+    @Test
+    void recommendMeetingSlots_findsFullAttendanceWhenItExists() {
+        free(alice, at(9, 0), at(12, 0));
+        free(bobby, at(10, 0), at(11, 30));
+        free(carol, at(10, 0), at(13, 0));
+        free(carol, at(15, 0), at(16, 0));
+
+        List<MeetingSlot> slots = manager.recommendMeetingSlots(groupOf(alice, bobby, carol),
+                DAY, DAY, Duration.ofHours(1), 3, 5);
+
+        assertEquals(1, slots.size());
+        assertEquals(at(10, 0), slots.get(0).getStart());
+        assertEquals(3, slots.get(0).getAttendeeCount());
+    }
+
+    @Test
+    void findMeetingSlots_mergesBackToBackSlotsAndClipsToWindow() {
+        List<Availability> availability = List.of(
+                new Availability("a", alice, at(9, 0), at(10, 0), "GREEN"),
+                new Availability("b", alice, at(10, 0), at(11, 0), "GREEN"),
+                new Availability("c", bobby, DAY.minusDays(1).atTime(22, 0), at(10, 30), "GREEN"));
+
+        List<MeetingSlot> twoHours = AvailabilityManager.findMeetingSlots(availability,
+                DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), Duration.ofHours(2), 1, 5);
+        assertEquals(List.of(at(0, 0), at(9, 0)), twoHours.stream().map(MeetingSlot::getStart).toList());
+        assertEquals(List.of(bobby), twoHours.get(0).getAttendees());
+        assertEquals(List.of(alice), twoHours.get(1).getAttendees());
+
+        assertTrue(AvailabilityManager.findMeetingSlots(availability,
+                DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), Duration.ofHours(3), 2, 5).isEmpty());
+        assertTrue(AvailabilityManager.findMeetingSlots(availability,
+                DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), Duration.ZERO, 1, 5).isEmpty());
+    }
+
+    @Test
+    void findOverlappingAvailabilities_followsCreateAndRemove() {
+        manager.createAvailability("Morning", alice, at(9, 0), at(11, 0), "GREEN");
+        assertEquals(1, manager.findOverlappingAvailabilities(alice, at(10, 0), at(12, 0)).size());
+        assertTrue(manager.findOverlappingAvailabilities(alice, at(11, 0), at(12, 0)).isEmpty());
+
+        manager.createAvailability("Late", alice, at(11, 30), at(12, 30), "GREEN");
+        List<Availability> overlapping = manager.findOverlappingAvailabilities(alice, at(10, 0), at(12, 0));
+        assertEquals(List.of("Morning", "Late"), overlapping.stream().map(Availability::getTitle).toList());
+        assertEquals(1, manager.getAvailabilitiesAt(alice, at(12, 0)).size());
+
+        manager.removeAvailability(overlapping.get(0));
+        assertEquals(List.of("Late"), manager.findOverlappingAvailabilities(alice, at(10, 0), at(12, 0))
+                .stream().map(Availability::getTitle).toList());
+        assertTrue(manager.findOverlappingAvailabilities(bobby, at(0, 0), at(23, 0)).isEmpty());
+    }
+
+    @Test
+    void recurringAvailability_isSeenByOverlapChecksAndRecommendations() {
+        manager.createRecurringAvailability("Weekly", alice, DAY.minusWeeks(4).atTime(10, 0),
+                DAY.minusWeeks(4).atTime(12, 0), "GREEN", "WEEKLY", null);
+        free(bobby, at(11, 0), at(13, 0));
+
+        List<Availability> overlapping = manager.findOverlappingAvailabilities(alice, at(11, 0), at(11, 30));
+        assertEquals(1, overlapping.size());
+        assertEquals(at(10, 0), overlapping.get(0).getStartTime());
+        assertEquals(1, manager.getAvailabilitiesAt(alice, DAY.plusWeeks(10).atTime(12, 0)).size());
+        assertTrue(manager.findOverlappingAvailabilities(alice, DAY.plusDays(1).atTime(10, 0),
+                DAY.plusDays(1).atTime(12, 0)).isEmpty());
+
+        List<MeetingSlot> slots = manager.recommendMeetingSlots(groupOf(alice, bobby),
+                DAY, DAY, Duration.ofHours(1), 2, 1);
+        assertEquals(at(11, 0), slots.get(0).getStart());
+
+        assertTrue(manager.removeOccurrence(overlapping.get(0)));
+        assertTrue(manager.findOverlappingAvailabilities(alice, at(11, 0), at(11, 30)).isEmpty());
+        assertEquals(1, manager.findOverlappingAvailabilities(alice, at(11, 0).plusWeeks(1), at(11, 30).plusWeeks(1)).size());
+    }
+
+    @Test
+    void findOverlappingAvailabilities_checksEveryOccurrenceOfARecurringProposal() {
+        free(alice, at(10, 0).plusWeeks(3), at(11, 0).plusWeeks(3));
+        free(alice, at(10, 0).plusWeeks(6), at(11, 0).plusWeeks(6)); // after the proposal ends
+        manager.createRecurringAvailability("Gym", alice, DAY.plusDays(1).atTime(20, 0),
+                DAY.plusDays(1).atTime(21, 0), "BLUE", "DAILY", null);
+        manager.createRecurringAvailability("Tutoring", alice, at(9, 30).plusWeeks(2),
+                at(10, 0).plusWeeks(2), "RED", "MONTHLY", null);
+
+        Availability proposed = new Availability("Study", alice, at(9, 0), at(10, 30), "GREEN");
+        proposed.setRecurringPattern("WEEKLY");
+        proposed.setRecurrenceEnd(DAY.plusWeeks(5));
+        // the first occurrence is clear, so checking only it would miss both clashes
+        assertTrue(manager.findOverlappingAvailabilities(alice, at(9, 0), at(10, 30)).isEmpty());
+
+        List<Availability> overlapping = manager.findOverlappingAvailabilities(proposed);
+        assertEquals(List.of("Tutoring", "Free"), overlapping.stream().map(Availability::getTitle).toList());
+        assertEquals(at(9, 30).plusWeeks(2), overlapping.get(0).getStartTime());
+        assertEquals(at(10, 0).plusWeeks(3), overlapping.get(1).getStartTime());
+    }
+
+    @Test
+    void buildGroupHeatmap_followsWritesThroughTheManager() {
+        free(alice, at(9, 0), at(11, 0));
+        free(bobby, at(10, 0), at(12, 0));
+
+        AvailabilityHeatmap heatmap = manager.buildGroupHeatmap(groupOf(alice, bobby, carol),
+                DAY, DAY, Duration.ofMinutes(30));
+        assertEquals(2, heatmap.getCount(heatmap.slotOf(at(10, 30))));
+
+        manager.createAvailability("Late", carol, at(10, 0), at(11, 0), "GREEN");
+        assertEquals(3, heatmap.getCount(heatmap.slotOf(at(10, 30))));
+
+        manager.createRecurringAvailability("Daily", carol, DAY.minusDays(3).atTime(15, 0),
+                DAY.minusDays(3).atTime(16, 0), "GREEN", "DAILY", null);
+        assertEquals(1, heatmap.getCount(heatmap.slotOf(at(15, 0))));
+
+        Availability late = manager.findOverlappingAvailabilities(carol, at(10, 0), at(11, 0)).get(0);
+        manager.removeAvailability(late);
+        assertEquals(2, heatmap.getCount(heatmap.slotOf(at(10, 30))));
+
+        manager.removeOccurrence(manager.getAvailabilitiesAt(carol, at(15, 30)).get(0));
+        assertEquals(0, heatmap.getCount(heatmap.slotOf(at(15, 0))));
+    }
+
+    /**
+     * 300 members each with one to three slots a day over a month, checking
+     * the recommendations stay ranked by attendance at that size.
+     */
+    @Test
+    void findMeetingSlots_ranksAMonthOfThreeHundredMembers() {
+        Random random = new Random(11);
+        LocalDate first = LocalDate.of(2025, 3, 1);
+        List<Availability> availability = new ArrayList<>();
+        for (int m = 0; m < 300; m++) {
+            User member = new User("Member", "Number", "member_" + m, "m" + m + "@example.com", "hash", "QUT");
+            for (int d = 0; d < 31; d++) {
+                int slotsToday = 1 + random.nextInt(3);
+                for (int k = 0; k < slotsToday; k++) {
+                    LocalDateTime start = first.plusDays(d).atTime(8 + random.nextInt(12), random.nextInt(4) * 15);
+                    availability.add(new Availability("Free", member, start,
+                            start.plusMinutes(60 + random.nextInt(180)), "GREEN"));
+                }
+            }
+        }
+
+        List<MeetingSlot> slots = AvailabilityManager.findMeetingSlots(availability,
+                first.atStartOfDay(), first.plusDays(31).atStartOfDay(), Duration.ofHours(1), 50, 10);
+
+        assertEquals(10, slots.size());
+        for (int i = 1; i < slots.size(); i++) {
+            assertTrue(slots.get(i - 1).getAttendeeCount() >= slots.get(i).getAttendeeCount());
+        }
+    }
+}
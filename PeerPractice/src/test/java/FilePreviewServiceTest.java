@@ -0,0 +1,121 @@
+import com.cab302.peerpractice.Model.Entities.FilePreview;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Managers.FilePreviewService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePreviewServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheDir;
+    private FilePreviewService service;
+
+    @BeforeEach
+    void setUp() {
+        cacheDir = tempDir.resolve("previews");
+        service = new FilePreviewService(cacheDir, 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private GroupFile stored(String id, Path path, String filename, String hash) throws IOException {
+        return new GroupFile(id, 1, "alice", filename, path.toString(), Files.size(path),
+                "application/octet-stream", LocalDateTime.now(), null, hash);
+    }
+
+    private FilePreview preview(GroupFile file) throws Exception {
+        return service.getPreview(file).get(10, TimeUnit.SECONDS);
+    }
+
+    private static Path writeImage(Path path, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        ImageIO.write(image, "png", path.toFile());
+        return path;
+    }
+
+    @Test
+    void imagesGetDownscaledThumbnailsCachedOnDisk() throws Exception {
+        Path photo = writeImage(tempDir.resolve("whiteboard.png"), 2400, 1200);
+        GroupFile file = stored("file-1", photo, "whiteboard.png", "ab".repeat(32));
+
+        FilePreview first = preview(file);
+        assertEquals(FilePreview.Kind.IMAGE, first.getKind());
+        BufferedImage thumbnail = ImageIO.read(first.getThumbnailPath().toFile());
+        assertEquals(FilePreviewService.THUMBNAIL_SIZE, thumbnail.getWidth());
+        assertEquals(FilePreviewService.THUMBNAIL_SIZE / 2, thumbnail.getHeight());
+        assertTrue(first.getThumbnailPath().startsWith(cacheDir));
+
+        // a new service finds the thumbnail on disk instead of decoding the photo again
+        Files.delete(photo);
+        FilePreviewService restarted = new FilePreviewService(cacheDir, 1024 * 1024);
+        try {
+            FilePreview cached = restarted.getPreview(file).get(10, TimeUnit.SECONDS);
+            assertEquals(first.getThumbnailPath(), cached.getThumbnailPath());
+            assertEquals(Files.size(first.getThumbnailPath()), restarted.getCacheBytes());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    void textDocumentsPreviewTheirOpeningLines() throws Exception {
+        Path notes = tempDir.resolve("notes.md");
+        Files.writeString(notes, "# Week 5\n\n- Dijkstra\n- Bellman-Ford\n- A*\n- Floyd-Warshall\n");
+        Path rtf = tempDir.resolve("summary.rtf");
+        Files.writeString(rtf, "{\\rtf1\\ansi{\\fonttbl{\\f0 Arial;}}\\f0\\fs24 Graph algorithms\\par Shortest paths\\par}");
+
+        assertEquals("# Week 5\n- Dijkstra\n- Bellman-Ford\n- A*",
+                preview(stored("file-2", notes, "notes.md", null)).getSnippet());
+        assertEquals("Graph algorithms\nShortest paths",
+                preview(stored("file-3", rtf, "summary.rtf", null)).getSnippet());
+        assertEquals(FilePreview.Kind.NONE,
+                preview(stored("file-4", notes, "recording.mp3", null)).getKind());
+    }
+
+    @Test
+    void leastRecentlyUsedPreviewsAreEvictedPastTheLimit() throws Exception {
+        GroupFile a = stored("file-a", writeImage(tempDir.resolve("a.png"), 400, 400), "a.png", "aa".repeat(32));
+        GroupFile b = stored("file-b", writeImage(tempDir.resolve("b.png"), 400, 400), "b.png", "bb".repeat(32));
+        GroupFile c = stored("file-c", writeImage(tempDir.resolve("c.png"), 400, 400), "c.png", "cc".repeat(32));
+
+        FilePreview previewA = preview(a);
+        long oneThumbnail = Files.size(previewA.getThumbnailPath());
+        service.shutdown();
+        service = new FilePreviewService(cacheDir, oneThumbnail * 2 + oneThumbnail / 2);
+
+        FilePreview previewB = preview(b);
+        assertEquals(previewA.getThumbnailPath(), preview(a).getThumbnailPath()); // a is now more recent than b
+        FilePreview previewC = preview(c);
+
+        assertTrue(Files.exists(previewA.getThumbnailPath()));
+        assertFalse(Files.exists(previewB.getThumbnailPath()), "b was the least recently used");
+        assertTrue(Files.exists(previewC.getThumbnailPath()));
+        assertTrue(service.getCacheBytes() <= oneThumbnail * 2 + oneThumbnail / 2);
+
+        service.forget(a);
+        assertFalse(Files.exists(previewA.getThumbnailPath()));
+    }
+}
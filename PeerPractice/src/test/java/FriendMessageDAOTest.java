@@ -1,13 +1,17 @@
 import com.cab302.peerpractice.Model.DAOs.FriendMessageDAO;
 import com.cab302.peerpractice.Model.DAOs.UserDAO;
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -133,4 +137,128 @@ class FriendMessageDAOTest {
         assertTrue(dao.getMessagesForUser(null).isEmpty());
         assertTrue(dao.getMessagesForUser("").isEmpty());
     }
+
+    @Test
+    void searchMessages_onlyReturnsParticipantsMessages() {
+        dao.addMessage(new FriendMessage("1", "alice123", "meet at library", LocalDateTime.now(), "bob1234"));
+        dao.addMessage(new FriendMessage("2", "bob1234", "library closed", LocalDateTime.now(), "someone1"));
+
+        List<MessageSearchResult<FriendMessage>> aliceHits = dao.searchMessages("alice123", null, "library", 10);
+        assertEquals(1, aliceHits.size());
+        assertEquals("1", aliceHits.get(0).getMessage().getMessageId());
+
+        assertEquals(2, dao.searchMessages("bob1234", null, "library", 10).size());
+        assertEquals(1, dao.searchMessages("bob1234", "someone1", "lib", 10).size());
+    }
+
+    @Test
+    void constructor_migratesTableToStableMessageSeq() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            // the schema from before message_seq and conversation_id existed
+            st.execute("DROP TABLE friend_messages_fts");
+            st.execute("DROP TABLE friend_messages");
+            st.execute("CREATE TABLE friend_messages (message_id TEXT PRIMARY KEY, sender_id TEXT NOT NULL, " +
+                    "receiver_id TEXT NOT NULL, content TEXT NOT NULL, timestamp TEXT NOT NULL)");
+            st.execute("INSERT INTO friend_messages VALUES " +
+                    "('b', 'alice123', 'bob1234', 'meet at library', '2025-03-10T09:00'), " +
+                    "('a', 'bob1234', 'alice123', 'bring the slides', '2025-03-10T09:05')");
+        }
+
+        FriendMessageDAO migrated = new FriendMessageDAO();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT message_id FROM friend_messages ORDER BY message_seq")) {
+            assertTrue(rs.next());
+            assertEquals("b", rs.getString(1));
+            assertTrue(rs.next());
+            assertEquals("a", rs.getString(1));
+            st.execute("VACUUM");
+        }
+
+        List<MessageSearchResult<FriendMessage>> hits = new FriendMessageDAO().searchMessages("alice123", null, "library", 10);
+        assertEquals(1, hits.size());
+        assertEquals("b", hits.get(0).getMessage().getMessageId());
+        assertEquals(2, migrated.getMessagesBetween("alice123", "bob1234").size());
+        assertEquals(1, migrated.searchMessages("bob1234", null, "slides", 10).size());
+    }
+
+    @Test
+    void getMessagesAround_rejectsAnchorFromOtherConversation() {
+        dao.addMessage(new FriendMessage("1", "alice123", "Hi", LocalDateTime.now().minusMinutes(2), "bob1234"));
+        dao.addMessage(new FriendMessage("2", "bob1234", "Hey", LocalDateTime.now().minusMinutes(1), "alice123"));
+        dao.addMessage(new FriendMessage("3", "alice123", "Other", LocalDateTime.now(), "someone1"));
+
+        assertEquals(2, dao.getMessagesAround("alice123", "bob1234", "2", 5, 5).size());
+        assertTrue(dao.getMessagesAround("alice123", "bob1234", "3", 5, 5).isEmpty());
+    }
+
+    @Test
+    void getInbox_returnsLatestMessageAndUnreadPerConversation() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        dao.addMessage(new FriendMessage("1", "alice123", "Hi Bob", base, "bob1234"));
+        dao.addMessage(new FriendMessage("2", "bob1234", "Hey", base.plusMinutes(1), "alice123"));
+        dao.addMessage(new FriendMessage("3", "bob1234", "You there?", base.plusMinutes(2), "alice123"));
+        dao.addMessage(new FriendMessage("4", "someone1", "Yo", base.plusMinutes(3), "alice123"));
+
+        List<ConversationSummary> inbox = dao.getInbox("alice123");
+        assertEquals(2, inbox.size());
+        assertEquals("someone1", inbox.get(0).getOtherUserId());
+        ConversationSummary bob = inbox.get(1);
+        assertEquals("bob1234", bob.getOtherUserId());
+        assertEquals("3", bob.getLastMessage().getMessageId());
+        assertEquals(2, bob.getUnreadCount());
+
+        assertTrue(dao.markConversationRead("alice123", "bob1234"));
+        assertEquals(0, dao.getInbox("alice123").stream()
+                .filter(c -> c.getOtherUserId().equals("bob1234")).findFirst().orElseThrow().getUnreadCount());
+        // bob's own unread state is independent
+        assertEquals(1, dao.getInbox("bob1234").get(0).getUnreadCount());
+    }
+
+    @Test
+    void constructor_backfillsConversationIdForLegacyRows() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE friend_messages");
+            st.execute("CREATE TABLE friend_messages (message_id TEXT PRIMARY KEY, sender_id TEXT NOT NULL, " +
+                    "receiver_id TEXT NOT NULL, content TEXT NOT NULL, timestamp TEXT NOT NULL)");
+            st.execute("INSERT INTO friend_messages VALUES ('old', 'bob1234', 'alice123', 'legacy', '" +
+                    LocalDateTime.now() + "')");
+        }
+
+        FriendMessageDAO migrated = new FriendMessageDAO();
+        List<FriendMessage> conv = migrated.getMessagesBetween("alice123", "bob1234");
+        assertEquals(1, conv.size());
+        assertEquals("alice123|bob1234", conv.get(0).getConversationId());
+    }
+
+    @Test
+    void unreadCounters_maintainedOnInsertReadAndDelete() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        dao.addMessage(new FriendMessage("1", "bob1234", "Hey", base, "alice123"));
+        dao.addMessage(new FriendMessage("2", "someone1", "Yo", base.plusMinutes(1), "alice123"));
+        dao.addMessage(new FriendMessage("3", "alice123", "Hi", base.plusMinutes(2), "bob1234"));
+
+        assertEquals(1, dao.getUnreadCount("alice123", "bob1234"));
+        assertEquals(2, dao.getTotalUnreadCount("alice123"));
+        assertEquals(1, dao.getTotalUnreadCount("bob1234"));
+
+        dao.markConversationRead("alice123", "bob1234");
+        assertEquals(0, dao.getUnreadCount("alice123", "bob1234"));
+        assertEquals(1, dao.getTotalUnreadCount("alice123"));
+
+        dao.deleteMessage("2");
+        assertEquals(0, dao.getTotalUnreadCount("alice123"));
+    }
+
+    @Test
+    void constructor_backfillsUnreadCountersForExistingMessages() throws SQLException {
+        dao.addMessage(new FriendMessage("1", "bob1234", "Hey", LocalDateTime.now(), "alice123"));
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE conversation_read_state");
+            st.execute("CREATE TABLE conversation_read_state (conversation_id TEXT NOT NULL, " +
+                    "user_id TEXT NOT NULL, last_read_at TEXT NOT NULL, PRIMARY KEY(conversation_id, user_id))");
+        }
+
+        FriendMessageDAO migrated = new FriendMessageDAO();
+        assertEquals(1, migrated.getTotalUnreadCount("alice123"));
+    }
 }
@@ -1,11 +1,18 @@
 import com.cab302.peerpractice.Model.DAOs.MockFriendMessageDAO;
+import com.cab302.peerpractice.Model.Entities.ConversationSummary;
 import com.cab302.peerpractice.Model.Entities.FriendMessage;
 import com.cab302.peerpractice.Model.Managers.FriendMessageManager;
+import com.cab302.peerpractice.Model.Managers.MessageOutbox;
+import com.cab302.peerpractice.Model.Managers.OutgoingMessage;
+import com.cab302.peerpractice.Model.ValueObjects.DeliveryState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -65,4 +72,114 @@ class FriendMessageManagerTest {
         assertNotNull(retrieved);
         assertEquals("alice", retrieved.getSenderId());
     }
+
+    @Test
+    void getInbox_tracksUnreadUntilMarkedRead() {
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        dao.addMessage(new FriendMessage("1", "bob", "Hi", base, "alice"));
+        dao.addMessage(new FriendMessage("2", "bob", "Still there?", base.plusMinutes(1), "alice"));
+
+        List<ConversationSummary> inbox = manager.getInbox("alice");
+        assertEquals(1, inbox.size());
+        assertEquals(2, inbox.get(0).getUnreadCount());
+        assertEquals("bob", inbox.get(0).getOtherUserId());
+
+        manager.markConversationRead("alice", "bob");
+        assertEquals(0, manager.getInbox("alice").get(0).getUnreadCount());
+    }
+
+    @Test
+    void getTotalUnreadCount_sumsAcrossConversations() {
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        dao.addMessage(new FriendMessage("1", "bob", "Hi", base, "alice"));
+        dao.addMessage(new FriendMessage("2", "carol", "Hello", base.plusMinutes(1), "alice"));
+
+        assertEquals(2, manager.getTotalUnreadCount("alice"));
+        assertEquals(1, manager.getUnreadCount("alice", "carol"));
+        manager.markConversationRead("alice", "carol");
+        assertEquals(1, manager.getTotalUnreadCount("alice"));
+        assertThrows(IllegalArgumentException.class, () -> manager.getTotalUnreadCount(" "));
+    }
+
+    @Test
+    void getMessagesAround_validatesInputAndChecksParticipants() {
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        dao.addMessage(new FriendMessage("1", "alice", "Hey", base, "bob"));
+        dao.addMessage(new FriendMessage("2", "bob", "Hi", base.plusMinutes(1), "alice"));
+        dao.addMessage(new FriendMessage("3", "carol", "Psst", base.plusMinutes(2), "dave"));
+
+        assertThrows(IllegalArgumentException.class, () -> manager.getMessagesAround(null, "bob", "1"));
+        assertThrows(IllegalArgumentException.class, () -> manager.getMessagesAround("alice", " ", "1"));
+        assertThrows(IllegalArgumentException.class, () -> manager.getMessagesAround("alice", "bob", ""));
+
+        assertEquals(2, manager.getMessagesAround("bob", "alice", "1").size());
+        assertTrue(manager.getMessagesAround("alice", "bob", "3").isEmpty());
+        assertTrue(manager.getMessagesAround("carol", "alice", "3").isEmpty());
+        assertTrue(manager.getMessagesAround("alice", "bob", "missing").isEmpty());
+    }
+
+    @Test
+    void conversationId_isOrderIndependent() {
+        assertEquals(FriendMessage.conversationIdFor("alice", "bob"), FriendMessage.conversationIdFor("bob", "alice"));
+    }
+
+    @Test
+    void sendMessageAsync_storesRapidSendsInOrder() {
+        MessageOutbox outbox = new MessageOutbox();
+        List<String> stored = Collections.synchronizedList(new ArrayList<>());
+        MockFriendMessageDAO recording = new MockFriendMessageDAO() {
+            @Override
+            public boolean addMessage(FriendMessage message) {
+                stored.add(message.getMessageId());
+                return super.addMessage(message);
+            }
+        };
+        FriendMessageManager async = new FriendMessageManager(recording, outbox);
+
+        List<OutgoingMessage<FriendMessage>> sent = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sent.add(async.sendMessageAsync(
+                    new FriendMessage("m" + i, "alice", "msg " + i, LocalDateTime.now(), "bob"), null));
+        }
+
+        assertTrue(outbox.awaitIdle(5000));
+        assertEquals(sent.stream().map(o -> o.getMessage().getMessageId()).toList(), stored);
+        assertTrue(sent.stream().allMatch(o -> o.getState() == DeliveryState.SENT));
+        outbox.shutdown();
+    }
+
+    @Test
+    void sendMessageAsync_failureCanBeRetried() {
+        MessageOutbox outbox = new MessageOutbox();
+        AtomicBoolean diskFull = new AtomicBoolean(true);
+        MockFriendMessageDAO flaky = new MockFriendMessageDAO() {
+            @Override
+            public boolean addMessage(FriendMessage message) {
+                return !diskFull.get() && super.addMessage(message);
+            }
+        };
+        FriendMessageManager async = new FriendMessageManager(flaky, outbox);
+        List<DeliveryState> states = Collections.synchronizedList(new ArrayList<>());
+
+        OutgoingMessage<FriendMessage> pending = async.sendMessageAsync(
+                new FriendMessage("1", "alice", "hello", LocalDateTime.now(), "bob"), o -> states.add(o.getState()));
+        assertTrue(outbox.awaitIdle(5000));
+        assertEquals(DeliveryState.FAILED, pending.getState());
+        assertNotNull(pending.getError());
+
+        diskFull.set(false);
+        async.retrySend(pending);
+        assertTrue(outbox.awaitIdle(5000));
+        assertEquals(DeliveryState.SENT, pending.getState());
+        assertEquals(List.of(DeliveryState.FAILED, DeliveryState.SENDING, DeliveryState.SENT), states);
+        assertNotNull(flaky.getMessageById("1"));
+        outbox.shutdown();
+    }
+
+    @Test
+    void sendMessageAsync_validatesBeforeQueueing() {
+        assertThrows(IllegalArgumentException.class, () -> manager.sendMessageAsync(null, null));
+        assertThrows(IllegalStateException.class, () -> manager.sendMessageAsync(
+                new FriendMessage("1", "alice", "hi", LocalDateTime.now(), "bob"), null));
+    }
 }
@@ -0,0 +1,221 @@
+import com.cab302.peerpractice.Model.DAOs.GroupDAO;
+import com.cab302.peerpractice.Model.DAOs.GroupFileDAO;
+import com.cab302.peerpractice.Model.DAOs.IUserDAO;
+import com.cab302.peerpractice.Model.DAOs.UserDAO;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.StorageQuota;
+import com.cab302.peerpractice.Model.ValueObjects.StorageStats;
+import com.cab302.peerpractice.Model.ValueObjects.StorageUsage;
+import com.cab302.peerpractice.Model.ValueObjects.StoredBlob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupFileDAOTest {
+
+    private static final String SLIDES_HASH = "ab".repeat(32);
+    private static final String NOTES_HASH = "cd".repeat(32);
+
+    private Connection connection;
+    private GroupFileDAO storage;
+    private GroupDAO groupStorage;
+    private User owner;
+    private Group first;
+    private Group second;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // fresh in-memory DB
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement st = connection.createStatement()) {
+            st.execute("PRAGMA foreign_keys = ON");
+        }
+        SQLiteConnection.setInstance(connection);
+
+        IUserDAO userDao = new UserDAO();
+        groupStorage = new GroupDAO(userDao);
+        storage = new GroupFileDAO();
+
+        owner = new User("Fiona", "Files", "fiona_files", "fiona.files@example.com", "hash", "QUT");
+        userDao.addUser(owner);
+        first = new Group("Algorithms", "Week 5", false, owner, LocalDateTime.now());
+        second = new Group("Data Structures", "Week 5", false, owner, LocalDateTime.now());
+        groupStorage.addGroup(first);
+        groupStorage.addGroup(second);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null && !connection.isClosed()) {
+            connection.close(); // wipes the in-memory DB
+        }
+    }
+
+    private GroupFile file(String id, Group group, String hash, long size) {
+        return new GroupFile(id, group.getID(), owner.getUsername(), id + ".pdf",
+                "group_files/blobs/" + hash, size, "application/pdf", LocalDateTime.now(), null, hash);
+    }
+
+    @Test
+    void testReferenceCountsFollowInsertsDeletesAndCascades() {
+        assertTrue(storage.addFile(file("slides-1", first, SLIDES_HASH, 1000)));
+        assertTrue(storage.addFile(file("slides-2", second, SLIDES_HASH, 1000)));
+        assertTrue(storage.addFile(file("slides-3", second, SLIDES_HASH, 1000)));
+        assertTrue(storage.addFile(file("notes-1", second, NOTES_HASH, 500)));
+        // a file stored before deduplication has no hash and its own copy
+        assertTrue(storage.addFile(new GroupFile("legacy", first.getID(), owner.getUsername(), "old.txt",
+                "group_files/group_1/legacy.txt", 200, "text/plain", LocalDateTime.now(), null)));
+
+        assertEquals(3, storage.getBlobReferenceCount(SLIDES_HASH));
+        assertEquals(1, storage.getBlobReferenceCount(NOTES_HASH));
+        assertEquals(SLIDES_HASH, storage.getFileById("slides-2").getContentHash());
+        assertNull(storage.getFileById("legacy").getContentHash());
+
+        StorageStats stats = storage.getStorageStats();
+        assertEquals(5, stats.getFileCount());
+        assertEquals(3, stats.getStoredCount());
+        assertEquals(3700, stats.getLogicalBytes());
+        assertEquals(1700, stats.getStoredBytes());
+        assertEquals(2000, stats.getSavedBytes());
+
+        assertTrue(storage.deleteFile("slides-1"));
+        assertEquals(2, storage.getBlobReferenceCount(SLIDES_HASH));
+
+        // deleting the group cascades to its records, and the counts follow
+        groupStorage.deleteGroup(second);
+        assertEquals(0, storage.getBlobReferenceCount(SLIDES_HASH));
+        assertEquals(0, storage.getBlobReferenceCount(NOTES_HASH));
+
+        stats = storage.getStorageStats();
+        assertEquals(1, stats.getFileCount());
+        assertEquals(200, stats.getStoredBytes());
+        assertEquals(1.0, stats.getDedupRatio(), 1e-9);
+    }
+
+    @Test
+    void testCompressedFilesRecordStoredAndLogicalSizes() {
+        assertTrue(storage.addFile(new GroupFile("notes-1", first.getID(), owner.getUsername(), "notes.csv",
+                "group_files/blobs/" + NOTES_HASH, 5000, "text/csv", LocalDateTime.now(), null, NOTES_HASH,
+                800, true)));
+        assertTrue(storage.addFile(new GroupFile("notes-2", second.getID(), owner.getUsername(), "copy.csv",
+                "group_files/blobs/" + NOTES_HASH, 5000, "text/csv", LocalDateTime.now(), null, NOTES_HASH,
+                800, true)));
+        assertTrue(storage.addFile(file("slides-1", first, SLIDES_HASH, 1000)));
+
+        GroupFile notes = storage.getFileById("notes-1");
+        assertEquals(5000, notes.getFileSize());
+        assertEquals(800, notes.getStoredSize());
+        assertTrue(notes.isCompressed());
+        GroupFile slides = storage.getFileByContentHash(SLIDES_HASH);
+        assertEquals(1000, slides.getStoredSize());
+        assertFalse(slides.isCompressed());
+        assertNull(storage.getFileByContentHash("ef".repeat(32)));
+
+        List<StoredBlob> blobs = storage.getBlobsAfter(null, 10);
+        assertEquals(2, blobs.size());
+        assertEquals(SLIDES_HASH, blobs.get(0).getHash());
+        assertEquals(NOTES_HASH, blobs.get(1).getHash());
+        assertEquals(800, blobs.get(1).getStoredSize());
+        assertTrue(blobs.get(1).isCompressed());
+        assertEquals(List.of(), storage.getBlobsAfter(NOTES_HASH, 10));
+
+        StorageStats stats = storage.getStorageStats();
+        assertEquals(11000, stats.getLogicalBytes());
+        assertEquals(1800, stats.getStoredBytes());
+    }
+
+    @Test
+    void testUploadManifestRecordsChunksAndIsDeletedWithThem() {
+        UploadManifest manifest = new UploadManifest("upload-1", first.getID(), owner.getUsername(), "lecture.mp4",
+                "/tmp/lecture.mp4", 20, 1234L, 8, "Week 5", LocalDateTime.now());
+        assertTrue(storage.addUploadManifest(manifest));
+        assertTrue(storage.recordUploadChunk("upload-1", 0, SLIDES_HASH));
+        assertTrue(storage.recordUploadChunk("upload-1", 2, NOTES_HASH));
+        // a chunk sent again replaces its checksum
+        assertTrue(storage.recordUploadChunk("upload-1", 0, NOTES_HASH));
+
+        UploadManifest loaded = storage.getUploadManifest("upload-1");
+        assertEquals(3, loaded.getChunkCount());
+        assertEquals(4, loaded.getChunkLength(2));
+        assertEquals(NOTES_HASH, loaded.getChunkHash(0));
+        assertFalse(loaded.hasChunk(1));
+        assertEquals(12, loaded.getLandedBytes());
+        assertEquals(1234L, loaded.getSourceModified());
+        assertEquals("Week 5", loaded.getDescription());
+
+        List<UploadManifest> forOwner = storage.getUploadManifestsForUser(owner.getUsername());
+        assertEquals(1, forOwner.size());
+        assertEquals(2, forOwner.get(0).getChunkHashes().size());
+
+        assertTrue(storage.deleteUploadManifest("upload-1"));
+        assertNull(storage.getUploadManifest("upload-1"));
+        assertFalse(storage.recordUploadChunk("upload-1", 1, SLIDES_HASH), "chunks need their manifest");
+    }
+
+    @Test
+    void testStorageUsageCountersFollowInsertsDeletesAndCascades() throws SQLException {
+        User other = new User("Omar", "Other", "omar_other", "omar.other@example.com", "hash", "QUT");
+        new UserDAO().addUser(other);
+        assertTrue(storage.addFile(file("slides-1", first, SLIDES_HASH, 1000)));
+        assertTrue(storage.addFile(file("slides-2", first, SLIDES_HASH, 1000)));
+        assertTrue(storage.addFile(new GroupFile("song", first.getID(), other.getUsername(), "song.mp3",
+                "group_files/blobs/" + NOTES_HASH, 300, "audio/mpeg", LocalDateTime.now(), null, NOTES_HASH)));
+        assertTrue(storage.addFile(new GroupFile("untyped", first.getID(), other.getUsername(), "blob",
+                "group_files/group_1/untyped", 50, null, LocalDateTime.now(), null)));
+        assertTrue(storage.addFile(file("elsewhere", second, NOTES_HASH, 700)));
+
+        StorageUsage usage = storage.getStorageUsage(first.getID());
+        assertEquals(4, usage.getFileCount());
+        assertEquals(2350, usage.getTotalBytes(), "shared blobs still count once per file");
+        assertEquals(2000, usage.getBytesForUploader(owner.getUsername()));
+        assertEquals(350, usage.getBytesForUploader(other.getUsername()));
+        assertEquals(2000L, usage.getBytesByMimeType().get("application/pdf"));
+        assertEquals(50L, usage.getBytesByMimeType().get("application/octet-stream"));
+
+        assertTrue(storage.deleteFile("slides-1"));
+        assertTrue(storage.deleteFile("untyped"));
+        usage = storage.getStorageUsage(first.getID());
+        assertEquals(1300, usage.getTotalBytes());
+        assertNull(usage.getBytesByMimeType().get("application/octet-stream"));
+
+        // counters for databases that had files before usage was tracked are built on first start
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE group_storage_usage");
+        }
+        storage = new GroupFileDAO();
+        assertEquals(1300, storage.getStorageUsage(first.getID()).getTotalBytes());
+        assertEquals(700, storage.getStorageUsage(second.getID()).getTotalBytes());
+
+        groupStorage.deleteGroup(first);
+        assertEquals(0, storage.getStorageUsage(first.getID()).getFileCount());
+        assertEquals(700, storage.getStorageUsage(second.getID()).getTotalBytes());
+    }
+
+    @Test
+    void testStorageQuotaIsUnlimitedUntilSetAndGoesWithItsGroup() {
+        assertFalse(storage.getStorageQuota(first.getID()).isGroupLimited());
+
+        assertTrue(storage.setStorageQuota(new StorageQuota(first.getID(), 5000, 1000)));
+        assertTrue(storage.setStorageQuota(new StorageQuota(first.getID(), 8000, StorageQuota.UNLIMITED)));
+        StorageQuota quota = storage.getStorageQuota(first.getID());
+        assertEquals(8000, quota.getMaxGroupBytes());
+        assertFalse(quota.isUserLimited());
+        assertFalse(storage.getStorageQuota(second.getID()).isGroupLimited());
+
+        groupStorage.deleteGroup(first);
+        assertFalse(storage.getStorageQuota(first.getID()).isGroupLimited());
+    }
+}
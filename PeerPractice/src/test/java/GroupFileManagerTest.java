@@ -1,20 +1,41 @@
+import com.cab302.peerpractice.Exceptions.StorageQuotaExceededException;
 import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.Managers.FileExport;
+import com.cab302.peerpractice.Model.Managers.FileUpload;
 import com.cab302.peerpractice.Model.Managers.GroupFileManager;
+import com.cab302.peerpractice.Model.ValueObjects.ExportState;
+import com.cab302.peerpractice.Model.ValueObjects.StorageQuota;
+import com.cab302.peerpractice.Model.ValueObjects.StorageStats;
+import com.cab302.peerpractice.Model.ValueObjects.StorageUsage;
+import com.cab302.peerpractice.Model.ValueObjects.StoredBlob;
+import com.cab302.peerpractice.Model.ValueObjects.UploadState;
 import com.cab302.peerpractice.Model.DAOs.IGroupFileDAO;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,6 +57,11 @@ class GroupFileManagerTest {
         manager = new GroupFileManager(dao);
     }
 
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
     @Test
     void uploadFile_createsFileRecord() throws IOException {
         // Create a temporary test file
@@ -53,6 +79,362 @@ class GroupFileManagerTest {
         assertNotNull(dao.getFileById(uploaded.getFileId()));
     }
 
+    @Test
+    void uploadFileAsync_copiesInBackgroundAndReportsProgress() throws Exception {
+        File testFile = tempDir.resolve("recording.bin").toFile();
+        Files.write(testFile.toPath(), new byte[9 * 1024 * 1024 + 17]);
+        List<Long> reported = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        FileUpload upload = manager.uploadFileAsync(4301, "alice", testFile, "Recording", u -> {
+            reported.add(u.getBytesCopied());
+            if (u.getState().isDone()) done.countDown();
+        });
+
+        try {
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(UploadState.COMPLETED, upload.getState());
+            assertEquals(testFile.length(), upload.getBytesCopied());
+            assertEquals(1.0, upload.getProgress());
+            assertTrue(reported.size() >= 3, "progress is reported per chunk");
+
+            GroupFile stored = upload.getResult();
+            assertNotNull(dao.getFileById(stored.getFileId()));
+            assertEquals(testFile.length(), stored.getFileSize());
+            assertEquals(stored.getStoredSize(), Files.size(Path.of(stored.getFilepath())));
+            assertNotNull(stored.getContentHash());
+        } finally {
+            manager.deleteFilesForGroup(4301);
+        }
+    }
+
+    @Test
+    void uploadFileAsync_cancelRemovesPartialFileAndRecord() throws Exception {
+        File testFile = tempDir.resolve("large.bin").toFile();
+        Files.write(testFile.toPath(), new byte[12 * 1024 * 1024]);
+        CountDownLatch done = new CountDownLatch(1);
+
+        FileUpload upload = manager.uploadFileAsync(4302, "alice", testFile, null, u -> {
+            if (u.getState() == UploadState.UPLOADING && u.getBytesCopied() > 0) u.cancel();
+            if (u.getState().isDone()) done.countDown();
+        });
+
+        try {
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(UploadState.CANCELLED, upload.getState());
+            assertTrue(upload.getBytesCopied() < testFile.length());
+            assertNull(upload.getResult());
+            assertTrue(dao.getFilesForGroup(4302).isEmpty());
+            try (var incoming = Files.list(Path.of("group_files", "blobs", "incoming"))) {
+                assertEquals(0, incoming.filter(f -> f.toString().endsWith(".part")).count());
+            }
+            assertTrue(manager.getInterruptedUploads("alice").isEmpty(), "a cancelled upload is not resumable");
+            assertFalse(upload.cancel(), "a finished upload cannot be cancelled again");
+        } finally {
+            manager.deleteFilesForGroup(4302);
+        }
+    }
+
+    @Test
+    void uploadFileAsync_interruptedUploadResumesFromLandedChunks() throws Exception {
+        byte[] content = new byte[20 * 1024 * 1024 + 5];
+        new Random(45).nextBytes(content);
+        File testFile = tempDir.resolve("lecture.mp4").toFile();
+        Files.write(testFile.toPath(), content);
+
+        // stop the upload threads part way through the second chunk, as closing the app would
+        CountDownLatch stopped = new CountDownLatch(1);
+        FileUpload first = manager.uploadFileAsync(4501, "alice", testFile, "Lecture", u -> {
+            if (u.getBytesCopied() > 9 * 1024 * 1024) manager.shutdown();
+            if (u.getState().isDone()) stopped.countDown();
+        });
+        try {
+            assertTrue(stopped.await(10, TimeUnit.SECONDS));
+            assertEquals(UploadState.FAILED, first.getState());
+            assertNotNull(first.getUploadId());
+
+            List<UploadManifest> interrupted = manager.getInterruptedUploads("alice");
+            assertEquals(1, interrupted.size());
+            UploadManifest manifest = interrupted.get(0);
+            assertEquals(3, manifest.getChunkCount());
+            assertEquals(1, manifest.getChunkHashes().size(), "only the first chunk landed");
+            assertTrue(dao.getFilesForGroup(4501).isEmpty());
+
+            // damage the landed chunk; the checksum catches it and the next resume sends it again
+            Path chunk0 = Path.of("group_files", "blobs", "incoming", manifest.getUploadId(), "0.chunk");
+            try (RandomAccessFile raf = new RandomAccessFile(chunk0.toFile(), "rw")) {
+                raf.seek(100);
+                raf.write(content[100] ^ 0xFF);
+            }
+            FileUpload damaged = awaitDone(manager.resumeUpload(manifest.getUploadId(), null));
+            assertEquals(UploadState.FAILED, damaged.getState());
+            assertTrue(damaged.getError().contains("Chunk 1"));
+
+            List<Long> reported = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(1);
+            FileUpload resumed = manager.resumeUpload(manifest.getUploadId(), u -> {
+                reported.add(u.getBytesCopied());
+                if (u.getState().isDone()) done.countDown();
+            });
+            assertThrows(IllegalStateException.class, () -> manager.resumeUpload(manifest.getUploadId(), null));
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(UploadState.COMPLETED, resumed.getState(), resumed.getError());
+            assertEquals(content.length - 8L * 1024 * 1024, reported.get(0), "chunks 2 and 3 were already on disk");
+
+            GroupFile stored = resumed.getResult();
+            assertEquals("lecture.mp4", stored.getFilename());
+            assertEquals(content.length, stored.getFileSize());
+            assertArrayEquals(content, Files.readAllBytes(Path.of(stored.getFilepath())));
+            assertTrue(manager.getInterruptedUploads("alice").isEmpty());
+            assertFalse(Files.exists(chunk0.getParent()), "chunks are removed once joined");
+        } finally {
+            manager.deleteFilesForGroup(4501);
+            manager.getInterruptedUploads("alice").forEach(m -> manager.discardUpload(m.getUploadId()));
+        }
+    }
+
+    private static FileUpload awaitDone(FileUpload upload) throws InterruptedException {
+        for (int i = 0; i < 1000 && !upload.getState().isDone(); i++) {
+            Thread.sleep(10);
+        }
+        return upload;
+    }
+
+    @Test
+    void uploadFile_sameContentSharesOneBlobUntilLastReferenceIsDeleted() throws IOException {
+        File slides = tempDir.resolve("slides.pdf").toFile();
+        Files.writeString(slides.toPath(), "Week 5 lecture slides");
+        File renamed = tempDir.resolve("week5.pdf").toFile();
+        Files.writeString(renamed.toPath(), "Week 5 lecture slides");
+
+        try {
+            GroupFile first = manager.uploadFile(4401, "alice", slides, null);
+            GroupFile second = manager.uploadFile(4402, "bob", renamed, null);
+            GroupFile third = manager.uploadFile(4402, "bob", slides, "again");
+
+            assertEquals(first.getContentHash(), second.getContentHash());
+            assertEquals(first.getFilepath(), third.getFilepath());
+            assertEquals("week5.pdf", second.getFilename());
+            assertEquals(3, dao.getBlobReferenceCount(first.getContentHash()));
+
+            StorageStats stats = manager.getStorageStats();
+            assertEquals(3, stats.getFileCount());
+            assertEquals(1, stats.getStoredCount());
+            assertEquals(3.0, stats.getDedupRatio(), 1e-9);
+
+            Path blob = Path.of(first.getFilepath());
+            assertTrue(manager.deleteFilesForGroup(4402));
+            assertTrue(Files.exists(blob), "blob is still referenced by group 4401");
+            assertEquals("Week 5 lecture slides", read(first.getFileId()));
+
+            assertTrue(manager.deleteFile(first.getFileId()));
+            assertFalse(Files.exists(blob), "blob goes with its last reference");
+        } finally {
+            manager.deleteFilesForGroup(4401);
+            manager.deleteFilesForGroup(4402);
+        }
+    }
+
+    @Test
+    void uploadFile_compressibleContentIsStoredDeflatedAndReadBackInflated() throws IOException {
+        String notes = "week,topic,reading\n" + "5,graphs,chapter 22 breadth-first search\n".repeat(2000);
+        File csv = tempDir.resolve("notes.csv").toFile();
+        Files.writeString(csv.toPath(), notes);
+        byte[] noise = new byte[64 * 1024];
+        new Random(49).nextBytes(noise);
+        File random = tempDir.resolve("noise.txt").toFile();
+        Files.write(random.toPath(), noise);
+
+        try {
+            GroupFile compressed = manager.uploadFile(4901, "alice", csv, null);
+            assertTrue(compressed.isCompressed());
+            assertEquals(notes.length(), compressed.getFileSize());
+            assertTrue(compressed.getStoredSize() < notes.length() / 5, "stored " + compressed.getStoredSize());
+            assertEquals(compressed.getStoredSize(), Files.size(Path.of(compressed.getFilepath())));
+            try (InputStream in = manager.openFile(compressed.getFileId())) {
+                assertEquals(notes, new String(in.readAllBytes()));
+            }
+            assertEquals(compressed.getStoredSize(), manager.getStorageStats().getStoredBytes());
+
+            // the same content uploaded with compression off still shares the compressed blob
+            manager.setCompressionEnabled(false);
+            GroupFile shared = manager.uploadFile(4901, "bob", csv, null);
+            assertTrue(shared.isCompressed());
+            assertEquals(compressed.getStoredSize(), shared.getStoredSize());
+            manager.setCompressionEnabled(true);
+
+            GroupFile raw = manager.uploadFile(4901, "alice", random, null);
+            assertFalse(raw.isCompressed(), "content that does not deflate is stored as it is");
+            assertEquals(noise.length, raw.getStoredSize());
+            assertArrayEquals(noise, readBytes(raw.getFileId()));
+        } finally {
+            manager.deleteFilesForGroup(4901);
+        }
+    }
+
+    @Test
+    void exportGroupAsync_streamsEveryFileIntoOneArchive() throws Exception {
+        String notes = "graphs,chapter 22\n".repeat(1000);
+        File csv = tempDir.resolve("notes.csv").toFile();
+        Files.writeString(csv.toPath(), notes);
+        byte[] photo = new byte[40 * 1024];
+        new Random(50).nextBytes(photo);
+        File png = tempDir.resolve("whiteboard.png").toFile();
+        Files.write(png.toPath(), photo);
+        File otherNotes = tempDir.resolve("other").resolve("Notes.csv").toFile();
+        Files.createDirectories(otherNotes.toPath().getParent());
+        Files.writeString(otherNotes.toPath(), "trees,chapter 12\n");
+        Path archive = tempDir.resolve("Algorithms.zip");
+
+        try {
+            manager.uploadFile(5001, "alice", csv, null);
+            manager.uploadFile(5001, "alice", png, "Tuesday's whiteboard");
+            manager.uploadFile(5001, "bob", otherNotes, null);
+
+            FileExport export = awaitDone(manager.exportGroupAsync(5001, archive.toFile(), null));
+            assertEquals(ExportState.COMPLETED, export.getState(), export.getError());
+            assertEquals(3, export.getFilesDone());
+            assertEquals(notes.length() + photo.length + 17, export.getBytesCopied());
+            assertEquals(1.0, export.getProgress());
+            assertTrue(export.getSkippedFiles().isEmpty());
+            assertFalse(Files.exists(tempDir.resolve("Algorithms.zip.part")));
+
+            try (ZipFile zip = new ZipFile(archive.toFile())) {
+                assertEquals(3, zip.size());
+                Map<String, ZipEntry> entries = zip.stream().collect(Collectors.toMap(ZipEntry::getName, e -> e));
+                // whichever notes file comes second is renamed so both extract, even ignoring case
+                boolean lowerFirst = entries.containsKey("notes.csv");
+                ZipEntry lower = entries.get(lowerFirst ? "notes.csv" : "notes (2).csv");
+                ZipEntry upper = entries.get(lowerFirst ? "Notes (2).csv" : "Notes.csv");
+                assertEquals(notes, new String(zip.getInputStream(lower).readAllBytes()));
+                assertEquals("trees,chapter 12\n", new String(zip.getInputStream(upper).readAllBytes()));
+                ZipEntry image = entries.get("whiteboard.png");
+                assertArrayEquals(photo, zip.getInputStream(image).readAllBytes());
+                assertEquals("Tuesday's whiteboard", image.getComment());
+                assertTrue(image.getCompressedSize() >= photo.length, "images are not deflated again");
+                assertTrue(lower.getCompressedSize() < notes.length() / 5);
+            }
+        } finally {
+            manager.deleteFilesForGroup(5001);
+        }
+    }
+
+    @Test
+    void exportGroupAsync_cancelDeletesThePartialArchive() throws Exception {
+        File large = tempDir.resolve("recording.wav").toFile();
+        byte[] content = new byte[6 * 1024 * 1024];
+        new Random(51).nextBytes(content);
+        Files.write(large.toPath(), content);
+        Path archive = tempDir.resolve("export.zip");
+
+        try {
+            manager.uploadFile(5002, "alice", large, null);
+            FileExport export = awaitDone(manager.exportGroupAsync(5002, archive.toFile(), x -> {
+                if (x.getBytesCopied() > 0) x.cancel();
+            }));
+            assertEquals(ExportState.CANCELLED, export.getState());
+            assertTrue(export.getBytesCopied() < content.length, "stopped after the first buffer");
+            assertFalse(Files.exists(archive));
+            assertFalse(Files.exists(tempDir.resolve("export.zip.part")));
+        } finally {
+            manager.deleteFilesForGroup(5002);
+        }
+    }
+
+    @Test
+    void downloadFileAsync_inflatesInTheBackgroundAndCancelLeavesNothing() throws Exception {
+        String notes = "week,topic\n" + "6,shortest paths,dijkstra\n".repeat(4000);
+        File csv = tempDir.resolve("notes.csv").toFile();
+        Files.writeString(csv.toPath(), notes);
+        File large = tempDir.resolve("lecture.wav").toFile();
+        byte[] content = new byte[6 * 1024 * 1024];
+        new Random(43).nextBytes(content);
+        Files.write(large.toPath(), content);
+        Path saved = tempDir.resolve("saved.csv");
+        Path stopped = tempDir.resolve("stopped.wav");
+
+        try {
+            GroupFile compressed = manager.uploadFile(4301, "alice", csv, null);
+            assertTrue(compressed.isCompressed());
+            FileExport download = awaitDone(manager.downloadFileAsync(compressed.getFileId(), saved.toFile(), null));
+            assertEquals(ExportState.COMPLETED, download.getState(), String.valueOf(download.getError()));
+            assertEquals(notes, Files.readString(saved));
+            assertEquals(notes.length(), download.getBytesCopied());
+            assertEquals(1, download.getFilesDone());
+
+            GroupFile raw = manager.uploadFile(4301, "alice", large, null);
+            FileExport cancelled = awaitDone(manager.downloadFileAsync(raw.getFileId(), stopped.toFile(), x -> {
+                if (x.getBytesCopied() > 0) x.cancel();
+            }));
+            assertEquals(ExportState.CANCELLED, cancelled.getState());
+            assertFalse(Files.exists(stopped));
+            assertFalse(Files.exists(tempDir.resolve("stopped.wav.part")));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> manager.downloadFileAsync("no-such-file", saved.toFile(), null));
+        } finally {
+            manager.deleteFilesForGroup(4301);
+        }
+    }
+
+    private static FileExport awaitDone(FileExport export) throws InterruptedException {
+        for (int i = 0; i < 1000 && !export.getState().isDone(); i++) {
+            Thread.sleep(10);
+        }
+        return export;
+    }
+
+    @Test
+    void uploadFile_refusedBeforeCopyingWhenQuotaWouldBeExceeded() throws Exception {
+        File fifteen = tempDir.resolve("fifteen.txt").toFile();
+        Files.writeString(fifteen.toPath(), "a".repeat(15));
+        File ten = tempDir.resolve("ten.txt").toFile();
+        Files.writeString(ten.toPath(), "b".repeat(10));
+        File otherTen = tempDir.resolve("other.txt").toFile();
+        Files.writeString(otherTen.toPath(), "c".repeat(10));
+        assertTrue(manager.setStorageQuota(4701, 40, 20));
+
+        try {
+            manager.uploadFile(4701, "alice", fifteen, null);
+            StorageQuotaExceededException perUser = assertThrows(StorageQuotaExceededException.class,
+                    () -> manager.uploadFile(4701, "alice", ten, null));
+            assertTrue(perUser.getMessage().contains("Each member"));
+            manager.uploadFile(4701, "bob", ten, null);
+
+            // carol's upload is held part way, and counts against the group until it finishes
+            CountDownLatch uploading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            FileUpload held = manager.uploadFileAsync(4701, "carol", otherTen, null, u -> {
+                if (u.getState() == UploadState.UPLOADING && uploading.getCount() > 0) {
+                    uploading.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            assertTrue(uploading.await(10, TimeUnit.SECONDS));
+            assertThrows(StorageQuotaExceededException.class, () -> manager.uploadFile(4701, "dave", ten, null));
+            release.countDown();
+            assertEquals(UploadState.COMPLETED, awaitDone(held).getState());
+
+            StorageUsage usage = manager.getStorageUsage(4701);
+            assertEquals(3, usage.getFileCount());
+            assertEquals(35, usage.getTotalBytes());
+            assertEquals(15, usage.getBytesForUploader("alice"));
+            assertEquals(35L, usage.getBytesByMimeType().get("text/plain"));
+            assertEquals("alice", usage.getBytesByUploader().keySet().iterator().next());
+
+            // other groups are not limited
+            assertFalse(manager.getStorageQuota(4702).isGroupLimited());
+            assertNotNull(manager.uploadFile(4702, "alice", fifteen, null));
+        } finally {
+            manager.deleteFilesForGroup(4701);
+            manager.deleteFilesForGroup(4702);
+        }
+    }
+
     @Test
     void uploadFile_invalidGroupId_throws() {
         File testFile = tempDir.resolve("test.txt").toFile();
@@ -161,11 +543,28 @@ class GroupFileManagerTest {
         );
     }
 
+    /**
+     * Helper method to read a stored file's content through the manager.
+     */
+    private byte[] readBytes(String fileId) throws IOException {
+        try (InputStream in = manager.openFile(fileId)) {
+            assertNotNull(in, "no content for " + fileId);
+            return in.readAllBytes();
+        }
+    }
+
+    private String read(String fileId) throws IOException {
+        return new String(readBytes(fileId));
+    }
+
     /**
      * Mock implementation of IGroupFileDAO for testing.
      */
     private static class MockGroupFileDAO implements IGroupFileDAO {
         private final Map<String, GroupFile> files = new HashMap<>();
+        private final Map<String, UploadManifest> manifests = new LinkedHashMap<>();
+        private final Map<String, Map<Integer, String>> chunks = new HashMap<>();
+        private final Map<Integer, StorageQuota> quotas = new HashMap<>();
 
         @Override
         public boolean addFile(GroupFile file) {
@@ -207,5 +606,128 @@ class GroupFileManagerTest {
                     .filter(f -> f.getUploaderId().equals(userId))
                     .collect(Collectors.toList());
         }
+
+        @Override
+        public int getBlobReferenceCount(String contentHash) {
+            return (int) files.values().stream()
+                    .filter(f -> contentHash.equals(f.getContentHash()))
+                    .count();
+        }
+
+        @Override
+        public StorageStats getStorageStats() {
+            Map<String, Long> blobs = new HashMap<>();
+            long logical = 0;
+            for (GroupFile f : files.values()) {
+                logical += f.getFileSize();
+                blobs.put(f.getContentHash() != null ? f.getContentHash() : f.getFileId(), f.getStoredSize());
+            }
+            long stored = blobs.values().stream().mapToLong(Long::longValue).sum();
+            return new StorageStats(files.size(), blobs.size(), logical, stored);
+        }
+
+        @Override
+        public synchronized boolean addUploadManifest(UploadManifest manifest) {
+            manifests.put(manifest.getUploadId(), manifest);
+            chunks.put(manifest.getUploadId(), new HashMap<>());
+            return true;
+        }
+
+        @Override
+        public synchronized UploadManifest getUploadManifest(String uploadId) {
+            UploadManifest m = manifests.get(uploadId);
+            if (m == null) return null;
+            UploadManifest copy = new UploadManifest(m.getUploadId(), m.getGroupId(), m.getUploaderId(),
+                    m.getFilename(), m.getSourcePath(), m.getSourceSize(), m.getSourceModified(),
+                    m.getChunkBytes(), m.getDescription(), m.getCreatedAt());
+            chunks.get(uploadId).forEach(copy::recordChunk);
+            return copy;
+        }
+
+        @Override
+        public synchronized List<UploadManifest> getUploadManifestsForUser(String uploaderId) {
+            return manifests.values().stream()
+                    .filter(m -> m.getUploaderId().equals(uploaderId))
+                    .map(m -> getUploadManifest(m.getUploadId()))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized boolean recordUploadChunk(String uploadId, int chunkIndex, String sha256) {
+            Map<Integer, String> recorded = chunks.get(uploadId);
+            if (recorded == null) return false;
+            recorded.put(chunkIndex, sha256);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean deleteUploadManifest(String uploadId) {
+            chunks.remove(uploadId);
+            return manifests.remove(uploadId) != null;
+        }
+    
+        @Override
+        public synchronized StorageUsage getStorageUsage(int groupId) {
+            Map<List<String>, List<GroupFile>> byKey = files.values().stream()
+                    .filter(f -> f.getGroupId() == groupId)
+                    .collect(Collectors.groupingBy(f -> List.of(f.getUploaderId(), f.getMimeType())));
+            List<StorageUsage.Entry> entries = new ArrayList<>();
+            byKey.forEach((key, group) -> entries.add(new StorageUsage.Entry(key.get(0), key.get(1),
+                    group.size(), group.stream().mapToLong(GroupFile::getFileSize).sum())));
+            return new StorageUsage(groupId, entries);
+        }
+
+        @Override
+        public synchronized StorageQuota getStorageQuota(int groupId) {
+            return quotas.getOrDefault(groupId, StorageQuota.unlimited(groupId));
+        }
+
+        @Override
+        public synchronized boolean setStorageQuota(StorageQuota quota) {
+            quotas.put(quota.getGroupId(), quota);
+            return true;
+        }
+    
+        @Override
+        public synchronized List<StoredBlob> getBlobsAfter(String afterHash, int limit) {
+            Map<String, StoredBlob> page = new LinkedHashMap<>();
+            files.values().stream()
+                    .filter(f -> f.getContentHash() != null)
+                    .filter(f -> afterHash == null || f.getContentHash().compareTo(afterHash) > 0)
+                    .sorted(Comparator.comparing(GroupFile::getContentHash))
+                    .forEach(f -> {
+                        if (page.size() < limit) page.putIfAbsent(f.getContentHash(), new StoredBlob(
+                                f.getContentHash(), f.getFileSize(), f.getStoredSize(), f.isCompressed()));
+                    });
+            return new ArrayList<>(page.values());
+        }
+
+        @Override
+        public GroupFile getFileByContentHash(String contentHash) {
+            return files.values().stream()
+                    .filter(f -> contentHash.equals(f.getContentHash()))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public synchronized List<GroupFile> getUnhashedFilesAfter(String afterPath, int limit) {
+            return files.values().stream()
+                    .filter(f -> f.getContentHash() == null)
+                    .filter(f -> afterPath == null || f.getFilepath().compareTo(afterPath) > 0)
+                    .sorted(Comparator.comparing(GroupFile::getFilepath))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized int deleteFilesByContentHash(String contentHash) {
+            List<String> toDelete = files.values().stream()
+                    .filter(f -> contentHash.equals(f.getContentHash()))
+                    .map(GroupFile::getFileId)
+                    .collect(Collectors.toList());
+            toDelete.forEach(files::remove);
+            return toDelete.size();
+        }
     }
 }
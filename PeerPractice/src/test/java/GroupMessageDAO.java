@@ -3,6 +3,7 @@ import com.cab302.peerpractice.Model.DAOs.GroupMessageDAO;
 import com.cab302.peerpractice.Model.DAOs.UserDAO;
 import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.MessageSearchResult;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
 import org.junit.jupiter.api.*;
@@ -12,6 +13,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +23,9 @@ class GroupMessageDAOTest {
     private GroupMessageDAO dao;
 
     private Group testGroup;
+    private UserDAO userDao;
+    private GroupDAO groupDao;
+    private User alice;
 
     @BeforeEach
     void setUp() throws SQLException {
@@ -29,12 +34,12 @@ class GroupMessageDAOTest {
         SQLiteConnection.setInstance(connection);
 
         // init DAOs (will create tables in memory)
-        UserDAO userDao = new UserDAO();
-        GroupDAO groupDao = new GroupDAO(userDao);
+        userDao = new UserDAO();
+        groupDao = new GroupDAO(userDao);
         dao = new GroupMessageDAO();
 
         // seed user and group
-        User alice = new User("Alice", "Wonder", "alice123", "alice@mail.com", "Password1!", "QUT");
+        alice = new User("Alice", "Wonder", "alice123", "alice@mail.com", "Password1!", "QUT");
         userDao.addUser(alice);
 
         testGroup = new Group("Study Group", "Group for testing", false,
@@ -107,4 +112,89 @@ class GroupMessageDAOTest {
         List<GroupMessage> remaining = dao.getAllMessages();
         assertTrue(remaining.isEmpty());
     }
+
+    @Test
+    void searchMessages_findsByPrefixAndHighlights() {
+        dao.addMessage(new GroupMessage("1", "alice123", "Revision plan for calculus", LocalDateTime.now(), testGroup.getID()));
+        dao.addMessage(new GroupMessage("2", "alice123", "Lunch anyone?", LocalDateTime.now(), testGroup.getID()));
+
+        List<MessageSearchResult<GroupMessage>> hits = dao.searchMessages(List.of(testGroup.getID()), "calc", 10);
+        assertEquals(1, hits.size());
+        assertEquals("1", hits.get(0).getMessage().getMessageId());
+        assertTrue(hits.get(0).getSnippet().contains(MessageSearchResult.HIGHLIGHT_START + "calculus"));
+    }
+
+    @Test
+    void searchMessages_scopedToGroupsAndToleratesSyntax() {
+        dao.addMessage(new GroupMessage("1", "alice123", "exam \"tips\"", LocalDateTime.now(), testGroup.getID()));
+
+        assertTrue(dao.searchMessages(List.of(99999), "exam", 10).isEmpty());
+        assertEquals(1, dao.searchMessages(List.of(testGroup.getID()), "\"tips", 10).size());
+        assertTrue(dao.searchMessages(List.of(testGroup.getID()), "\"*:", 10).isEmpty());
+    }
+
+    @Test
+    void searchMessages_indexFollowsDeletes() {
+        dao.addMessage(new GroupMessage("1", "alice123", "temporary note", LocalDateTime.now(), testGroup.getID()));
+        dao.deleteMessage("1");
+
+        assertTrue(dao.searchMessages(List.of(testGroup.getID()), "temporary", 10).isEmpty());
+    }
+
+    @Test
+    void getMessagesAround_returnsPageCentredOnAnchor() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < 10; i++) {
+            dao.addMessage(new GroupMessage("m" + i, "alice123", "msg " + i, base.plusMinutes(i), testGroup.getID()));
+        }
+
+        List<GroupMessage> page = dao.getMessagesAround(testGroup.getID(), "m5", 2, 3);
+        assertEquals(List.of("m3", "m4", "m5", "m6", "m7", "m8"),
+                page.stream().map(GroupMessage::getMessageId).toList());
+        assertTrue(dao.getMessagesAround(99999, "m5", 2, 2).isEmpty());
+    }
+
+    @Test
+    void unreadCounters_followInsertsReadsAndDeletes() throws SQLException {
+        User bob = new User("Bob", "Builder", "bob1234", "bob@mail.com", "Secure1@", "QUT");
+        userDao.addUser(bob);
+        User bobStored = userDao.findUser("username", "bob1234");
+        assertTrue(groupDao.addToGroup(testGroup.getID(), bobStored));
+
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        dao.addMessage(new GroupMessage("1", "alice123", "one", base, testGroup.getID()));
+        dao.addMessage(new GroupMessage("2", "alice123", "two", base.plusMinutes(1), testGroup.getID()));
+
+        assertEquals(2, dao.getTotalUnreadCount("bob1234"));
+        assertEquals(Map.of(testGroup.getID(), 2), dao.getUnreadCounts("bob1234"));
+        // the sender's own messages never count
+        assertEquals(0, dao.getTotalUnreadCount("alice123"));
+
+        assertTrue(dao.markGroupRead(testGroup.getID(), "bob1234"));
+        assertEquals(0, dao.getTotalUnreadCount("bob1234"));
+        assertTrue(dao.getUnreadCounts("bob1234").isEmpty());
+
+        dao.addMessage(new GroupMessage("3", "alice123", "three", base.plusMinutes(2), testGroup.getID()));
+        assertEquals(1, dao.getTotalUnreadCount("bob1234"));
+        // deleting an already-read message leaves the counter alone
+        dao.deleteMessage("1");
+        assertEquals(1, dao.getTotalUnreadCount("bob1234"));
+        dao.deleteMessage("3");
+        assertEquals(0, dao.getTotalUnreadCount("bob1234"));
+    }
+
+    @Test
+    void unreadCounters_droppedWhenMemberLeaves() throws SQLException {
+        User bob = new User("Bob", "Builder", "bob1234", "bob@mail.com", "Secure1@", "QUT");
+        userDao.addUser(bob);
+        User bobStored = userDao.findUser("username", "bob1234");
+        User aliceStored = userDao.findUser("username", "alice123");
+        groupDao.addToGroup(testGroup.getID(), bobStored);
+
+        dao.addMessage(new GroupMessage("1", "alice123", "hello", LocalDateTime.now(), testGroup.getID()));
+        assertEquals(1, dao.getTotalUnreadCount("bob1234"));
+
+        assertTrue(groupDao.removeMember(testGroup.getID(), bobStored.getUserId(), aliceStored.getUserId()));
+        assertEquals(0, dao.getTotalUnreadCount("bob1234"));
+    }
 }
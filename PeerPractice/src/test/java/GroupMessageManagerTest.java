@@ -1,9 +1,15 @@
+import com.cab302.peerpractice.Exceptions.InsufficientPermissionsException;
+import com.cab302.peerpractice.Model.DAOs.MockGroupDAO;
 import com.cab302.peerpractice.Model.DAOs.MockGroupMessageDAO;
+import com.cab302.peerpractice.Model.DAOs.MockUserDAO;
+import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Managers.GroupMessageManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -73,4 +79,59 @@ class GroupMessageManagerTest {
         assertTrue(manager.deleteMessagesForGroup(101));
         assertTrue(dao.getMessagesForGroup(101).isEmpty());
     }
+
+    @Test
+    void searchMessages_respectsGroupMembership() throws SQLException {
+        MockUserDAO userDAO = new MockUserDAO();
+        MockGroupDAO groupDAO = new MockGroupDAO(userDAO);
+        User alice = new User("Alice", "Wonder", "alice123", "alice@mail.com", "Password1!", "QUT");
+        User mallory = new User("Mal", "Lory", "mallory1", "mallory@mail.com", "Password1!", "QUT");
+        userDAO.addUser(alice);
+        userDAO.addUser(mallory);
+        int groupId = groupDAO.addGroup(new Group("Maths", "desc", false, alice, LocalDateTime.now()));
+
+        GroupMessageManager secured = new GroupMessageManager(dao, groupDAO);
+        dao.addMessage(new GroupMessage("1", "alice123", "integration by parts", LocalDateTime.now(), groupId));
+        dao.addMessage(new GroupMessage("2", "carol", "integration elsewhere", LocalDateTime.now(), groupId + 100));
+
+        assertEquals(1, secured.searchMessages(alice, groupId, "integr").size());
+        assertEquals(1, secured.searchMessages(alice, "integration").size());
+        assertTrue(secured.searchMessages(mallory, "integration").isEmpty());
+        assertThrows(InsufficientPermissionsException.class, () -> secured.searchMessages(mallory, groupId, "integration"));
+        assertThrows(InsufficientPermissionsException.class, () -> secured.getMessagesAround(mallory, groupId, "1"));
+    }
+
+    @Test
+    void markGroupRead_clearsUnreadForMembersOnly() throws SQLException {
+        MockUserDAO userDAO = new MockUserDAO();
+        MockGroupDAO groupDAO = new MockGroupDAO(userDAO);
+        User alice = new User("Alice", "Wonder", "alice123", "alice@mail.com", "Password1!", "QUT");
+        User mallory = new User("Mal", "Lory", "mallory1", "mallory@mail.com", "Password1!", "QUT");
+        userDAO.addUser(alice);
+        userDAO.addUser(mallory);
+        int groupId = groupDAO.addGroup(new Group("Maths", "desc", false, alice, LocalDateTime.now()));
+
+        GroupMessageManager secured = new GroupMessageManager(dao, groupDAO);
+        dao.addMessage(new GroupMessage("1", "bob1234", "first", LocalDateTime.now().minusMinutes(2), groupId));
+        dao.addMessage(new GroupMessage("2", "bob1234", "second", LocalDateTime.now().minusMinutes(1), groupId));
+
+        assertEquals(2, secured.getTotalUnreadCount(alice));
+        assertTrue(secured.markGroupRead(alice, groupId));
+        assertEquals(0, secured.getTotalUnreadCount(alice));
+        assertTrue(secured.getUnreadCounts(alice).isEmpty());
+        assertThrows(InsufficientPermissionsException.class, () -> secured.markGroupRead(mallory, groupId));
+    }
+
+    @Test
+    void sendMessage_reportsFailedWrite() {
+        MockGroupMessageDAO failing = new MockGroupMessageDAO() {
+            @Override
+            public boolean addMessage(GroupMessage message) {
+                return false;
+            }
+        };
+        GroupMessageManager broken = new GroupMessageManager(failing);
+        GroupMessage msg = new GroupMessage("1", "alice123", "hi", LocalDateTime.now(), 101);
+        assertThrows(IllegalStateException.class, () -> broken.sendMessage(msg));
+    }
 }
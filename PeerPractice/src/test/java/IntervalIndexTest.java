@@ -0,0 +1,135 @@
+import com.cab302.peerpractice.Model.ValueObjects.IntervalIndex;
+import com.cab302.peerpractice.Model.ValueObjects.TimeRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int LARGE_INTERVALS = 20_000;
+    private static final int LARGE_QUERIES = 200;
+
+    private IntervalIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IntervalIndex<>();
+    }
+
+    private static TimeRange range(int startMinute, int endMinute) {
+        return new TimeRange(BASE.plusMinutes(startMinute), BASE.plusMinutes(endMinute));
+    }
+
+    @Test
+    void overlapping_returnsMatchesInStartOrderAndIgnoresTouchingRanges() {
+        index.put(range(60, 120), "b");
+        index.put(range(0, 60), "a");
+        index.put(range(90, 200), "c");
+        index.put(range(300, 400), "d");
+
+        assertEquals(List.of("b", "c"), index.overlapping(range(100, 110)));
+        assertEquals(List.of("a", "b", "c"), index.overlapping(range(30, 95)));
+        // back-to-back sessions are not a clash
+        assertEquals(List.of(), index.overlapping(range(200, 300)));
+        assertTrue(index.overlapsAny(range(350, 360)));
+        assertFalse(index.overlapsAny(range(200, 300)));
+    }
+
+    @Test
+    void containing_isInclusiveAtBothEnds() {
+        index.put(range(0, 60), "a");
+        index.put(range(60, 120), "b");
+
+        assertEquals(List.of("a", "b"), index.containing(BASE.plusMinutes(60)));
+        assertEquals(List.of("b"), index.containing(BASE.plusMinutes(120)));
+        assertEquals(List.of(), index.containing(BASE.plusMinutes(121)));
+    }
+
+    @Test
+    void put_movesExistingValueAndRemoveDropsIt() {
+        index.put(range(0, 60), "a");
+        index.put(range(0, 60), "b");
+        index.put(range(500, 560), "a");
+
+        assertEquals(2, index.size());
+        assertEquals(range(500, 560), index.rangeOf("a"));
+        assertEquals(List.of("b"), index.overlapping(range(10, 20)));
+
+        assertTrue(index.remove("a"));
+        assertFalse(index.remove("a"));
+        assertFalse(index.contains("a"));
+        assertEquals(List.of("b"), index.values());
+
+        index.clear();
+        assertTrue(index.isEmpty());
+        assertFalse(index.overlapsAny(range(0, 1000)));
+    }
+
+    @Test
+    void randomisedOperations_matchLinearScan() {
+        Random random = new Random(42);
+        Map<String, TimeRange> expected = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            String key = "v" + random.nextInt(800);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key) != null, index.remove(key));
+            } else {
+                int start = random.nextInt(10_000);
+                TimeRange r = range(start, start + 1 + random.nextInt(300));
+                index.put(r, key);
+                expected.put(key, r);
+            }
+
+            if (step % 50 == 0) {
+                int qs = random.nextInt(10_000);
+                TimeRange query = range(qs, qs + random.nextInt(200));
+                List<String> actual = new ArrayList<>(index.overlapping(query));
+                List<String> scanned = new ArrayList<>();
+                expected.forEach((k, v) -> { if (v.overlapsWith(query)) scanned.add(k); });
+                actual.sort(null);
+                scanned.sort(null);
+                assertEquals(scanned, actual);
+                assertEquals(!scanned.isEmpty(), index.overlapsAny(query));
+
+                LocalDateTime instant = BASE.plusMinutes(random.nextInt(10_000));
+                long containing = expected.values().stream().filter(v -> v.contains(instant)).count();
+                assertEquals(containing, index.containing(instant).size());
+            }
+        }
+        assertEquals(expected.size(), index.size());
+    }
+
+    /**
+     * Checks overlap queries against a linear scan over a year of
+     * session-sized intervals, many more than the randomised test builds.
+     */
+    @Test
+    void largeIndex_overlapQueriesMatchLinearScan() {
+        Random random = new Random(7);
+        List<TimeRange> ranges = new ArrayList<>(LARGE_INTERVALS);
+        IntervalIndex<Integer> big = new IntervalIndex<>();
+        for (int i = 0; i < LARGE_INTERVALS; i++) {
+            int start = random.nextInt(525_600);
+            TimeRange r = range(start, start + 30 + random.nextInt(150));
+            ranges.add(r);
+            big.put(r, i);
+        }
+
+        for (int i = 0; i < LARGE_QUERIES; i++) {
+            int start = random.nextInt(525_600);
+            TimeRange q = range(start, start + 120);
+            long scanHits = ranges.stream().filter(r -> r.overlapsWith(q)).count();
+            assertEquals(scanHits, big.overlapping(q).size());
+        }
+    }
+}
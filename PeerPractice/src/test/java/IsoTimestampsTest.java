@@ -0,0 +1,56 @@
+import com.cab302.peerpractice.Model.Utils.IsoTimestamps;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoTimestampsTest {
+
+    @Test
+    void decodesEveryStoredShapeLikeLocalDateTimeParse() {
+        String[] samples = {
+                "2024-10-15T09:00",
+                "2024-10-15T09:00:30",
+                "2024-10-15T09:00:30.5",
+                "2024-10-15T09:00:30.123",
+                "2024-10-15T09:00:30.123456",
+                "2024-10-15T09:00:30.123456789",
+                "0001-01-01T00:00",
+                "9999-12-31T23:59:59.999999999"
+        };
+        for (String s : samples) {
+            assertEquals(LocalDateTime.parse(s), IsoTimestamps.parseDateTime(s), s);
+        }
+
+        // whatever LocalDateTime.toString() writes must come back unchanged
+        Random random = new Random(38);
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime t = base.plusSeconds(random.nextInt(200_000_000));
+            if (random.nextBoolean()) t = t.withNano(random.nextInt(1_000_000_000));
+            assertEquals(t, IsoTimestamps.parseDateTime(t.toString()));
+            assertEquals(t.toLocalDate(), IsoTimestamps.parseDate(t.toLocalDate().toString()));
+        }
+    }
+
+    @Test
+    void fallsBackToTheStandardParserForAnythingElse() {
+        assertNull(IsoTimestamps.parseDateTime(null));
+        assertNull(IsoTimestamps.parseDate(null));
+
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parseDateTime("2024-10-15 09:00"));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parseDateTime("2024-1O-15T09:00"));
+        assertEquals(LocalDateTime.parse("2024-10-15T09:00:30."), IsoTimestamps.parseDateTime("2024-10-15T09:00:30."));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parseDateTime("2024-10-15"));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parseDate("2024-10-1"));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parseDate("not a date"));
+        // well-formed digits but an impossible date still fails
+        assertThrows(Exception.class, () -> IsoTimestamps.parseDateTime("2024-02-30T09:00"));
+
+        assertEquals(LocalDate.of(2024, 2, 29), IsoTimestamps.parseDate("2024-02-29"));
+    }
+}
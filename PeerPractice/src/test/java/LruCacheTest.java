@@ -0,0 +1,47 @@
+import com.cab302.peerpractice.Model.Utils.LruCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedOnceFull() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+
+        cache.put("c", 3);
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void loadsOnMissAndDoesNotCacheNulls() {
+        LruCache<String, String> cache = new LruCache<>(4);
+        int[] loads = {0};
+
+        assertEquals("A", cache.get("a", k -> { loads[0]++; return k.toUpperCase(); }));
+        assertEquals("A", cache.get("a", k -> { loads[0]++; return k.toUpperCase(); }));
+        assertNull(cache.get("missing", k -> { loads[0]++; return null; }));
+        assertNull(cache.get("missing", k -> { loads[0]++; return null; }));
+
+        assertEquals(3, loads[0]);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0));
+    }
+
+    @Test
+    void writeDuringLoadKeepsTheStaleValueOutOfTheCache() {
+        LruCache<String, String> cache = new LruCache<>(4);
+
+        assertEquals("old", cache.get("a", k -> { cache.remove(k); return "old"; }));
+        assertFalse(cache.containsKey("a"));
+
+        assertEquals("old", cache.get("b", k -> { cache.put(k, "new"); return "old"; }));
+        assertEquals("new", cache.get("b", k -> "unused"));
+    }
+}
@@ -0,0 +1,90 @@
+import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.RecurrenceExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceExpanderTest {
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Rita", "Repeat", "rita_repeat", "rita@example.com", "hash", "QUT");
+    }
+
+    private Availability series(LocalDateTime start, String pattern) {
+        Availability availability = new Availability("Study", user, start, start.plusHours(2), "GREEN");
+        availability.setRecurringPattern(pattern);
+        return availability;
+    }
+
+    private static List<LocalDate> dates(Iterable<Availability> occurrences) {
+        List<LocalDate> out = new ArrayList<>();
+        for (Availability a : occurrences) out.add(a.getStartTime().toLocalDate());
+        return out;
+    }
+
+    @Test
+    void weekly_startsAtFirstOccurrenceInWindowAndKeepsTimeOfDay() {
+        Availability weekly = series(LocalDateTime.of(2025, 1, 6, 9, 30), "WEEKLY");
+
+        List<Availability> occurrences = RecurrenceExpander.expand(List.of(weekly),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 20));
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 17)),
+                dates(occurrences));
+        Availability first = occurrences.get(0);
+        assertEquals(LocalDateTime.of(2025, 3, 3, 11, 30), first.getEndTime());
+        assertSame(weekly, first.getSeries());
+        assertTrue(first.isOccurrence());
+        assertNotEquals(first, occurrences.get(1));
+    }
+
+    @Test
+    void monthly_clampsToShortMonthsWithoutDrifting() {
+        Availability monthly = series(LocalDateTime.of(2025, 1, 31, 10, 0), "MONTHLY");
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28),
+                        LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30)),
+                dates(RecurrenceExpander.occurrences(monthly, null, LocalDate.of(2025, 4, 30))));
+    }
+
+    @Test
+    void exceptionsAndEndDateAreSkipped() {
+        Availability daily = series(LocalDateTime.of(2025, 3, 1, 8, 0), "DAILY");
+        daily.addRecurrenceException(LocalDate.of(2025, 3, 3));
+        daily.setRecurrenceEnd(LocalDate.of(2025, 3, 5));
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 5)),
+                dates(RecurrenceExpander.occurrences(daily, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 31))));
+        assertThrows(IllegalArgumentException.class, () -> daily.setRecurrenceEnd(LocalDate.of(2025, 2, 1)));
+    }
+
+    @Test
+    void nonRecurringYieldsItselfOnlyInsideTheWindow() {
+        Availability once = series(LocalDateTime.of(2025, 3, 1, 8, 0), "NONE");
+
+        assertEquals(List.of(once), RecurrenceExpander.expand(List.of(once), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1)));
+        assertTrue(RecurrenceExpander.expand(List.of(once), LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 9)).isEmpty());
+    }
+
+    @Test
+    void unboundedSeriesIsExpandedLazily() {
+        Availability daily = series(LocalDateTime.of(2000, 1, 1, 8, 0), "DAILY");
+
+        // no end date and no upper bound: only the occurrences asked for are built
+        Iterator<Availability> it = RecurrenceExpander.occurrences(daily, LocalDate.of(2025, 6, 1), null).iterator();
+        assertEquals(LocalDate.of(2025, 6, 1), it.next().getStartTime().toLocalDate());
+        assertEquals(LocalDate.of(2025, 6, 2), it.next().getStartTime().toLocalDate());
+        assertTrue(it.hasNext());
+    }
+}
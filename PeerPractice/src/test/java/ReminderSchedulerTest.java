@@ -0,0 +1,155 @@
+import com.cab302.peerpractice.Model.DAOs.MockFriendDAO;
+import com.cab302.peerpractice.Model.DAOs.MockSessionCalendarDAO;
+import com.cab302.peerpractice.Model.DAOs.MockSessionTaskDAO;
+import com.cab302.peerpractice.Model.DAOs.MockUserDAO;
+import com.cab302.peerpractice.Model.Entities.Reminder;
+import com.cab302.peerpractice.Model.Entities.Session;
+import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Managers.Notifier;
+import com.cab302.peerpractice.Model.Managers.ReminderScheduler;
+import com.cab302.peerpractice.Model.Managers.SessionCalendarManager;
+import com.cab302.peerpractice.Model.Managers.SessionManager;
+import com.cab302.peerpractice.Model.Managers.SessionTaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReminderSchedulerTest {
+
+    /** A clock the test moves by hand. */
+    private static class TestClock extends Clock {
+        private Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES).plus(1, ChronoUnit.MINUTES);
+
+        void advance(Duration d) { now = now.plus(d); }
+        @Override public ZoneId getZone() { return ZoneId.systemDefault(); }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private MockSessionCalendarDAO sessionDao;
+    private MockSessionTaskDAO taskDao;
+    private Notifier notifier;
+    private SessionCalendarManager calendarManager;
+    private SessionManager sessionManager;
+    private SessionTaskManager taskManager;
+    private ReminderScheduler scheduler;
+    private final List<Reminder> delivered = new CopyOnWriteArrayList<>();
+    private User organiser;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        MockUserDAO userDao = new MockUserDAO();
+        sessionDao = new MockSessionCalendarDAO();
+        taskDao = new MockSessionTaskDAO();
+        notifier = new Notifier(userDao, new MockFriendDAO(userDao));
+        notifier.addReminderListener(delivered::add);
+
+        calendarManager = new SessionCalendarManager(sessionDao);
+        sessionManager = new SessionManager(calendarManager);
+        taskManager = new SessionTaskManager(taskDao, sessionManager);
+        calendarManager.setSessionTaskManager(taskManager);
+
+        organiser = new User("Olive", "Organiser", "olive_org", "olive@example.com", "pw", "QUT");
+        member = new User("Max", "Member", "max_member", "max@example.com", "pw", "QUT");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) scheduler.stop();
+    }
+
+    private void useScheduler(Clock clock) {
+        scheduler = new ReminderScheduler(sessionDao, taskDao, notifier, clock);
+        calendarManager.setReminderScheduler(scheduler);
+        taskManager.setReminderScheduler(scheduler);
+    }
+
+    @Test
+    void firesAtLeadTimesAndFollowsManagerChanges() {
+        TestClock clock = new TestClock();
+        LocalDateTime t0 = LocalDateTime.now(clock);
+        useScheduler(clock);
+
+        // already stored before start: picked up by the first window load
+        Session early = new Session("Early", organiser, t0.plusMinutes(30), t0.plusMinutes(90));
+        sessionDao.addSession(early);
+        // beyond the first window: only loaded once the horizon gets close
+        Session later = new Session("Later", organiser, t0.plusDays(3), t0.plusDays(3).plusHours(1));
+        sessionDao.addSession(later);
+        scheduler.start();
+        assertEquals(1, scheduler.getPendingReminders().size());
+
+        // added through the managers after start
+        Session study = new Session("Study", organiser, t0.plusHours(2), t0.plusHours(3));
+        study.addParticipant(member);
+        assertTrue(calendarManager.addSession(study));
+        SessionTask task = taskManager.createTask(study.getSessionId(), "Slides", t0.plusHours(3),
+                member.getUserId(), organiser.getUserId());
+        assertEquals(t0.plusMinutes(15), scheduler.getNextFireTime());
+        assertEquals(3, scheduler.getPendingReminders().size());
+
+        // moving the early session pushes its reminder back
+        Session moved = new Session("Early", organiser, t0.plusMinutes(45), t0.plusMinutes(90));
+        assertTrue(calendarManager.updateSession(early, moved));
+        assertEquals(t0.plusMinutes(30), scheduler.getNextFireTime());
+
+        clock.advance(Duration.ofMinutes(29));
+        assertEquals(0, scheduler.fireDue());
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, scheduler.fireDue());
+        assertEquals("Early", delivered.get(0).getTitle());
+        assertEquals(t0.plusMinutes(45), delivered.get(0).getEventTime());
+        assertEquals(Reminder.Kind.SESSION_START, delivered.get(0).getKind());
+
+        clock.advance(Duration.ofMinutes(75));
+        assertEquals(1, scheduler.fireDue());
+        assertTrue(delivered.get(1).isFor(member));
+        assertTrue(delivered.get(1).isFor(organiser));
+
+        // completing the task drops its reminder
+        assertTrue(taskManager.markTaskCompleted(task.getTaskId(), member.getUserId()));
+        assertTrue(scheduler.getPendingReminders().isEmpty());
+
+        // the later session comes in with the window that reaches it
+        clock.advance(Duration.between(LocalDateTime.now(clock), later.getStartTime().minusMinutes(15)));
+        assertEquals(1, scheduler.fireDue());
+        assertEquals(later.getSessionId(), delivered.get(2).getSourceId());
+
+        // removing a session cancels a reminder that has not fired
+        Session cancelled = sessionManager.createSession("Cancelled", organiser,
+                LocalDateTime.now(clock).plusHours(1), LocalDateTime.now(clock).plusHours(2));
+        assertEquals(1, scheduler.getPendingReminders().size());
+        assertTrue(calendarManager.removeSession(cancelled));
+        assertTrue(scheduler.getPendingReminders().isEmpty());
+    }
+
+    @Test
+    void timerDeliversWithoutBeingPolled() throws InterruptedException {
+        useScheduler(Clock.systemDefaultZone());
+        CountDownLatch fired = new CountDownLatch(1);
+        notifier.addReminderListener(r -> fired.countDown());
+        scheduler.start();
+
+        LocalDateTime start = LocalDateTime.now().plus(ReminderScheduler.SESSION_LEAD).plusNanos(200_000_000);
+        sessionManager.createSession("Soon", organiser, start, start.plusHours(1));
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals("Soon", delivered.get(0).getTitle());
+        assertTrue(scheduler.getPendingReminders().isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+import com.cab302.peerpractice.Model.DAOs.AvailabilityDAO;
+import com.cab302.peerpractice.Model.DAOs.FriendMessageDAO;
+import com.cab302.peerpractice.Model.DAOs.GroupDAO;
+import com.cab302.peerpractice.Model.DAOs.GroupFileDAO;
+import com.cab302.peerpractice.Model.DAOs.GroupMessageDAO;
+import com.cab302.peerpractice.Model.DAOs.IUserDAO;
+import com.cab302.peerpractice.Model.DAOs.NotesDAO;
+import com.cab302.peerpractice.Model.DAOs.RowMapper;
+import com.cab302.peerpractice.Model.DAOs.RowMappers;
+import com.cab302.peerpractice.Model.DAOs.SessionCalendarDAO;
+import com.cab302.peerpractice.Model.DAOs.SessionTaskDAO;
+import com.cab302.peerpractice.Model.DAOs.UserDAO;
+import com.cab302.peerpractice.Model.Entities.Availability;
+import com.cab302.peerpractice.Model.Entities.Chapter;
+import com.cab302.peerpractice.Model.Entities.FriendMessage;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.GroupMessage;
+import com.cab302.peerpractice.Model.Entities.Note;
+import com.cab302.peerpractice.Model.Entities.Session;
+import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Maps rows of every entity type through {@link RowMappers}, checking that
+ * each mapper reads back what the DAO wrote.
+ */
+public class RowMappersTest {
+    private static final int ROWS = 200;
+
+    private Connection connection;
+    private User owner;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SQLiteConnection.setInstance(connection);
+
+        IUserDAO userDao = new UserDAO();
+        GroupDAO groupDao = new GroupDAO(userDao);
+        SessionCalendarDAO sessionDao = new SessionCalendarDAO(userDao);
+        AvailabilityDAO availabilityDao = new AvailabilityDAO(userDao);
+        SessionTaskDAO taskDao = new SessionTaskDAO(userDao);
+        FriendMessageDAO friendMessageDao = new FriendMessageDAO();
+        GroupMessageDAO groupMessageDao = new GroupMessageDAO();
+        GroupFileDAO fileDao = new GroupFileDAO();
+        NotesDAO notesDao = new NotesDAO();
+
+        owner = new User("Mapper", "Owner", "mapper_owner", "mapper.owner@example.com", "hash", "QUT");
+        User friend = new User("Mapper", "Friend", "mapper_friend", "mapper.friend@example.com", "hash", "QUT");
+        userDao.addUser(owner);
+        userDao.addUser(friend);
+
+        Group group = new Group("Mapper Group", "Mapping test", false, owner, LocalDateTime.now());
+        groupDao.addGroup(group);
+
+        connection.setAutoCommit(false);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        String noteId = null;
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime start = base.plusHours(i);
+            userDao.addUser(new User("Mapper", "User", "mapper_user_" + i, "mapper" + i + "@example.com", "hash", "QUT"));
+            groupDao.addGroup(new Group("Group " + i, "Group " + i, i % 2 == 0, owner, start));
+
+            Session session = new Session("Session " + i, owner, start, start.plusHours(1));
+            session.setGroup(group);
+            sessionDao.addSession(session);
+            availabilityDao.addAvailability(new Availability("Free " + i, owner, start, start.plusHours(1), "GREEN"));
+            taskDao.addTask(new SessionTask(session.getSessionId(), "Task " + i, start, friend.getUserId(), owner.getUserId()));
+
+            friendMessageDao.addMessage(new FriendMessage("fm-" + i, owner.getUsername(), "Hello " + i, start, friend.getUsername()));
+            groupMessageDao.addMessage(new GroupMessage("gm-" + i, owner.getUsername(), "Hi all " + i, start, group.getID()));
+            fileDao.addFile(new GroupFile("file-" + i, group.getID(), owner.getUsername(), "notes" + i + ".pdf",
+                    "group_files/notes" + i + ".pdf", 1024L * i, "application/pdf", start, "Week " + i));
+
+            if (i % 10 == 0) noteId = notesDao.addNote(new Note("Note " + i, group.getID()));
+            notesDao.addChapter(noteId, new Chapter("Chapter " + i, noteId));
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null && !connection.isClosed()) connection.close();
+    }
+
+    @Test
+    void mapsEveryEntityType() throws SQLException {
+        List<User> users = mapTable("users", RowMappers::user);
+        assertTrue(users.stream().anyMatch(u -> u.getUsername().equals("mapper_user_0")));
+
+        List<Group> groups = mapTable("groups", rs -> RowMappers.group(rs, name -> owner));
+        assertEquals("Mapper Group", groups.get(0).getName());
+        assertEquals(owner, groups.get(0).getOwner());
+
+        List<Session> sessions = mapTable("sessions", rs -> RowMappers.session(rs, id -> owner));
+        assertEquals(ROWS, sessions.size());
+        assertNull(sessions.get(0).getGroup());
+        assertEquals(groups.get(0).getID(), sessions.get(0).getGroupId());
+        assertTrue(mapTable("sessions", rs -> RowMappers.session(rs, id -> null)).isEmpty());
+
+        List<Availability> availabilities = mapTable("availabilities",
+                rs -> RowMappers.availability(rs, id -> owner));
+        assertEquals(LocalDateTime.of(2030, 1, 1, 9, 0), availabilities.get(0).getStartTime());
+
+        assertEquals(ROWS, mapTable("session_tasks", RowMappers::sessionTask).size());
+        assertEquals("Hello 0", mapTable("friend_messages", RowMappers::friendMessage).get(0).getContent());
+        assertEquals("Hi all 0", mapTable("group_messages", RowMappers::groupMessage).get(0).getContent());
+        assertEquals("Week 0", mapTable("group_files", RowMappers::groupFile).get(0).getDescription());
+        assertEquals(ROWS / 10, mapTable("notes", RowMappers::note).size());
+        assertEquals(ROWS, mapTable("chapters", RowMappers::chapter).size());
+    }
+
+    private interface MapperFactory<T> {
+        RowMapper<T> bind(ResultSet rs) throws SQLException;
+    }
+
+    private <T> List<T> mapTable(String table, MapperFactory<T> factory) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM " + table + " ORDER BY rowid")) {
+            return RowMappers.mapAll(rs, factory.bind(rs), new ArrayList<>());
+        }
+    }
+}
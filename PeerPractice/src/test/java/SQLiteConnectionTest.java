@@ -0,0 +1,98 @@
+import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLiteConnectionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection shared;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        shared = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("test.db"));
+        try (Statement st = shared.createStatement()) {
+            st.execute("CREATE TABLE notes (text TEXT NOT NULL)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        shared.close();
+    }
+
+    private static void insert(Connection connection, String text) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate("INSERT INTO notes (text) VALUES ('" + text + "')");
+        }
+    }
+
+    private int count(String text) throws SQLException {
+        try (Statement st = shared.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM notes WHERE text = '" + text + "'")) {
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void rollbackKeepsWritesMadeOnTheSharedConnectionMeanwhile() throws SQLException {
+        assertFalse(SQLiteConnection.inTransaction(shared, tx -> {
+            assertNotSame(shared, tx);
+            // as a background thread would, before the transaction takes the write lock
+            insert(shared, "background");
+            insert(tx, "batch");
+            return false;
+        }));
+
+        assertEquals(1, count("background"));
+        assertEquals(0, count("batch"));
+        assertTrue(shared.getAutoCommit());
+    }
+
+    @Test
+    void commitsSucceededWorkAndRollsBackFailedWork() throws SQLException {
+        assertTrue(SQLiteConnection.inTransaction(shared, tx -> {
+            insert(tx, "first");
+            insert(tx, "second");
+            return true;
+        }));
+        assertEquals(1, count("first"));
+        assertEquals(1, count("second"));
+
+        assertThrows(SQLException.class, () -> SQLiteConnection.inTransaction(shared, tx -> {
+            insert(tx, "third");
+            try (Statement st = tx.createStatement()) {
+                st.executeUpdate("INSERT INTO notes (text) VALUES (NULL)");
+            }
+            return true;
+        }));
+        assertEquals(0, count("third"));
+    }
+
+    @Test
+    void inMemoryDatabaseRunsOnTheGivenConnection() throws SQLException {
+        try (Connection memory = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement st = memory.createStatement()) {
+                st.execute("CREATE TABLE notes (text TEXT NOT NULL)");
+            }
+            assertTrue(SQLiteConnection.inTransaction(memory, tx -> {
+                assertSame(memory, tx);
+                insert(tx, "kept");
+                return true;
+            }));
+            assertTrue(memory.getAutoCommit());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import com.cab302.peerpractice.Model.DAOs.SessionCalendarDAO;
+import com.cab302.peerpractice.Model.DAOs.UserDAO;
+import com.cab302.peerpractice.Model.Entities.Session;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many clients, each with its own connection to the same database file,
+ * reserve seats in one session at once. The session must fill exactly to
+ * its limit, everyone else must be waiting, and seats freed later must go
+ * to the head of the queue.
+ */
+public class SeatReservationConcurrencyTest {
+    private static final int CLIENTS = 8;
+    private static final int USERS = 64;
+    private static final int SEATS = 6;
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection c : connections) c.close();
+    }
+
+    private SessionCalendarDAO openClient(Path db) throws SQLException {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + db);
+        try (Statement st = conn.createStatement()) {
+            st.execute("PRAGMA busy_timeout = 10000");
+        }
+        connections.add(conn);
+        SQLiteConnection.setInstance(conn);
+        return new SessionCalendarDAO(new UserDAO());
+    }
+
+    @Test
+    void neverOverbooksUnderContention(@TempDir Path dir) throws Exception {
+        Path db = dir.resolve("seats.db");
+        List<SessionCalendarDAO> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) clients.add(openClient(db));
+
+        User organiser = new User("Olive", "Organiser", "olive_org", "olive@example.com", "pw", "QUT");
+        Session session = new Session("Popular", organiser,
+                LocalDateTime.of(2030, 1, 1, 9, 0), LocalDateTime.of(2030, 1, 1, 10, 0));
+        session.setMaxParticipants(SEATS);
+        assertTrue(clients.get(0).addSession(session));
+        String id = session.getSessionId();
+
+        Map<String, SeatReservation> results = new ConcurrentHashMap<>();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> done = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            SessionCalendarDAO client = clients.get(c);
+            int first = c;
+            done.add(pool.submit(() -> {
+                go.await();
+                for (int u = first; u < USERS; u += CLIENTS) {
+                    String userId = "user-" + u;
+                    results.put(userId, client.reserveSeat(id, userId));
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : done) f.get();
+        pool.shutdown();
+
+        // the organiser holds one seat, so only SEATS - 1 joins can succeed
+        Set<String> seated = participants(id);
+        List<String> waiting = clients.get(0).getWaitlist(id);
+        assertEquals(SEATS, seated.size());
+        assertEquals(USERS - (SEATS - 1), waiting.size());
+        assertEquals(USERS - (SEATS - 1), new HashSet<>(waiting).size());
+        waiting.forEach(u -> assertFalse(seated.contains(u)));
+        results.forEach((u, r) -> assertEquals(seated.contains(u) ? SeatReservation.JOINED : SeatReservation.WAITLISTED, r, u));
+
+        // leavers free seats concurrently; each goes to the longest waiter
+        List<String> leavers = new ArrayList<>(seated);
+        leavers.remove(organiser.getUserId());
+        leavers = leavers.subList(0, 3);
+        pool = Executors.newFixedThreadPool(leavers.size());
+        done.clear();
+        for (int i = 0; i < leavers.size(); i++) {
+            SessionCalendarDAO client = clients.get(i);
+            String leaver = leavers.get(i);
+            done.add(pool.submit(() -> assertTrue(client.releaseSeat(id, leaver))));
+        }
+        for (Future<?> f : done) f.get();
+        pool.shutdown();
+
+        Set<String> after = participants(id);
+        assertEquals(SEATS, after.size());
+        assertTrue(after.containsAll(waiting.subList(0, 3)));
+        assertEquals(waiting.subList(3, waiting.size()), clients.get(1).getWaitlist(id));
+    }
+
+    private Set<String> participants(String sessionId) throws SQLException {
+        Set<String> ids = new HashSet<>();
+        try (var ps = connections.get(0).prepareStatement("SELECT user_id FROM session_participants WHERE session_id = ?")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -6,6 +6,7 @@ import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
@@ -202,6 +203,37 @@ public class SessionCalendarDAOTest {
         assertEquals("Morning Study", groupSessions.get(0).getTitle());
     }
 
+    @Test
+    void testGetSessionsForGroupInRange() {
+        testSession1.addParticipant(testUser2);
+        storage.addSession(testSession1);
+        storage.addSession(testSession2); // No group
+
+        Session late = new Session("Late Revision", testUser2,
+                LocalDateTime.of(2024, 10, 31, 23, 0),
+                LocalDateTime.of(2024, 10, 31, 23, 30));
+        late.setGroup(testGroup);
+        Session outside = new Session("November Prep", testUser1,
+                LocalDateTime.of(2024, 11, 1, 0, 0),
+                LocalDateTime.of(2024, 11, 1, 1, 0));
+        outside.setGroup(testGroup);
+        storage.addSession(outside);
+        storage.addSession(late);
+
+        List<Session> range = storage.getSessionsForGroupInRange(testGroup,
+                LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31));
+        assertEquals(2, range.size());
+        assertEquals("Morning Study", range.get(0).getTitle());
+        assertEquals("Late Revision", range.get(1).getTitle());
+        assertEquals(2, range.get(0).getParticipantCount());
+        assertEquals("alice_session", range.get(0).getOrganiser().getUsername());
+
+        assertTrue(storage.getSessionsForGroupInRange(testGroup,
+                LocalDate.of(2024, 10, 31), LocalDate.of(2024, 10, 1)).isEmpty());
+        assertTrue(storage.getSessionsForGroupInRange(null,
+                LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31)).isEmpty());
+    }
+
     @Test
     void testClearAllSessions() {
         storage.addSession(testSession1);
@@ -355,4 +387,58 @@ public class SessionCalendarDAOTest {
         List<Session> user2Sessions = storage.getSessionsForUser(testUser2);
         assertEquals(2, user2Sessions.size());  // participant in session1 + organizer of session2
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetSessionById() {
+        testSession1.addParticipant(testUser2);
+        storage.addSession(testSession1);
+        storage.addSession(testSession2);
+
+        Session loaded = storage.getSessionById(testSession1.getSessionId());
+        assertNotNull(loaded);
+        assertEquals("Morning Study", loaded.getTitle());
+        assertEquals(testSession1.getStartTime(), loaded.getStartTime());
+        assertTrue(loaded.getParticipants().stream().anyMatch(u -> u.getUserId().equals(testUser2.getUserId())));
+
+        assertNull(storage.getSessionById("missing"));
+        assertNull(storage.getSessionById(null));
+    }
+
+    @Test
+    void testReserveSeatWaitlistsAndPromotesInOrder() {
+        testSession1.setMaxParticipants(2);
+        storage.addSession(testSession1);
+        String id = testSession1.getSessionId();
+
+        assertEquals(SeatReservation.JOINED, storage.reserveSeat(id, testUser2.getUserId()));
+        assertEquals(SeatReservation.JOINED, storage.reserveSeat(id, testUser2.getUserId()));
+        assertEquals(SeatReservation.WAITLISTED, storage.reserveSeat(id, "carol"));
+        assertEquals(SeatReservation.WAITLISTED, storage.reserveSeat(id, "dave"));
+        assertEquals(List.of("carol", "dave"), storage.getWaitlist(id));
+        assertEquals(SeatReservation.NOT_FOUND, storage.reserveSeat("missing", "carol"));
+
+        // leaving the queue keeps everyone else's place
+        assertTrue(storage.releaseSeat(id, "carol"));
+        assertEquals(List.of("dave"), storage.getWaitlist(id));
+
+        // a freed seat goes to the head of the queue
+        assertTrue(storage.releaseSeat(id, testUser2.getUserId()));
+        assertTrue(storage.getWaitlist(id).isEmpty());
+        assertEquals(2, countParticipants(id));
+        assertFalse(storage.releaseSeat(id, testUser2.getUserId()));
+
+        assertTrue(storage.removeSession(testSession1));
+        assertTrue(storage.getWaitlist(id).isEmpty());
+    }
+
+    private int countParticipants(String sessionId) {
+        try (var ps = connection.prepareStatement("SELECT COUNT(*) FROM session_participants WHERE session_id = ?")) {
+            ps.setString(1, sessionId);
+            try (var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 import com.cab302.peerpractice.Model.DAOs.ISessionCalendarDAO;
 import com.cab302.peerpractice.Model.DAOs.MockSessionCalendarDAO;
+import com.cab302.peerpractice.Model.DAOs.MockUserDAO;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Managers.SessionCalendarManager;
+import com.cab302.peerpractice.Model.ValueObjects.SeatReservation;
+import com.cab302.peerpractice.Model.ValueObjects.TimeRange;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -65,4 +72,114 @@ class SessionCalendarManagerTest {
         manager.deleteSession(sessions.get(0));
         assertEquals(0, manager.getSessionCount());
     }
+
+    @Test
+    void testGetSessionsByDayForGroup() {
+        Group group = new Group("Maths", "", false, testUser, startTime);
+        group.setID(7);
+        Session afternoon = new Session("Afternoon", testUser, startTime.plusHours(4), endTime.plusHours(4));
+        Session morning = new Session("Morning", testUser, startTime, endTime);
+        Session nextDay = new Session("Next Day", testUser, startTime.plusDays(1), endTime.plusDays(1));
+        Session otherGroup = new Session("Elsewhere", testUser, startTime, endTime);
+        manager.addSession(afternoon, group);
+        manager.addSession(morning, group);
+        manager.addSession(nextDay, group);
+        Group other = new Group("Physics", "", false, testUser, startTime);
+        other.setID(8);
+        manager.addSession(otherGroup, other);
+
+        Map<LocalDate, List<Session>> byDay = manager.getSessionsByDayForGroup(group,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16)), List.copyOf(byDay.keySet()));
+        assertEquals(List.of(morning, afternoon), byDay.get(LocalDate.of(2024, 1, 15)));
+        assertEquals(List.of(nextDay), byDay.get(LocalDate.of(2024, 1, 16)));
+    }
+
+    @Test
+    void testFindConflictingSessions() {
+        Group group = new Group("Maths", "", false, testUser, startTime);
+        group.setID(3);
+        Session existing = new Session("Existing", testUser, startTime, endTime);
+        manager.addSession(existing, group);
+
+        Session overlapping = new Session("Overlap", testUser, startTime.plusHours(1), endTime.plusHours(1));
+        overlapping.setGroup(group);
+        assertEquals(List.of(existing), manager.findConflictingSessions(overlapping));
+
+        Session backToBack = new Session("After", testUser, endTime, endTime.plusHours(1));
+        backToBack.setGroup(group);
+        assertTrue(manager.findConflictingSessions(backToBack).isEmpty());
+
+        // the index follows updates and removals made through the manager
+        Session moved = new Session("Existing", testUser, endTime.plusHours(3), endTime.plusHours(4));
+        assertTrue(manager.updateSession(existing, moved));
+        assertTrue(manager.findConflictingSessions(overlapping).isEmpty());
+        assertTrue(manager.isUserBooked(testUser, new TimeRange(endTime.plusHours(3), endTime.plusHours(5))));
+        assertEquals(List.of(), manager.findConflictingSessions(moved));
+
+        Session evening = new Session("Evening", testUser, endTime.plusHours(8), endTime.plusHours(9));
+        manager.addSession(evening, group);
+        assertTrue(manager.isUserBooked(testUser, new TimeRange(endTime.plusHours(8), endTime.plusHours(10))));
+        manager.deleteSession(evening);
+        assertFalse(manager.isUserBooked(testUser, new TimeRange(endTime.plusHours(8), endTime.plusHours(10))));
+    }
+
+    @Test
+    void testGetSessionByIdIsCachedUntilChanged() {
+        int[] lookups = {0};
+        MockSessionCalendarDAO counting = new MockSessionCalendarDAO() {
+            @Override
+            public Session getSessionById(String sessionId) {
+                lookups[0]++;
+                return super.getSessionById(sessionId);
+            }
+        };
+        SessionCalendarManager cached = new SessionCalendarManager(counting);
+        Session session = new Session("Cached", testUser, startTime, endTime);
+        cached.addSession(session);
+
+        Session first = cached.getSessionById(session.getSessionId());
+        assertEquals(session, first);
+        // each caller gets its own copy, so unsaved edits do not leak
+        first.setTitle("Edited");
+        Session second = cached.getSessionById(session.getSessionId());
+        assertNotSame(first, second);
+        assertEquals("Cached", second.getTitle());
+        assertEquals(1, lookups[0]);
+
+        Session renamed = new Session("Renamed", testUser, startTime, endTime);
+        assertTrue(cached.updateSession(session, renamed));
+        cached.getSessionById(session.getSessionId());
+        assertEquals(2, lookups[0]);
+
+        cached.deleteSession(session);
+        assertNull(cached.getSessionById(session.getSessionId()));
+        assertNull(cached.getSessionById(null));
+    }
+
+    @Test
+    void testJoinAndLeaveSessionPromotesWaitlist() {
+        MockUserDAO users = new MockUserDAO();
+        SessionCalendarManager seats = new SessionCalendarManager(new MockSessionCalendarDAO(users));
+        User first = new User("First", "Joiner", "first_join", "first@test.com", "pw", "Test Uni");
+        User second = new User("Second", "Joiner", "second_join", "second@test.com", "pw", "Test Uni");
+        users.addUser(first);
+        users.addUser(second);
+
+        Session session = new Session("Small Group", testUser, startTime, endTime);
+        session.setMaxParticipants(2);
+        seats.addSession(session);
+
+        assertEquals(SeatReservation.JOINED, seats.joinSession(session, first));
+        assertEquals(SeatReservation.WAITLISTED, seats.joinSession(session, second));
+        assertTrue(seats.isUserBooked(first, new TimeRange(startTime, endTime)));
+        assertFalse(seats.isUserBooked(second, new TimeRange(startTime, endTime)));
+
+        assertFalse(seats.leaveSession(session, testUser), "organiser keeps their seat");
+        assertTrue(seats.leaveSession(session, first));
+        assertTrue(seats.getWaitlist(session).isEmpty());
+        assertTrue(seats.getSessionById(session.getSessionId()).isParticipant(second));
+        assertTrue(seats.isUserBooked(second, new TimeRange(startTime, endTime)));
+    }
 }
@@ -1,11 +1,15 @@
+import com.cab302.peerpractice.Model.DAOs.GroupDAO;
 import com.cab302.peerpractice.Model.DAOs.IUserDAO;
 import com.cab302.peerpractice.Model.DAOs.SessionCalendarDAO;
 import com.cab302.peerpractice.Model.DAOs.SessionTaskDAO;
 import com.cab302.peerpractice.Model.DAOs.UserDAO;
+import com.cab302.peerpractice.Model.Entities.Group;
 import com.cab302.peerpractice.Model.Entities.Session;
 import com.cab302.peerpractice.Model.Entities.SessionTask;
+import com.cab302.peerpractice.Model.Entities.TaskDashboardEntry;
 import com.cab302.peerpractice.Model.Entities.User;
 import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.DeadlineBucket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
@@ -15,6 +19,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public class SessionTaskDAOTest {
@@ -354,4 +359,83 @@ public class SessionTaskDAOTest {
         assertTrue(storage.getTasksForSession(testSession.getSessionId()).isEmpty());
         assertEquals(1, storage.getTasksForSession(anotherSession.getSessionId()).size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTaskDashboardJoinsSessionGroupAndCounts() throws SQLException {
+        IUserDAO userDao = new UserDAO();
+        GroupDAO groupDao = new GroupDAO(userDao);
+        Group group = new Group("Dashboard Group", "Tasks across sessions", false, testUser1, LocalDateTime.now());
+        groupDao.addGroup(group);
+        Session grouped = new Session("Grouped Session", testUser1,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2));
+        grouped.setGroup(group);
+        sessionStorage.addSession(grouped);
+
+        // a fixed Wednesday noon keeps the buckets independent of when the test runs
+        LocalDateTime now = LocalDateTime.of(2030, 1, 9, 12, 0);
+        LocalDateTime created = now.minusDays(7);
+        String me = testUser2.getUserId();
+        storage.addTask(new SessionTask("t-overdue", testSession.getSessionId(), "Overdue", now.minusHours(1), me, me, created, false));
+        storage.addTask(new SessionTask("t-today", grouped.getSessionId(), "Today", now.plusHours(3), me, me, created, false));
+        storage.addTask(new SessionTask("t-week", grouped.getSessionId(), "This week", now.plusDays(3), me, me, created, false));
+        storage.addTask(new SessionTask("t-later", grouped.getSessionId(), "Later", now.plusDays(12), me, me, created, false));
+        storage.addTask(new SessionTask("t-done", grouped.getSessionId(), "Done", now.plusDays(1), me, me, created, true));
+        storage.addTask(new SessionTask("t-other", grouped.getSessionId(), "Someone else's", now.plusDays(1),
+                testUser1.getUserId(), me, created, false));
+
+        List<TaskDashboardEntry> dashboard = storage.getTaskDashboard(me, now);
+
+        assertEquals(List.of("t-overdue", "t-today", "t-week", "t-later"),
+                dashboard.stream().map(e -> e.getTask().getTaskId()).toList());
+        assertEquals(List.of(DeadlineBucket.OVERDUE, DeadlineBucket.TODAY, DeadlineBucket.THIS_WEEK, DeadlineBucket.LATER),
+                dashboard.stream().map(TaskDashboardEntry::getBucket).toList());
+        dashboard.forEach(e -> assertEquals(DeadlineBucket.of(e.getTask().getDeadline(), now), e.getBucket()));
+
+        TaskDashboardEntry ungrouped = dashboard.get(0);
+        assertEquals("Test Session for Tasks", ungrouped.getSessionTitle());
+        assertNull(ungrouped.getGroupName());
+        assertEquals(1, ungrouped.getSessionTaskCount());
+        assertEquals(0, ungrouped.getSessionCompletedCount());
+
+        TaskDashboardEntry inGroup = dashboard.get(1);
+        assertEquals("Grouped Session", inGroup.getSessionTitle());
+        assertEquals("Dashboard Group", inGroup.getGroupName());
+        assertEquals(5, inGroup.getSessionTaskCount());
+        assertEquals(1, inGroup.getSessionCompletedCount());
+
+        assertTrue(storage.getTaskDashboard("nobody", now).isEmpty());
+    }
+
+    @Test
+    void testBatchUpdateAndRemoveRunAsOneTransaction() {
+        List<SessionTask> plan = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            SessionTask task = new SessionTask(testSession.getSessionId(), "Revision " + i,
+                    LocalDateTime.now().plusDays(1), testUser1.getUserId(), testUser1.getUserId());
+            storage.addTask(task);
+            plan.add(task);
+        }
+        List<String> ids = plan.stream().map(SessionTask::getTaskId).toList();
+        assertEquals(200, storage.getTasksByIds(ids).size());
+
+        plan.forEach(t -> t.setCompleted(true));
+        assertTrue(storage.updateTasks(plan));
+        assertTrue(storage.getTasksByIds(ids).stream().allMatch(SessionTask::isCompleted));
+
+        // one missing task rolls the whole batch back
+        List<SessionTask> reopened = new ArrayList<>(plan.subList(0, 10));
+        reopened.forEach(t -> t.setCompleted(false));
+        reopened.add(new SessionTask("missing", testSession.getSessionId(), "Gone",
+                LocalDateTime.now().plusDays(1), testUser1.getUserId(), testUser1.getUserId(), LocalDateTime.now(), false));
+        assertFalse(storage.updateTasks(reopened));
+        assertTrue(storage.getTasksByIds(ids).stream().allMatch(SessionTask::isCompleted));
+
+        List<String> deleting = new ArrayList<>(ids.subList(0, 50));
+        deleting.add("missing");
+        assertFalse(storage.removeTasks(deleting));
+        assertEquals(200, storage.getTaskCount());
+
+        assertTrue(storage.removeTasks(ids.subList(0, 150)));
+        assertEquals(50, storage.getTaskCount());
+    }
+}
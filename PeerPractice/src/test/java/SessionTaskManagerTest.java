@@ -8,6 +8,8 @@ import com.cab302.peerpractice.Model.Managers.SessionCalendarManager;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -167,4 +169,46 @@ public class SessionTaskManagerTest {
     void canGetOverdueTasks() {
         assertNotNull(manager.getOverdueTasks());
     }
+
+    @Test
+    void batchOperationsApplyToEverySelectedTask() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(manager.createTask(sessionId, "Revision " + i, LocalDateTime.now().plusDays(1),
+                    john.getUserId(), jane.getUserId()).getTaskId());
+        }
+
+        LocalDateTime later = LocalDateTime.now().plusDays(7).withNano(0);
+        assertEquals(5, manager.rescheduleTasks(ids, later, jane.getUserId()));
+        assertEquals(3, manager.reassignTasks(ids.subList(0, 3), jane.getUserId(), john.getUserId()));
+        assertEquals(2, manager.completeTasks(ids.subList(3, 5), john.getUserId()));
+
+        for (SessionTask task : manager.getSessionTasks(sessionId)) {
+            assertEquals(later, task.getDeadline());
+            int index = ids.indexOf(task.getTaskId());
+            assertEquals(index < 3 ? jane.getUserId() : john.getUserId(), task.getAssigneeId());
+            assertEquals(index >= 3, task.isCompleted());
+        }
+
+        assertEquals(5, manager.deleteTasks(ids, jane.getUserId()));
+        assertTrue(manager.getSessionTasks(sessionId).isEmpty());
+    }
+
+    @Test
+    void batchFailsWithoutChangingAnythingWhenOneTaskIsNotAllowed() {
+        String johns = manager.createTask(sessionId, "John's", LocalDateTime.now().plusDays(1),
+                john.getUserId(), jane.getUserId()).getTaskId();
+        String janes = manager.createTask(sessionId, "Jane's", LocalDateTime.now().plusDays(1),
+                jane.getUserId(), jane.getUserId()).getTaskId();
+
+        assertThrows(IllegalArgumentException.class, () -> manager.completeTasks(List.of(johns, janes), john.getUserId()));
+        assertThrows(IllegalArgumentException.class, () -> manager.deleteTasks(List.of(johns, "missing"), jane.getUserId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.reassignTasks(List.of(johns, janes), "outsider", jane.getUserId()));
+
+        assertEquals(2, manager.getSessionTasks(sessionId).size());
+        assertTrue(manager.getSessionTasks(sessionId).stream().noneMatch(SessionTask::isCompleted));
+        assertTrue(manager.getSessionTasks(sessionId).stream()
+                .anyMatch(t -> t.getTaskId().equals(johns) && t.getAssigneeId().equals(john.getUserId())));
+    }
 }
@@ -282,6 +282,23 @@ public class SessionTest {
         assertTrue(sessionString.contains("Test Session"));
     }
 
+    @Test
+    public void testCopyIsIndependent() {
+        Session session = new Session("Original", organiser, startTime, endTime);
+        session.addParticipant(participant);
+        session.setLocation("Library");
+
+        Session copy = session.copy();
+        assertEquals(session, copy);
+        assertEquals("Library", copy.getLocation());
+        assertTrue(copy.isParticipant(participant));
+
+        copy.setTitle("Changed");
+        copy.removeParticipant(participant);
+        assertEquals("Original", session.getTitle());
+        assertTrue(session.isParticipant(participant));
+    }
+
     @Test
     public void testSessionEquals() {
         Session session1 = new Session("Test Session", organiser, startTime, endTime);
@@ -0,0 +1,232 @@
+import com.cab302.peerpractice.Model.DAOs.GroupDAO;
+import com.cab302.peerpractice.Model.DAOs.GroupFileDAO;
+import com.cab302.peerpractice.Model.DAOs.IUserDAO;
+import com.cab302.peerpractice.Model.DAOs.UserDAO;
+import com.cab302.peerpractice.Model.Entities.Group;
+import com.cab302.peerpractice.Model.Entities.GroupFile;
+import com.cab302.peerpractice.Model.Entities.UploadManifest;
+import com.cab302.peerpractice.Model.Entities.User;
+import com.cab302.peerpractice.Model.Managers.StorageReconciler;
+import com.cab302.peerpractice.Model.Utils.SQLiteConnection;
+import com.cab302.peerpractice.Model.ValueObjects.ReconcileReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageReconcilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+    private GroupFileDAO storage;
+    private User owner;
+    private Group group;
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement st = connection.createStatement()) {
+            st.execute("PRAGMA foreign_keys = ON");
+        }
+        SQLiteConnection.setInstance(connection);
+
+        IUserDAO userDao = new UserDAO();
+        GroupDAO groupDao = new GroupDAO(userDao);
+        storage = new GroupFileDAO();
+        owner = new User("Rhea", "Repair", "rhea_repair", "rhea.repair@example.com", "hash", "QUT");
+        userDao.addUser(owner);
+        group = new Group("Algorithms", "Week 5", false, owner, LocalDateTime.now());
+        groupDao.addGroup(group);
+        root = tempDir.resolve("group_files");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null && !connection.isClosed()) {
+            connection.close();
+        }
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Path blobPath(String hash) {
+        return root.resolve("blobs").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static Path write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private static void age(Path path, Duration age) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+    }
+
+    /** Records a deduplicated file and returns its hash. */
+    private String record(String id, String content) throws Exception {
+        String hash = sha256(content);
+        assertTrue(storage.addFile(new GroupFile(id, group.getID(), owner.getUsername(), id + ".txt",
+                blobPath(hash).toString(), content.length(), "text/plain", LocalDateTime.now(), null, hash)));
+        return hash;
+    }
+
+    private void recordUnhashed(String id, Path path) {
+        assertTrue(storage.addFile(new GroupFile(id, group.getID(), owner.getUsername(), id + ".txt",
+                path.toString(), 10, "text/plain", LocalDateTime.now(), null)));
+    }
+
+    @Test
+    void findsAndRepairsEveryKindOfDrift() throws Exception {
+        write(blobPath(record("intact", "intact content")), "intact content");
+        String damaged = record("damaged", "original");
+        write(blobPath(damaged), "tampered"); // same size, different bytes
+        String restorable = record("restorable", "quarantined by mistake");
+        write(root.resolve("quarantine/orphans").resolve(restorable), "quarantined by mistake");
+        String lost = record("lost", "never written");
+        String orphan = sha256("nobody's file");
+        write(blobPath(orphan), "nobody's file");
+
+        Path groupDir = root.resolve("group_" + group.getID());
+        recordUnhashed("kept", write(groupDir.resolve("kept.txt"), "old upload"));
+        recordUnhashed("gone", groupDir.resolve("gone.txt"));
+        write(groupDir.resolve("stray.txt"), "left behind");
+
+        Path incoming = root.resolve("blobs/incoming");
+        age(write(incoming.resolve("crashed.part"), "half a copy"), Duration.ofHours(2));
+        write(incoming.resolve("copying.part"), "still being written");
+        age(write(incoming.resolve("abandoned/0.chunk"), "chunk"), Duration.ofHours(2));
+        age(incoming.resolve("abandoned"), Duration.ofHours(2));
+        assertTrue(storage.addUploadManifest(new UploadManifest("paused", group.getID(), owner.getUsername(),
+                "lecture.mp4", "/tmp/lecture.mp4", 20, 0, 8, null, LocalDateTime.now())));
+        age(write(incoming.resolve("paused/0.chunk"), "chunk"), Duration.ofHours(2));
+        age(incoming.resolve("paused"), Duration.ofHours(2));
+        age(write(root.resolve("quarantine/orphans/ancient"), "old"), Duration.ofDays(40));
+
+        StorageReconciler reconciler = new StorageReconciler(storage, root, new Object(), id -> false, 0);
+        ReconcileReport report = reconciler.reconcile(true);
+
+        assertTrue(report.isCompleted());
+        assertEquals(3, report.getBlobsChecked());
+        assertEquals(1, report.getCorruptQuarantined());
+        assertEquals(1, report.getBlobsRestored());
+        assertEquals(List.of(damaged, lost), report.getLostBlobs());
+        assertEquals(List.of("gone"), report.getLostFiles());
+        assertEquals(2, report.getOrphansQuarantined());
+        assertEquals(2, report.getStaleUploadsRemoved());
+        assertEquals(1, report.getQuarantinePurged());
+        assertEquals(0, report.getErrors());
+
+        assertEquals("quarantined by mistake", Files.readString(blobPath(restorable)));
+        assertEquals("tampered", Files.readString(root.resolve("quarantine/corrupt").resolve(damaged)));
+        assertTrue(Files.exists(root.resolve("quarantine/orphans").resolve(orphan)));
+        assertTrue(Files.exists(root.resolve("quarantine/files/group_" + group.getID() + "/stray.txt")));
+        // lost records stay until someone chooses to remove them
+        assertNotNull(storage.getFileById("lost"));
+        assertNotNull(storage.getFileById("gone"));
+        assertNotNull(storage.getFileById("kept"));
+        assertTrue(Files.exists(incoming.resolve("copying.part")), "recent copies may still be running");
+        assertTrue(Files.exists(incoming.resolve("paused/0.chunk")), "chunks stay while the upload can resume");
+        assertFalse(Files.exists(incoming.resolve("abandoned")));
+        assertFalse(Files.exists(root.resolve("quarantine/orphans/ancient")));
+        assertSame(report, reconciler.getLastReport());
+
+        assertEquals(3, reconciler.removeLostRecords(report));
+        assertNull(storage.getFileById("damaged"));
+        assertNull(storage.getFileById("lost"));
+        assertNull(storage.getFileById("gone"));
+        assertTrue(reconciler.reconcile(true).isClean());
+    }
+
+    @Test
+    void compressedBlobsAreCheckedByTheirInflatedContent() throws Exception {
+        String content = "chapter 22 breadth-first search\n".repeat(500);
+        byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater();
+        deflater.setInput(input);
+        deflater.finish();
+        byte[] deflated = new byte[input.length];
+        int length = deflater.deflate(deflated);
+        deflater.end();
+
+        String hash = sha256(content);
+        Path blob = blobPath(hash);
+        Files.createDirectories(blob.getParent());
+        Files.write(blob, Arrays.copyOf(deflated, length));
+        assertTrue(storage.addFile(new GroupFile("notes", group.getID(), owner.getUsername(), "notes.txt",
+                blob.toString(), input.length, "text/plain", LocalDateTime.now(), null, hash, length, true)));
+
+        StorageReconciler reconciler = new StorageReconciler(storage, root, new Object(), id -> false, 0);
+        ReconcileReport report = reconciler.reconcile(true);
+        assertTrue(report.isClean(), report.toString());
+        assertEquals(length, report.getBytesVerified(), "the budget is spent on bytes read from disk");
+
+        // raw bytes of the right length where deflated ones belong do not inflate
+        Files.write(blob, Arrays.copyOf(input, length));
+        ReconcileReport damaged = reconciler.reconcile(true);
+        assertEquals(1, damaged.getCorruptQuarantined());
+        assertEquals(List.of(hash), damaged.getLostBlobs());
+        assertNotNull(storage.getFileById("notes"));
+    }
+
+    @Test
+    void missingStorageStopsThePassWithoutTouchingRecords() throws Exception {
+        record("elsewhere", "stored under another working directory");
+        recordUnhashed("older", root.resolve("group_" + group.getID()).resolve("older.txt"));
+
+        StorageReconciler reconciler = new StorageReconciler(storage, root, new Object(), id -> false, 0);
+        ReconcileReport report = reconciler.reconcile(true);
+        assertFalse(report.isCompleted());
+        assertEquals(1, report.getErrors());
+        assertEquals(0, report.getLostCount());
+
+        // an empty root with no blob store is just as suspect
+        Files.createDirectories(root);
+        assertFalse(reconciler.reconcile(true).isCompleted());
+        assertEquals(0, reconciler.removeLostRecords(report));
+        assertNotNull(storage.getFileById("elsewhere"));
+        assertNotNull(storage.getFileById("older"));
+    }
+
+    @Test
+    void contentIsReadBackNoFasterThanTheRate() throws Exception {
+        String content = "x".repeat(512 * 1024);
+        write(blobPath(record("large", content)), content);
+        StorageReconciler reconciler = new StorageReconciler(storage, root, new Object(), id -> false, 512 * 1024);
+
+        long started = System.nanoTime();
+        ReconcileReport report = reconciler.reconcile(true);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(report.isClean());
+        assertEquals(content.length(), report.getBytesVerified());
+        assertTrue(elapsedMillis >= 800, "512 KB at 512 KB/s took " + elapsedMillis + " ms");
+        // only sizes are checked when content is not verified
+        assertEquals(0, reconciler.reconcile(false).getBytesVerified());
+    }
+}
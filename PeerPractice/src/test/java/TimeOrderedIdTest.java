@@ -0,0 +1,97 @@
+import com.cab302.peerpractice.Model.Utils.TimeOrderedId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdTest {
+
+    private static final int INDEX_ROWS = 10_000;
+
+    @Test
+    void next_usesCanonicalUuidFormatAndVersion7() {
+        String id = TimeOrderedId.next();
+        assertEquals(36, id.length());
+        UUID uuid = UUID.fromString(id);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void next_isStrictlyIncreasingAsStrings() {
+        String previous = TimeOrderedId.next();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            String id = TimeOrderedId.next();
+            assertTrue(id.compareTo(previous) > 0, id + " should sort after " + previous);
+            assertTrue(seen.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void timestampOf_recoversCreationTimeAndRejectsRandomIds() {
+        long before = System.currentTimeMillis();
+        String id = TimeOrderedId.next();
+        long after = System.currentTimeMillis();
+
+        long ts = TimeOrderedId.timestampOf(id);
+        // a burst may borrow a few milliseconds ahead of the clock
+        assertTrue(ts >= before && ts <= after + 5);
+        assertEquals(-1, TimeOrderedId.timestampOf(UUID.randomUUID().toString()));
+        assertEquals(-1, TimeOrderedId.timestampOf("not-an-id"));
+        assertEquals(-1, TimeOrderedId.timestampOf(null));
+    }
+
+    /**
+     * Inserts the same number of rows keyed by random and by time-ordered IDs
+     * into a table shaped like the message tables (TEXT primary key) and
+     * compares the resulting database size. Appending in key order fills
+     * B-tree pages, where random keys leave them part empty after splits.
+     */
+    @Test
+    void timeOrderedKeys_doNotGrowTheIndexMoreThanRandomKeys(@TempDir Path dir) throws SQLException {
+        long random = pagesAfterInserting(dir.resolve("random.db"), () -> UUID.randomUUID().toString());
+        long ordered = pagesAfterInserting(dir.resolve("ordered.db"), TimeOrderedId::next);
+
+        assertTrue(ordered <= random * 105 / 100,
+                "Time-ordered keys should not bloat the B-tree (" + ordered + " vs " + random + ")");
+    }
+
+    private long pagesAfterInserting(Path file, Supplier<String> ids) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file)) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE messages (id TEXT PRIMARY KEY, sender_id TEXT NOT NULL, " +
+                        "content TEXT NOT NULL, timestamp TEXT NOT NULL)");
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO messages VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < INDEX_ROWS; i++) {
+                    ps.setString(1, ids.get());
+                    ps.setString(2, "alice123");
+                    ps.setString(3, "message body");
+                    ps.setString(4, "2025-01-01T12:00:00");
+                    ps.executeUpdate();
+                }
+            }
+            conn.commit();
+
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("PRAGMA page_count")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}